@@ -0,0 +1,3 @@
+#!/bin/bash
+# Not pinned to a single CPU, unlike the other benchmarks; the whole point is to use all of them.
+nohup java -cp target/benchmarks.jar ai.timefold.solver.jmh.scaling.Main > target/nohup.out 2>&1 &
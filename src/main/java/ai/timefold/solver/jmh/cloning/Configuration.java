@@ -0,0 +1,75 @@
+package ai.timefold.solver.jmh.cloning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.core.api.domain.common.DomainAccessType;
+import ai.timefold.solver.jmh.common.AbstractConfiguration;
+import ai.timefold.solver.jmh.common.AdaptiveForks;
+import ai.timefold.solver.jmh.common.JvmProfile;
+import ai.timefold.solver.jmh.scoredirector.Example;
+
+final class Configuration extends AbstractConfiguration {
+
+    public static Configuration read(InputStream inputStream) throws IOException {
+        var properties = new Properties();
+        properties.load(inputStream);
+
+        var enabledExamples = parseExamples(properties.getProperty("example"), Example.values());
+        var domainAccessTypes = properties.getProperty("domain_access_type");
+        var enabledDomainAccessTypes = domainAccessTypes == null ? List.of(DomainAccessType.REFLECTION)
+                : Arrays.stream(domainAccessTypes.split("\\Q,\\E"))
+                        .map(Configuration::parseDomainAccessType)
+                        .collect(Collectors.toList());
+        var benchmarkProperties = readBenchmarkProperties(properties, getDefault());
+        return new Configuration(enabledExamples, enabledDomainAccessTypes, benchmarkProperties.forkCount(),
+                benchmarkProperties.warmupIterations(), benchmarkProperties.measurementIterations(),
+                benchmarkProperties.relativeScoreErrorThreshold(), benchmarkProperties.binaryDatasets(),
+                benchmarkProperties.baselineDirectory(), benchmarkProperties.regressionTolerance(),
+                benchmarkProperties.jvmProfiles(), benchmarkProperties.adaptiveForks());
+    }
+
+    /**
+     * @param configName as used in the benchmark properties files, such as "gizmo"
+     */
+    private static DomainAccessType parseDomainAccessType(String configName) {
+        return Arrays.stream(DomainAccessType.values())
+                .filter(type -> type.name().equals(configName.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown domain access type: " + configName));
+    }
+
+    public static Configuration getDefault() {
+        return new Configuration(Arrays.asList(Example.values()), List.of(DomainAccessType.REFLECTION), 3,
+                DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS, DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD,
+                DEFAULT_BINARY_DATASETS, null, DEFAULT_REGRESSION_TOLERANCE, DEFAULT_JVM_PROFILES,
+                DEFAULT_ADAPTIVE_FORKS);
+    }
+
+    private final List<Example> enabledExamples;
+    private final List<DomainAccessType> enabledDomainAccessTypes;
+
+    private Configuration(List<Example> enabledExamples, List<DomainAccessType> enabledDomainAccessTypes,
+            int forkCount, int warmupIterations, int measurementIterations, double relativeScoreErrorThreshold,
+            boolean binaryDatasets, String baselineDirectory, double regressionTolerance,
+            List<JvmProfile> jvmProfiles, AdaptiveForks adaptiveForks) {
+        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold, binaryDatasets,
+                baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
+        this.enabledExamples = enabledExamples;
+        this.enabledDomainAccessTypes = enabledDomainAccessTypes;
+    }
+
+    public List<Example> getEnabledExamples() {
+        return enabledExamples;
+    }
+
+    public List<DomainAccessType> getEnabledDomainAccessTypes() {
+        return enabledDomainAccessTypes;
+    }
+
+}
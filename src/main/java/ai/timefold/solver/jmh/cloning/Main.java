@@ -0,0 +1,128 @@
+package ai.timefold.solver.jmh.cloning;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+
+import ai.timefold.solver.core.api.domain.common.DomainAccessType;
+import ai.timefold.solver.jmh.cloning.benchmarks.PlanningCloneBenchmark;
+import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+import ai.timefold.solver.jmh.scoredirector.problems.PlanningCloneProblem;
+import ai.timefold.solver.jmh.scoredirector.problems.ProblemInitializer;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs {@link PlanningCloneBenchmark} for every enabled domain access type,
+ * and reports the time, the allocation and the retained size of a clone of every example next to each other.
+ */
+public final class Main extends AbstractMain<Configuration> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    private static final String GC_ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+    public Main() {
+        super("cloning");
+    }
+
+    @Override
+    protected Configuration readConfiguration(InputStream inputStream) throws IOException {
+        return Configuration.read(inputStream);
+    }
+
+    @Override
+    protected Configuration getDefaultConfiguration() {
+        return Configuration.getDefault();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        var main = new Main();
+        var configuration = main.readConfiguration();
+        main.runJvmProfileMatrix(configuration);
+        ProblemInitializer.preload(configuration.getEnabledExamples());
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        for (var domainAccessType : configuration.getEnabledDomainAccessTypes()) {
+            var supportedExampleNames = configuration.getEnabledExamples()
+                    .stream()
+                    .filter(example -> PlanningCloneProblem.isSupported(example, domainAccessType))
+                    .map(Enum::name)
+                    .toArray(String[]::new);
+            if (supportedExampleNames.length == 0) {
+                LOGGER.warn("No examples enabled for domain access type {}; Gizmo may be missing from the classpath.",
+                        domainAccessType);
+                continue;
+            }
+            optionsList.add(main.getBaseJmhConfig(configuration)
+                    .include(PlanningCloneBenchmark.class.getSimpleName())
+                    .param("example", supportedExampleNames)
+                    .param("domainAccessType", domainAccessType.name())
+                    .addProfiler(GCProfiler.class)
+                    .addProfiler(RetainedHeapProfiler.class));
+        }
+
+        var runResults = main.runAll(configuration, optionsList);
+        main.writeCloningReport(runResults);
+        main.writeSamples(runResults);
+        main.appendToHistory(configuration, runResults);
+        if (!main.passesRegressionGate(configuration)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * The time of every domain access type is also given relative to that of {@link DomainAccessType#REFLECTION},
+     * the default cloner, if it was run.
+     */
+    private void writeCloningReport(Collection<RunResult> runResults) throws IOException {
+        var resultList = runResults.stream()
+                .sorted(Comparator.<RunResult, String> comparing(result -> result.getParams().getParam("example"))
+                        .thenComparing(result -> result.getParams().getParam("domainAccessType")))
+                .toList();
+        var reflectionScoreMap = new HashMap<String, Double>();
+        for (var runResult : resultList) {
+            var params = runResult.getParams();
+            if (params.getParam("domainAccessType").equals(DomainAccessType.REFLECTION.name())) {
+                reflectionScoreMap.put(params.getParam("example"), runResult.getPrimaryResult().getScore());
+            }
+        }
+        var lineList = new ArrayList<String>();
+        lineList.add("\"Example\",\"Domain access type\",\"Clone (us)\",\"Clone error (us)\","
+                + "\"Clone relative to reflection\",\"Allocated per clone (B)\",\"Retained heap (B)\","
+                + "\"Retained heap per entity (B)\"");
+        for (var runResult : resultList) {
+            var params = runResult.getParams();
+            var primaryResult = runResult.getPrimaryResult();
+            var secondaryResultMap = runResult.getSecondaryResults();
+            var reflectionScore = reflectionScoreMap.get(params.getParam("example"));
+            lineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",%.3f,%.3f,%s,%s,%s,%s",
+                    params.getParam("example"), params.getParam("domainAccessType"), primaryResult.getScore(),
+                    primaryResult.getScoreError(),
+                    reflectionScore == null ? "" : String.format(Locale.ROOT, "%.4f",
+                            primaryResult.getScore() / reflectionScore),
+                    format(secondaryResultMap.get(GC_ALLOCATION_PER_OPERATION)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES_PER_ENTITY))));
+        }
+        var reportPath = getResultsDirectory().resolve("cloningReport.csv");
+        Files.write(reportPath, lineList);
+        LOGGER.info("Cloning report written to '{}'.", reportPath);
+    }
+
+    private static String format(Result<?> result) {
+        return result == null ? "" : String.format(Locale.ROOT, "%.3f", result.getScore());
+    }
+
+}
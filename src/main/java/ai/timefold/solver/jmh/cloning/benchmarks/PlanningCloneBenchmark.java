@@ -0,0 +1,57 @@
+package ai.timefold.solver.jmh.cloning.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.api.domain.common.DomainAccessType;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+import ai.timefold.solver.jmh.scoredirector.problems.PlanningCloneProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Every invocation is one planning clone of the initialized solution of an example.
+ * One more clone is made when the trial starts,
+ * so that {@link RetainedHeapProfiler} can report how much memory a clone takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PlanningCloneBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param({ "REFLECTION", "GIZMO" })
+    public DomainAccessType domainAccessType;
+
+    public PlanningCloneProblem<?> problem;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        RetainedHeapProfiler.reset();
+        problem = PlanningCloneProblem.create(example, domainAccessType);
+        problem.setupTrial();
+        RetainedHeapProfiler.measure(problem::runInvocation, problem::getEntityCount, "entity");
+    }
+
+    @Benchmark
+    public Object run() {
+        return problem.runInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,88 @@
+package ai.timefold.solver.jmh.coldstart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ai.timefold.solver.jmh.coldstart.benchmarks.AbstractBenchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the cold start of every benchmark and example with the default class data sharing
+ * next to the cold start with an AppCDS archive of that example.
+ */
+final class AppCdsReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppCdsReport.class);
+
+    static final String FILE_NAME = "appCdsReport.csv";
+
+    private record Key(String benchmark, String example) implements Comparable<Key> {
+
+        static Key of(RunResult runResult) {
+            var params = runResult.getParams();
+            var benchmark = params.getBenchmark();
+            return new Key(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1),
+                    params.getParam("example"));
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            var comparison = example.compareTo(other.example);
+            return comparison != 0 ? comparison : benchmark.compareTo(other.benchmark);
+        }
+
+    }
+
+    /**
+     * @param archiveSizeMap size of the AppCDS archive in bytes, by example name
+     */
+    static void write(Collection<RunResult> runResults, Map<String, Long> archiveSizeMap, Path csvPath)
+            throws IOException {
+        var defaultResultMap = new HashMap<Key, RunResult>();
+        var appResultMap = new TreeMap<Key, RunResult>();
+        for (var runResult : runResults) {
+            var classDataSharing = runResult.getParams().getParam("classDataSharing");
+            var resultMap = AbstractBenchmark.APP_CLASS_DATA_SHARING.equals(classDataSharing) ? appResultMap
+                    : defaultResultMap;
+            resultMap.put(Key.of(runResult), runResult);
+        }
+        if (appResultMap.isEmpty()) {
+            return;
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Benchmark\",\"Example\",\"Unit\",\"Default\",\"Default error\",\"AppCDS\","
+                + "\"AppCDS error\",\"Speedup\",\"Archive size (B)\"");
+        appResultMap.forEach((key, appResult) -> {
+            var defaultResult = defaultResultMap.get(key);
+            if (defaultResult == null) {
+                LOGGER.warn("No run without AppCDS archive for benchmark ({}) of example ({}).", key.benchmark(),
+                        key.example());
+                return;
+            }
+            var defaultPrimaryResult = defaultResult.getPrimaryResult();
+            var appPrimaryResult = appResult.getPrimaryResult();
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",\"%s\",%.3f,%.3f,%.3f,%.3f,%.3f,%d",
+                    key.benchmark(), key.example(), appPrimaryResult.getScoreUnit(), defaultPrimaryResult.getScore(),
+                    defaultPrimaryResult.getScoreError(), appPrimaryResult.getScore(),
+                    appPrimaryResult.getScoreError(), defaultPrimaryResult.getScore() / appPrimaryResult.getScore(),
+                    archiveSizeMap.getOrDefault(key.example(), 0L)));
+        });
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("AppCDS report written to {}.", csvPath);
+    }
+
+    private AppCdsReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,100 @@
+package ai.timefold.solver.jmh.coldstart;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeSet;
+
+import ai.timefold.solver.jmh.coldstart.benchmarks.AbstractBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToBuildSolverBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToFirstFullScoreBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToScoreDirectorFactoryBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToSolutionDescriptorBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToWorkingSolutionBenchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the stages of the cold start of every example next to each other,
+ * in the order in which the solver goes through them, so that the one which dominates stands out.
+ */
+final class ColdStartStageReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColdStartStageReport.class);
+
+    static final String FILE_NAME = "coldStartStageReport.csv";
+
+    private static final List<Class<? extends AbstractBenchmark>> STAGE_BENCHMARK_CLASSES = List.of(
+            TimeToSolutionDescriptorBenchmark.class, TimeToScoreDirectorFactoryBenchmark.class,
+            TimeToBuildSolverBenchmark.class, TimeToWorkingSolutionBenchmark.class,
+            TimeToFirstFullScoreBenchmark.class);
+
+    private record Key(String example, String classDataSharing) implements Comparable<Key> {
+
+        @Override
+        public int compareTo(Key other) {
+            var comparison = example.compareTo(other.example);
+            return comparison != 0 ? comparison : classDataSharing.compareTo(other.classDataSharing);
+        }
+
+    }
+
+    static void write(Collection<RunResult> runResults, Path csvPath) throws IOException {
+        var resultMap = new HashMap<Key, Map<String, RunResult>>();
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var benchmarkClassName = params.getBenchmark().substring(0, params.getBenchmark().lastIndexOf('.'));
+            for (var benchmarkClass : STAGE_BENCHMARK_CLASSES) {
+                if (benchmarkClass.getName().equals(benchmarkClassName)) {
+                    resultMap.computeIfAbsent(new Key(params.getParam("example"), params.getParam("classDataSharing")),
+                            key -> new HashMap<>())
+                            .put(benchmarkClassName, runResult);
+                }
+            }
+        }
+        if (resultMap.isEmpty()) {
+            return;
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Class data sharing\",\"Unit\",\"Solution descriptor\","
+                + "\"Score director factory\",\"Solver\",\"Working solution\",\"First full score\",\"Sum of stages\"");
+        for (var key : new TreeSet<>(resultMap.keySet())) {
+            var stageResultMap = resultMap.get(key);
+            var line = new StringBuilder()
+                    .append('"').append(key.example()).append("\",\"").append(key.classDataSharing()).append("\",");
+            var unit = "";
+            var sum = 0.0;
+            var stageCells = new StringBuilder();
+            for (var benchmarkClass : STAGE_BENCHMARK_CLASSES) {
+                var stageResult = stageResultMap.get(benchmarkClass.getName());
+                if (stageResult == null) { // Did not run, or failed.
+                    sum = Double.NaN;
+                    stageCells.append(',');
+                    continue;
+                }
+                var primaryResult = stageResult.getPrimaryResult();
+                unit = primaryResult.getScoreUnit();
+                sum += primaryResult.getScore();
+                stageCells.append(String.format(Locale.ROOT, "%.3f", primaryResult.getScore())).append(',');
+            }
+            line.append('"').append(unit).append("\",").append(stageCells)
+                    .append(Double.isNaN(sum) ? "" : String.format(Locale.ROOT, "%.3f", sum));
+            csvLineList.add(line.toString());
+        }
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Cold start stage report written to {}.", csvPath);
+    }
+
+    private ColdStartStageReport() {
+        // No instances.
+    }
+
+}
@@ -2,12 +2,15 @@ package ai.timefold.solver.jmh.coldstart;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
-import ai.timefold.solver.jmh.coldstart.problems.Example;
 import ai.timefold.solver.jmh.common.AbstractConfiguration;
+import ai.timefold.solver.jmh.common.AdaptiveForks;
+import ai.timefold.solver.jmh.common.JvmProfile;
+import ai.timefold.solver.jmh.scoredirector.Example;
 
 final class Configuration extends AbstractConfiguration {
 
@@ -15,26 +18,64 @@ final class Configuration extends AbstractConfiguration {
         var properties = new Properties();
         properties.load(inputStream);
 
-        var enabledExamples = parseExamples(properties.getProperty("examples"), Example.values());
+        var enabledExamples = parseExamples(properties.getProperty("example"), Example.values());
+        var appClassDataSharing = parseBoolean(properties, "app_cds", "false");
+        var shardCores = parseCores(properties, "shard_cores", "");
         var benchmarkProperties = readBenchmarkProperties(properties, getDefault());
-        return new Configuration(enabledExamples, benchmarkProperties.forkCount(), benchmarkProperties.warmupIterations(),
-                benchmarkProperties.measurementIterations(), benchmarkProperties.relativeScoreErrorThreshold());
+        return new Configuration(enabledExamples, appClassDataSharing, shardCores, benchmarkProperties.forkCount(),
+                benchmarkProperties.warmupIterations(), benchmarkProperties.measurementIterations(),
+                benchmarkProperties.relativeScoreErrorThreshold(),
+                benchmarkProperties.binaryDatasets(), benchmarkProperties.baselineDirectory(),
+                benchmarkProperties.regressionTolerance(), benchmarkProperties.jvmProfiles(),
+                benchmarkProperties.adaptiveForks());
     }
 
     public static Configuration getDefault() {
-        return new Configuration(Arrays.asList(Example.values()), 80, 0, 1, 0.04);
+        return new Configuration(Arrays.asList(Example.values()), false, List.of(), 80, 0, 1, 0.04, false, null,
+                DEFAULT_REGRESSION_TOLERANCE, DEFAULT_JVM_PROFILES, DEFAULT_ADAPTIVE_FORKS);
     }
 
     private final List<Example> enabledExamples;
+    private final boolean appClassDataSharing;
+    private final List<Integer> shardCores;
 
-    private Configuration(List<Example> enabledExamples, int forkCount, int warmupIterations, int measurementIterations,
-            double relativeScoreErrorThreshold) {
-        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold);
+    private Configuration(List<Example> enabledExamples, boolean appClassDataSharing, List<Integer> shardCores,
+            int forkCount, int warmupIterations, int measurementIterations, double relativeScoreErrorThreshold,
+            boolean binaryDatasets, String baselineDirectory, double regressionTolerance,
+            List<JvmProfile> jvmProfiles, AdaptiveForks adaptiveForks) {
+        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold, binaryDatasets,
+                baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
         this.enabledExamples = enabledExamples;
+        this.appClassDataSharing = appClassDataSharing;
+        this.shardCores = shardCores;
+    }
+
+    /**
+     * @return the same configuration, only with other examples enabled
+     */
+    public Configuration withEnabledExamples(List<Example> enabledExamples) {
+        return new Configuration(enabledExamples, appClassDataSharing, shardCores, getForkCount(),
+                getWarmupIterations(), getMeasurementIterations(), getRelativeScoreErrorThreshold(),
+                isBinaryDatasets(), getBaselineDirectory().map(Path::toString).orElse(null),
+                getRegressionTolerance(), getJvmProfiles(), getAdaptiveForks());
     }
 
     public List<Example> getEnabledExamples() {
         return enabledExamples;
     }
 
+    /**
+     * @return true if every example also runs with an AppCDS archive, trained on that example beforehand
+     */
+    public boolean isAppClassDataSharing() {
+        return appClassDataSharing;
+    }
+
+    /**
+     * @return empty if the examples are not to be sharded across cores
+     */
+    public List<Integer> getShardCores() {
+        return shardCores;
+    }
+
 }
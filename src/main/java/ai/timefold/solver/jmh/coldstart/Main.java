@@ -31,9 +31,16 @@
 
 package ai.timefold.solver.jmh.coldstart;
 
+import ai.timefold.solver.jmh.coldstart.benchmarks.AbstractBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToBuildSolverBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToFirstFullScoreBenchmark;
 import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToFirstScoreBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToScoreDirectorFactoryBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToSolutionDescriptorBenchmark;
 import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToSolverFactoryBenchmark;
+import ai.timefold.solver.jmh.coldstart.benchmarks.TimeToWorkingSolutionBenchmark;
 import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.scoredirector.Example;
 import org.openjdk.jmh.infra.BenchmarkParams;
 import org.openjdk.jmh.profile.AsyncProfiler;
 import org.openjdk.jmh.results.Result;
@@ -55,12 +62,24 @@ import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 
 public final class Main extends AbstractMain<Configuration> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
+    /**
+     * The entire cold start, followed by the stages of it, in the order in which the solver goes through them.
+     */
+    private static final List<Class<? extends AbstractBenchmark>> BENCHMARK_CLASSES = List.of(
+            TimeToFirstScoreBenchmark.class, TimeToSolverFactoryBenchmark.class,
+            TimeToSolutionDescriptorBenchmark.class, TimeToScoreDirectorFactoryBenchmark.class,
+            TimeToBuildSolverBenchmark.class, TimeToWorkingSolutionBenchmark.class,
+            TimeToFirstFullScoreBenchmark.class);
+
     public Main() {
         super("coldstart");
     }
@@ -77,13 +96,33 @@ public final class Main extends AbstractMain<Configuration> {
 
     public static void main(String[] args) throws RunnerException, IOException {
         var main = new Main();
-        var configuration = main.readConfiguration();
+        var fullConfiguration = main.readConfiguration();
+        main.runJvmProfileMatrix(fullConfiguration);
+        main.runShards(fullConfiguration.getShardCores(), fullConfiguration.getEnabledExamples().size());
+        var configuration = fullConfiguration.withEnabledExamples(
+                main.selectShard(fullConfiguration.getEnabledExamples()));
         var options = main.getBaseJmhConfig(configuration);
         options = processBenchmark(options, configuration);
         options = main.initAsyncProfiler(options);
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        optionsList.add(options);
+        var archiveSizeMap = new LinkedHashMap<String, Long>();
+        if (configuration.isAppClassDataSharing()) {
+            for (var example : configuration.getEnabledExamples()) {
+                var archivePath = main.trainAppCdsArchive(configuration, example);
+                archiveSizeMap.put(example.name(), Files.size(archivePath));
+                // Same forks as above, profiled the same way, so that only the archive differs.
+                optionsList.add(main.initAsyncProfiler(includeBenchmarks(main.getBaseJmhConfig(configuration))
+                        .param("example", example.name())
+                        .param("classDataSharing", AbstractBenchmark.APP_CLASS_DATA_SHARING)
+                        .jvmArgsAppend("-XX:SharedArchiveFile=" + archivePath)));
+            }
+        }
 
-        var runResults = new Runner(options.build()).run();
+        var runResults = main.runAll(configuration, optionsList);
         main.convertJfrToFlameGraphs();
+        ColdStartStageReport.write(runResults, main.getResultsDirectory().resolve(ColdStartStageReport.FILE_NAME));
+        AppCdsReport.write(runResults, archiveSizeMap, main.getResultsDirectory().resolve(AppCdsReport.FILE_NAME));
 
         var relativeScoreErrorThreshold = configuration.getRelativeScoreErrorThreshold();
         var thresholdForPrint = ((int) Math.round(relativeScoreErrorThreshold * 10_000)) / 100.0D;
@@ -94,7 +133,8 @@ public final class Main extends AbstractMain<Configuration> {
             var relativeScoreError = scoreError / score;
 
             var benchParams = result.getParams();
-            var benchmarkName = benchParams.getBenchmark() + " " + benchParams.getParam("example");
+            var benchmarkName = benchParams.getBenchmark() + " " + benchParams.getParam("example") + " "
+                    + benchParams.getParam("classDataSharing");
             var relativeScoreErrorForPrint = ((int) Math.round(relativeScoreError * 10_000)) / 100.0D;
             if (relativeScoreError > relativeScoreErrorThreshold) {
                 LOGGER.warn("Score error for '{}' is too high: ± {} % (threshold: ± {} %).", benchmarkName,
@@ -104,18 +144,58 @@ public final class Main extends AbstractMain<Configuration> {
                         relativeScoreErrorForPrint, thresholdForPrint);
             }
         });
+
+        main.writeSamples(runResults);
+        main.appendToHistory(configuration, runResults);
+        if (!main.passesRegressionGate(configuration)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Runs a single fork of {@link TimeToFirstScoreBenchmark},
+     * which goes through all the stages of the other benchmarks,
+     * and has the JVM dump the classes it loaded when it exits.
+     * The archive is on top of the JDK's own, and only usable with the same JDK and the same classpath,
+     * which is why it is trained at the start of every run instead of kept around.
+     *
+     * @return path to the archive, never null
+     */
+    private Path trainAppCdsArchive(Configuration configuration, Example example) throws RunnerException, IOException {
+        var archivePath = getResultsDirectory().resolve("cds").resolve(example.name() + ".jsa").toAbsolutePath();
+        Files.createDirectories(archivePath.getParent());
+        LOGGER.info("Training AppCDS archive for example ({}).", example);
+        var options = getBaseJmhConfig(configuration)
+                .include(TimeToFirstScoreBenchmark.class.getSimpleName())
+                .param("example", example.name())
+                .forks(1)
+                .warmupIterations(0)
+                .measurementIterations(1)
+                .jvmArgsAppend("-XX:ArchiveClassesAtExit=" + archivePath);
+        new Runner(options.build()).run(); // Its results are overwritten by the runs that follow.
+        if (!Files.isRegularFile(archivePath)) {
+            throw new IllegalStateException("Impossible state: training run of example (" + example
+                    + ") did not write the AppCDS archive (" + archivePath + ").");
+        }
+        return archivePath;
     }
 
     private static ChainedOptionsBuilder processBenchmark(ChainedOptionsBuilder options, Configuration configuration) {
         var supportedExampleNames = getSupportedExampleNames(configuration);
         if (supportedExampleNames.length > 0) {
-            options = options.include(TimeToFirstScoreBenchmark.class.getSimpleName())
-                    .include(TimeToSolverFactoryBenchmark.class.getSimpleName())
+            options = includeBenchmarks(options)
                     .param("example", supportedExampleNames);
         }
         return options;
     }
 
+    private static ChainedOptionsBuilder includeBenchmarks(ChainedOptionsBuilder options) {
+        for (var benchmarkClass : BENCHMARK_CLASSES) {
+            options = options.include(benchmarkClass.getSimpleName());
+        }
+        return options;
+    }
+
     private static String[] getSupportedExampleNames(Configuration configuration) {
         var examples = configuration.getEnabledExamples()
                 .stream()
@@ -1,11 +1,12 @@
 package ai.timefold.solver.jmh.coldstart.benchmarks;
 
-import ai.timefold.solver.jmh.coldstart.problems.Example;
 import ai.timefold.solver.jmh.coldstart.problems.Problem;
+import ai.timefold.solver.jmh.scoredirector.Example;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -16,19 +17,28 @@ import org.openjdk.jmh.infra.Blackhole;
 @BenchmarkMode(Mode.SingleShotTime) // We want to see cold starts.
 public abstract class AbstractBenchmark {
 
+    public static final String DEFAULT_CLASS_DATA_SHARING = "default";
+    public static final String APP_CLASS_DATA_SHARING = "app";
+
+    /**
+     * Only a label, which tells the runs with an AppCDS archive apart from those without.
+     * The archive itself is given to the fork on the command line, as it is needed before the first class loads.
+     */
+    @Param({ DEFAULT_CLASS_DATA_SHARING })
+    public String classDataSharing;
+
     public Problem problem;
 
     abstract protected Example getExample();
 
+    /**
+     * @return the stage of the cold start which the benchmark measures, for the given example
+     */
+    abstract protected Problem createProblem(Example example);
+
     @Setup(Level.Trial)
     public void setupTrial() {
-        Class<?> clz = getClass();
-        if (clz.getSimpleName().contains("TimeToFirstScore")) {
-            problem = getExample().createTimeToFirstScore();
-        } else if (clz.getSimpleName().contains("TimeToSolverFactory"))
-            problem = getExample().createTimeToSolverFactory();
-        else
-            throw new IllegalStateException("Unknown benchmark class: " + clz);
+        problem = createProblem(getExample());
         problem.setupTrial();
     }
 
@@ -1,6 +1,8 @@
 package ai.timefold.solver.jmh.coldstart.benchmarks;
 
-import ai.timefold.solver.jmh.coldstart.problems.Example;
+import ai.timefold.solver.jmh.coldstart.problems.Problem;
+import ai.timefold.solver.jmh.coldstart.problems.ProblemFactory;
+import ai.timefold.solver.jmh.scoredirector.Example;
 import org.openjdk.jmh.annotations.Param;
 
 public class TimeToFirstScoreBenchmark extends AbstractBenchmark {
@@ -13,4 +15,9 @@ public class TimeToFirstScoreBenchmark extends AbstractBenchmark {
         return example;
     }
 
+    @Override
+    protected Problem createProblem(Example example) {
+        return ProblemFactory.createTimeToFirstScore(example);
+    }
+
 }
@@ -0,0 +1,23 @@
+package ai.timefold.solver.jmh.coldstart.benchmarks;
+
+import ai.timefold.solver.jmh.coldstart.problems.Problem;
+import ai.timefold.solver.jmh.coldstart.problems.ProblemFactory;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import org.openjdk.jmh.annotations.Param;
+
+public class TimeToScoreDirectorFactoryBenchmark extends AbstractBenchmark {
+
+    @Param
+    public Example example;
+
+    @Override
+    protected Example getExample() {
+        return example;
+    }
+
+    @Override
+    protected Problem createProblem(Example example) {
+        return ProblemFactory.createTimeToScoreDirectorFactory(example);
+    }
+
+}
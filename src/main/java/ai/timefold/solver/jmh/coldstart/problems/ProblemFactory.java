@@ -0,0 +1,64 @@
+package ai.timefold.solver.jmh.coldstart.problems;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
+
+/**
+ * Creates the cold start problems of every example from the same {@link ExampleLoader} as the other benchmarks use,
+ * so that every example there can also be started cold.
+ */
+public final class ProblemFactory {
+
+    public static <Solution_> Problem createTimeToFirstScore(Example example) {
+        var exampleLoader = (ExampleLoader<Solution_>) ExampleLoader.create(example);
+        var solverFactory = createSolverFactory(exampleLoader);
+        var uninitializedSolution = exampleLoader.readDataset();
+        var initializedSolution = solverFactory.buildSolver().solve(uninitializedSolution);
+        return new TimeToFirstScoreProblem<>(exampleLoader, initializedSolution);
+    }
+
+    public static <Solution_> SolverFactory<Solution_> createSolverFactory(ExampleLoader<Solution_> exampleLoader) {
+        var constructionHeuristicConfig = new ConstructionHeuristicPhaseConfig();
+        if (exampleLoader.getExample() == Example.TSP) { // Otherwise all hell breaks loose.
+            constructionHeuristicConfig.withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT);
+        }
+        return SolverFactory.create(new SolverConfig()
+                .withSolutionClass(exampleLoader.getSolutionClass())
+                .withEntityClasses(exampleLoader.getEntityClasses())
+                .withScoreDirectorFactory(exampleLoader.buildScoreDirectorFactoryConfig())
+                .withPhases(constructionHeuristicConfig));
+    }
+
+    public static Problem createTimeToSolverFactory(Example example) {
+        return new TimeToSolverFactoryProblem<>(ExampleLoader.create(example));
+    }
+
+    public static Problem createTimeToSolutionDescriptor(Example example) {
+        return new TimeToSolutionDescriptorProblem<>(ExampleLoader.create(example));
+    }
+
+    public static Problem createTimeToScoreDirectorFactory(Example example) {
+        return new TimeToScoreDirectorFactoryProblem<>(ExampleLoader.create(example));
+    }
+
+    public static Problem createTimeToBuildSolver(Example example) {
+        return new TimeToBuildSolverProblem<>(ExampleLoader.create(example));
+    }
+
+    public static Problem createTimeToWorkingSolution(Example example) {
+        return new TimeToWorkingSolutionProblem<>(ExampleLoader.create(example));
+    }
+
+    public static Problem createTimeToFirstFullScore(Example example) {
+        return new TimeToFirstFullScoreProblem<>(ExampleLoader.create(example));
+    }
+
+    private ProblemFactory() {
+        // No instances.
+    }
+
+}
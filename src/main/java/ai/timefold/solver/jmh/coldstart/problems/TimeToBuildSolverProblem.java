@@ -0,0 +1,54 @@
+package ai.timefold.solver.jmh.coldstart.problems;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static ai.timefold.solver.jmh.coldstart.problems.ProblemFactory.createSolverFactory;
+
+/**
+ * Building the solver from a solver factory which already exists, with its phases, selectors and terminations.
+ * The solver factory is created beforehand, outside of the measurement.
+ */
+public class TimeToBuildSolverProblem<Solution_> implements Problem {
+
+    private final ExampleLoader<Solution_> exampleLoader;
+
+    private SolverFactory<Solution_> solverFactory;
+
+    public TimeToBuildSolverProblem(ExampleLoader<Solution_> exampleLoader) {
+        this.exampleLoader = exampleLoader;
+    }
+
+    @Override
+    public void setupTrial() {
+    }
+
+    @Override
+    public void setupIteration() {
+    }
+
+    @Override
+    public void setupInvocation() {
+        solverFactory = createSolverFactory(exampleLoader);
+    }
+
+    @Override
+    public Object runInvocation(Blackhole blackhole) {
+        blackhole.consume(solverFactory);
+        return solverFactory.buildSolver();
+    }
+
+    @Override
+    public void tearDownInvocation() {
+        solverFactory = null;
+    }
+
+    @Override
+    public void tearDownIteration() {
+    }
+
+    @Override
+    public void teardownTrial() {
+    }
+}
@@ -0,0 +1,63 @@
+package ai.timefold.solver.jmh.coldstart.problems;
+
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static ai.timefold.solver.jmh.coldstart.problems.ProblemFactory.createSolverFactory;
+
+/**
+ * The first score of the dataset, calculated from scratch, as the solver does before its first phase.
+ * The score director and its working solution are set up beforehand, outside of the measurement,
+ * so that this is only the propagation of the dataset through the constraints.
+ */
+public class TimeToFirstFullScoreProblem<Solution_> implements Problem {
+
+    private final ExampleLoader<Solution_> exampleLoader;
+
+    private Solution_ solution;
+    private InnerScoreDirector<Solution_, ?> scoreDirector;
+
+    public TimeToFirstFullScoreProblem(ExampleLoader<Solution_> exampleLoader) {
+        this.exampleLoader = exampleLoader;
+    }
+
+    @Override
+    public void setupTrial() {
+        solution = exampleLoader.readDataset();
+    }
+
+    @Override
+    public void setupIteration() {
+    }
+
+    @Override
+    public void setupInvocation() {
+        var solverFactory = (DefaultSolverFactory<Solution_>) createSolverFactory(exampleLoader);
+        scoreDirector = solverFactory.getScoreDirectorFactory()
+                .buildScoreDirector(true, false); // Same as the solver.
+        scoreDirector.setWorkingSolution(solution);
+    }
+
+    @Override
+    public Object runInvocation(Blackhole blackhole) {
+        blackhole.consume(scoreDirector);
+        return scoreDirector.calculateScore();
+    }
+
+    @Override
+    public void tearDownInvocation() {
+        scoreDirector.close();
+        scoreDirector = null;
+    }
+
+    @Override
+    public void tearDownIteration() {
+    }
+
+    @Override
+    public void teardownTrial() {
+        solution = null;
+    }
+}
@@ -1,33 +1,26 @@
 package ai.timefold.solver.jmh.coldstart.problems;
 
-import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
 import ai.timefold.solver.core.api.solver.SolverFactory;
-import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
-import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
-import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
 import org.openjdk.jmh.infra.Blackhole;
 
-import static ai.timefold.solver.jmh.coldstart.problems.Example.createSolverFactory;
+import static ai.timefold.solver.jmh.coldstart.problems.ProblemFactory.createSolverFactory;
 
 public class TimeToFirstScoreProblem<Solution_> implements Problem {
 
-    private final Class<? extends ConstraintProvider> constraintProviderClass;
-    private final Class<Solution_> solutionClass;
-    private final Class<?>[] entityClasses;
+    private final ExampleLoader<Solution_> exampleLoader;
     private final Solution_ startingSolution;
 
     private SolverFactory<Solution_> solverFactory;
 
-    public TimeToFirstScoreProblem(Class<? extends ConstraintProvider> constraintProviderClass, Solution_ solution, Class<?>... entityClasses) {
-        this.constraintProviderClass = constraintProviderClass;
-        this.solutionClass = (Class<Solution_>) solution.getClass();
-        this.entityClasses = entityClasses;
+    public TimeToFirstScoreProblem(ExampleLoader<Solution_> exampleLoader, Solution_ solution) {
+        this.exampleLoader = exampleLoader;
         this.startingSolution = solution;
     }
 
     @Override
     public void setupTrial() {
-        solverFactory = createSolverFactory(constraintProviderClass, solutionClass, entityClasses);
+        solverFactory = createSolverFactory(exampleLoader);
     }
 
     @Override
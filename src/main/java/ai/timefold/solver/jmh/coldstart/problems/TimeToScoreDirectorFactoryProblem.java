@@ -0,0 +1,69 @@
+package ai.timefold.solver.jmh.coldstart.problems;
+
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.core.api.domain.common.DomainAccessType;
+import ai.timefold.solver.core.config.solver.EnvironmentMode;
+import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import ai.timefold.solver.core.impl.score.director.ScoreDirectorFactoryFactory;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The second stage of {@link ai.timefold.solver.core.api.solver.SolverFactory#create(
+ * ai.timefold.solver.core.config.solver.SolverConfig)}:
+ * building the score director factory, which calls the constraint provider to define the constraints,
+ * or instantiates the score calculator of the examples which do not have one.
+ * The {@link SolutionDescriptor} it needs is built beforehand, outside of the measurement.
+ * The Bavet node network is only built from the constraints once there is a working solution,
+ * see {@link TimeToWorkingSolutionProblem}.
+ */
+public class TimeToScoreDirectorFactoryProblem<Solution_> implements Problem {
+
+    private final ExampleLoader<Solution_> exampleLoader;
+
+    private SolutionDescriptor<Solution_> solutionDescriptor;
+
+    public TimeToScoreDirectorFactoryProblem(ExampleLoader<Solution_> exampleLoader) {
+        this.exampleLoader = exampleLoader;
+    }
+
+    @Override
+    public void setupTrial() {
+    }
+
+    @Override
+    public void setupIteration() {
+    }
+
+    @Override
+    public void setupInvocation() {
+        solutionDescriptor = SolutionDescriptor.buildSolutionDescriptor(DomainAccessType.REFLECTION,
+                exampleLoader.getSolutionClass(), Map.of(), Map.of(), List.of(exampleLoader.getEntityClasses()));
+    }
+
+    @Override
+    public Object runInvocation(Blackhole blackhole) {
+        blackhole.consume(solutionDescriptor);
+        var scoreDirectorFactoryConfig = exampleLoader.buildScoreDirectorFactoryConfig();
+        // Same class loader and environment mode as the solver factory uses with the default configuration.
+        ScoreDirectorFactoryFactory<Solution_, ?> scoreDirectorFactoryFactory =
+                new ScoreDirectorFactoryFactory<>(scoreDirectorFactoryConfig);
+        return scoreDirectorFactoryFactory.buildScoreDirectorFactory(null, EnvironmentMode.REPRODUCIBLE,
+                solutionDescriptor);
+    }
+
+    @Override
+    public void tearDownInvocation() {
+        solutionDescriptor = null;
+    }
+
+    @Override
+    public void tearDownIteration() {
+    }
+
+    @Override
+    public void teardownTrial() {
+    }
+}
@@ -0,0 +1,54 @@
+package ai.timefold.solver.jmh.coldstart.problems;
+
+import java.util.List;
+import java.util.Map;
+
+import ai.timefold.solver.core.api.domain.common.DomainAccessType;
+import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The first stage of {@link ai.timefold.solver.core.api.solver.SolverFactory#create(
+ * ai.timefold.solver.core.config.solver.SolverConfig)}:
+ * reading the annotations of the domain into a {@link SolutionDescriptor}, including the solution cloner.
+ */
+public class TimeToSolutionDescriptorProblem<Solution_> implements Problem {
+
+    private final ExampleLoader<Solution_> exampleLoader;
+
+    public TimeToSolutionDescriptorProblem(ExampleLoader<Solution_> exampleLoader) {
+        this.exampleLoader = exampleLoader;
+    }
+
+    @Override
+    public void setupTrial() {
+    }
+
+    @Override
+    public void setupIteration() {
+    }
+
+    @Override
+    public void setupInvocation() {
+    }
+
+    @Override
+    public Object runInvocation(Blackhole blackhole) {
+        // Same as the solver factory does with the default configuration.
+        return SolutionDescriptor.buildSolutionDescriptor(DomainAccessType.REFLECTION,
+                exampleLoader.getSolutionClass(), Map.of(), Map.of(), List.of(exampleLoader.getEntityClasses()));
+    }
+
+    @Override
+    public void tearDownInvocation() {
+    }
+
+    @Override
+    public void tearDownIteration() {
+    }
+
+    @Override
+    public void teardownTrial() {
+    }
+}
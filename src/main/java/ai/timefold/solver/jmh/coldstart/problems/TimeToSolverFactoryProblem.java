@@ -1,22 +1,18 @@
 package ai.timefold.solver.jmh.coldstart.problems;
 
-import ai.timefold.solver.core.api.score.stream.ConstraintProvider;
 import ai.timefold.solver.core.api.solver.SolverFactory;
 import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
 import org.openjdk.jmh.infra.Blackhole;
 
-public class TimeToSolverFactoryProblem implements Problem {
+public class TimeToSolverFactoryProblem<Solution_> implements Problem {
+
+    private final ExampleLoader<Solution_> exampleLoader;
 
-    private final Class<? extends ConstraintProvider> constraintProviderClass;
-    private final Class<?> solutionClass;
-    private final Class<?>[] entityClasses;
-    
     private SolverConfig solverConfig;
 
-    public TimeToSolverFactoryProblem(Class<? extends ConstraintProvider> constraintProviderClass, Class<?> solutionClass, Class<?>... entityClasses) {
-        this.constraintProviderClass = constraintProviderClass;
-        this.solutionClass = solutionClass;
-        this.entityClasses = entityClasses;
+    public TimeToSolverFactoryProblem(ExampleLoader<Solution_> exampleLoader) {
+        this.exampleLoader = exampleLoader;
     }
 
     @Override
@@ -31,9 +27,9 @@ public class TimeToSolverFactoryProblem implements Problem {
     @Override
     public void setupInvocation() {
         solverConfig = new SolverConfig()
-                .withSolutionClass(solutionClass)
-                .withEntityClasses(entityClasses)
-                .withConstraintProviderClass(constraintProviderClass);
+                .withSolutionClass(exampleLoader.getSolutionClass())
+                .withEntityClasses(exampleLoader.getEntityClasses())
+                .withScoreDirectorFactory(exampleLoader.buildScoreDirectorFactoryConfig());
     }
 
     @Override
@@ -0,0 +1,67 @@
+package ai.timefold.solver.jmh.coldstart.problems;
+
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
+import ai.timefold.solver.core.impl.solver.DefaultSolverFactory;
+import ai.timefold.solver.jmh.scoredirector.problems.ExampleLoader;
+import org.openjdk.jmh.infra.Blackhole;
+
+import static ai.timefold.solver.jmh.coldstart.problems.ProblemFactory.createSolverFactory;
+
+/**
+ * Building a score director and giving it the dataset as its working solution, as the solver does when it starts.
+ * With constraint streams, this is where the Bavet node network is built and the dataset is inserted into it;
+ * nothing is propagated through it until {@link TimeToFirstFullScoreProblem the first score}.
+ * The solver factory and the dataset are created beforehand, outside of the measurement.
+ */
+public class TimeToWorkingSolutionProblem<Solution_> implements Problem {
+
+    private final ExampleLoader<Solution_> exampleLoader;
+
+    private Solution_ solution;
+    private InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory;
+    private InnerScoreDirector<Solution_, ?> scoreDirector;
+
+    public TimeToWorkingSolutionProblem(ExampleLoader<Solution_> exampleLoader) {
+        this.exampleLoader = exampleLoader;
+    }
+
+    @Override
+    public void setupTrial() {
+        solution = exampleLoader.readDataset();
+    }
+
+    @Override
+    public void setupIteration() {
+    }
+
+    @Override
+    public void setupInvocation() {
+        var solverFactory = (DefaultSolverFactory<Solution_>) createSolverFactory(exampleLoader);
+        scoreDirectorFactory = solverFactory.getScoreDirectorFactory();
+    }
+
+    @Override
+    public Object runInvocation(Blackhole blackhole) {
+        blackhole.consume(scoreDirectorFactory);
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(true, false); // Same as the solver.
+        scoreDirector.setWorkingSolution(solution);
+        return scoreDirector;
+    }
+
+    @Override
+    public void tearDownInvocation() {
+        scoreDirector.close();
+        scoreDirector = null;
+        scoreDirectorFactory = null;
+    }
+
+    @Override
+    public void tearDownIteration() {
+    }
+
+    @Override
+    public void teardownTrial() {
+        solution = null;
+    }
+}
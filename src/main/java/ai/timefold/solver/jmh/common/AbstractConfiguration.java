@@ -1,7 +1,13 @@
 package ai.timefold.solver.jmh.common;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
@@ -11,6 +17,10 @@ public abstract class AbstractConfiguration {
     protected static final int DEFAULT_WARMUP_ITERATIONS = 5;
     protected static final int DEFAULT_MEASUREMENT_ITERATIONS = 5;
     protected static final double DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD = 0.02;
+    protected static final boolean DEFAULT_BINARY_DATASETS = false;
+    protected static final double DEFAULT_REGRESSION_TOLERANCE = 0.05;
+    protected static final List<JvmProfile> DEFAULT_JVM_PROFILES = List.of(JvmProfile.DEFAULT);
+    protected static final AdaptiveForks DEFAULT_ADAPTIVE_FORKS = AdaptiveForks.DISABLED;
 
     public static BenchmarkProperties readBenchmarkProperties(Properties properties, AbstractConfiguration defaultConfiguration) {
         var forkCount = (int) AbstractConfiguration.parseDouble(properties, "forks",
@@ -22,7 +32,64 @@ public abstract class AbstractConfiguration {
                         Integer.toString(defaultConfiguration.getMeasurementIterations()));
         var relativeScoreErrorThreshold = AbstractConfiguration.parseDouble(properties, "relative_score_error_threshold",
                 Double.toString(defaultConfiguration.getRelativeScoreErrorThreshold()));
-        return new BenchmarkProperties(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold);
+        var binaryDatasets = AbstractConfiguration.parseBoolean(properties, "binary_datasets",
+                Boolean.toString(defaultConfiguration.isBinaryDatasets()));
+        var baselineDirectory = properties.getProperty("baseline_directory",
+                defaultConfiguration.getBaselineDirectory().map(Path::toString).orElse(null));
+        var regressionTolerance = AbstractConfiguration.parseDouble(properties, "regression_tolerance",
+                Double.toString(defaultConfiguration.getRegressionTolerance()));
+        var jvmProfileNames = properties.getProperty("jvm_profiles");
+        var jvmProfiles = jvmProfileNames == null ? defaultConfiguration.getJvmProfiles()
+                : parseJvmProfiles(properties, jvmProfileNames);
+        var defaultAdaptiveForks = defaultConfiguration.getAdaptiveForks();
+        var adaptiveForkCount = (int) AbstractConfiguration.parseDouble(properties, "adaptive_forks",
+                Integer.toString(defaultAdaptiveForks.forksPerRound()));
+        if (adaptiveForkCount < 0) {
+            throw new IllegalArgumentException("Adaptive forks (" + adaptiveForkCount + ") must not be negative.");
+        }
+        var adaptiveTimeBudget = (long) AbstractConfiguration.parseDouble(properties, "adaptive_time_budget",
+                Long.toString(defaultAdaptiveForks.timeBudget().toSeconds()));
+        if (adaptiveTimeBudget < 1) {
+            throw new IllegalArgumentException("Adaptive time budget (" + adaptiveTimeBudget + ") must be positive.");
+        }
+        var adaptiveForks = new AdaptiveForks(adaptiveForkCount, Duration.ofSeconds(adaptiveTimeBudget));
+        return new BenchmarkProperties(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold,
+                binaryDatasets, baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
+    }
+
+    private static List<JvmProfile> parseJvmProfiles(Properties properties, String jvmProfileNames) {
+        var nameSet = new HashSet<String>();
+        return Arrays.stream(jvmProfileNames.split("\\Q,\\E"))
+                .map(String::trim)
+                .map(name -> {
+                    if (!name.matches("[\\w-]+")) { // Names a directory.
+                        throw new IllegalArgumentException("Failed parsing jvm_profiles " + jvmProfileNames + "; ("
+                                + name + ") is not a valid name.");
+                    } else if (!nameSet.add(name)) {
+                        throw new IllegalArgumentException("Failed parsing jvm_profiles " + jvmProfileNames + "; ("
+                                + name + ") is there more than once.");
+                    }
+                    return parseJvmProfile(properties, name);
+                })
+                .toList();
+    }
+
+    private static JvmProfile parseJvmProfile(Properties properties, String name) {
+        var prefix = "jvm_profile." + name + ".";
+        var defaultProfile = JvmProfile.DEFAULT;
+        var garbageCollectorName = properties.getProperty(prefix + "gc", defaultProfile.garbageCollector().name())
+                .trim();
+        var garbageCollector = Arrays.stream(JvmProfile.GarbageCollector.values())
+                .filter(value -> value.name().equalsIgnoreCase(garbageCollectorName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Failed parsing " + prefix + "gc "
+                        + garbageCollectorName));
+        var heapSize = parseHeapSize(properties, prefix + "heap", defaultProfile.heapSize());
+        var compressedOops = properties.getProperty(prefix + "compressed_oops") == null ? null
+                : parseBoolean(properties, prefix + "compressed_oops", null);
+        var javaHome = properties.getProperty(prefix + "java_home");
+        return new JvmProfile(name, garbageCollector, heapSize, compressedOops,
+                javaHome == null || javaHome.isBlank() ? null : Path.of(javaHome.trim()));
     }
 
     protected static double parseDouble(Properties properties, String property, String def) {
@@ -34,6 +101,58 @@ public abstract class AbstractConfiguration {
         }
     }
 
+    protected static boolean parseBoolean(Properties properties, String property, String def) {
+        var propertyValue = properties.getProperty(property, def).trim();
+        if (propertyValue.equalsIgnoreCase("true")) {
+            return true;
+        } else if (propertyValue.equalsIgnoreCase("false")) {
+            return false;
+        } else {
+            throw new IllegalArgumentException("Failed parsing " + property + " " + propertyValue);
+        }
+    }
+
+    protected static String parseHeapSize(Properties properties, String property, String def) {
+        var heapSize = properties.getProperty(property, def).trim();
+        if (!heapSize.matches("\\d+[kKmMgG]?")) {
+            throw new IllegalArgumentException("Failed parsing " + property + " " + heapSize + "; not a heap size.");
+        }
+        return heapSize;
+    }
+
+    /**
+     * @param def in the format of the property
+     * @return never null; CPU cores, as in {@code taskset -c}, such as "2,3" or "2-5", in the given order
+     */
+    protected static List<Integer> parseCores(Properties properties, String property, String def) {
+        var cores = properties.getProperty(property, def).trim();
+        if (cores.isEmpty()) {
+            return List.of();
+        }
+        var coreList = new ArrayList<Integer>();
+        for (var range : cores.split("\\Q,\\E")) {
+            var bounds = range.trim().split("\\Q-\\E");
+            try {
+                var first = Integer.parseInt(bounds[0].trim());
+                var last = bounds.length == 1 ? first : Integer.parseInt(bounds[1].trim());
+                if (bounds.length > 2 || first < 0 || last < first) {
+                    throw new IllegalArgumentException("Failed parsing " + property + " " + cores + "; (" + range
+                            + ") is not a core or a range of cores.");
+                }
+                for (var core = first; core <= last; core++) {
+                    if (coreList.contains(core)) {
+                        throw new IllegalArgumentException("Failed parsing " + property + " " + cores + "; ("
+                                + core + ") is there more than once.");
+                    }
+                    coreList.add(core);
+                }
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Failed parsing " + property + " " + cores, ex);
+            }
+        }
+        return coreList;
+    }
+
     protected static <E> List<E> parseExamples(String examples, E... values) {
         if (examples == null) {
             return Arrays.asList(values);
@@ -51,13 +170,28 @@ public abstract class AbstractConfiguration {
     private final int warmupIterations;
     private final int measurementIterations;
     private final double relativeScoreErrorThreshold;
+    private final boolean binaryDatasets;
+    private final Path baselineDirectory;
+    private final double regressionTolerance;
+    private final List<JvmProfile> jvmProfiles;
+    private final AdaptiveForks adaptiveForks;
 
     protected AbstractConfiguration(int forkCount, int warmupIterations, int measurementIterations,
-            double relativeScoreErrorThreshold) {
+            double relativeScoreErrorThreshold, boolean binaryDatasets, String baselineDirectory,
+            double regressionTolerance, List<JvmProfile> jvmProfiles, AdaptiveForks adaptiveForks) {
         this.forkCount = forkCount;
         this.warmupIterations = warmupIterations;
         this.measurementIterations = measurementIterations;
         this.relativeScoreErrorThreshold = relativeScoreErrorThreshold;
+        this.binaryDatasets = binaryDatasets;
+        this.baselineDirectory = baselineDirectory == null || baselineDirectory.isBlank() ? null
+                : Path.of(baselineDirectory.trim());
+        this.regressionTolerance = regressionTolerance;
+        if (jvmProfiles.isEmpty()) {
+            throw new IllegalArgumentException("There must be at least one JVM profile.");
+        }
+        this.jvmProfiles = List.copyOf(jvmProfiles);
+        this.adaptiveForks = Objects.requireNonNull(adaptiveForks);
     }
 
     public int getForkCount() {
@@ -75,4 +209,33 @@ public abstract class AbstractConfiguration {
     public double getRelativeScoreErrorThreshold() {
         return relativeScoreErrorThreshold;
     }
+
+    public boolean isBinaryDatasets() {
+        return binaryDatasets;
+    }
+
+    /**
+     * @return if present, results of the run are compared against this directory by {@link RegressionGate}
+     */
+    public Optional<Path> getBaselineDirectory() {
+        return Optional.ofNullable(baselineDirectory);
+    }
+
+    public double getRegressionTolerance() {
+        return regressionTolerance;
+    }
+
+    /**
+     * @return never empty; every benchmark runs on each of them, in forks of its own
+     */
+    public List<JvmProfile> getJvmProfiles() {
+        return jvmProfiles;
+    }
+
+    /**
+     * @return never null; if enabled, {@link #getForkCount()} is the most forks any benchmark runs in
+     */
+    public AdaptiveForks getAdaptiveForks() {
+        return adaptiveForks;
+    }
 }
@@ -33,16 +33,25 @@ package ai.timefold.solver.jmh.common;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.management.ManagementFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Instant;
 import java.time.ZoneId;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import org.openjdk.jmh.profile.AsyncProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
 import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.slf4j.Logger;
@@ -52,13 +61,32 @@ public abstract class AbstractMain<C extends AbstractConfiguration> {
 
     private static final Logger STATIC_LOGGER = LoggerFactory.getLogger(AbstractMain.class);
 
+    static final String RESULTS_FILE_NAME = "benchmarkResults.csv";
+    /**
+     * Set on the benchmark harness which runs a single JVM profile of a matrix, see {@link #runJvmProfileMatrix}.
+     */
+    private static final String JVM_PROFILE_PROPERTY = "benchmark.jvmProfile";
+    private static final String RESULTS_DIRECTORY_PROPERTY = "benchmark.resultsDirectory";
+    /**
+     * Set on the benchmark harness which runs a single shard, as "index/count", see {@link #runShards}.
+     */
+    private static final String SHARD_PROPERTY = "benchmark.shard";
+    /**
+     * Set on every benchmark harness which runs a part of a run, so that all its parts share the run's timestamp.
+     */
+    private static final String TIMESTAMP_PROPERTY = "benchmark.timestamp";
+
     protected final Logger LOGGER = LoggerFactory.getLogger(getClass());
     private final String subpackage;
+    private final String timestamp;
     private final Path resultsDirectory;
 
     protected AbstractMain(String subpackage) {
         this.subpackage = subpackage;
-        this.resultsDirectory = Path.of("results", subpackage, getTimestamp());
+        this.timestamp = System.getProperty(TIMESTAMP_PROPERTY, getTimestamp());
+        var resultsDirectoryOverride = System.getProperty(RESULTS_DIRECTORY_PROPERTY);
+        this.resultsDirectory = resultsDirectoryOverride == null ? Path.of("results", subpackage, timestamp)
+                : Path.of(resultsDirectoryOverride);
         resultsDirectory.toFile().mkdirs();
     }
 
@@ -67,7 +95,7 @@ public abstract class AbstractMain<C extends AbstractConfiguration> {
                 .replace(' ', '0');
     }
 
-    protected static String getTimestamp() {
+    public static String getTimestamp() {
         var now = Instant.now().atZone(ZoneId.systemDefault());
         var year = leftPad(now.getYear(), 4);
         var month = leftPad(now.getMonthValue(), 2);
@@ -110,49 +138,286 @@ public abstract class AbstractMain<C extends AbstractConfiguration> {
                 .orElseThrow(() -> new IllegalStateException("Impossible state: Async profiler not found."));
     }
 
+    /**
+     * Converts the JFR files of all benchmarks to flame graphs, in a process of its own, see {@link JfrConverter}.
+     * The run scripts pin this harness to a single core; that process is not pinned, and uses every CPU online.
+     * In the harness of a shard, does nothing, as the other shards may still be running;
+     * the harness which merges the shards converts the JFR files of all of them instead, see {@link #runShards}.
+     * Flame graphs are optional, so failures are only logged.
+     */
     protected void convertJfrToFlameGraphs() {
-        if (getAsyncProfilerPath().isPresent()) {
+        if (getAsyncProfilerPath().isEmpty()) {
+            LOGGER.warn("Skipping JFR conversion in '{}'.", resultsDirectory);
+            return;
+        } else if (System.getProperty(SHARD_PROPERTY) != null) {
+            LOGGER.info("Leaving JFR conversion in '{}' to the harness which merges the shards.", resultsDirectory);
+            return;
+        }
+        var command = new ArrayList<String>();
+        getOnlineCpus().ifPresent(cpus -> command.addAll(List.of("taskset", "-c", cpus)));
+        command.addAll(buildJvmCommand());
+        command.add(JfrConverter.class.getName());
+        command.add(resultsDirectory.toAbsolutePath().toString());
+        try {
+            var exitCode = new ProcessBuilder(command)
+                    .inheritIO()
+                    .start()
+                    .waitFor();
+            if (exitCode != 0) {
+                LOGGER.error("Converting JFR to flame graphs in '{}' failed with exit code {}.", resultsDirectory,
+                        exitCode);
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed starting JFR conversion in '{}'.", resultsDirectory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while converting JFR to flame graphs.", e);
+        }
+    }
+
+    /**
+     * @return as in {@code taskset -c}, such as "0-15"; empty if not on Linux
+     */
+    private static Optional<String> getOnlineCpus() {
+        var onlineCpusPath = Path.of("/sys/devices/system/cpu/online");
+        if (!Files.exists(onlineCpusPath)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Files.readString(onlineCpusPath).trim());
+        } catch (IOException e) {
+            STATIC_LOGGER.warn("Failed reading online CPUs from '{}'.", onlineCpusPath, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records the mean score of the iterations of every fork, which JMH's own CSV does not include.
+     */
+    protected void writeSamples(Collection<RunResult> runResults) {
+        RegressionGate.writeSamples(runResults, resultsDirectory.resolve(RegressionGate.SAMPLES_FILE_NAME));
+    }
+
+    /**
+     * Appends the results to {@link BenchmarkHistory#DEFAULT_PATH},
+     * along with the configuration file they were run with, if there was one.
+     */
+    protected void appendToHistory(C configuration, Collection<RunResult> runResults) {
+        var properties = new Properties();
+        var configPath = getConfigurationPath();
+        if (Files.exists(configPath)) {
+            try (var inputStream = Files.newInputStream(configPath)) {
+                properties.load(inputStream);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed reading benchmark properties: " + configPath, e);
+            }
+        }
+        BenchmarkHistory.append(BenchmarkHistory.DEFAULT_PATH, timestamp, subpackage,
+                getJvmProfile(configuration).name(), properties, runResults);
+    }
+
+    /**
+     * @return true if there is no baseline to compare against, or if nothing regressed compared to it
+     */
+    protected boolean passesRegressionGate(C configuration) {
+        return configuration.getBaselineDirectory()
+                .map(baselineDirectory -> {
+                    // A baseline which ran the same matrix has a directory for every profile.
+                    var profileBaselineDirectory = baselineDirectory.resolve(getJvmProfile(configuration).name());
+                    return Files.isDirectory(profileBaselineDirectory) ? profileBaselineDirectory : baselineDirectory;
+                })
+                .map(baselineDirectory -> new RegressionGate(configuration.getRegressionTolerance())
+                        .compare(resultsDirectory, baselineDirectory))
+                .orElse(true);
+    }
+
+    /**
+     * With more than one JVM profile, runs this same main class once for every profile,
+     * one after another, each in a benchmark harness of its own, which writes to a results directory of its own.
+     * Once all of them are done, puts their results next to each other in {@link JvmProfileReport#FILE_NAME},
+     * and exits; with an error, if any of them failed.
+     * With only one JVM profile, or in the harness of one of the profiles, returns and does nothing.
+     */
+    protected void runJvmProfileMatrix(C configuration) {
+        var jvmProfiles = configuration.getJvmProfiles();
+        if (jvmProfiles.size() == 1 || System.getProperty(JVM_PROFILE_PROPERTY) != null) {
+            return;
+        }
+        var failedProfileNameList = new ArrayList<String>();
+        for (var jvmProfile : jvmProfiles) {
+            var profileDirectory = resultsDirectory.resolve(jvmProfile.name()).toAbsolutePath();
+            LOGGER.info("Running JVM profile {} into '{}'.", jvmProfile.name(), profileDirectory);
+            var command = buildHarnessCommand(JVM_PROFILE_PROPERTY + "=" + jvmProfile.name(),
+                    RESULTS_DIRECTORY_PROPERTY + "=" + profileDirectory);
             try {
-                Files.walk(resultsDirectory)
-                        .filter(Files::isRegularFile)
-                        .filter(f -> f.toString().endsWith(".jfr"))
-                        .forEach(path -> {
-                            LOGGER.info("Found JFR file: {}.", path);
-                            generateFlameGraphsFromJfr(path, null);
-                            generateFlameGraphsFromJfr(path, "alloc");
-                        });
+                var exitCode = new ProcessBuilder(command)
+                        .inheritIO()
+                        .start()
+                        .waitFor();
+                if (exitCode != 0) {
+                    LOGGER.error("JVM profile {} failed with exit code {}.", jvmProfile.name(), exitCode);
+                    failedProfileNameList.add(jvmProfile.name());
+                }
             } catch (IOException e) {
-                LOGGER.error("Failed converting JFR to flame graphs.", e);
+                throw new IllegalStateException("Failed starting JVM profile (" + jvmProfile.name() + ").", e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running JVM profile (" + jvmProfile.name() + ").",
+                        e);
             }
-        } else {
-            LOGGER.warn("Skipping JFR conversion in '{}'.", resultsDirectory);
         }
+        JvmProfileReport.write(jvmProfiles, resultsDirectory);
+        if (!failedProfileNameList.isEmpty()) {
+            LOGGER.error("JVM profiles {} failed.", failedProfileNameList);
+            System.exit(1);
+        }
+        System.exit(0);
     }
 
-    private static void generateFlameGraphsFromJfr(Path jfrFilePath, String type) {
-        var args = type == null ? new String[] {
-                "--simple",
-                jfrFilePath.toString(),
-                Path.of(jfrFilePath.toAbsolutePath().getParent().toString(), "cpu.html").toString()
+    /**
+     * With more than one core to shard across, runs this same main class once for every core, all at the same time,
+     * each in a benchmark harness of its own, pinned to its core; so are the forks which that harness starts.
+     * Every harness runs the examples which {@link #selectShard(List)} gives it,
+     * and writes to a results directory of its own, along with its log.
+     * Once all of them are done, merges their results into this results directory, see {@link ShardMerger},
+     * and exits; with an error, if any of them failed.
+     * With fewer than two cores, or in the harness of one of the shards, returns and does nothing.
+     *
+     * @param cores as in {@code taskset -c}; the cores should be isolated from everything else on the machine
+     * @param exampleCount how many examples there are to shard; there are never more shards than examples
+     */
+    protected void runShards(List<Integer> cores, int exampleCount) {
+        runShards(cores, exampleCount, mergedResultsDirectory -> {
+        });
+    }
+
+    /**
+     * As {@link #runShards(List, int)}.
+     *
+     * @param mergedResultsConsumer called with the results directory, once the results of all shards are merged
+     *        into it; renders the reports which cover all of the examples, see {@link ShardMerger}
+     */
+    protected void runShards(List<Integer> cores, int exampleCount, Consumer<Path> mergedResultsConsumer) {
+        var shardCount = Math.min(cores.size(), exampleCount);
+        if (shardCount < 2 || System.getProperty(SHARD_PROPERTY) != null) {
+            return;
+        }
+        var shardDirectoryList = new ArrayList<Path>(shardCount);
+        var processList = new ArrayList<Process>(shardCount);
+        for (var shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            var shardDirectory = resultsDirectory.resolve("shard-" + shardIndex).toAbsolutePath();
+            LOGGER.info("Starting shard {} on core {} into '{}'.", shardIndex, cores.get(shardIndex), shardDirectory);
+            var command = new ArrayList<>(List.of("taskset", "-c", cores.get(shardIndex).toString()));
+            command.addAll(buildHarnessCommand(SHARD_PROPERTY + "=" + shardIndex + "/" + shardCount,
+                    RESULTS_DIRECTORY_PROPERTY + "=" + shardDirectory));
+            try {
+                Files.createDirectories(shardDirectory);
+                processList.add(new ProcessBuilder(command)
+                        .redirectErrorStream(true)
+                        .redirectOutput(shardDirectory.resolve(ShardMerger.LOG_FILE_NAME).toFile())
+                        .start());
+            } catch (IOException e) {
+                processList.forEach(Process::destroy);
+                throw new IllegalStateException("Failed starting shard (" + shardIndex + ").", e);
+            }
+            shardDirectoryList.add(shardDirectory);
+        }
+        var failedShardIndexList = new ArrayList<Integer>();
+        for (var shardIndex = 0; shardIndex < shardCount; shardIndex++) {
+            try {
+                var exitCode = processList.get(shardIndex).waitFor();
+                if (exitCode != 0) {
+                    LOGGER.error("Shard {} failed with exit code {}; see '{}'.", shardIndex, exitCode,
+                            shardDirectoryList.get(shardIndex).resolve(ShardMerger.LOG_FILE_NAME));
+                    failedShardIndexList.add(shardIndex);
+                } else {
+                    LOGGER.info("Shard {} finished.", shardIndex);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                processList.forEach(Process::destroy);
+                throw new IllegalStateException("Interrupted while running shard (" + shardIndex + ").", e);
+            }
         }
-                : new String[] {
-                        "--simple",
-                        "--" + type,
-                        jfrFilePath.toString(),
-                        Path.of(jfrFilePath.toAbsolutePath().getParent().toString(), type + ".html").toString()
-                };
-        try { // Converter is stupidly in the default package.
-            var fooClass = Class.forName("jfr2flame");
-            var fooMethod = fooClass.getMethod("main", String[].class);
-            fooMethod.invoke(null, (Object) args);
-            STATIC_LOGGER.info("Generating flame graph succeeded: {}.", Arrays.toString(args));
-        } catch (Exception ex) {
-            STATIC_LOGGER.error("Generating flame graph failed: {}.", Arrays.toString(args), ex);
+        ShardMerger.merge(shardDirectoryList, resultsDirectory);
+        convertJfrToFlameGraphs();
+        mergedResultsConsumer.accept(resultsDirectory);
+        if (!failedShardIndexList.isEmpty()) {
+            LOGGER.error("Shards {} failed.", failedShardIndexList);
+            System.exit(1);
         }
+        System.exit(0);
+    }
+
+    /**
+     * Every shard takes every n-th of the examples, in their configured order, starting from its index.
+     * Examples, rather than benchmarks of examples, are sharded,
+     * so that every report which puts the benchmarks of an example next to each other still has all of them.
+     *
+     * @return all of the examples, unless in the harness of one of the shards of {@link #runShards(List, int)}
+     */
+    protected <Example_> List<Example_> selectShard(List<Example_> examples) {
+        var shard = System.getProperty(SHARD_PROPERTY);
+        if (shard == null) {
+            return examples;
+        }
+        var shardIndexAndCount = shard.split("\\Q/\\E");
+        var shardIndex = Integer.parseInt(shardIndexAndCount[0]);
+        var shardCount = Integer.parseInt(shardIndexAndCount[1]);
+        return IntStream.range(0, examples.size())
+                .filter(index -> index % shardCount == shardIndex)
+                .mapToObj(examples::get)
+                .toList();
+    }
+
+    /**
+     * Starts this same main class on the same JVM, with the same JVM arguments, and the given system properties,
+     * which take precedence over the ones of this harness.
+     */
+    private List<String> buildHarnessCommand(String... systemProperties) {
+        var command = buildJvmCommand();
+        command.add("-D" + TIMESTAMP_PROPERTY + "=" + timestamp);
+        for (var systemProperty : systemProperties) {
+            command.add("-D" + systemProperty);
+        }
+        command.add(getClass().getName());
+        return command;
+    }
+
+    /**
+     * @return the same JVM, with the same JVM arguments and class path; the main class is still to be added
+     */
+    private static List<String> buildJvmCommand() {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        return command;
+    }
+
+    /**
+     * @return the profile which the forks of this harness run on
+     */
+    protected JvmProfile getJvmProfile(C configuration) {
+        var jvmProfiles = configuration.getJvmProfiles();
+        var jvmProfileName = System.getProperty(JVM_PROFILE_PROPERTY);
+        if (jvmProfileName == null) {
+            if (jvmProfiles.size() > 1) {
+                throw new IllegalStateException("Impossible state: JVM profile matrix (" + jvmProfiles
+                        + ") not run through runJvmProfileMatrix().");
+            }
+            return jvmProfiles.get(0);
+        }
+        return jvmProfiles.stream()
+                .filter(jvmProfile -> jvmProfile.name().equals(jvmProfileName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Impossible state: JVM profile (" + jvmProfileName
+                        + ") not in the configuration."));
     }
 
     protected C readConfiguration() {
-        var configPath = Path.of(subpackage + "-benchmark.properties").toAbsolutePath();
+        var configPath = getConfigurationPath();
         if (configPath.toFile().exists()) {
             LOGGER.info("Using benchmark configuration file: {}.", configPath);
             try (var inputStream = Files.newInputStream(configPath)) {
@@ -170,13 +435,71 @@ public abstract class AbstractMain<C extends AbstractConfiguration> {
 
     abstract protected C getDefaultConfiguration();
 
+    private Path getConfigurationPath() {
+        return Path.of(subpackage + "-benchmark.properties").toAbsolutePath();
+    }
+
+    protected Path getResultsDirectory() {
+        return resultsDirectory;
+    }
+
+    /**
+     * Some settings, such as the number of threads, can not be parameters of a benchmark.
+     * Benchmarks which vary them need several runs, whose results this merges into one CSV.
+     * With {@link AdaptiveForks} enabled, the options with the configured fork count
+     * run only in as many forks as their relative score error needs, see {@link SequentialStopping}.
+     *
+     * @param optionsList every one of them based on {@link #getBaseJmhConfig(AbstractConfiguration)}
+     * @return results of all the runs, in order
+     */
+    protected Collection<RunResult> runAll(C configuration, List<ChainedOptionsBuilder> optionsList)
+            throws RunnerException {
+        var adaptiveForks = configuration.getAdaptiveForks();
+        var sequentialStopping = adaptiveForks.isEnabled() ? new SequentialStopping(adaptiveForks,
+                configuration.getForkCount(), configuration.getRelativeScoreErrorThreshold()) : null;
+        var runResultList = new ArrayList<RunResult>();
+        for (var options : optionsList) {
+            runResultList.addAll(sequentialStopping == null ? new Runner(options.build()).run()
+                    : sequentialStopping.run(options));
+        }
+        // Every run overwrote the results of the previous one.
+        ResultFormatFactory.getInstance(ResultFormatType.CSV, getResultsPath().toString())
+                .writeOut(runResultList);
+        return runResultList;
+    }
+
+    private Path getResultsPath() {
+        return resultsDirectory.resolve(RESULTS_FILE_NAME).toAbsolutePath();
+    }
+
+    /**
+     * The GC and the heap size come from the {@link #getJvmProfile(AbstractConfiguration) JVM profile}.
+     */
     public ChainedOptionsBuilder getBaseJmhConfig(C configuration) {
-        return new OptionsBuilder()
+        return getBaseJmhConfig(configuration, getJvmProfile(configuration).getGcJvmArgs());
+    }
+
+    /**
+     * @param gcJvmArgs select the GC and size the heap, instead of the {@link #getJvmProfile(AbstractConfiguration)
+     *        JVM profile}; the JVM and the rest of its configuration still come from the profile
+     */
+    public ChainedOptionsBuilder getBaseJmhConfig(C configuration, List<String> gcJvmArgs) {
+        var jvmProfile = getJvmProfile(configuration);
+        var jvmArgs = new ArrayList<>(gcJvmArgs);
+        jvmArgs.addAll(jvmProfile.getOtherJvmArgs());
+        if (configuration.isBinaryDatasets()) {
+            LOGGER.info("Using binary datasets.");
+            jvmArgs.add("-D" + BinarySolutionFileIO.ENABLED_PROPERTY + "=true");
+        }
+        var options = new OptionsBuilder();
+        jvmProfile.getJvm()
+                .ifPresent(jvm -> options.jvm(jvm.toString()));
+        return options
                 .forks(configuration.getForkCount())
                 .warmupIterations(configuration.getWarmupIterations())
                 .measurementIterations(configuration.getMeasurementIterations())
-                .jvmArgs("-XX:+UseParallelGC", "-Xms1g", "-Xmx1g") // Minimize GC overhead.
-                .result(resultsDirectory.resolve("benchmarkResults.csv").toAbsolutePath().toString())
+                .jvmArgs(jvmArgs.toArray(String[]::new))
+                .result(getResultsPath().toString())
                 .resultFormat(ResultFormatType.CSV)
                 .shouldDoGC(true);
     }
@@ -0,0 +1,29 @@
+package ai.timefold.solver.jmh.common;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Instead of running every benchmark in as many forks as configured,
+ * runs it in rounds of a few forks at a time, as long as its relative score error is above the threshold,
+ * up to the configured fork count, or until it ran out of its time budget, see {@link SequentialStopping}.
+ *
+ * @param forksPerRound 0 if disabled, in which case every benchmark runs in as many forks as configured
+ * @param timeBudget wall-clock time a single benchmark, with all of its parameters, may take over all its rounds
+ */
+public record AdaptiveForks(int forksPerRound, Duration timeBudget) {
+
+    public static final AdaptiveForks DISABLED = new AdaptiveForks(0, Duration.ofMinutes(15));
+
+    public AdaptiveForks {
+        if (forksPerRound < 0) {
+            throw new IllegalArgumentException("Forks per round (" + forksPerRound + ") must not be negative.");
+        }
+        Objects.requireNonNull(timeBudget);
+    }
+
+    public boolean isEnabled() {
+        return forksPerRound > 0;
+    }
+
+}
@@ -0,0 +1,205 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Every run of every benchmark appends its results to a single file, which is never rewritten,
+ * so that runs can be compared across months, solver versions and machines; see {@link TrendReport}.
+ * Every line is a flat JSON object with the result of a single benchmark with its parameters,
+ * along with everything that identifies the run it came from:
+ * when it started, the solver version, the commit of this repository, the JVM of the forks, the CPU
+ * and every property of the configuration file.
+ * Flat, so that it reads line by line with nothing but {@code grep} or {@code jq}.
+ */
+public final class BenchmarkHistory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BenchmarkHistory.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public static final Path DEFAULT_PATH = Path.of("results", "history.jsonl");
+
+    static final String TIMESTAMP = "timestamp";
+    static final String FAMILY = "family";
+    static final String JVM_PROFILE = "jvmProfile";
+    static final String SOLVER_VERSION = "solverVersion";
+    static final String GIT_COMMIT = "gitCommit";
+    static final String CPU = "cpu";
+    static final String JDK = "jdk";
+    static final String VM = "vm";
+    static final String CONFIG_PREFIX = "config.";
+    static final String BENCHMARK = "benchmark";
+    static final String PARAM_PREFIX = "param.";
+    static final String MODE = "mode";
+    static final String UNIT = "unit";
+    static final String SCORE = "score";
+    static final String SCORE_ERROR = "scoreError";
+    static final String FORKS = "forks";
+    static final String SAMPLES = "samples";
+
+    /**
+     * Shards of a run may append at the same time, so appending takes a lock on the file.
+     *
+     * @param configuration properties of the configuration file; empty if it did not exist
+     */
+    static void append(Path historyPath, String timestamp, String family, String jvmProfileName,
+            Properties configuration, Collection<RunResult> runResults) {
+        if (runResults.isEmpty()) {
+            return;
+        }
+        var runRecord = new LinkedHashMap<String, Object>();
+        runRecord.put(TIMESTAMP, timestamp);
+        runRecord.put(FAMILY, family);
+        runRecord.put(JVM_PROFILE, jvmProfileName);
+        runRecord.put(SOLVER_VERSION, SolverVersion.get());
+        runRecord.put(GIT_COMMIT, identifyGitCommit());
+        runRecord.put(CPU, identifyCpu());
+        configuration.stringPropertyNames()
+                .stream()
+                .sorted()
+                .forEach(key -> runRecord.put(CONFIG_PREFIX + key, configuration.getProperty(key).trim()));
+        var lineBuilder = new StringBuilder();
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var record = new LinkedHashMap<>(runRecord);
+            record.put(JDK, params.getJdkVersion());
+            record.put(VM, params.getVmName() + " " + params.getVmVersion());
+            record.put(BENCHMARK, params.getBenchmark());
+            for (var key : params.getParamsKeys()) {
+                record.put(PARAM_PREFIX + key, params.getParam(key));
+            }
+            var primaryResult = runResult.getPrimaryResult();
+            record.put(MODE, params.getMode().shortLabel());
+            record.put(UNIT, primaryResult.getScoreUnit());
+            record.put(SCORE, finiteOrNull(primaryResult.getScore()));
+            record.put(SCORE_ERROR, finiteOrNull(primaryResult.getScoreError()));
+            record.put(FORKS, runResult.getBenchmarkResults().size());
+            record.put(SAMPLES, primaryResult.getSampleCount());
+            try {
+                lineBuilder.append(OBJECT_MAPPER.writeValueAsString(record)).append('\n');
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Failed writing benchmark history record (" + record + ").", e);
+            }
+        }
+        try {
+            Files.createDirectories(historyPath.toAbsolutePath().getParent());
+            try (var channel = FileChannel.open(historyPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+                    var lock = channel.lock()) {
+                channel.write(StandardCharsets.UTF_8.encode(lineBuilder.toString()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed appending to benchmark history (" + historyPath + ").", e);
+        }
+        LOGGER.info("Appended {} results to benchmark history {}.", runResults.size(), historyPath);
+    }
+
+    /**
+     * Reads any JSON object per line, such as one which went through {@code jq -c}.
+     *
+     * @return never null; every record in the order in which it was appended, each with its keys in order;
+     *         numbers as they were written, nulls as null
+     */
+    public static List<Map<String, String>> read(Path historyPath) throws IOException {
+        var recordList = new ArrayList<Map<String, String>>();
+        var lineNumber = 0;
+        for (var line : Files.readAllLines(historyPath, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            JsonNode json;
+            try {
+                json = OBJECT_MAPPER.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Failed parsing line (" + lineNumber + ") of benchmark history ("
+                        + historyPath + ").", e);
+            }
+            if (!json.isObject()) {
+                throw new IllegalArgumentException("Line (" + lineNumber + ") of benchmark history (" + historyPath
+                        + ") is not a JSON object.");
+            }
+            var record = new LinkedHashMap<String, String>();
+            json.fields().forEachRemaining(field -> record.put(field.getKey(), toText(field.getValue())));
+            recordList.add(record);
+        }
+        return recordList;
+    }
+
+    private static String identifyGitCommit() {
+        try {
+            var process = new ProcessBuilder("git", "rev-parse", "HEAD")
+                    .redirectErrorStream(true)
+                    .start();
+            var output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+            if (process.waitFor(10, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                return output;
+            }
+        } catch (IOException e) {
+            // Not a git repository, or no git; fall through.
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return "unknown";
+    }
+
+    private static String identifyCpu() {
+        try (var lines = Files.lines(Path.of("/proc/cpuinfo"))) {
+            var cpu = lines.filter(line -> line.startsWith("model name"))
+                    .map(line -> line.substring(line.indexOf(':') + 1).trim())
+                    .findFirst();
+            if (cpu.isPresent()) {
+                return cpu.get() + " (" + Runtime.getRuntime().availableProcessors() + " CPUs)";
+            }
+        } catch (IOException e) {
+            // Not Linux; fall through.
+        }
+        return System.getProperty("os.arch") + " (" + Runtime.getRuntime().availableProcessors() + " CPUs)";
+    }
+
+    /**
+     * JSON has no NaN or infinities.
+     */
+    private static Double finiteOrNull(double value) {
+        return Double.isFinite(value) ? value : null;
+    }
+
+    /**
+     * Flattens whatever else a line was edited to contain, such as a nested object, into its JSON text.
+     *
+     * @return null if the value is null
+     */
+    private static String toText(JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        } else if (value.isValueNode()) {
+            return value.asText();
+        } else {
+            return value.toString();
+        }
+    }
+
+    private BenchmarkHistory() {
+        // No instances.
+    }
+
+}
@@ -1,7 +1,9 @@
 package ai.timefold.solver.jmh.common;
 
-import java.util.Properties;
+import java.util.List;
 
-public record BenchmarkProperties(int forkCount, int warmupIterations, int measurementIterations, double relativeScoreErrorThreshold) {
+public record BenchmarkProperties(int forkCount, int warmupIterations, int measurementIterations, double relativeScoreErrorThreshold,
+        boolean binaryDatasets, String baselineDirectory, double regressionTolerance, List<JvmProfile> jvmProfiles,
+        AdaptiveForks adaptiveForks) {
 
 }
@@ -0,0 +1,923 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
+
+/**
+ * Compact binary form of an entire solution graph,
+ * as an alternative to the JSON and XLSX formats of the examples.
+ *
+ * <p>
+ * The file consists of a header, a string table, a class table and an object table.
+ * Objects with identity (domain objects, collections, maps and arrays) are stored once in the object table
+ * and referenced by their index.
+ * Everything else (strings, boxed primitives, enums, {@code java.time} values, scores and records) is stored inline.
+ * Objects are rebuilt through their no-arg constructor; a class without one can not be written.
+ *
+ * <p>
+ * Reading maps the file into memory and rebuilds the graph in passes over the object table.
+ * First every object is allocated, then all fields are filled in,
+ * and only then are sets and maps populated, as their elements need to be complete before they are hashed.
+ * Unlike Jackson, nothing recurses, no matter how deep the graph.
+ *
+ * <p>
+ * Immutable and non-public collections are read back as their closest mutable equivalent,
+ * and sorted collections lose their comparator.
+ * None of the examples depend on either.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class BinarySolutionFileIO<Solution_> implements SolutionFileIO<Solution_> {
+
+    /**
+     * System property through which the forks learn that they should read binary datasets.
+     */
+    public static final String ENABLED_PROPERTY = "ai.timefold.solver.jmh.binaryDatasets";
+    public static final String FILE_EXTENSION = "tfsb";
+
+    private static final int MAGIC = 0x54465342; // "TFSB"
+    private static final int FORMAT_VERSION = 1;
+
+    // Class kinds.
+    private static final byte KIND_OBJECT = 0;
+    private static final byte KIND_VALUE = 1; // Enums, records and text values; never in the object table.
+    private static final byte KIND_ARRAY = 2;
+    private static final byte KIND_LIST = 3;
+    private static final byte KIND_SET = 4;
+    private static final byte KIND_MAP = 5;
+    private static final byte KIND_ENUM_SET = 6;
+    private static final byte KIND_ENUM_MAP = 7;
+
+    // Value tags.
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_REFERENCE = 1;
+    private static final byte TAG_STRING = 2;
+    private static final byte TAG_ENUM = 3;
+    private static final byte TAG_INTEGER = 4;
+    private static final byte TAG_LONG = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_FLOAT = 7;
+    private static final byte TAG_SHORT = 8;
+    private static final byte TAG_BYTE = 9;
+    private static final byte TAG_CHARACTER = 10;
+    private static final byte TAG_BOOLEAN = 11;
+    private static final byte TAG_LOCAL_DATE = 12;
+    private static final byte TAG_LOCAL_TIME = 13;
+    private static final byte TAG_LOCAL_DATE_TIME = 14;
+    private static final byte TAG_DURATION = 15;
+    private static final byte TAG_RECORD = 16;
+    private static final byte TAG_TEXT_VALUE = 17;
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    private final Class<Solution_> solutionClass;
+
+    public BinarySolutionFileIO(Class<Solution_> solutionClass) {
+        this.solutionClass = solutionClass;
+    }
+
+    @Override
+    public String getInputFileExtension() {
+        return FILE_EXTENSION;
+    }
+
+    @Override
+    public Solution_ read(File inputSolutionFile) {
+        try (var channel = FileChannel.open(inputSolutionFile.toPath(), StandardOpenOption.READ)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return solutionClass.cast(new Reader(buffer).read());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading binary solution: " + inputSolutionFile, e);
+        }
+    }
+
+    @Override
+    public void write(Solution_ solution, File outputSolutionFile) {
+        try (var outputStream = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(outputSolutionFile.toPath()), 1 << 16))) {
+            new Writer(outputStream).write(solution);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing binary solution: " + outputSolutionFile, e);
+        }
+    }
+
+    /**
+     * Values with a tag of their own, which need no entry in the class table.
+     */
+    private static boolean isPlainValue(Object value) {
+        return value instanceof String || value instanceof Integer || value instanceof Long || value instanceof Double
+                || value instanceof Float || value instanceof Short || value instanceof Byte
+                || value instanceof Character || value instanceof Boolean || value instanceof LocalDate
+                || value instanceof LocalTime || value instanceof LocalDateTime || value instanceof Duration;
+    }
+
+    /**
+     * Immutable JDK values and scores, all of which can be restored from their {@link Object#toString()}.
+     */
+    private static boolean isTextValue(Class<?> clazz) {
+        return clazz.getPackageName().equals("java.time") || clazz == BigDecimal.class || clazz == BigInteger.class
+                || clazz == UUID.class || Score.class.isAssignableFrom(clazz);
+    }
+
+    private static boolean isJdkClass(Class<?> clazz) {
+        var packageName = clazz.getPackageName();
+        return packageName.startsWith("java.") || packageName.startsWith("javax.") || packageName.startsWith("jdk.")
+                || packageName.startsWith("sun.");
+    }
+
+    private static Class<?> getEnumClass(Enum<?> value) {
+        return value.getDeclaringClass(); // Enum constants with a body are anonymous subclasses.
+    }
+
+    /**
+     * Objects are allocated through their no-arg constructor, which also runs the initializers of transient fields.
+     * The domain classes of all the examples have one; scores, which do not, are text values.
+     */
+    private static Constructor<?> getObjectConstructor(Class<?> clazz) {
+        try {
+            var constructor = clazz.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Unsupported class (" + clazz + ") has no no-arg constructor.", e);
+        }
+    }
+
+    /**
+     * All instance fields which need to be persisted, superclass fields first.
+     */
+    private static List<Field> getPersistentFields(Class<?> clazz) {
+        var hierarchy = new ArrayDeque<Class<?>>();
+        for (var current = clazz; current != Object.class; current = current.getSuperclass()) {
+            if (isJdkClass(current)) {
+                throw new IllegalArgumentException("Unsupported class (" + clazz + ") extends a JDK class ("
+                        + current + ").");
+            }
+            hierarchy.addFirst(current);
+        }
+        var fieldList = new ArrayList<Field>();
+        for (var current : hierarchy) {
+            for (var field : current.getDeclaredFields()) {
+                var modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                field.setAccessible(true);
+                fieldList.add(field);
+            }
+        }
+        return fieldList;
+    }
+
+    /**
+     * @param elementClass only for {@link #KIND_ENUM_SET} and {@link #KIND_ENUM_MAP}, the enum class
+     * @param fieldList only for {@link #KIND_OBJECT}
+     */
+    private record ClassInfo(byte kind, Class<?> clazz, Class<?> elementClass, List<Field> fieldList) {
+
+        static ClassInfo of(Class<?> clazz, Object instance) {
+            if (clazz.isArray()) {
+                return new ClassInfo(KIND_ARRAY, clazz, null, List.of());
+            } else if (clazz.isEnum() || clazz.isRecord() || isTextValue(clazz)) {
+                return new ClassInfo(KIND_VALUE, clazz, null, List.of());
+            } else if (instance instanceof EnumSet<?> enumSet) {
+                return new ClassInfo(KIND_ENUM_SET, clazz, getElementClass(enumSet), List.of());
+            } else if (instance instanceof EnumMap<?, ?> enumMap) {
+                return new ClassInfo(KIND_ENUM_MAP, clazz, getKeyClass(enumMap), List.of());
+            } else if (instance instanceof List<?>) {
+                return new ClassInfo(KIND_LIST, clazz, null, List.of());
+            } else if (instance instanceof Set<?>) {
+                return new ClassInfo(KIND_SET, clazz, null, List.of());
+            } else if (instance instanceof Map<?, ?>) {
+                return new ClassInfo(KIND_MAP, clazz, null, List.of());
+            } else if (isJdkClass(clazz)) {
+                throw new IllegalArgumentException("Unsupported JDK class (" + clazz + ").");
+            } else {
+                getObjectConstructor(clazz); // Fail on writing, rather than on reading back.
+                return new ClassInfo(KIND_OBJECT, clazz, null, getPersistentFields(clazz));
+            }
+        }
+
+        private static Class<?> getElementClass(EnumSet<?> enumSet) {
+            // The element type is not accessible; if the set is empty, its complement still knows it.
+            var anyElement = enumSet.isEmpty() ? EnumSet.complementOf(enumSet).stream().findFirst()
+                    : enumSet.stream().findFirst();
+            return anyElement.map(element -> getEnumClass((Enum<?>) element))
+                    .orElseThrow(() -> new IllegalArgumentException("Unsupported EnumSet of an enum with no constants."));
+        }
+
+        private static Class<?> getKeyClass(EnumMap<?, ?> enumMap) {
+            if (enumMap.isEmpty()) {
+                throw new IllegalArgumentException("Unsupported empty EnumMap, as its key type is unknown.");
+            }
+            return getEnumClass(enumMap.keySet().iterator().next());
+        }
+
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+        private final Map<String, Integer> stringIndexMap = new HashMap<>();
+        private final List<String> stringList = new ArrayList<>();
+        private final Map<Class<?>, Integer> classIndexMap = new HashMap<>();
+        private final List<ClassInfo> classInfoList = new ArrayList<>();
+        private final Map<Object, Integer> objectIndexMap = new IdentityHashMap<>();
+        private final List<Object> objectList = new ArrayList<>();
+        private final Map<Class<?>, RecordComponent[]> recordComponentMap = new HashMap<>();
+
+        Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        void write(Object root) throws IOException {
+            discover(root);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeInt(stringList.size());
+            for (var string : stringList) {
+                var bytes = string.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            out.writeInt(classInfoList.size());
+            for (var classInfo : classInfoList) {
+                out.writeByte(classInfo.kind());
+                out.writeInt(stringIndexMap.get(classInfo.clazz().getName()));
+                switch (classInfo.kind()) {
+                    case KIND_ENUM_SET, KIND_ENUM_MAP -> out.writeInt(stringIndexMap.get(classInfo.elementClass().getName()));
+                    case KIND_OBJECT -> {
+                        out.writeInt(classInfo.fieldList().size());
+                        for (var field : classInfo.fieldList()) {
+                            out.writeInt(stringIndexMap.get(field.getDeclaringClass().getName()));
+                            out.writeInt(stringIndexMap.get(field.getName()));
+                        }
+                    }
+                    default -> {
+                        // Nothing else to write.
+                    }
+                }
+            }
+            out.writeInt(objectList.size());
+            for (var object : objectList) {
+                out.writeInt(classIndexMap.get(object.getClass()));
+                out.writeInt(getLength(object));
+            }
+            for (var object : objectList) {
+                writeContents(object);
+            }
+        }
+
+        private static int getLength(Object object) {
+            if (object.getClass().isArray()) {
+                return Array.getLength(object);
+            } else if (object instanceof Collection<?> collection) {
+                return collection.size();
+            } else if (object instanceof Map<?, ?> map) {
+                return map.size();
+            } else {
+                return 0;
+            }
+        }
+
+        /**
+         * Breadth-first walk over the entire graph, which assigns an index to every object, class and string.
+         * The object list doubles as the queue of objects yet to be visited.
+         */
+        private void discover(Object root) {
+            discoverValue(root);
+            for (var i = 0; i < objectList.size(); i++) {
+                var object = objectList.get(i);
+                var clazz = object.getClass();
+                if (clazz.isArray()) {
+                    if (!clazz.getComponentType().isPrimitive()) {
+                        for (var element : (Object[]) object) {
+                            discoverValue(element);
+                        }
+                    }
+                } else if (object instanceof Collection<?> collection) {
+                    for (var element : collection) {
+                        discoverValue(element);
+                    }
+                } else if (object instanceof Map<?, ?> map) {
+                    for (var entry : map.entrySet()) {
+                        discoverValue(entry.getKey());
+                        discoverValue(entry.getValue());
+                    }
+                } else {
+                    for (var field : classInfoList.get(classIndexMap.get(clazz)).fieldList()) {
+                        if (!field.getType().isPrimitive()) {
+                            discoverValue(getFieldValue(field, object));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void discoverValue(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (isPlainValue(value)) {
+                if (value instanceof String string) {
+                    indexOfString(string);
+                }
+                return;
+            }
+            var clazz = value.getClass();
+            if (value instanceof Enum<?> enumValue) {
+                registerClass(getEnumClass(enumValue), value);
+            } else if (clazz.isRecord()) { // Stored inline, but its components may well need to be discovered.
+                registerClass(clazz, value);
+                for (var component : getRecordComponents(clazz)) {
+                    discoverValue(getComponentValue(component, value));
+                }
+            } else if (isTextValue(clazz)) {
+                registerClass(clazz, value);
+                indexOfString(value.toString());
+            } else if (!objectIndexMap.containsKey(value)) {
+                registerClass(clazz, value);
+                objectIndexMap.put(value, objectList.size());
+                objectList.add(value);
+            }
+        }
+
+        private void registerClass(Class<?> clazz, Object instance) {
+            if (classIndexMap.containsKey(clazz)) {
+                return;
+            }
+            var classInfo = ClassInfo.of(clazz, instance);
+            classIndexMap.put(clazz, classInfoList.size());
+            classInfoList.add(classInfo);
+            indexOfString(clazz.getName());
+            if (classInfo.elementClass() != null) {
+                indexOfString(classInfo.elementClass().getName());
+            }
+            for (var field : classInfo.fieldList()) {
+                indexOfString(field.getDeclaringClass().getName());
+                indexOfString(field.getName());
+            }
+        }
+
+        private void indexOfString(String string) {
+            if (!stringIndexMap.containsKey(string)) {
+                stringIndexMap.put(string, stringList.size());
+                stringList.add(string);
+            }
+        }
+
+        private RecordComponent[] getRecordComponents(Class<?> recordClass) {
+            return recordComponentMap.computeIfAbsent(recordClass, Class::getRecordComponents);
+        }
+
+        private void writeContents(Object object) throws IOException {
+            var clazz = object.getClass();
+            if (clazz.isArray()) {
+                var componentType = clazz.getComponentType();
+                if (componentType.isPrimitive()) {
+                    var length = Array.getLength(object);
+                    for (var i = 0; i < length; i++) {
+                        writePrimitive(componentType, Array.get(object, i));
+                    }
+                } else {
+                    for (var element : (Object[]) object) {
+                        writeValue(element);
+                    }
+                }
+            } else if (object instanceof Collection<?> collection) {
+                for (var element : collection) {
+                    writeValue(element);
+                }
+            } else if (object instanceof Map<?, ?> map) {
+                for (var entry : map.entrySet()) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else {
+                for (var field : classInfoList.get(classIndexMap.get(clazz)).fieldList()) {
+                    var type = field.getType();
+                    if (type.isPrimitive()) {
+                        writePrimitive(type, getFieldValue(field, object));
+                    } else {
+                        writeValue(getFieldValue(field, object));
+                    }
+                }
+            }
+        }
+
+        private void writePrimitive(Class<?> type, Object value) throws IOException {
+            if (type == int.class) {
+                out.writeInt((Integer) value);
+            } else if (type == long.class) {
+                out.writeLong((Long) value);
+            } else if (type == double.class) {
+                out.writeDouble((Double) value);
+            } else if (type == float.class) {
+                out.writeFloat((Float) value);
+            } else if (type == short.class) {
+                out.writeShort((Short) value);
+            } else if (type == byte.class) {
+                out.writeByte((Byte) value);
+            } else if (type == char.class) {
+                out.writeChar((Character) value);
+            } else if (type == boolean.class) {
+                out.writeBoolean((Boolean) value);
+            } else {
+                throw new IllegalStateException("Impossible state: unknown primitive type (" + type + ").");
+            }
+        }
+
+        private void writeValue(Object value) throws IOException {
+            if (value == null) {
+                out.writeByte(TAG_NULL);
+            } else if (value instanceof String string) {
+                out.writeByte(TAG_STRING);
+                out.writeInt(stringIndexMap.get(string));
+            } else if (value instanceof Enum<?> enumValue) {
+                out.writeByte(TAG_ENUM);
+                out.writeInt(classIndexMap.get(getEnumClass(enumValue)));
+                out.writeInt(enumValue.ordinal());
+            } else if (value instanceof Integer integer) {
+                out.writeByte(TAG_INTEGER);
+                out.writeInt(integer);
+            } else if (value instanceof Long longValue) {
+                out.writeByte(TAG_LONG);
+                out.writeLong(longValue);
+            } else if (value instanceof Double doubleValue) {
+                out.writeByte(TAG_DOUBLE);
+                out.writeDouble(doubleValue);
+            } else if (value instanceof Float floatValue) {
+                out.writeByte(TAG_FLOAT);
+                out.writeFloat(floatValue);
+            } else if (value instanceof Short shortValue) {
+                out.writeByte(TAG_SHORT);
+                out.writeShort(shortValue);
+            } else if (value instanceof Byte byteValue) {
+                out.writeByte(TAG_BYTE);
+                out.writeByte(byteValue);
+            } else if (value instanceof Character character) {
+                out.writeByte(TAG_CHARACTER);
+                out.writeChar(character);
+            } else if (value instanceof Boolean booleanValue) {
+                out.writeByte(TAG_BOOLEAN);
+                out.writeBoolean(booleanValue);
+            } else if (value instanceof LocalDate localDate) {
+                out.writeByte(TAG_LOCAL_DATE);
+                out.writeLong(localDate.toEpochDay());
+            } else if (value instanceof LocalTime localTime) {
+                out.writeByte(TAG_LOCAL_TIME);
+                out.writeLong(localTime.toNanoOfDay());
+            } else if (value instanceof LocalDateTime localDateTime) {
+                out.writeByte(TAG_LOCAL_DATE_TIME);
+                out.writeLong(localDateTime.toLocalDate().toEpochDay());
+                out.writeLong(localDateTime.toLocalTime().toNanoOfDay());
+            } else if (value instanceof Duration duration) {
+                out.writeByte(TAG_DURATION);
+                out.writeLong(duration.getSeconds());
+                out.writeInt(duration.getNano());
+            } else if (value.getClass().isRecord()) {
+                var clazz = value.getClass();
+                out.writeByte(TAG_RECORD);
+                out.writeInt(classIndexMap.get(clazz));
+                for (var component : getRecordComponents(clazz)) {
+                    writeValue(getComponentValue(component, value));
+                }
+            } else if (isTextValue(value.getClass())) {
+                out.writeByte(TAG_TEXT_VALUE);
+                out.writeInt(classIndexMap.get(value.getClass()));
+                out.writeInt(stringIndexMap.get(value.toString()));
+            } else {
+                out.writeByte(TAG_REFERENCE);
+                out.writeInt(objectIndexMap.get(value));
+            }
+        }
+
+        private static Object getFieldValue(Field field, Object object) {
+            try {
+                return field.get(object);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Failed reading field (" + field + ").", e);
+            }
+        }
+
+        private static Object getComponentValue(RecordComponent component, Object record) {
+            try {
+                var accessor = component.getAccessor();
+                accessor.setAccessible(true);
+                return accessor.invoke(record);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed reading record component (" + component + ").", e);
+            }
+        }
+
+    }
+
+    private static final class Reader {
+
+        private final ByteBuffer buffer;
+        private String[] strings;
+        private byte[] classKinds;
+        private Class<?>[] classes;
+        private Class<?>[] elementClasses;
+        private Field[][] classFields;
+        private Constructor<?>[] constructors;
+        private Object[][] enumConstants;
+        private Constructor<?>[] recordConstructors;
+        private Method[] textValueFactories;
+        private Object[] objects;
+        private int[] objectClassIndexes;
+        private int[] objectLengths;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        Object read() {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalStateException("Not a binary solution file.");
+            }
+            var formatVersion = buffer.getInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported binary solution format version (" + formatVersion + ").");
+            }
+            readStrings();
+            readClasses();
+            // First pass: allocate every object, so that all references can be resolved.
+            var objectCount = buffer.getInt();
+            objects = new Object[objectCount];
+            objectClassIndexes = new int[objectCount];
+            objectLengths = new int[objectCount];
+            for (var i = 0; i < objectCount; i++) {
+                objectClassIndexes[i] = buffer.getInt();
+                objectLengths[i] = buffer.getInt();
+                objects[i] = allocate(objectClassIndexes[i], objectLengths[i]);
+            }
+            // Second pass: fill in all the fields, arrays and lists; only collect the contents of sets and maps.
+            var deferredIndexList = new ArrayList<Integer>();
+            var deferredContentsList = new ArrayList<Object[]>();
+            for (var i = 0; i < objectCount; i++) {
+                var kind = classKinds[objectClassIndexes[i]];
+                if (kind == KIND_SET || kind == KIND_MAP) {
+                    var contents = new Object[kind == KIND_SET ? objectLengths[i] : objectLengths[i] * 2];
+                    for (var j = 0; j < contents.length; j++) {
+                        contents[j] = readValue();
+                    }
+                    deferredIndexList.add(i);
+                    deferredContentsList.add(contents);
+                } else {
+                    readContents(i, kind);
+                }
+            }
+            // Third pass: hash the now complete elements into sets and maps.
+            // Backwards, so that nested sets and maps are complete before their outer ones hash them.
+            for (var i = deferredIndexList.size() - 1; i >= 0; i--) {
+                populate(objects[deferredIndexList.get(i)], deferredContentsList.get(i));
+            }
+            return objectCount == 0 ? null : objects[0];
+        }
+
+        private void readStrings() {
+            var stringCount = buffer.getInt();
+            strings = new String[stringCount];
+            var bytes = new byte[256];
+            for (var i = 0; i < stringCount; i++) {
+                var length = buffer.getInt();
+                if (bytes.length < length) {
+                    bytes = new byte[Math.max(length, bytes.length * 2)];
+                }
+                buffer.get(bytes, 0, length);
+                strings[i] = new String(bytes, 0, length, StandardCharsets.UTF_8);
+            }
+        }
+
+        private void readClasses() {
+            var classCount = buffer.getInt();
+            classKinds = new byte[classCount];
+            classes = new Class<?>[classCount];
+            elementClasses = new Class<?>[classCount];
+            classFields = new Field[classCount][];
+            constructors = new Constructor<?>[classCount];
+            enumConstants = new Object[classCount][];
+            recordConstructors = new Constructor<?>[classCount];
+            textValueFactories = new Method[classCount];
+            for (var i = 0; i < classCount; i++) {
+                var kind = buffer.get();
+                var clazz = loadClass(strings[buffer.getInt()]);
+                classKinds[i] = kind;
+                classes[i] = clazz;
+                switch (kind) {
+                    case KIND_ENUM_SET, KIND_ENUM_MAP -> elementClasses[i] = loadClass(strings[buffer.getInt()]);
+                    case KIND_OBJECT -> {
+                        var fields = new Field[buffer.getInt()];
+                        for (var j = 0; j < fields.length; j++) {
+                            var declaringClass = loadClass(strings[buffer.getInt()]);
+                            fields[j] = getField(declaringClass, strings[buffer.getInt()]);
+                        }
+                        classFields[i] = fields;
+                        constructors[i] = getObjectConstructor(clazz);
+                    }
+                    case KIND_LIST, KIND_SET, KIND_MAP -> constructors[i] = getCollectionConstructor(clazz);
+                    case KIND_VALUE -> {
+                        if (clazz.isEnum()) {
+                            enumConstants[i] = clazz.getEnumConstants();
+                        } else if (clazz.isRecord()) {
+                            recordConstructors[i] = getRecordConstructor(clazz);
+                        } else {
+                            textValueFactories[i] = getTextValueFactory(clazz);
+                        }
+                    }
+                    default -> {
+                        // Nothing else to read.
+                    }
+                }
+            }
+        }
+
+        private static Class<?> loadClass(String className) {
+            try {
+                return Class.forName(className, false, BinarySolutionFileIO.class.getClassLoader());
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Class (" + className + ") not found.", e);
+            }
+        }
+
+        private static Field getField(Class<?> declaringClass, String fieldName) {
+            try {
+                var field = declaringClass.getDeclaredField(fieldName);
+                field.setAccessible(true);
+                return field;
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("Field (" + fieldName + ") not found on (" + declaringClass + ").", e);
+            }
+        }
+
+        private static Constructor<?> getRecordConstructor(Class<?> recordClass) {
+            var componentTypes = Arrays.stream(recordClass.getRecordComponents())
+                    .map(RecordComponent::getType)
+                    .toArray(Class<?>[]::new);
+            try {
+                var constructor = recordClass.getDeclaredConstructor(componentTypes);
+                constructor.setAccessible(true);
+                return constructor;
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Impossible state: record (" + recordClass
+                        + ") has no canonical constructor.", e);
+            }
+        }
+
+        private static Method getTextValueFactory(Class<?> clazz) {
+            for (var methodName : List.of("parse", "parseScore", "fromString")) {
+                for (var parameterType : List.of(CharSequence.class, String.class)) {
+                    try {
+                        var method = clazz.getMethod(methodName, parameterType);
+                        if (Modifier.isStatic(method.getModifiers()) && method.getReturnType() == clazz) {
+                            return method;
+                        }
+                    } catch (NoSuchMethodException e) {
+                        // Try the next one.
+                    }
+                }
+            }
+            return null; // Use the String constructor, such as BigDecimal's.
+        }
+
+        private Object allocate(int classIndex, int length) {
+            var clazz = classes[classIndex];
+            var constructor = constructors[classIndex];
+            return switch (classKinds[classIndex]) {
+                case KIND_ARRAY -> Array.newInstance(clazz.getComponentType(), length);
+                case KIND_LIST -> constructor == null ? new ArrayList<>(length) : newInstance(constructor);
+                case KIND_SET -> constructor == null ? LinkedHashSet.newLinkedHashSet(length) : newInstance(constructor);
+                case KIND_MAP -> constructor == null ? LinkedHashMap.newLinkedHashMap(length) : newInstance(constructor);
+                case KIND_ENUM_SET -> newEnumSet(elementClasses[classIndex]);
+                case KIND_ENUM_MAP -> newEnumMap(elementClasses[classIndex]);
+                case KIND_OBJECT -> newInstance(constructor);
+                default -> throw new IllegalStateException("Impossible state: class (" + clazz
+                        + ") is not stored in the object table.");
+            };
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static Object newEnumSet(Class<?> enumClass) {
+            return EnumSet.noneOf((Class) enumClass);
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private static Object newEnumMap(Class<?> enumClass) {
+            return new EnumMap<>((Class) enumClass);
+        }
+
+        private static Object newInstance(Constructor<?> constructor) {
+            try {
+                return constructor.newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed instantiating (" + constructor.getDeclaringClass() + ").", e);
+            }
+        }
+
+        /**
+         * Keeps the original collection type where it is public and has a no-arg constructor.
+         *
+         * @return null if the closest mutable equivalent is to be used instead, such as for immutable collections
+         */
+        private static Constructor<?> getCollectionConstructor(Class<?> clazz) {
+            if (!Modifier.isPublic(clazz.getModifiers())) {
+                return null;
+            }
+            try {
+                return clazz.getConstructor();
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void readContents(int objectIndex, byte kind) {
+            var object = objects[objectIndex];
+            var length = objectLengths[objectIndex];
+            switch (kind) {
+                case KIND_ARRAY -> readArray(object, length);
+                case KIND_LIST, KIND_ENUM_SET -> { // Neither hashes its elements.
+                    var collection = (Collection<Object>) object;
+                    for (var i = 0; i < length; i++) {
+                        collection.add(readValue());
+                    }
+                }
+                case KIND_ENUM_MAP -> {
+                    var map = (Map<Object, Object>) object;
+                    for (var i = 0; i < length; i++) {
+                        map.put(readValue(), readValue());
+                    }
+                }
+                case KIND_OBJECT -> {
+                    for (var field : classFields[objectClassIndexes[objectIndex]]) {
+                        var type = field.getType();
+                        setField(field, object, type.isPrimitive() ? readPrimitive(type) : readValue());
+                    }
+                }
+                default -> throw new IllegalStateException("Impossible state: unexpected class kind (" + kind + ").");
+            }
+        }
+
+        private void readArray(Object array, int length) {
+            var componentType = array.getClass().getComponentType();
+            if (componentType.isPrimitive()) {
+                for (var i = 0; i < length; i++) {
+                    Array.set(array, i, readPrimitive(componentType));
+                }
+            } else {
+                var objectArray = (Object[]) array;
+                for (var i = 0; i < length; i++) {
+                    objectArray[i] = readValue();
+                }
+            }
+        }
+
+        private static void setField(Field field, Object object, Object value) {
+            try {
+                field.set(object, value);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Failed writing field (" + field + ").", e);
+            }
+        }
+
+        private Object readPrimitive(Class<?> type) {
+            if (type == int.class) {
+                return buffer.getInt();
+            } else if (type == long.class) {
+                return buffer.getLong();
+            } else if (type == double.class) {
+                return buffer.getDouble();
+            } else if (type == float.class) {
+                return buffer.getFloat();
+            } else if (type == short.class) {
+                return buffer.getShort();
+            } else if (type == byte.class) {
+                return buffer.get();
+            } else if (type == char.class) {
+                return buffer.getChar();
+            } else if (type == boolean.class) {
+                return buffer.get() != 0;
+            } else {
+                throw new IllegalStateException("Impossible state: unknown primitive type (" + type + ").");
+            }
+        }
+
+        private Object readValue() {
+            var tag = buffer.get();
+            return switch (tag) {
+                case TAG_NULL -> null;
+                case TAG_REFERENCE -> objects[buffer.getInt()];
+                case TAG_STRING -> strings[buffer.getInt()];
+                case TAG_ENUM -> {
+                    var classIndex = buffer.getInt();
+                    yield enumConstants[classIndex][buffer.getInt()];
+                }
+                case TAG_INTEGER -> buffer.getInt();
+                case TAG_LONG -> buffer.getLong();
+                case TAG_DOUBLE -> buffer.getDouble();
+                case TAG_FLOAT -> buffer.getFloat();
+                case TAG_SHORT -> buffer.getShort();
+                case TAG_BYTE -> buffer.get();
+                case TAG_CHARACTER -> buffer.getChar();
+                case TAG_BOOLEAN -> buffer.get() != 0;
+                case TAG_LOCAL_DATE -> LocalDate.ofEpochDay(buffer.getLong());
+                case TAG_LOCAL_TIME -> LocalTime.ofNanoOfDay(buffer.getLong());
+                case TAG_LOCAL_DATE_TIME -> {
+                    var date = LocalDate.ofEpochDay(buffer.getLong());
+                    yield LocalDateTime.of(date, LocalTime.ofNanoOfDay(buffer.getLong()));
+                }
+                case TAG_DURATION -> {
+                    var seconds = buffer.getLong();
+                    yield Duration.ofSeconds(seconds, buffer.getInt());
+                }
+                case TAG_RECORD -> readRecord(buffer.getInt());
+                case TAG_TEXT_VALUE -> {
+                    var classIndex = buffer.getInt();
+                    yield readTextValue(classIndex, strings[buffer.getInt()]);
+                }
+                default -> throw new IllegalStateException("Impossible state: unknown value tag (" + tag + ").");
+            };
+        }
+
+        private Object readRecord(int classIndex) {
+            var constructor = recordConstructors[classIndex];
+            var arguments = new Object[constructor.getParameterCount()];
+            for (var i = 0; i < arguments.length; i++) {
+                arguments[i] = readValue();
+            }
+            try {
+                return constructor.newInstance(arguments);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed instantiating record (" + classes[classIndex] + ").", e);
+            }
+        }
+
+        private Object readTextValue(int classIndex, String text) {
+            var clazz = classes[classIndex];
+            try {
+                var factory = textValueFactories[classIndex];
+                if (factory != null) {
+                    return factory.invoke(null, text);
+                }
+                return clazz.getConstructor(String.class).newInstance(text);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed restoring (" + clazz + ") from (" + text + ").", e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void populate(Object setOrMap, Object[] contents) {
+            if (setOrMap instanceof Map<?, ?>) {
+                var map = (Map<Object, Object>) setOrMap;
+                for (var i = 0; i < contents.length; i += 2) {
+                    map.put(contents[i], contents[i + 1]);
+                }
+            } else {
+                var set = (Collection<Object>) setOrMap;
+                set.addAll(Arrays.asList(contents));
+            }
+        }
+
+    }
+
+}
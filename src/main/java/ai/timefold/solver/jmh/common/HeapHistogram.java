@@ -0,0 +1,67 @@
+package ai.timefold.solver.jmh.common;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Counts the objects on the heap of this JVM, and the bytes they take, through the class histogram of HotSpot.
+ * Taking the histogram stops the world and walks the entire heap; never do it inside of a measurement.
+ */
+public final class HeapHistogram {
+
+    private static final String DIAGNOSTIC_COMMAND_MBEAN = "com.sun.management:type=DiagnosticCommand";
+
+    public record Totals(long instances, long bytes) {
+
+        public Totals minus(Totals other) {
+            return new Totals(instances - other.instances, bytes - other.bytes);
+        }
+
+    }
+
+    /**
+     * Counts every object on the heap, including those which are no longer reachable, without collecting garbage.
+     * With a GC which never collects, such as Epsilon, the difference of two such counts
+     * is exactly what was allocated in between, plus what taking the first histogram allocated.
+     *
+     * @return never null
+     */
+    public static Totals takeAll() {
+        return take("-all");
+    }
+
+    /**
+     * Counts only the objects which are still reachable, after a full GC.
+     *
+     * @return never null
+     */
+    public static Totals takeLive() {
+        return take();
+    }
+
+    private static Totals take(String... arguments) {
+        String histogram;
+        try {
+            histogram = (String) ManagementFactory.getPlatformMBeanServer()
+                    .invoke(new ObjectName(DIAGNOSTIC_COMMAND_MBEAN), "gcClassHistogram", new Object[] { arguments },
+                            new String[] { String[].class.getName() });
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed taking class histogram; is this a HotSpot JVM?", e);
+        }
+        // The last line reads "Total <instances> <bytes>".
+        var lines = histogram.strip().split("\n");
+        var columns = lines[lines.length - 1].trim().split("\\s+");
+        if (columns.length != 3 || !columns[0].equals("Total")) {
+            throw new IllegalStateException("Impossible state: unexpected end of class histogram ("
+                    + lines[lines.length - 1] + ").");
+        }
+        return new Totals(Long.parseLong(columns[1]), Long.parseLong(columns[2]));
+    }
+
+    private HeapHistogram() {
+        // No instances.
+    }
+
+}
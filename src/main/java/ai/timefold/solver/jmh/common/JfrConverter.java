@@ -0,0 +1,112 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts every JFR file in a results directory to a CPU and an allocation flame graph next to it,
+ * as many at a time as there are CPUs available.
+ * Runs in a process of its own, see {@link AbstractMain#convertJfrToFlameGraphs()},
+ * as the benchmark harness is pinned to a single core, and would convert one file at a time.
+ * A file which fails to convert does not stop the others;
+ * once all of them are done, exits with an error if any of them failed.
+ * <p>
+ * {@code JfrConverter <results directory>}.
+ */
+public final class JfrConverter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JfrConverter.class);
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: JfrConverter <results directory>");
+        }
+        List<Path> jfrPathList;
+        try (var pathStream = Files.walk(Path.of(args[0]))) {
+            jfrPathList = pathStream.filter(Files::isRegularFile)
+                    .filter(f -> f.toString().endsWith(".jfr"))
+                    .toList();
+        }
+        if (jfrPathList.isEmpty()) {
+            return;
+        }
+        var threadCount = Math.min(jfrPathList.size(), Runtime.getRuntime().availableProcessors());
+        LOGGER.info("Converting {} JFR files on {} threads.", jfrPathList.size(), threadCount);
+        var failedPathList = new ArrayList<Path>();
+        var executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            var futureMap = new LinkedHashMap<Path, Future<Boolean>>();
+            for (var path : jfrPathList) {
+                futureMap.put(path, executorService.submit(() -> {
+                    LOGGER.info("Found JFR file: {}.", path);
+                    var cpuConverted = generateFlameGraphsFromJfr(path, null);
+                    var allocConverted = generateFlameGraphsFromJfr(path, "alloc");
+                    return cpuConverted && allocConverted;
+                }));
+            }
+            for (var entry : futureMap.entrySet()) {
+                try {
+                    if (!entry.getValue().get()) {
+                        failedPathList.add(entry.getKey());
+                    }
+                } catch (ExecutionException e) {
+                    LOGGER.error("Converting JFR file ({}) failed.", entry.getKey(), e.getCause());
+                    failedPathList.add(entry.getKey());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while converting JFR to flame graphs.", e);
+        } finally {
+            executorService.shutdownNow();
+        }
+        if (!failedPathList.isEmpty()) {
+            LOGGER.error("Failed converting {} of {} JFR files: {}.", failedPathList.size(), jfrPathList.size(),
+                    failedPathList);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return false if the conversion failed, which is logged
+     */
+    private static boolean generateFlameGraphsFromJfr(Path jfrFilePath, String type) {
+        var args = type == null ? new String[] {
+                "--simple",
+                jfrFilePath.toString(),
+                Path.of(jfrFilePath.toAbsolutePath().getParent().toString(), "cpu.html").toString()
+        }
+                : new String[] {
+                        "--simple",
+                        "--" + type,
+                        jfrFilePath.toString(),
+                        Path.of(jfrFilePath.toAbsolutePath().getParent().toString(), type + ".html").toString()
+                };
+        try { // Converter is stupidly in the default package.
+            var fooClass = Class.forName("jfr2flame");
+            var fooMethod = fooClass.getMethod("main", String[].class);
+            fooMethod.invoke(null, (Object) args);
+            LOGGER.info("Generating flame graph succeeded: {}.", Arrays.toString(args));
+            return true;
+        } catch (Exception ex) {
+            LOGGER.error("Generating flame graph failed: {}.", Arrays.toString(args), ex);
+            return false;
+        }
+    }
+
+    private JfrConverter() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,112 @@
+package ai.timefold.solver.jmh.common;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The JVM which the forks run on, and how it is configured.
+ * Every profile runs the entire benchmark in forks of its own, see {@link AbstractMain#runJvmProfileMatrix}.
+ *
+ * @param name identifies the profile among all profiles of the run, and names its results directory
+ * @param garbageCollector never null
+ * @param heapSize both the initial and the maximum heap size, as in {@code -Xmx}
+ * @param compressedOops null to leave it to the JVM, which compresses them on heaps below 32 GB
+ * @param javaHome null for the JDK which runs the benchmarks; otherwise a JDK, at least the one they were built with
+ */
+public record JvmProfile(String name, GarbageCollector garbageCollector, String heapSize, Boolean compressedOops,
+        Path javaHome) {
+
+    /**
+     * The forks run on this, unless the configuration says otherwise.
+     * The parallel collector minimizes GC overhead.
+     */
+    public static final JvmProfile DEFAULT = new JvmProfile("default", GarbageCollector.PARALLEL, "1g", null, null);
+
+    public JvmProfile {
+        Objects.requireNonNull(name);
+        Objects.requireNonNull(garbageCollector);
+        Objects.requireNonNull(heapSize);
+    }
+
+    /**
+     * @return the collector and the heap size, as {@link AbstractMain#getBaseJmhConfig(AbstractConfiguration, List)}
+     *         takes them
+     */
+    public List<String> getGcJvmArgs() {
+        return getGcJvmArgs(heapSize);
+    }
+
+    /**
+     * For benchmarks which need a heap of another size, but should still run on the collector of this profile.
+     *
+     * @param heapSize both the initial and the maximum heap size, as in {@code -Xmx}
+     * @return the collector and the given heap size, as {@link #getGcJvmArgs()}
+     */
+    public List<String> getGcJvmArgs(String heapSize) {
+        var jvmArgList = new ArrayList<>(garbageCollector.getJvmArgs());
+        jvmArgList.add("-Xms" + heapSize);
+        jvmArgList.add("-Xmx" + heapSize);
+        return jvmArgList;
+    }
+
+    /**
+     * @return {@link #heapSize()} in megabytes, rounded up
+     */
+    public long getHeapSizeMb() {
+        var unit = Character.toLowerCase(heapSize.charAt(heapSize.length() - 1));
+        var digits = Character.isDigit(unit) ? heapSize : heapSize.substring(0, heapSize.length() - 1);
+        var bytes = Long.parseLong(digits) * switch (unit) {
+            case 'k' -> 1L << 10;
+            case 'm' -> 1L << 20;
+            case 'g' -> 1L << 30;
+            default -> 1L;
+        };
+        return (bytes + (1L << 20) - 1) >> 20;
+    }
+
+    /**
+     * Applies even to benchmarks which bring a collector and a heap size of their own.
+     *
+     * @return never null
+     */
+    public List<String> getOtherJvmArgs() {
+        if (compressedOops == null) {
+            return List.of();
+        }
+        return List.of(compressedOops ? "-XX:+UseCompressedOops" : "-XX:-UseCompressedOops");
+    }
+
+    /**
+     * @return the java executable of {@link #javaHome()}, if there is one
+     */
+    public Optional<Path> getJvm() {
+        return Optional.ofNullable(javaHome)
+                .map(home -> home.resolve("bin").resolve("java").toAbsolutePath());
+    }
+
+    public enum GarbageCollector {
+
+        PARALLEL("-XX:+UseParallelGC"),
+        G1("-XX:+UseG1GC"),
+        /**
+         * Generational ZGC, as it is the default from JDK 23 on.
+         */
+        ZGC("-XX:+UseZGC", "-XX:+ZGenerational"),
+        SHENANDOAH("-XX:+UseShenandoahGC");
+
+        private final List<String> jvmArgs;
+
+        GarbageCollector(String... jvmArgs) {
+            this.jvmArgs = List.of(jvmArgs);
+        }
+
+        public List<String> getJvmArgs() {
+            return jvmArgs;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the results of every JVM profile of a matrix next to each other,
+ * as the results of every profile are in a directory of their own.
+ */
+final class JvmProfileReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JvmProfileReport.class);
+
+    static final String FILE_NAME = "jvmProfileReport.csv";
+
+    static void write(List<JvmProfile> jvmProfiles, Path resultsDirectory) {
+        var csvLineList = new ArrayList<String>();
+        String header = null;
+        for (var jvmProfile : jvmProfiles) {
+            var csvPath = resultsDirectory.resolve(jvmProfile.name()).resolve(AbstractMain.RESULTS_FILE_NAME);
+            if (!Files.exists(csvPath)) { // The profile failed before it had any results.
+                LOGGER.warn("No results for JVM profile ({}) in '{}'.", jvmProfile.name(), csvPath);
+                continue;
+            }
+            List<String> profileLineList;
+            try {
+                profileLineList = Files.readAllLines(csvPath);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed reading results of JVM profile (" + jvmProfile.name() + ").",
+                        e);
+            }
+            if (profileLineList.isEmpty()) {
+                continue;
+            }
+            if (header == null) {
+                header = profileLineList.get(0);
+                csvLineList.add("\"JVM profile\"," + header);
+            } else if (!header.equals(profileLineList.get(0))) {
+                LOGGER.warn("Skipping results of JVM profile ({}), as their columns differ.", jvmProfile.name());
+                continue;
+            }
+            for (var line : profileLineList.subList(1, profileLineList.size())) {
+                csvLineList.add("\"" + jvmProfile.name() + "\"," + line);
+            }
+        }
+        if (csvLineList.isEmpty()) {
+            return;
+        }
+        var csvPath = resultsDirectory.resolve(FILE_NAME);
+        try {
+            Files.createDirectories(resultsDirectory);
+            Files.write(csvPath, csvLineList);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed writing JVM profile report.", e);
+        }
+        LOGGER.info("JVM profile report written to {}.", csvPath);
+    }
+
+    private JvmProfileReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,443 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.apache.commons.math3.stat.inference.MannWhitneyUTest;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares the results of a run with the results of an earlier run, the baseline.
+ *
+ * <p>
+ * JMH's {@code benchmarkResults.csv} only has the aggregated score of every benchmark,
+ * which is not enough for a significance test.
+ * Therefore every run also writes {@code benchmarkSamples.csv}, with the mean score of the iterations of every fork.
+ * Iterations within a fork are not independent of each other, as they share the JIT compilation, heap layout
+ * and everything else that makes one JVM differ from the next; only forks are independent samples.
+ * If both runs have at least {@link #MIN_SAMPLE_COUNT} samples, a benchmark is a regression
+ * when the Mann-Whitney U test says the samples differ, and the mean got worse by more than the tolerance.
+ * The bootstrap confidence interval of the change is reported alongside.
+ * Benchmarks with fewer forks, and baselines from before samples were recorded,
+ * can only be compared by their score and score error.
+ *
+ * <p>
+ * The report is written to {@code regressionReport.csv} in the directory of the run.
+ * Can be run on its own as well, to compare two existing result directories:
+ * {@code RegressionGate <run directory> <baseline directory> [tolerance]}.
+ * Exits with 1 if there are regressions.
+ */
+public final class RegressionGate {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegressionGate.class);
+
+    public static final String RESULTS_FILE_NAME = "benchmarkResults.csv";
+    public static final String SAMPLES_FILE_NAME = "benchmarkSamples.csv";
+    public static final String REPORT_FILE_NAME = "regressionReport.csv";
+
+    private static final double SIGNIFICANCE_LEVEL = 0.05;
+    /**
+     * With fewer samples in either run, the Mann-Whitney U test can never reach {@link #SIGNIFICANCE_LEVEL}.
+     */
+    static final int MIN_SAMPLE_COUNT = 3;
+    private static final int BOOTSTRAP_RESAMPLES = 10_000;
+
+    public static void main(String[] args) {
+        if (args.length < 2 || args.length > 3) {
+            throw new IllegalArgumentException(
+                    "Usage: RegressionGate <run directory> <baseline directory> [tolerance]");
+        }
+        var tolerance = args.length == 3 ? Double.parseDouble(args[2])
+                : AbstractConfiguration.DEFAULT_REGRESSION_TOLERANCE;
+        var passed = new RegressionGate(tolerance).compare(Path.of(args[0]), Path.of(args[1]));
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Writes one sample per fork, the mean of its measurement iterations.
+     */
+    public static void writeSamples(Collection<RunResult> runResults, Path samplesPath) {
+        var lineList = new ArrayList<String>();
+        lineList.add("\"Benchmark\",\"Params\",\"Mode\",\"Unit\",\"Fork\",\"Score\"");
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var prefix = quote(params.getBenchmark()) + "," + quote(getParamsKey(params)) + ","
+                    + quote(params.getMode().shortLabel()) + "," + quote(runResult.getPrimaryResult().getScoreUnit()) + ",";
+            var fork = 0;
+            for (var benchmarkResult : runResult.getBenchmarkResults()) { // One per fork.
+                fork++;
+                var forkMean = benchmarkResult.getIterationResults()
+                        .stream()
+                        .mapToDouble(iterationResult -> iterationResult.getPrimaryResult().getScore())
+                        .average();
+                if (forkMean.isPresent()) {
+                    lineList.add(prefix + fork + "," + forkMean.getAsDouble());
+                }
+            }
+        }
+        try {
+            Files.write(samplesPath, lineList);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing benchmark samples: " + samplesPath, e);
+        }
+    }
+
+    private static String getParamsKey(BenchmarkParams params) {
+        var paramsKey = params.getParamsKeys()
+                .stream()
+                .sorted()
+                .map(key -> key + "=" + params.getParam(key))
+                .collect(Collectors.joining(" "));
+        return appendThreads(paramsKey, params.getThreads());
+    }
+
+    /**
+     * Thread count is not a parameter, but benchmarks which only differ in it still need to be told apart.
+     */
+    private static String appendThreads(String paramsKey, int threadCount) {
+        if (threadCount == 1) {
+            return paramsKey;
+        }
+        var threads = "threads=" + threadCount;
+        return paramsKey.isEmpty() ? threads : paramsKey + " " + threads;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * @param benchmark fully qualified name of the benchmark method
+     * @param params parameters of the benchmark, as {@code key=value} sorted by key and separated by spaces
+     */
+    private record BenchmarkKey(String benchmark, String params) implements Comparable<BenchmarkKey> {
+
+        @Override
+        public int compareTo(BenchmarkKey other) {
+            var comparison = benchmark.compareTo(other.benchmark);
+            return comparison != 0 ? comparison : params.compareTo(other.params);
+        }
+
+        @Override
+        public String toString() {
+            return params.isEmpty() ? benchmark : benchmark + " " + params;
+        }
+
+    }
+
+    private record Aggregate(String mode, String unit, double score, double scoreError, boolean secondary) {
+
+        /**
+         * Secondary results, such as allocation per operation or time spent in GC, are better the lower they are,
+         * even when the benchmark itself measures throughput.
+         * The exception are counters of operations, such as moves per second next to steps per second.
+         */
+        boolean isHigherBetter() {
+            return mode.equals(Mode.Throughput.shortLabel()) && (!secondary || unit.startsWith("ops/"));
+        }
+
+    }
+
+    private enum Status {
+        PASS,
+        IMPROVEMENT,
+        REGRESSION,
+        NEW,
+        REMOVED
+    }
+
+    private record Comparison(BenchmarkKey key, String mode, String unit, double baselineScore, double score,
+            double change, double changeLow, double changeHigh, double pValue, Status status) {
+
+    }
+
+    private final double tolerance;
+
+    /**
+     * @param tolerance relative change for the worse that is still acceptable, such as 0.05 for 5 %
+     */
+    public RegressionGate(double tolerance) {
+        if (tolerance < 0) {
+            throw new IllegalArgumentException("Regression tolerance (" + tolerance + ") must not be negative.");
+        }
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * @return true if no benchmark regressed beyond the tolerance
+     */
+    public boolean compare(Path runDirectory, Path baselineDirectory) {
+        LOGGER.info("Comparing '{}' against baseline '{}' with tolerance of {} %.", runDirectory, baselineDirectory,
+                tolerance * 100);
+        var aggregateMap = readAggregates(runDirectory.resolve(RESULTS_FILE_NAME));
+        var baselineAggregateMap = readAggregates(baselineDirectory.resolve(RESULTS_FILE_NAME));
+        var sampleMap = readSamples(runDirectory.resolve(SAMPLES_FILE_NAME));
+        var baselineSampleMap = readSamples(baselineDirectory.resolve(SAMPLES_FILE_NAME));
+        if (baselineSampleMap.isEmpty()) {
+            LOGGER.warn("Baseline has no samples; only comparing scores and their errors.");
+        }
+
+        var comparisonList = new ArrayList<Comparison>();
+        var keySet = new TreeSet<>(aggregateMap.keySet());
+        keySet.addAll(baselineAggregateMap.keySet());
+        for (var key : keySet) {
+            var aggregate = aggregateMap.get(key);
+            var baselineAggregate = baselineAggregateMap.get(key);
+            if (aggregate == null || baselineAggregate == null) {
+                var present = aggregate == null ? baselineAggregate : aggregate;
+                comparisonList.add(new Comparison(key, present.mode(), present.unit(),
+                        baselineAggregate == null ? Double.NaN : baselineAggregate.score(),
+                        aggregate == null ? Double.NaN : aggregate.score(), Double.NaN, Double.NaN, Double.NaN,
+                        Double.NaN, aggregate == null ? Status.REMOVED : Status.NEW));
+                continue;
+            }
+            var samples = sampleMap.get(key);
+            var baselineSamples = baselineSampleMap.get(key);
+            if (samples != null && samples.length >= MIN_SAMPLE_COUNT
+                    && baselineSamples != null && baselineSamples.length >= MIN_SAMPLE_COUNT) {
+                comparisonList.add(compareSamples(key, aggregate, samples, baselineSamples));
+            } else {
+                comparisonList.add(compareAggregates(key, aggregate, baselineAggregate));
+            }
+        }
+
+        writeReport(runDirectory.resolve(REPORT_FILE_NAME), comparisonList);
+        var regressionCount = comparisonList.stream()
+                .filter(comparison -> comparison.status() == Status.REGRESSION)
+                .count();
+        var improvementCount = comparisonList.stream()
+                .filter(comparison -> comparison.status() == Status.IMPROVEMENT)
+                .count();
+        if (regressionCount > 0) {
+            LOGGER.error("{} of {} benchmarks regressed, {} improved.", regressionCount, comparisonList.size(),
+                    improvementCount);
+        } else {
+            LOGGER.info("No regressions in {} benchmarks, {} improved.", comparisonList.size(), improvementCount);
+        }
+        return regressionCount == 0;
+    }
+
+    private Comparison compareSamples(BenchmarkKey key, Aggregate aggregate, double[] samples,
+            double[] baselineSamples) {
+        var mean = mean(samples);
+        var baselineMean = mean(baselineSamples);
+        var change = (mean - baselineMean) / baselineMean;
+        var pValue = new MannWhitneyUTest().mannWhitneyUTest(baselineSamples, samples);
+        var interval = bootstrapChange(samples, baselineSamples, key.hashCode());
+        var significant = pValue < SIGNIFICANCE_LEVEL;
+        var status = classify(aggregate.isHigherBetter(), change, significant);
+        return new Comparison(key, aggregate.mode(), aggregate.unit(), baselineMean, mean, change, interval[0],
+                interval[1], pValue, status);
+    }
+
+    /**
+     * Without samples, a change only counts if the error intervals of both scores do not overlap.
+     */
+    private Comparison compareAggregates(BenchmarkKey key, Aggregate aggregate, Aggregate baselineAggregate) {
+        var baselineScore = baselineAggregate.score();
+        var change = (aggregate.score() - baselineScore) / baselineScore;
+        var changeError = (aggregate.scoreError() + baselineAggregate.scoreError()) / baselineScore;
+        var significant = Math.abs(change) > changeError;
+        var status = classify(aggregate.isHigherBetter(), change, significant);
+        return new Comparison(key, aggregate.mode(), aggregate.unit(), baselineScore, aggregate.score(), change,
+                change - changeError, change + changeError, Double.NaN, status);
+    }
+
+    private Status classify(boolean higherIsBetter, double change, boolean significant) {
+        var improvement = higherIsBetter ? change : -change;
+        if (!significant || Math.abs(improvement) <= tolerance) {
+            return Status.PASS;
+        }
+        return improvement > 0 ? Status.IMPROVEMENT : Status.REGRESSION;
+    }
+
+    /**
+     * Percentile bootstrap of the relative change of the mean, seeded for reproducible reports.
+     *
+     * @return lower and upper bound of the confidence interval at {@link #SIGNIFICANCE_LEVEL}
+     */
+    private static double[] bootstrapChange(double[] samples, double[] baselineSamples, long seed) {
+        var random = new SplittableRandom(seed);
+        var changes = new double[BOOTSTRAP_RESAMPLES];
+        for (var i = 0; i < BOOTSTRAP_RESAMPLES; i++) {
+            var baselineMean = resampledMean(baselineSamples, random);
+            changes[i] = (resampledMean(samples, random) - baselineMean) / baselineMean;
+        }
+        Arrays.sort(changes);
+        var lowIndex = (int) Math.floor(BOOTSTRAP_RESAMPLES * SIGNIFICANCE_LEVEL / 2);
+        var highIndex = (int) Math.ceil(BOOTSTRAP_RESAMPLES * (1 - SIGNIFICANCE_LEVEL / 2)) - 1;
+        return new double[] { changes[lowIndex], changes[highIndex] };
+    }
+
+    private static double resampledMean(double[] samples, SplittableRandom random) {
+        var sum = 0.0D;
+        for (var i = 0; i < samples.length; i++) {
+            sum += samples[random.nextInt(samples.length)];
+        }
+        return sum / samples.length;
+    }
+
+    private static double mean(double[] samples) {
+        return Arrays.stream(samples).average().orElse(Double.NaN);
+    }
+
+    private void writeReport(Path reportPath, List<Comparison> comparisonList) {
+        var lineList = new ArrayList<String>();
+        lineList.add("\"Benchmark\",\"Params\",\"Mode\",\"Unit\",\"Baseline score\",\"Score\",\"Change (%)\","
+                + "\"Change low (%)\",\"Change high (%)\",\"p-value\",\"Status\"");
+        for (var comparison : comparisonList) {
+            lineList.add(quote(comparison.key().benchmark()) + "," + quote(comparison.key().params()) + ","
+                    + quote(comparison.mode()) + "," + quote(comparison.unit()) + ","
+                    + format(comparison.baselineScore()) + "," + format(comparison.score()) + ","
+                    + format(comparison.change() * 100) + "," + format(comparison.changeLow() * 100) + ","
+                    + format(comparison.changeHigh() * 100) + "," + format(comparison.pValue()) + ","
+                    + quote(comparison.status().name()));
+            switch (comparison.status()) {
+                case REGRESSION -> LOGGER.error("Regression in '{}': {} % (CI {} % to {} %, p = {}).", comparison.key(),
+                        format(comparison.change() * 100), format(comparison.changeLow() * 100),
+                        format(comparison.changeHigh() * 100), format(comparison.pValue()));
+                case IMPROVEMENT -> LOGGER.info("Improvement in '{}': {} % (CI {} % to {} %, p = {}).",
+                        comparison.key(), format(comparison.change() * 100), format(comparison.changeLow() * 100),
+                        format(comparison.changeHigh() * 100), format(comparison.pValue()));
+                case NEW -> LOGGER.info("No baseline for '{}'.", comparison.key());
+                case REMOVED -> LOGGER.warn("Baseline benchmark '{}' did not run.", comparison.key());
+                default -> {
+                    // Passes are only in the report.
+                }
+            }
+        }
+        try {
+            Files.write(reportPath, lineList);
+            LOGGER.info("Regression report written to '{}'.", reportPath);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing regression report: " + reportPath, e);
+        }
+    }
+
+    private static String format(double value) {
+        return Double.isNaN(value) ? "" : String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    private static Map<BenchmarkKey, Aggregate> readAggregates(Path resultsPath) {
+        var lineList = readLines(resultsPath);
+        if (lineList.isEmpty()) {
+            throw new IllegalArgumentException("No benchmark results in '" + resultsPath + "'.");
+        }
+        var header = parseCsvLine(lineList.get(0));
+        var paramColumnMap = new TreeMap<String, Integer>(); // Sorted by parameter name.
+        for (var i = 0; i < header.size(); i++) {
+            if (header.get(i).startsWith("Param: ")) {
+                paramColumnMap.put(header.get(i).substring("Param: ".length()), i);
+            }
+        }
+        var benchmarkColumn = header.indexOf("Benchmark");
+        var threadsColumn = header.indexOf("Threads");
+        var modeColumn = header.indexOf("Mode");
+        var scoreColumn = header.indexOf("Score");
+        var unitColumn = header.indexOf("Unit");
+        var scoreErrorColumn = -1;
+        for (var i = 0; i < header.size(); i++) {
+            if (header.get(i).startsWith("Score Error")) {
+                scoreErrorColumn = i;
+            }
+        }
+        var aggregateMap = new LinkedHashMap<BenchmarkKey, Aggregate>();
+        for (var line : lineList.subList(1, lineList.size())) {
+            var columns = parseCsvLine(line);
+            var params = paramColumnMap.entrySet()
+                    .stream()
+                    .filter(entry -> !columns.get(entry.getValue()).isEmpty()) // Other benchmarks' parameters.
+                    .map(entry -> entry.getKey() + "=" + columns.get(entry.getValue()))
+                    .collect(Collectors.joining(" "));
+            if (threadsColumn >= 0) {
+                params = appendThreads(params, (int) parseDouble(columns.get(threadsColumn)));
+            }
+            var scoreError = scoreErrorColumn < 0 ? Double.NaN : parseDouble(columns.get(scoreErrorColumn));
+            var benchmark = columns.get(benchmarkColumn);
+            aggregateMap.put(new BenchmarkKey(benchmark, params),
+                    new Aggregate(columns.get(modeColumn), columns.get(unitColumn),
+                            parseDouble(columns.get(scoreColumn)), scoreError, benchmark.contains(":")));
+        }
+        return aggregateMap;
+    }
+
+    /**
+     * @return the mean score of every fork of every benchmark
+     */
+    private static Map<BenchmarkKey, double[]> readSamples(Path samplesPath) {
+        if (!Files.exists(samplesPath)) {
+            return Map.of();
+        }
+        var lineList = readLines(samplesPath);
+        var header = parseCsvLine(lineList.get(0));
+        var scoreColumn = header.indexOf("Score");
+        var sampleListMap = new LinkedHashMap<BenchmarkKey, List<Double>>();
+        for (var line : lineList.subList(1, lineList.size())) {
+            var columns = parseCsvLine(line);
+            sampleListMap.computeIfAbsent(new BenchmarkKey(columns.get(0), columns.get(1)), key -> new ArrayList<>())
+                    .add(parseDouble(columns.get(scoreColumn)));
+        }
+        var sampleMap = new LinkedHashMap<BenchmarkKey, double[]>();
+        sampleListMap.forEach((key, sampleList) -> sampleMap.put(key, sampleList.stream()
+                .mapToDouble(Double::doubleValue)
+                .toArray()));
+        return sampleMap;
+    }
+
+    private static List<String> readLines(Path path) {
+        try {
+            return Files.readAllLines(path)
+                    .stream()
+                    .filter(line -> !line.isBlank())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading '" + path + "'.", e);
+        }
+    }
+
+    private static double parseDouble(String value) {
+        if (value.isEmpty() || value.equals("NaN")) {
+            return Double.NaN;
+        }
+        return Double.parseDouble(value);
+    }
+
+    private static List<String> parseCsvLine(String line) {
+        var columnList = new ArrayList<String>();
+        var column = new StringBuilder();
+        var quoted = false;
+        for (var i = 0; i < line.length(); i++) {
+            var c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                columnList.add(column.toString());
+                column.setLength(0);
+            } else {
+                column.append(c);
+            }
+        }
+        columnList.add(column.toString());
+        return columnList;
+    }
+
+}
@@ -0,0 +1,175 @@
+package ai.timefold.solver.jmh.common;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs every benchmark in as few forks as its noise allows.
+ * The first round runs all benchmarks of the options in {@link AdaptiveForks#forksPerRound()} forks.
+ * Every benchmark whose relative score error is still above the threshold then runs on its own,
+ * in that many more forks at a time, until its error falls under the threshold, it ran in the maximum fork count,
+ * or the next round would exceed its time budget.
+ * The forks of all its rounds make up its result, as if they ran in one go.
+ * A benchmark of several modes has a result per mode; each of them is extended in rounds of its own mode.
+ * JMH can not add iterations to a fork which already ended, and it is the difference between forks
+ * which makes up most of the error anyway, which is why forks are added, not iterations.
+ */
+final class SequentialStopping {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SequentialStopping.class);
+
+    private final AdaptiveForks adaptiveForks;
+    private final int maxForkCount;
+    private final double relativeScoreErrorThreshold;
+
+    SequentialStopping(AdaptiveForks adaptiveForks, int maxForkCount, double relativeScoreErrorThreshold) {
+        this.adaptiveForks = Objects.requireNonNull(adaptiveForks);
+        this.maxForkCount = maxForkCount;
+        this.relativeScoreErrorThreshold = relativeScoreErrorThreshold;
+    }
+
+    /**
+     * @param options forks of which are the maximum fork count of the run;
+     *        options with any other fork count, such as a single fork, are run as they are
+     */
+    Collection<RunResult> run(ChainedOptionsBuilder options) throws RunnerException {
+        var baseOptions = options.build();
+        if (baseOptions.getForkCount().orElse(maxForkCount) != maxForkCount
+                || adaptiveForks.forksPerRound() >= maxForkCount) {
+            return new Runner(baseOptions).run();
+        }
+        var forksPerRound = adaptiveForks.forksPerRound();
+        var start = System.nanoTime();
+        var firstRoundResults = new Runner(new OptionsBuilder()
+                .parent(baseOptions)
+                .forks(forksPerRound)
+                .build())
+                .run();
+        if (firstRoundResults.isEmpty()) {
+            return firstRoundResults;
+        }
+        // Benchmarks of the first round ran one after another; assume that they took the same time.
+        var firstRoundDuration = Duration.ofNanos(System.nanoTime() - start)
+                .dividedBy(firstRoundResults.size());
+        var runResultList = new ArrayList<RunResult>(firstRoundResults.size());
+        for (var runResult : firstRoundResults) {
+            runResultList.add(runUntilStable(baseOptions, runResult, firstRoundDuration));
+        }
+        return runResultList;
+    }
+
+    private RunResult runUntilStable(Options baseOptions, RunResult runResult, Duration duration)
+            throws RunnerException {
+        var forksPerRound = adaptiveForks.forksPerRound();
+        var forkCount = forksPerRound;
+        while (true) {
+            var relativeScoreError = getRelativeScoreError(runResult);
+            var name = getName(runResult);
+            if (relativeScoreError <= relativeScoreErrorThreshold) {
+                LOGGER.info("Benchmark '{}' is stable after {} forks (± {} %).", name, forkCount,
+                        format(relativeScoreError));
+                return runResult;
+            }
+            var nextForkCount = Math.min(forksPerRound, maxForkCount - forkCount);
+            if (nextForkCount == 0) {
+                LOGGER.info("Benchmark '{}' reached {} forks (± {} %).", name, forkCount, format(relativeScoreError));
+                return runResult;
+            }
+            var nextDuration = duration.dividedBy(forkCount).multipliedBy(nextForkCount);
+            if (duration.plus(nextDuration).compareTo(adaptiveForks.timeBudget()) > 0) {
+                LOGGER.info("Benchmark '{}' ran out of its time budget after {} forks (± {} %).", name, forkCount,
+                        format(relativeScoreError));
+                return runResult;
+            }
+            LOGGER.info("Benchmark '{}' is not stable after {} forks (± {} %), running {} more.", name, forkCount,
+                    format(relativeScoreError), nextForkCount);
+            var start = System.nanoTime();
+            var roundResults = new Runner(buildRoundOptions(baseOptions, runResult, nextForkCount)).run();
+            duration = duration.plusNanos(System.nanoTime() - start);
+            runResult = merge(runResult, roundResults);
+            forkCount += nextForkCount;
+        }
+    }
+
+    /**
+     * Includes add up with those of the parent, so everything but this benchmark is excluded instead.
+     * The mode replaces those of the parent and of the annotation, so that a benchmark of several modes
+     * only runs the mode of the result which the round extends.
+     */
+    static Options buildRoundOptions(Options baseOptions, RunResult runResult, int forkCount) {
+        var params = runResult.getParams();
+        var benchmark = Pattern.quote(params.getBenchmark());
+        var options = new OptionsBuilder()
+                .parent(baseOptions)
+                .include("^" + benchmark + "$")
+                .exclude("^(?!" + benchmark + "$)")
+                .mode(params.getMode())
+                .forks(forkCount);
+        for (var key : params.getParamsKeys()) {
+            options = options.param(key, params.getParam(key));
+        }
+        return options.build();
+    }
+
+    /**
+     * @param roundResults exactly one of them is of the same benchmark, mode and parameters as the run result
+     * @return the run result, with the forks of that round result added
+     */
+    static RunResult merge(RunResult runResult, Collection<RunResult> roundResults) {
+        var params = runResult.getParams();
+        var matchingResultList = roundResults.stream()
+                .filter(roundResult -> isSameBenchmark(params, roundResult.getParams()))
+                .toList();
+        if (matchingResultList.size() != 1) {
+            throw new IllegalStateException("Impossible state: round of benchmark (" + getName(runResult) + ") ran ("
+                    + matchingResultList.size() + ") results of it instead of one, out of (" + roundResults.size()
+                    + ") results.");
+        }
+        var benchmarkResultList = new ArrayList<>(runResult.getBenchmarkResults());
+        benchmarkResultList.addAll(matchingResultList.get(0).getBenchmarkResults());
+        return new RunResult(params, benchmarkResultList);
+    }
+
+    private static boolean isSameBenchmark(BenchmarkParams params, BenchmarkParams otherParams) {
+        if (!params.getBenchmark().equals(otherParams.getBenchmark()) || params.getMode() != otherParams.getMode()
+                || !params.getParamsKeys().equals(otherParams.getParamsKeys())) {
+            return false;
+        }
+        return params.getParamsKeys()
+                .stream()
+                .allMatch(key -> Objects.equals(params.getParam(key), otherParams.getParam(key)));
+    }
+
+    private static double getRelativeScoreError(RunResult runResult) {
+        var primaryResult = runResult.getPrimaryResult();
+        var relativeScoreError = primaryResult.getScoreError() / primaryResult.getScore();
+        return Double.isNaN(relativeScoreError) ? Double.POSITIVE_INFINITY : Math.abs(relativeScoreError);
+    }
+
+    private static String getName(RunResult runResult) {
+        var params = runResult.getParams();
+        var name = new StringBuilder(params.getBenchmark()).append(' ').append(params.getMode().shortLabel());
+        for (var key : params.getParamsKeys()) {
+            name.append(' ').append(params.getParam(key));
+        }
+        return name.toString();
+    }
+
+    private static String format(double relativeScoreError) {
+        return Double.toString(Math.round(relativeScoreError * 10_000) / 100.0D);
+    }
+
+}
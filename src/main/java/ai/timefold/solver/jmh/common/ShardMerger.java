@@ -0,0 +1,66 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Merges the results directories of the shards of a run into the results directory of the run,
+ * as if a single harness had run all of them.
+ * CSV files of the same name are concatenated, under the header of the first of them;
+ * as the shards run different examples, so are the reports which put the benchmarks of an example on a line.
+ * Everything else, such as the JFR files and the flame graphs, is moved.
+ * Only the log of every shard, and the HTML reports of every shard, stay in the directory of the shard;
+ * the latter only cover the examples of their shard, and are rendered again from the merged CSV files.
+ */
+final class ShardMerger {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardMerger.class);
+
+    static final String LOG_FILE_NAME = "harness.log";
+
+    static void merge(List<Path> shardDirectories, Path resultsDirectory) {
+        for (var shardDirectory : shardDirectories) {
+            List<Path> pathList;
+            try (var pathStream = Files.walk(shardDirectory)) {
+                pathList = pathStream.filter(Files::isRegularFile)
+                        .filter(path -> !path.equals(shardDirectory.resolve(LOG_FILE_NAME)))
+                        .filter(path -> !(path.getParent().equals(shardDirectory)
+                                && path.getFileName().toString().endsWith(".html")))
+                        .toList();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed listing results of shard (" + shardDirectory + ").", e);
+            }
+            for (var path : pathList) {
+                var mergedPath = resultsDirectory.resolve(shardDirectory.relativize(path));
+                try {
+                    Files.createDirectories(mergedPath.getParent());
+                    if (path.getFileName().toString().endsWith(".csv")) {
+                        var lineList = Files.readAllLines(path);
+                        if (Files.exists(mergedPath) && !lineList.isEmpty()) {
+                            lineList = lineList.subList(1, lineList.size()); // Header is already there.
+                        }
+                        Files.write(mergedPath, lineList, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                    } else if (Files.exists(mergedPath)) {
+                        LOGGER.warn("Keeping '{}' in its shard, as '{}' already exists.", path, mergedPath);
+                    } else {
+                        Files.move(path, mergedPath);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Failed merging '" + path + "' into '" + mergedPath + "'.", e);
+                }
+            }
+        }
+        LOGGER.info("Results of {} shards merged into {}.", shardDirectories.size(), resultsDirectory);
+    }
+
+    private ShardMerger() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,37 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.util.Properties;
+
+import ai.timefold.solver.core.enterprise.TimefoldSolverEnterpriseService;
+
+public final class SolverVersion {
+
+    private static final String VERSION = identify();
+
+    private static String identify() {
+        try (var inputStream = SolverVersion.class.getResourceAsStream("/buildtime.properties")) {
+            if (inputStream != null) {
+                var properties = new Properties();
+                properties.load(inputStream);
+                var version = properties.getProperty("version.ai.timefold.solver", "").trim();
+                if (!version.isEmpty() && !version.contains("${")) { // Only filtered in the benchmarks JAR.
+                    return version;
+                }
+            }
+        } catch (IOException e) {
+            // Fall back to the solver's own identification below.
+        }
+        // Outside of the benchmarks JAR, the solver JAR's manifest is still intact.
+        return TimefoldSolverEnterpriseService.identifySolverVersion();
+    }
+
+    public static String get() {
+        return VERSION;
+    }
+
+    private SolverVersion() {
+        // No instances.
+    }
+
+}
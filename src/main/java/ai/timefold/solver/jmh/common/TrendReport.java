@@ -0,0 +1,280 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Turns the {@link BenchmarkHistory} into a trend of every benchmark over all the runs it was part of.
+ * For every benchmark family, {@code trends-<family>.csv} lists the score of every benchmark and its parameters
+ * in every run, and {@code trends-<family>.html} draws them, one chart per benchmark and JVM profile,
+ * one line per parameters, such as an example.
+ * The lines are relative to the first run of each of them,
+ * so that examples which differ by orders of magnitude still fit in a chart.
+ */
+public final class TrendReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TrendReport.class);
+
+    private static final int CHART_WIDTH = 960;
+    private static final int CHART_HEIGHT = 320;
+    private static final int MARGIN = 48;
+    private static final String[] COLORS = { "#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd", "#8c564b",
+            "#e377c2", "#7f7f7f", "#bcbd22", "#17becf" };
+
+    public static void main(String[] args) {
+        if (args.length > 2) {
+            throw new IllegalArgumentException("Usage: TrendReport [history file] [output directory]");
+        }
+        var historyPath = args.length > 0 ? Path.of(args[0]) : BenchmarkHistory.DEFAULT_PATH;
+        var outputDirectory = args.length > 1 ? Path.of(args[1]) : Path.of("results", "trends");
+        try {
+            write(BenchmarkHistory.read(historyPath), outputDirectory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed writing trends of (" + historyPath + ") to ("
+                    + outputDirectory + ").", e);
+        }
+    }
+
+    static void write(List<Map<String, String>> recordList, Path outputDirectory) throws IOException {
+        if (recordList.isEmpty()) {
+            LOGGER.warn("Benchmark history is empty, no trends to report.");
+            return;
+        }
+        Files.createDirectories(outputDirectory);
+        var familyMap = recordList.stream()
+                .collect(Collectors.groupingBy(record -> record.get(BenchmarkHistory.FAMILY), TreeMap::new,
+                        Collectors.toList()));
+        for (var familyEntry : familyMap.entrySet()) {
+            var family = familyEntry.getKey();
+            var records = familyEntry.getValue();
+            // Timestamps sort in the order in which they were taken.
+            var runList = new ArrayList<>(records.stream()
+                    .map(TrendReport::toRun)
+                    .collect(Collectors.toCollection(TreeSet::new)));
+            var chartMap = new TreeMap<ChartKey, Map<String, Map<Run, Map<String, String>>>>();
+            for (var record : records) {
+                var chartKey = new ChartKey(record.get(BenchmarkHistory.BENCHMARK),
+                        record.get(BenchmarkHistory.JVM_PROFILE));
+                // A later record of the same run, such as of a rerun shard, replaces the earlier one.
+                chartMap.computeIfAbsent(chartKey, key -> new TreeMap<>())
+                        .computeIfAbsent(getParamsKey(record), key -> new TreeMap<>())
+                        .put(toRun(record), record);
+            }
+            writeCsv(runList, chartMap, outputDirectory.resolve("trends-" + family + ".csv"));
+            writeHtml(family, runList, chartMap, outputDirectory.resolve("trends-" + family + ".html"));
+        }
+        LOGGER.info("Trend report of {} benchmark families written to {}.", familyMap.size(), outputDirectory);
+    }
+
+    private static Run toRun(Map<String, String> record) {
+        return new Run(record.get(BenchmarkHistory.TIMESTAMP), record.get(BenchmarkHistory.SOLVER_VERSION));
+    }
+
+    private static String getParamsKey(Map<String, String> record) {
+        return record.entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().startsWith(BenchmarkHistory.PARAM_PREFIX))
+                .map(entry -> entry.getKey().substring(BenchmarkHistory.PARAM_PREFIX.length()) + "="
+                        + entry.getValue())
+                .sorted()
+                .collect(Collectors.joining(" "));
+    }
+
+    private static void writeCsv(List<Run> runList,
+            Map<ChartKey, Map<String, Map<Run, Map<String, String>>>> chartMap, Path csvPath) throws IOException {
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Benchmark\",\"Params\",\"JVM profile\",\"Unit\","
+                + runList.stream()
+                        .map(run -> quote(run.timestamp() + " (" + run.solverVersion() + ")"))
+                        .collect(Collectors.joining(",")));
+        for (var chartEntry : chartMap.entrySet()) {
+            var chartKey = chartEntry.getKey();
+            for (var seriesEntry : chartEntry.getValue().entrySet()) {
+                var recordMap = seriesEntry.getValue();
+                var unit = recordMap.values().iterator().next().get(BenchmarkHistory.UNIT);
+                csvLineList.add(quote(chartKey.benchmark()) + "," + quote(seriesEntry.getKey()) + ","
+                        + quote(chartKey.jvmProfile()) + "," + quote(unit) + ","
+                        + runList.stream()
+                                .map(run -> {
+                                    var record = recordMap.get(run);
+                                    var score = record == null ? null : record.get(BenchmarkHistory.SCORE);
+                                    return score == null ? "" : score;
+                                })
+                                .collect(Collectors.joining(",")));
+            }
+        }
+        Files.write(csvPath, csvLineList);
+    }
+
+    private static void writeHtml(String family, List<Run> runList,
+            Map<ChartKey, Map<String, Map<Run, Map<String, String>>>> chartMap, Path htmlPath) throws IOException {
+        var html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>Trends of ")
+                .append(escape(family))
+                .append("</title>\n<style>body { font-family: sans-serif; } svg { font-size: 11px; }</style>\n")
+                .append("</head>\n<body>\n<h1>Trends of ")
+                .append(escape(family))
+                .append("</h1>\n<p>Scores relative to the first run of every line; hover over a point for its score."
+                        + "</p>\n");
+        for (var chartEntry : chartMap.entrySet()) {
+            var chartKey = chartEntry.getKey();
+            html.append("<h2>")
+                    .append(escape(chartKey.benchmark()))
+                    .append(" (")
+                    .append(escape(chartKey.jvmProfile()))
+                    .append(")</h2>\n");
+            appendChart(html, runList, chartEntry.getValue());
+        }
+        html.append("</body>\n</html>\n");
+        Files.writeString(htmlPath, html);
+    }
+
+    private static void appendChart(StringBuilder html, List<Run> runList,
+            Map<String, Map<Run, Map<String, String>>> seriesMap) {
+        // Only the runs which ran this benchmark take up space in its chart.
+        var chartRunList = runList.stream()
+                .filter(run -> seriesMap.values().stream().anyMatch(recordMap -> recordMap.containsKey(run)))
+                .toList();
+        var relativeScoreMap = new TreeMap<String, Map<Run, Double>>();
+        var min = 1.0D;
+        var max = 1.0D;
+        for (var seriesEntry : seriesMap.entrySet()) {
+            var recordMap = seriesEntry.getValue();
+            var first = recordMap.values()
+                    .stream()
+                    .map(TrendReport::getScore)
+                    .filter(Objects::nonNull)
+                    .findFirst();
+            if (first.isEmpty() || first.get() == 0.0D) {
+                continue;
+            }
+            var relativeMap = new TreeMap<Run, Double>();
+            for (var recordEntry : recordMap.entrySet()) {
+                var score = getScore(recordEntry.getValue());
+                if (score != null) {
+                    var relative = score / first.get();
+                    relativeMap.put(recordEntry.getKey(), relative);
+                    min = Math.min(min, relative);
+                    max = Math.max(max, relative);
+                }
+            }
+            relativeScoreMap.put(seriesEntry.getKey(), relativeMap);
+        }
+        if (max - min < 0.1D) { // Do not blow noise up to the full height of the chart.
+            var middle = (min + max) / 2.0D;
+            min = middle - 0.05D;
+            max = middle + 0.05D;
+        }
+        var plotWidth = CHART_WIDTH - 2 * MARGIN;
+        var plotHeight = CHART_HEIGHT - 2 * MARGIN;
+        var xStep = chartRunList.size() > 1 ? plotWidth / (double) (chartRunList.size() - 1) : 0.0D;
+        var finalMin = min;
+        var finalMax = max;
+        DoubleUnaryOperator toY =
+                relative -> MARGIN + plotHeight * (finalMax - relative) / (finalMax - finalMin);
+        html.append(String.format(Locale.ROOT, "<svg width=\"%d\" height=\"%d\">\n", CHART_WIDTH,
+                CHART_HEIGHT + MARGIN * 2));
+        // Axes, the 100 % line and the labels of the runs.
+        html.append(String.format(Locale.ROOT,
+                "<rect x=\"%d\" y=\"%d\" width=\"%d\" height=\"%d\" fill=\"none\" stroke=\"#ccc\"/>\n",
+                MARGIN, MARGIN, plotWidth, plotHeight));
+        html.append(String.format(Locale.ROOT,
+                "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#999\" stroke-dasharray=\"4\"/>\n",
+                MARGIN, toY.applyAsDouble(1.0D), MARGIN + plotWidth, toY.applyAsDouble(1.0D)));
+        html.append(String.format(Locale.ROOT, "<text x=\"4\" y=\"%.1f\">%.0f %%</text>\n",
+                toY.applyAsDouble(max) + 4, max * 100));
+        html.append(String.format(Locale.ROOT, "<text x=\"4\" y=\"%.1f\">%.0f %%</text>\n",
+                toY.applyAsDouble(min) + 4, min * 100));
+        for (var i = 0; i < chartRunList.size(); i++) {
+            var run = chartRunList.get(i);
+            html.append(String.format(Locale.ROOT,
+                    "<text transform=\"translate(%.1f,%d) rotate(30)\">%s</text>\n",
+                    MARGIN + i * xStep, MARGIN + plotHeight + 12,
+                    escape(run.timestamp() + " (" + run.solverVersion() + ")")));
+        }
+        // One line per parameters, with a point per run.
+        var seriesIndex = 0;
+        for (var seriesEntry : relativeScoreMap.entrySet()) {
+            var color = COLORS[seriesIndex % COLORS.length];
+            var recordMap = seriesMap.get(seriesEntry.getKey());
+            var points = new StringBuilder();
+            var circles = new StringBuilder();
+            for (var relativeEntry : seriesEntry.getValue().entrySet()) {
+                var run = relativeEntry.getKey();
+                var x = MARGIN + chartRunList.indexOf(run) * xStep;
+                var y = toY.applyAsDouble(relativeEntry.getValue());
+                var record = recordMap.get(run);
+                points.append(String.format(Locale.ROOT, "%.1f,%.1f ", x, y));
+                circles.append(String.format(Locale.ROOT,
+                        "<circle cx=\"%.1f\" cy=\"%.1f\" r=\"3\" fill=\"%s\"><title>%s\n%s: %s ± %s %s (%.1f %%)"
+                                + "</title></circle>\n",
+                        x, y, color, escape(seriesEntry.getKey()), escape(run.timestamp()),
+                        record.get(BenchmarkHistory.SCORE), record.get(BenchmarkHistory.SCORE_ERROR),
+                        escape(record.get(BenchmarkHistory.UNIT)), relativeEntry.getValue() * 100));
+            }
+            html.append(String.format(Locale.ROOT,
+                    "<polyline points=\"%s\" fill=\"none\" stroke=\"%s\" stroke-width=\"1.5\"/>\n",
+                    points.toString().trim(), color))
+                    .append(circles);
+            html.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"%d\" fill=\"%s\">%s</text>\n",
+                    MARGIN + (seriesIndex % 3) * (plotWidth / 3), 12 + (seriesIndex / 3) * 12, color,
+                    escape(seriesEntry.getKey().isEmpty() ? "(no params)" : seriesEntry.getKey())));
+            seriesIndex++;
+        }
+        html.append("</svg>\n");
+    }
+
+    private static Double getScore(Map<String, String> record) {
+        var score = record.get(BenchmarkHistory.SCORE);
+        return score == null ? null : Double.valueOf(score);
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("&", "&amp;")
+                .replace("<", "&lt;")
+                .replace(">", "&gt;")
+                .replace("\"", "&quot;");
+    }
+
+    private record Run(String timestamp, String solverVersion) implements Comparable<Run> {
+
+        @Override
+        public int compareTo(Run other) {
+            var comparison = timestamp.compareTo(other.timestamp);
+            return comparison != 0 ? comparison : solverVersion.compareTo(other.solverVersion);
+        }
+
+    }
+
+    private record ChartKey(String benchmark, String jvmProfile) implements Comparable<ChartKey> {
+
+        @Override
+        public int compareTo(ChartKey other) {
+            var comparison = benchmark.compareTo(other.benchmark);
+            return comparison != 0 ? comparison : jvmProfile.compareTo(other.jvmProfile);
+        }
+
+    }
+
+    private TrendReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,97 @@
+package ai.timefold.solver.jmh.constructionheuristic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.jmh.common.AbstractConfiguration;
+import ai.timefold.solver.jmh.common.AdaptiveForks;
+import ai.timefold.solver.jmh.common.JvmProfile;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+final class Configuration extends AbstractConfiguration {
+
+    /**
+     * Those which the benchmark knows; the other types are variations on them, or only make sense with several entity
+     * classes or variables.
+     */
+    static final List<ConstructionHeuristicType> CONSTRUCTION_HEURISTIC_TYPES = List.of(
+            ConstructionHeuristicType.FIRST_FIT, ConstructionHeuristicType.FIRST_FIT_DECREASING,
+            ConstructionHeuristicType.WEAKEST_FIT, ConstructionHeuristicType.ALLOCATE_ENTITY_FROM_QUEUE);
+
+    public static Configuration read(InputStream inputStream) throws IOException {
+        var properties = new Properties();
+        properties.load(inputStream);
+
+        var scoreDirectorTypes = properties.getProperty("score_director_type");
+        var enabledScoreDirectorTypes = scoreDirectorTypes == null ? Arrays.asList(ScoreDirectorType.values())
+                : Arrays.stream(scoreDirectorTypes.split("\\Q,\\E"))
+                        .map(ScoreDirectorType::parse)
+                        .collect(Collectors.toList());
+        var enabledExamples = parseExamples(properties.getProperty("example"), Example.values());
+        var constructionHeuristicTypes = properties.getProperty("construction_heuristic_type");
+        var enabledConstructionHeuristicTypes = constructionHeuristicTypes == null ? CONSTRUCTION_HEURISTIC_TYPES
+                : Arrays.stream(constructionHeuristicTypes.split("\\Q,\\E"))
+                        .map(Configuration::parseConstructionHeuristicType)
+                        .collect(Collectors.toList());
+        var benchmarkProperties = readBenchmarkProperties(properties, getDefault());
+        return new Configuration(enabledScoreDirectorTypes, enabledExamples, enabledConstructionHeuristicTypes,
+                benchmarkProperties.forkCount(), benchmarkProperties.warmupIterations(),
+                benchmarkProperties.measurementIterations(), benchmarkProperties.relativeScoreErrorThreshold(),
+                benchmarkProperties.binaryDatasets(), benchmarkProperties.baselineDirectory(),
+                benchmarkProperties.regressionTolerance(), benchmarkProperties.jvmProfiles(),
+                benchmarkProperties.adaptiveForks());
+    }
+
+    /**
+     * @param configName as used in the benchmark properties files, such as "first_fit_decreasing"
+     */
+    private static ConstructionHeuristicType parseConstructionHeuristicType(String configName) {
+        return CONSTRUCTION_HEURISTIC_TYPES.stream()
+                .filter(type -> type.name().equals(configName.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown construction heuristic type: " + configName));
+    }
+
+    public static Configuration getDefault() {
+        return new Configuration(Arrays.asList(ScoreDirectorType.values()), Arrays.asList(Example.values()),
+                CONSTRUCTION_HEURISTIC_TYPES, 3, DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS,
+                DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD, DEFAULT_BINARY_DATASETS, null, DEFAULT_REGRESSION_TOLERANCE,
+                DEFAULT_JVM_PROFILES, DEFAULT_ADAPTIVE_FORKS);
+    }
+
+    private final List<ScoreDirectorType> enabledScoreDirectorTypes;
+    private final List<Example> enabledExamples;
+    private final List<ConstructionHeuristicType> enabledConstructionHeuristicTypes;
+
+    private Configuration(List<ScoreDirectorType> enabledScoreDirectorTypes, List<Example> enabledExamples,
+            List<ConstructionHeuristicType> enabledConstructionHeuristicTypes, int forkCount, int warmupIterations,
+            int measurementIterations, double relativeScoreErrorThreshold, boolean binaryDatasets,
+            String baselineDirectory, double regressionTolerance, List<JvmProfile> jvmProfiles,
+            AdaptiveForks adaptiveForks) {
+        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold, binaryDatasets,
+                baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
+        this.enabledScoreDirectorTypes = enabledScoreDirectorTypes;
+        this.enabledExamples = enabledExamples;
+        this.enabledConstructionHeuristicTypes = enabledConstructionHeuristicTypes;
+    }
+
+    public List<ScoreDirectorType> getEnabledScoreDirectorTypes() {
+        return enabledScoreDirectorTypes;
+    }
+
+    public List<Example> getEnabledExamples() {
+        return enabledExamples;
+    }
+
+    public List<ConstructionHeuristicType> getEnabledConstructionHeuristicTypes() {
+        return enabledConstructionHeuristicTypes;
+    }
+
+}
@@ -0,0 +1,74 @@
+package ai.timefold.solver.jmh.constructionheuristic;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+
+import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.constructionheuristic.benchmarks.ConstructionHeuristicBenchmark;
+import ai.timefold.solver.jmh.scoredirector.problems.ConstructionHeuristicProblem;
+import ai.timefold.solver.jmh.scoredirector.problems.ProblemInitializer;
+
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs {@link ConstructionHeuristicBenchmark} for every enabled construction heuristic type and score director type,
+ * on those of the enabled examples which support both.
+ */
+public final class Main extends AbstractMain<Configuration> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    public Main() {
+        super("constructionheuristic");
+    }
+
+    @Override
+    protected Configuration readConfiguration(InputStream inputStream) throws IOException {
+        return Configuration.read(inputStream);
+    }
+
+    @Override
+    protected Configuration getDefaultConfiguration() {
+        return Configuration.getDefault();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        var main = new Main();
+        var configuration = main.readConfiguration();
+        main.runJvmProfileMatrix(configuration);
+        ProblemInitializer.preload(configuration.getEnabledExamples());
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        for (var constructionHeuristicType : configuration.getEnabledConstructionHeuristicTypes()) {
+            for (var scoreDirectorType : configuration.getEnabledScoreDirectorTypes()) {
+                var supportedExampleNames = configuration.getEnabledExamples()
+                        .stream()
+                        .filter(example -> example.isSupportedOn(scoreDirectorType))
+                        .filter(example -> ConstructionHeuristicProblem.isSupported(example, constructionHeuristicType))
+                        .map(Enum::name)
+                        .toArray(String[]::new);
+                if (supportedExampleNames.length == 0) {
+                    LOGGER.warn("No examples enabled for construction heuristic type {} and score director type {}.",
+                            constructionHeuristicType, scoreDirectorType);
+                    continue;
+                }
+                optionsList.add(main.getBaseJmhConfig(configuration)
+                        .include(ConstructionHeuristicBenchmark.class.getSimpleName())
+                        .param("example", supportedExampleNames)
+                        .param("scoreDirectorType", scoreDirectorType.name())
+                        .param("constructionHeuristicType", constructionHeuristicType.name()));
+            }
+        }
+
+        var runResults = main.runAll(configuration, optionsList);
+        main.writeSamples(runResults);
+        main.appendToHistory(configuration, runResults);
+        if (!main.passesRegressionGate(configuration)) {
+            System.exit(1);
+        }
+    }
+
+}
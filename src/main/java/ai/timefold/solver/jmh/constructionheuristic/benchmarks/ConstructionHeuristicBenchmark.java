@@ -0,0 +1,67 @@
+package ai.timefold.solver.jmh.constructionheuristic.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.ConstructionHeuristicProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Times the entire construction heuristic, from the uninitialized solution to the initialized one.
+ * A single run takes milliseconds at the very least, so the per-invocation fixtures do not skew the result.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConstructionHeuristicBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    @Param({ "FIRST_FIT", "FIRST_FIT_DECREASING", "WEAKEST_FIT", "ALLOCATE_ENTITY_FROM_QUEUE" })
+    public ConstructionHeuristicType constructionHeuristicType;
+
+    public ConstructionHeuristicProblem<?> problem;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        problem = ConstructionHeuristicProblem.create(example, scoreDirectorType, constructionHeuristicType);
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        problem.setupInvocation();
+    }
+
+    @Benchmark
+    public Object run() {
+        return problem.runInvocation();
+    }
+
+    @TearDown(Level.Invocation)
+    public void teardownInvocation() {
+        problem.tearDownInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
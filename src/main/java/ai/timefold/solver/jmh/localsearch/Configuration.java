@@ -0,0 +1,95 @@
+package ai.timefold.solver.jmh.localsearch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.AcceptorType;
+import ai.timefold.solver.jmh.common.AbstractConfiguration;
+import ai.timefold.solver.jmh.common.AdaptiveForks;
+import ai.timefold.solver.jmh.common.JvmProfile;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+final class Configuration extends AbstractConfiguration {
+
+    /**
+     * Those which the benchmark knows how to configure; the others are variations on them.
+     */
+    static final List<AcceptorType> ACCEPTOR_TYPES = List.of(AcceptorType.LATE_ACCEPTANCE, AcceptorType.ENTITY_TABU,
+            AcceptorType.SIMULATED_ANNEALING);
+
+    public static Configuration read(InputStream inputStream) throws IOException {
+        var properties = new Properties();
+        properties.load(inputStream);
+
+        var scoreDirectorTypes = properties.getProperty("score_director_type");
+        var enabledScoreDirectorTypes = scoreDirectorTypes == null ? Arrays.asList(ScoreDirectorType.values())
+                : Arrays.stream(scoreDirectorTypes.split("\\Q,\\E"))
+                        .map(ScoreDirectorType::parse)
+                        .collect(Collectors.toList());
+        var enabledExamples = parseExamples(properties.getProperty("example"), Example.values());
+        var acceptorTypes = properties.getProperty("acceptor_type");
+        var enabledAcceptorTypes = acceptorTypes == null ? ACCEPTOR_TYPES
+                : Arrays.stream(acceptorTypes.split("\\Q,\\E"))
+                        .map(Configuration::parseAcceptorType)
+                        .collect(Collectors.toList());
+        var benchmarkProperties = readBenchmarkProperties(properties, getDefault());
+        return new Configuration(enabledScoreDirectorTypes, enabledExamples, enabledAcceptorTypes,
+                benchmarkProperties.forkCount(), benchmarkProperties.warmupIterations(),
+                benchmarkProperties.measurementIterations(), benchmarkProperties.relativeScoreErrorThreshold(),
+                benchmarkProperties.binaryDatasets(), benchmarkProperties.baselineDirectory(),
+                benchmarkProperties.regressionTolerance(), benchmarkProperties.jvmProfiles(),
+                benchmarkProperties.adaptiveForks());
+    }
+
+    /**
+     * @param configName as used in the benchmark properties files, such as "late_acceptance"
+     */
+    private static AcceptorType parseAcceptorType(String configName) {
+        return ACCEPTOR_TYPES.stream()
+                .filter(type -> type.name().equals(configName.trim().toUpperCase(Locale.ROOT)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown acceptor type: " + configName));
+    }
+
+    public static Configuration getDefault() {
+        return new Configuration(Arrays.asList(ScoreDirectorType.values()), Arrays.asList(Example.values()),
+                ACCEPTOR_TYPES, 3, DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS,
+                DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD, DEFAULT_BINARY_DATASETS, null, DEFAULT_REGRESSION_TOLERANCE,
+                DEFAULT_JVM_PROFILES, DEFAULT_ADAPTIVE_FORKS);
+    }
+
+    private final List<ScoreDirectorType> enabledScoreDirectorTypes;
+    private final List<Example> enabledExamples;
+    private final List<AcceptorType> enabledAcceptorTypes;
+
+    private Configuration(List<ScoreDirectorType> enabledScoreDirectorTypes, List<Example> enabledExamples,
+            List<AcceptorType> enabledAcceptorTypes, int forkCount, int warmupIterations,
+            int measurementIterations, double relativeScoreErrorThreshold, boolean binaryDatasets,
+            String baselineDirectory, double regressionTolerance, List<JvmProfile> jvmProfiles,
+            AdaptiveForks adaptiveForks) {
+        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold, binaryDatasets,
+                baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
+        this.enabledScoreDirectorTypes = enabledScoreDirectorTypes;
+        this.enabledExamples = enabledExamples;
+        this.enabledAcceptorTypes = enabledAcceptorTypes;
+    }
+
+    public List<ScoreDirectorType> getEnabledScoreDirectorTypes() {
+        return enabledScoreDirectorTypes;
+    }
+
+    public List<Example> getEnabledExamples() {
+        return enabledExamples;
+    }
+
+    public List<AcceptorType> getEnabledAcceptorTypes() {
+        return enabledAcceptorTypes;
+    }
+
+}
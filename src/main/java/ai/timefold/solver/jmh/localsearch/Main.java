@@ -0,0 +1,106 @@
+package ai.timefold.solver.jmh.localsearch;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+
+import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.localsearch.benchmarks.LocalSearchStepBenchmark;
+import ai.timefold.solver.jmh.scoredirector.problems.ProblemInitializer;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs {@link LocalSearchStepBenchmark} for every enabled score director type and acceptor type,
+ * and reports steps per second and moves per second of every example next to each other.
+ */
+public final class Main extends AbstractMain<Configuration> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    private static final String MOVES = "moves"; // Name of the field in LocalSearchStepBenchmark.MoveCounter.
+
+    public Main() {
+        super("localsearch");
+    }
+
+    @Override
+    protected Configuration readConfiguration(InputStream inputStream) throws IOException {
+        return Configuration.read(inputStream);
+    }
+
+    @Override
+    protected Configuration getDefaultConfiguration() {
+        return Configuration.getDefault();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        var main = new Main();
+        var configuration = main.readConfiguration();
+        main.runJvmProfileMatrix(configuration);
+        ProblemInitializer.preload(configuration.getEnabledExamples());
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        for (var scoreDirectorType : configuration.getEnabledScoreDirectorTypes()) {
+            var supportedExampleNames = configuration.getEnabledExamples()
+                    .stream()
+                    .filter(example -> example.isSupportedOn(scoreDirectorType))
+                    .map(Enum::name)
+                    .toArray(String[]::new);
+            if (supportedExampleNames.length == 0) {
+                LOGGER.warn("No examples enabled for score director type {}.", scoreDirectorType);
+                continue;
+            }
+            optionsList.add(main.getBaseJmhConfig(configuration)
+                    .include(LocalSearchStepBenchmark.class.getSimpleName())
+                    .param("example", supportedExampleNames)
+                    .param("scoreDirectorType", scoreDirectorType.name())
+                    .param("acceptorType", configuration.getEnabledAcceptorTypes()
+                            .stream()
+                            .map(Enum::name)
+                            .toArray(String[]::new)));
+        }
+
+        var runResults = main.runAll(configuration, optionsList);
+        main.writeLocalSearchReport(runResults);
+        main.writeSamples(runResults);
+        main.appendToHistory(configuration, runResults);
+        if (!main.passesRegressionGate(configuration)) {
+            System.exit(1);
+        }
+    }
+
+    private void writeLocalSearchReport(Collection<RunResult> runResults) throws IOException {
+        var resultList = runResults.stream()
+                .sorted(Comparator.<RunResult, String> comparing(result -> result.getParams().getParam("example"))
+                        .thenComparing(result -> result.getParams().getParam("scoreDirectorType"))
+                        .thenComparing(result -> result.getParams().getParam("acceptorType")))
+                .toList();
+        var lineList = new ArrayList<String>();
+        lineList.add("\"Example\",\"Score director type\",\"Acceptor type\",\"Steps/s\",\"Steps/s error\","
+                + "\"Moves/s\",\"Moves/s error\",\"Moves per step\"");
+        for (var runResult : resultList) {
+            var params = runResult.getParams();
+            var stepResult = runResult.getPrimaryResult();
+            var moveResult = runResult.getSecondaryResults().get(MOVES);
+            if (moveResult == null) {
+                throw new IllegalStateException("Impossible state: no moves counted for " + params.id() + ".");
+            }
+            lineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",\"%s\",%.3f,%.3f,%.3f,%.3f,%.1f",
+                    params.getParam("example"), params.getParam("scoreDirectorType"), params.getParam("acceptorType"),
+                    stepResult.getScore(), stepResult.getScoreError(), moveResult.getScore(),
+                    moveResult.getScoreError(), moveResult.getScore() / stepResult.getScore()));
+        }
+        var reportPath = getResultsDirectory().resolve("localSearchReport.csv");
+        Files.write(reportPath, lineList);
+        LOGGER.info("Local search report written to '{}'.", reportPath);
+    }
+
+}
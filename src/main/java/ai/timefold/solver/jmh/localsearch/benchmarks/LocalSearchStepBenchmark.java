@@ -0,0 +1,84 @@
+package ai.timefold.solver.jmh.localsearch.benchmarks;
+
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.AcceptorType;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.LocalSearchProblem;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Every invocation is one complete local search step, so the score is in steps per second.
+ * Moves per second are counted next to it; comparing them with the score director benchmarks
+ * shows how much of the step goes to the acceptor, the forager and the bookkeeping around the score director.
+ * A step is many moves long, so there are no fixtures on the level of a single invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class LocalSearchStepBenchmark {
+
+    /**
+     * Reported by JMH as a rate, next to the score.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class MoveCounter {
+
+        public long moves;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            moves = 0;
+        }
+
+    }
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    @Param({ "LATE_ACCEPTANCE", "ENTITY_TABU", "SIMULATED_ANNEALING" })
+    public AcceptorType acceptorType;
+
+    public LocalSearchProblem<?> problem;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        problem = LocalSearchProblem.create(example, scoreDirectorType, acceptorType);
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+    }
+
+    @Benchmark
+    public long run(MoveCounter moveCounter) {
+        var moveCount = problem.runStep();
+        moveCounter.moves += moveCount;
+        return moveCount;
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        problem.tearDownIteration();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,98 @@
+package ai.timefold.solver.jmh.scaling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.jmh.common.AbstractConfiguration;
+import ai.timefold.solver.jmh.common.AdaptiveForks;
+import ai.timefold.solver.jmh.common.JvmProfile;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+final class Configuration extends AbstractConfiguration {
+
+    public static Configuration read(InputStream inputStream) throws IOException {
+        var properties = new Properties();
+        properties.load(inputStream);
+
+        var scoreDirectorTypes = properties.getProperty("score_director_type");
+        var enabledScoreDirectorTypes = scoreDirectorTypes == null ? Arrays.asList(ScoreDirectorType.values())
+                : Arrays.stream(scoreDirectorTypes.split("\\Q,\\E"))
+                        .map(ScoreDirectorType::parse)
+                        .collect(Collectors.toList());
+        var enabledExamples = parseExamples(properties.getProperty("example"), Example.values());
+        var threads = properties.getProperty("threads");
+        var threadCounts = threads == null ? getDefaultThreadCounts()
+                : Arrays.stream(threads.split("\\Q,\\E"))
+                        .map(threadCount -> (int) parseDouble(properties, "threads", threadCount.trim()))
+                        .sorted()
+                        .distinct()
+                        .collect(Collectors.toList());
+        if (threadCounts.isEmpty() || threadCounts.get(0) < 1) {
+            throw new IllegalArgumentException("Thread counts (" + threads + ") must be positive.");
+        }
+        var benchmarkProperties = readBenchmarkProperties(properties, getDefault());
+        return new Configuration(enabledScoreDirectorTypes, enabledExamples, threadCounts,
+                benchmarkProperties.forkCount(), benchmarkProperties.warmupIterations(),
+                benchmarkProperties.measurementIterations(), benchmarkProperties.relativeScoreErrorThreshold(),
+                benchmarkProperties.binaryDatasets(), benchmarkProperties.baselineDirectory(),
+                benchmarkProperties.regressionTolerance(), benchmarkProperties.jvmProfiles(),
+                benchmarkProperties.adaptiveForks());
+    }
+
+    /**
+     * Powers of two up to the number of CPUs, and the number of CPUs itself.
+     */
+    private static List<Integer> getDefaultThreadCounts() {
+        var cpuCount = Runtime.getRuntime().availableProcessors();
+        var threadCounts = new TreeSet<Integer>();
+        for (var threadCount = 1; threadCount <= cpuCount; threadCount *= 2) {
+            threadCounts.add(threadCount);
+        }
+        threadCounts.add(cpuCount);
+        return List.copyOf(threadCounts);
+    }
+
+    public static Configuration getDefault() {
+        return new Configuration(Arrays.asList(ScoreDirectorType.values()), Arrays.asList(Example.values()),
+                getDefaultThreadCounts(), 3, DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS,
+                DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD, DEFAULT_BINARY_DATASETS, null, DEFAULT_REGRESSION_TOLERANCE,
+                DEFAULT_JVM_PROFILES, DEFAULT_ADAPTIVE_FORKS);
+    }
+
+    private final List<ScoreDirectorType> enabledScoreDirectorTypes;
+    private final List<Example> enabledExamples;
+    private final List<Integer> threadCounts;
+
+    private Configuration(List<ScoreDirectorType> enabledScoreDirectorTypes, List<Example> enabledExamples,
+            List<Integer> threadCounts, int forkCount, int warmupIterations, int measurementIterations,
+            double relativeScoreErrorThreshold, boolean binaryDatasets, String baselineDirectory,
+            double regressionTolerance, List<JvmProfile> jvmProfiles, AdaptiveForks adaptiveForks) {
+        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold, binaryDatasets,
+                baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
+        this.enabledScoreDirectorTypes = enabledScoreDirectorTypes;
+        this.enabledExamples = enabledExamples;
+        this.threadCounts = threadCounts;
+    }
+
+    public List<ScoreDirectorType> getEnabledScoreDirectorTypes() {
+        return enabledScoreDirectorTypes;
+    }
+
+    public List<Example> getEnabledExamples() {
+        return enabledExamples;
+    }
+
+    /**
+     * @return ascending, never empty
+     */
+    public List<Integer> getThreadCounts() {
+        return threadCounts;
+    }
+
+}
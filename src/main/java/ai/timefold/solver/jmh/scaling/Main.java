@@ -0,0 +1,131 @@
+package ai.timefold.solver.jmh.scaling;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.scaling.benchmarks.ScalingBenchmark;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.ProblemInitializer;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs {@link ScalingBenchmark} with an increasing number of threads,
+ * and reports how the total throughput and the per-core efficiency change as the cores fill up.
+ * Efficiency is the throughput of one thread, relative to the throughput of one thread when running alone.
+ */
+public final class Main extends AbstractMain<Configuration> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
+
+    private static final int HEAP_MB_PER_EXTRA_THREAD = 256; // Every thread has its own working solution.
+
+    public Main() {
+        super("scaling");
+    }
+
+    @Override
+    protected Configuration readConfiguration(InputStream inputStream) throws IOException {
+        return Configuration.read(inputStream);
+    }
+
+    @Override
+    protected Configuration getDefaultConfiguration() {
+        return Configuration.getDefault();
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        var main = new Main();
+        var configuration = main.readConfiguration();
+        main.runJvmProfileMatrix(configuration);
+        ProblemInitializer.preload(configuration.getEnabledExamples());
+        var jvmProfile = main.getJvmProfile(configuration);
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        for (var threadCount : configuration.getThreadCounts()) {
+            for (var scoreDirectorType : configuration.getEnabledScoreDirectorTypes()) {
+                var supportedExampleNames = configuration.getEnabledExamples()
+                        .stream()
+                        .filter(example -> example.isSupportedOn(scoreDirectorType))
+                        .map(Enum::name)
+                        .toArray(String[]::new);
+                if (supportedExampleNames.length == 0) {
+                    LOGGER.warn("No examples enabled for score director type {}.", scoreDirectorType);
+                    continue;
+                }
+                // The heap of the JVM profile is for a single thread, and every other thread needs more.
+                var heapMb = jvmProfile.getHeapSizeMb() + HEAP_MB_PER_EXTRA_THREAD * (threadCount - 1);
+                optionsList.add(main.getBaseJmhConfig(configuration, jvmProfile.getGcJvmArgs(heapMb + "m"))
+                        .include(ScalingBenchmark.class.getSimpleName())
+                        .param("example", supportedExampleNames)
+                        .param("scoreDirectorType", scoreDirectorType.name())
+                        .threads(threadCount));
+            }
+        }
+        LOGGER.info("Running with thread counts {}.", configuration.getThreadCounts());
+
+        var runResults = main.runAll(configuration, optionsList);
+        main.writeScalingReport(runResults);
+        main.writeSamples(runResults);
+        main.appendToHistory(configuration, runResults);
+        if (!main.passesRegressionGate(configuration)) {
+            System.exit(1);
+        }
+    }
+
+    private record ScalingKey(Example example, ScoreDirectorType scoreDirectorType) {
+
+    }
+
+    private void writeScalingReport(Collection<RunResult> runResults) throws IOException {
+        var resultMap = new LinkedHashMap<ScalingKey, Map<Integer, RunResult>>();
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var key = new ScalingKey(Example.valueOf(params.getParam("example")),
+                    ScoreDirectorType.valueOf(params.getParam("scoreDirectorType")));
+            resultMap.computeIfAbsent(key, k -> new TreeMap<>())
+                    .put(params.getThreads(), runResult);
+        }
+        var lineList = new ArrayList<String>();
+        lineList.add("\"Example\",\"Score director type\",\"Threads\",\"Moves/s\",\"Moves/s error\","
+                + "\"Moves/s per thread\",\"Efficiency (%)\"");
+        resultMap.forEach((key, threadResultMap) -> {
+            // Ideally 1 thread; otherwise the lowest thread count is the best we have.
+            var lowestThreadCount = threadResultMap.keySet().iterator().next();
+            var singleThreadScore = threadResultMap.get(lowestThreadCount).getPrimaryResult().getScore()
+                    / lowestThreadCount;
+            threadResultMap.forEach((threadCount, runResult) -> {
+                var primaryResult = runResult.getPrimaryResult();
+                var perThreadScore = primaryResult.getScore() / threadCount;
+                var efficiency = perThreadScore / singleThreadScore;
+                LOGGER.info("{} on {} with {} threads: {} moves/s in total, {} per thread, {} % efficiency.",
+                        key.example(), key.scoreDirectorType(), threadCount, format(primaryResult.getScore()),
+                        format(perThreadScore), format(efficiency * 100));
+                lineList.add("\"" + key.example() + "\",\"" + key.scoreDirectorType() + "\"," + threadCount + ","
+                        + format(primaryResult.getScore()) + "," + format(primaryResult.getScoreError()) + ","
+                        + format(perThreadScore) + "," + format(efficiency * 100));
+            });
+        });
+        var reportPath = getResultsDirectory().resolve("scalingReport.csv");
+        Files.write(reportPath, lineList);
+        LOGGER.info("Scaling report written to '{}'.", reportPath);
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+}
@@ -0,0 +1,89 @@
+package ai.timefold.solver.jmh.scaling.benchmarks;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Same moves as the score director benchmarks, but in as many threads as JMH is told to run.
+ * All threads share the score director factory and the problem facts;
+ * every thread has its own score director and its own clone of the working solution,
+ * just like several solvers running on the same problem would.
+ * With Throughput mode, JMH reports the sum of all threads.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ScalingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SharedProblem {
+
+        @Param
+        public Example example;
+
+        @Param
+        public ScoreDirectorType scoreDirectorType;
+
+        public Problem problem;
+
+        @Setup(Level.Trial)
+        public void setupTrial() {
+            problem = example.create(scoreDirectorType);
+            problem.setupTrial();
+        }
+
+        @TearDown(Level.Trial)
+        public void teardownTrial() {
+            problem.teardownTrial();
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadProblem {
+
+        public Problem problem;
+
+        @Setup(Level.Trial)
+        public void setupTrial(SharedProblem sharedProblem) {
+            problem = sharedProblem.problem.copy();
+        }
+
+        @Setup(Level.Iteration)
+        public void setupIteration() {
+            problem.setupIteration();
+        }
+
+        @Setup(Level.Invocation)
+        public void setupInvocation() {
+            problem.setupInvocation();
+        }
+
+        @TearDown(Level.Invocation)
+        public void teardownInvocation() {
+            problem.tearDownInvocation();
+        }
+
+        @TearDown(Level.Iteration)
+        public void teardownIteration() {
+            problem.tearDownIteration();
+        }
+
+    }
+
+    @Benchmark
+    public Object run(ThreadProblem threadProblem, Blackhole blackhole) {
+        return threadProblem.problem.runInvocation();
+    }
+
+}
@@ -0,0 +1,115 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.OptionalDouble;
+
+import ai.timefold.solver.jmh.scoredirector.benchmarks.AllocationBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.EpsilonAllocationProfiler;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.GcBenchmark;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the allocation and GC figures of every benchmark next to its score.
+ * Figures of JMH's GC profiler come from the same run as the score if it had the profiler,
+ * otherwise from the separate run of {@link GcBenchmark}, if there was one;
+ * exact figures come from the separate run of {@link AllocationBenchmark} on Epsilon GC, if there was one.
+ */
+final class AllocationReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AllocationReport.class);
+
+    static final String FILE_NAME = "allocationReport.csv";
+
+    private static final String GC_ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+    private static final String GC_COUNT = "gc.count";
+    private static final String GC_TIME = "gc.time";
+
+    static void write(Collection<RunResult> runResults, Path csvPath) throws IOException {
+        var gcResultMap = new HashMap<BenchmarkedExample, RunResult>();
+        var epsilonResultMap = new HashMap<BenchmarkedExample, RunResult>();
+        var otherResultList = new ArrayList<RunResult>();
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            if (params.getBenchmark().startsWith(GcBenchmark.class.getName() + ".")) {
+                BenchmarkedExample.of(params)
+                        .ifPresent(benchmarkedExample -> gcResultMap.put(benchmarkedExample, runResult));
+            } else if (params.getBenchmark().startsWith(AllocationBenchmark.class.getName() + ".")) {
+                BenchmarkedExample.of(params)
+                        .ifPresent(benchmarkedExample -> epsilonResultMap.put(benchmarkedExample, runResult));
+            } else if (!ProblemSizeReport.isProblemSizeResult(runResult) // Have reports of their own.
+                    && !FullCalculationReport.isFullCalculationResult(runResult)) {
+                otherResultList.add(runResult);
+            }
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Benchmark\",\"Example\",\"Score director type\",\"Score\",\"Unit\",\"Allocated (B/op)\","
+                + "\"GC count per iteration\",\"GC time per iteration (ms)\",\"Epsilon allocated (B/op)\","
+                + "\"Epsilon allocated (objects/op)\"");
+        for (var runResult : otherResultList) {
+            var params = runResult.getParams();
+            var benchmarkedExample = BenchmarkedExample.of(params);
+            if (benchmarkedExample.isEmpty()) {
+                continue;
+            }
+            var example = benchmarkedExample.get();
+            var gcResult = runResult.getSecondaryResults().containsKey(GC_ALLOCATION_PER_OPERATION) ? runResult
+                    : gcResultMap.get(example);
+            var epsilonResult = epsilonResultMap.get(example);
+            var primaryResult = runResult.getPrimaryResult();
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",\"%s\",%.3f,\"%s\",%s,%s,%s,%s,%s",
+                    params.getBenchmark(), example.example(), example.scoreDirectorType(), primaryResult.getScore(),
+                    primaryResult.getScoreUnit(),
+                    format(getSecondaryScore(gcResult, GC_ALLOCATION_PER_OPERATION)),
+                    format(getPerIterationScore(gcResult, GC_COUNT)),
+                    format(getPerIterationScore(gcResult, GC_TIME)),
+                    format(getSecondaryScore(epsilonResult, EpsilonAllocationProfiler.BYTES_PER_MOVE)),
+                    format(getSecondaryScore(epsilonResult, EpsilonAllocationProfiler.OBJECTS_PER_MOVE))));
+        }
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Allocation report written to {}.", csvPath);
+    }
+
+    private static OptionalDouble getSecondaryScore(RunResult runResult, String label) {
+        if (runResult == null) {
+            return OptionalDouble.empty();
+        }
+        var result = runResult.getSecondaryResults().get(label);
+        return result == null ? OptionalDouble.empty() : OptionalDouble.of(result.getScore());
+    }
+
+    /**
+     * JMH sums GC counts and times over all iterations; this is their average per measurement iteration instead.
+     */
+    private static OptionalDouble getPerIterationScore(RunResult runResult, String label) {
+        if (runResult == null) {
+            return OptionalDouble.empty();
+        }
+        return runResult.getBenchmarkResults()
+                .stream()
+                .flatMap(benchmarkResult -> benchmarkResult.getIterationResults().stream())
+                .map(iterationResult -> iterationResult.getSecondaryResults().get(label))
+                .filter(Objects::nonNull)
+                .mapToDouble(Result::getScore)
+                .average();
+    }
+
+    private static String format(OptionalDouble value) {
+        return value.isPresent() ? String.format(Locale.ROOT, "%.3f", value.getAsDouble()) : "";
+    }
+
+    private AllocationReport() {
+        // No instances.
+    }
+
+}
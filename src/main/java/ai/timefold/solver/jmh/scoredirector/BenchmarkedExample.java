@@ -0,0 +1,29 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.util.Optional;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+/**
+ * Which example on which score director type a benchmark ran.
+ * Benchmarks of a single score director type only have the example as a parameter, named after the type;
+ * all other benchmarks have both the example and the type as parameters.
+ */
+record BenchmarkedExample(Example example, ScoreDirectorType scoreDirectorType) {
+
+    static Optional<BenchmarkedExample> of(BenchmarkParams params) {
+        var example = params.getParam("example");
+        if (example != null) {
+            return Optional.of(new BenchmarkedExample(Example.valueOf(example),
+                    ScoreDirectorType.valueOf(params.getParam("scoreDirectorType"))));
+        }
+        for (var scoreDirectorType : ScoreDirectorType.values()) {
+            var singleTypeExample = params.getParam(scoreDirectorType.getBenchmarkParamName());
+            if (singleTypeExample != null) {
+                return Optional.of(new BenchmarkedExample(Example.valueOf(singleTypeExample), scoreDirectorType));
+            }
+        }
+        return Optional.empty();
+    }
+
+}
@@ -2,15 +2,26 @@ package ai.timefold.solver.jmh.scoredirector;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 import java.util.stream.Collectors;
 
 import ai.timefold.solver.jmh.common.AbstractConfiguration;
+import ai.timefold.solver.jmh.common.AdaptiveForks;
+import ai.timefold.solver.jmh.common.JvmProfile;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.BatchedBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.ProblemSizeBenchmark;
+import ai.timefold.solver.jmh.scoredirector.problems.MoveTrace;
+import ai.timefold.solver.jmh.scoredirector.problems.ScoreExplanationProblem;
 
 final class Configuration extends AbstractConfiguration {
 
+    private static final String DEFAULT_EPSILON_HEAP_SIZE = "4g";
+    private static final int DEFAULT_EPSILON_MOVE_COUNT = 100_000;
+    private static final String DEFAULT_PROBLEM_SIZE_HEAP_SIZE = "4g";
+
     public static Configuration read(InputStream inputStream) throws IOException {
         var properties = new Properties();
         properties.load(inputStream);
@@ -21,36 +32,169 @@ final class Configuration extends AbstractConfiguration {
             enabledScoreDirectorTypes = Arrays.asList(ScoreDirectorType.values());
         } else {
             enabledScoreDirectorTypes = Arrays.stream(scoreDirectorTypes.split("\\Q,\\E"))
-                    .map(sdt -> switch (sdt) {
-                        case "cs" -> ScoreDirectorType.CONSTRAINT_STREAMS;
-                        case "cs_justified" -> ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED;
-                        case "easy" -> ScoreDirectorType.EASY;
-                        case "incremental" -> ScoreDirectorType.INCREMENTAL;
-                        default -> throw new IllegalArgumentException("Unknown score director type: " + sdt);
-                    })
+                    .map(ScoreDirectorType::parse)
                     .collect(Collectors.toList());
         }
 
         var enabledExamples = parseExamples(properties.getProperty("example"), Example.values());
+        var moveTraceReplay = parseBoolean(properties, "move_trace_replay", "false");
+        var moveTraceSeed = (long) parseDouble(properties, "move_trace_seed", Long.toString(MoveTrace.DEFAULT_SEED));
+        var moveTraceLength = (int) parseDouble(properties, "move_trace_length",
+                Integer.toString(MoveTrace.DEFAULT_LENGTH));
+        if (moveTraceLength < 1) {
+            throw new IllegalArgumentException("Move trace length (" + moveTraceLength + ") must be positive.");
+        }
+        var invocationMode = InvocationMode.parse(properties.getProperty("invocation_mode", "single"));
+        var batchSize = (int) parseDouble(properties, "batch_size", Integer.toString(BatchedBenchmark.DEFAULT_BATCH_SIZE));
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size (" + batchSize + ") must be positive.");
+        } else if (moveTraceReplay && invocationMode.isBatched() && moveTraceLength < batchSize) {
+            throw new IllegalArgumentException("Move trace length (" + moveTraceLength
+                    + ") must be at least the batch size (" + batchSize + "), as a trace never starts over mid-batch.");
+        }
+        var latencyHistograms = parseBoolean(properties, "latency_histograms", "false");
+        var gcProfiler = parseBoolean(properties, "gc_profiler", "false");
+        var epsilonGc = parseBoolean(properties, "epsilon_gc", "false");
+        var epsilonHeapSize = parseHeapSize(properties, "epsilon_heap_size", DEFAULT_EPSILON_HEAP_SIZE);
+        var epsilonMoveCount = (int) parseDouble(properties, "epsilon_move_count",
+                Integer.toString(DEFAULT_EPSILON_MOVE_COUNT));
+        if (epsilonMoveCount < batchSize) {
+            throw new IllegalArgumentException("Epsilon move count (" + epsilonMoveCount
+                    + ") must be at least the batch size (" + batchSize + ").");
+        } else if (moveTraceReplay && epsilonGc && moveTraceLength < epsilonMoveCount) {
+            throw new IllegalArgumentException("Move trace length (" + moveTraceLength
+                    + ") must be at least the Epsilon move count (" + epsilonMoveCount
+                    + "), as a trace never starts over mid-iteration.");
+        }
+        var problemSizes = parseProblemSizes(properties.getProperty("problem_sizes", ""));
+        var problemSizeHeapSize = parseHeapSize(properties, "problem_size_heap_size", DEFAULT_PROBLEM_SIZE_HEAP_SIZE);
+        var generatorSeed = (long) parseDouble(properties, "generator_seed",
+                Long.toString(ProblemSizeBenchmark.DEFAULT_GENERATOR_SEED));
+        var nearbySelection = parseBoolean(properties, "nearby_selection", "false");
+        var fullCalculation = parseBoolean(properties, "full_calculation", "false");
+        var heapFootprint = parseBoolean(properties, "heap_footprint", "false");
+        var shardCores = parseCores(properties, "shard_cores", "");
+        var scoreExplanationTypes = properties.getProperty("score_explanation_type", "");
+        var enabledScoreExplanationTypes = scoreExplanationTypes.isBlank() ? List.<ScoreExplanationType> of()
+                : Arrays.stream(scoreExplanationTypes.split("\\Q,\\E"))
+                        .map(ScoreExplanationType::parse)
+                        .distinct()
+                        .toList();
+        if (moveTraceReplay && !enabledScoreExplanationTypes.isEmpty()
+                && moveTraceLength < ScoreExplanationProblem.MOVE_COUNT) {
+            throw new IllegalArgumentException("Move trace length (" + moveTraceLength
+                    + ") must be at least the moves before every score explanation ("
+                    + ScoreExplanationProblem.MOVE_COUNT + ").");
+        }
         var benchmarkProperties = readBenchmarkProperties(properties, getDefault());
-        return new Configuration(enabledScoreDirectorTypes, enabledExamples, benchmarkProperties.forkCount(),
+        return new Configuration(enabledScoreDirectorTypes, enabledExamples, moveTraceReplay, moveTraceSeed,
+                moveTraceLength, invocationMode, batchSize, latencyHistograms, gcProfiler, epsilonGc, epsilonHeapSize,
+                epsilonMoveCount, problemSizes, problemSizeHeapSize, generatorSeed, nearbySelection, fullCalculation,
+                heapFootprint, enabledScoreExplanationTypes, shardCores, benchmarkProperties.forkCount(),
                 benchmarkProperties.warmupIterations(), benchmarkProperties.measurementIterations(),
-                benchmarkProperties.relativeScoreErrorThreshold());
+                benchmarkProperties.relativeScoreErrorThreshold(), benchmarkProperties.binaryDatasets(),
+                benchmarkProperties.baselineDirectory(), benchmarkProperties.regressionTolerance(),
+                benchmarkProperties.jvmProfiles(), benchmarkProperties.adaptiveForks());
     }
 
     public static Configuration getDefault() {
-        return new Configuration(Arrays.asList(ScoreDirectorType.values()), Arrays.asList(Example.values()), DEFAULT_FORK_COUNT,
-                DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASUREMENT_ITERATIONS, DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD);
+        return new Configuration(Arrays.asList(ScoreDirectorType.values()), Arrays.asList(Example.values()), false,
+                MoveTrace.DEFAULT_SEED, MoveTrace.DEFAULT_LENGTH, InvocationMode.SINGLE,
+                BatchedBenchmark.DEFAULT_BATCH_SIZE, false, false, false, DEFAULT_EPSILON_HEAP_SIZE,
+                DEFAULT_EPSILON_MOVE_COUNT, List.of(),
+                DEFAULT_PROBLEM_SIZE_HEAP_SIZE, ProblemSizeBenchmark.DEFAULT_GENERATOR_SEED, false, false,
+                false, List.of(), List.of(), DEFAULT_FORK_COUNT, DEFAULT_WARMUP_ITERATIONS,
+                DEFAULT_MEASUREMENT_ITERATIONS, DEFAULT_RELATIVE_SCORE_ERROR_THRESHOLD, DEFAULT_BINARY_DATASETS, null,
+                DEFAULT_REGRESSION_TOLERANCE, DEFAULT_JVM_PROFILES, DEFAULT_ADAPTIVE_FORKS);
+    }
+
+    private static List<Integer> parseProblemSizes(String problemSizes) {
+        if (problemSizes.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(problemSizes.split("\\Q,\\E"))
+                .map(String::trim)
+                .map(problemSize -> {
+                    try {
+                        var entityCount = Integer.parseInt(problemSize);
+                        if (entityCount < 1) {
+                            throw new IllegalArgumentException("Problem size (" + entityCount + ") must be positive.");
+                        }
+                        return entityCount;
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Failed parsing problem_sizes " + problemSizes, ex);
+                    }
+                })
+                .distinct()
+                .sorted()
+                .toList();
     }
 
     private final List<ScoreDirectorType> enabledScoreDirectorTypes;
     private final List<Example> enabledExamples;
+    private final boolean moveTraceReplay;
+    private final long moveTraceSeed;
+    private final int moveTraceLength;
+    private final InvocationMode invocationMode;
+    private final int batchSize;
+    private final boolean latencyHistograms;
+    private final boolean gcProfiler;
+    private final boolean epsilonGc;
+    private final String epsilonHeapSize;
+    private final int epsilonMoveCount;
+    private final List<Integer> problemSizes;
+    private final String problemSizeHeapSize;
+    private final long generatorSeed;
+    private final boolean nearbySelection;
+    private final boolean fullCalculation;
+    private final boolean heapFootprint;
+    private final List<ScoreExplanationType> enabledScoreExplanationTypes;
+    private final List<Integer> shardCores;
 
     private Configuration(List<ScoreDirectorType> enabledScoreDirectorTypes, List<Example> enabledExamples,
-            int forkCount, int warmupIterations, int measurementIterations, double relativeScoreErrorThreshold) {
-        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold);
+            boolean moveTraceReplay, long moveTraceSeed, int moveTraceLength, InvocationMode invocationMode,
+            int batchSize, boolean latencyHistograms, boolean gcProfiler, boolean epsilonGc, String epsilonHeapSize,
+            int epsilonMoveCount, List<Integer> problemSizes, String problemSizeHeapSize, long generatorSeed,
+            boolean nearbySelection, boolean fullCalculation, boolean heapFootprint,
+            List<ScoreExplanationType> enabledScoreExplanationTypes,
+            List<Integer> shardCores, int forkCount, int warmupIterations, int measurementIterations,
+            double relativeScoreErrorThreshold, boolean binaryDatasets, String baselineDirectory,
+            double regressionTolerance, List<JvmProfile> jvmProfiles, AdaptiveForks adaptiveForks) {
+        super(forkCount, warmupIterations, measurementIterations, relativeScoreErrorThreshold, binaryDatasets,
+                baselineDirectory, regressionTolerance, jvmProfiles, adaptiveForks);
         this.enabledScoreDirectorTypes = enabledScoreDirectorTypes;
         this.enabledExamples = enabledExamples;
+        this.moveTraceReplay = moveTraceReplay;
+        this.moveTraceSeed = moveTraceSeed;
+        this.moveTraceLength = moveTraceLength;
+        this.invocationMode = invocationMode;
+        this.batchSize = batchSize;
+        this.latencyHistograms = latencyHistograms;
+        this.gcProfiler = gcProfiler;
+        this.epsilonGc = epsilonGc;
+        this.epsilonHeapSize = epsilonHeapSize;
+        this.epsilonMoveCount = epsilonMoveCount;
+        this.problemSizes = problemSizes;
+        this.problemSizeHeapSize = problemSizeHeapSize;
+        this.generatorSeed = generatorSeed;
+        this.nearbySelection = nearbySelection;
+        this.fullCalculation = fullCalculation;
+        this.heapFootprint = heapFootprint;
+        this.enabledScoreExplanationTypes = enabledScoreExplanationTypes;
+        this.shardCores = shardCores;
+    }
+
+    /**
+     * @return the same configuration, only with other examples enabled
+     */
+    public Configuration withEnabledExamples(List<Example> enabledExamples) {
+        return new Configuration(enabledScoreDirectorTypes, enabledExamples, moveTraceReplay, moveTraceSeed,
+                moveTraceLength, invocationMode, batchSize, latencyHistograms, gcProfiler, epsilonGc, epsilonHeapSize,
+                epsilonMoveCount, problemSizes, problemSizeHeapSize, generatorSeed, nearbySelection, fullCalculation,
+                heapFootprint, enabledScoreExplanationTypes, shardCores, getForkCount(), getWarmupIterations(),
+                getMeasurementIterations(), getRelativeScoreErrorThreshold(), isBinaryDatasets(),
+                getBaselineDirectory().map(Path::toString).orElse(null), getRegressionTolerance(), getJvmProfiles(),
+                getAdaptiveForks());
     }
 
     public List<ScoreDirectorType> getEnabledScoreDirectorTypes() {
@@ -61,4 +205,94 @@ final class Configuration extends AbstractConfiguration {
         return enabledExamples;
     }
 
+    public boolean isMoveTraceReplay() {
+        return moveTraceReplay;
+    }
+
+    public long getMoveTraceSeed() {
+        return moveTraceSeed;
+    }
+
+    public int getMoveTraceLength() {
+        return moveTraceLength;
+    }
+
+    public InvocationMode getInvocationMode() {
+        return invocationMode;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isLatencyHistograms() {
+        return latencyHistograms;
+    }
+
+    public boolean isGcProfiler() {
+        return gcProfiler;
+    }
+
+    public boolean isEpsilonGc() {
+        return epsilonGc;
+    }
+
+    /**
+     * @return in the format of -Xmx, such as "4g"
+     */
+    public String getEpsilonHeapSize() {
+        return epsilonHeapSize;
+    }
+
+    /**
+     * @return how many moves every iteration of the Epsilon GC run does, at least {@link #getBatchSize()}
+     */
+    public int getEpsilonMoveCount() {
+        return epsilonMoveCount;
+    }
+
+    /**
+     * @return entity counts of the generated datasets, in ascending order; empty if no datasets are to be generated
+     */
+    public List<Integer> getProblemSizes() {
+        return problemSizes;
+    }
+
+    /**
+     * @return in the format of -Xmx, such as "4g"
+     */
+    public String getProblemSizeHeapSize() {
+        return problemSizeHeapSize;
+    }
+
+    public long getGeneratorSeed() {
+        return generatorSeed;
+    }
+
+    public boolean isNearbySelection() {
+        return nearbySelection;
+    }
+
+    public boolean isFullCalculation() {
+        return fullCalculation;
+    }
+
+    public boolean isHeapFootprint() {
+        return heapFootprint;
+    }
+
+    /**
+     * @return empty if the score is not to be explained
+     */
+    public List<ScoreExplanationType> getEnabledScoreExplanationTypes() {
+        return enabledScoreExplanationTypes;
+    }
+
+    /**
+     * @return empty if the examples are not to be sharded across cores
+     */
+    public List<Integer> getShardCores() {
+        return shardCores;
+    }
+
 }
@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 
+import ai.timefold.solver.core.enterprise.TimefoldSolverEnterpriseService;
 import ai.timefold.solver.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
 import ai.timefold.solver.examples.tsp.domain.solver.nearby.VisitNearbyDistanceMeter;
 import ai.timefold.solver.examples.vehiclerouting.domain.solver.nearby.CustomerNearbyDistanceMeter;
@@ -79,10 +80,44 @@ public enum Example {
         return Optional.ofNullable(nearbyDistanceMeter);
     }
 
+    /**
+     * The community edition only has the {@link NearbyDistanceMeter} interface;
+     * the move selectors which use it come with the Enterprise Edition.
+     *
+     * @return true if move selectors can be built with {@link #getNearbyDistanceMeter()}
+     */
+    public static boolean isNearbySelectionAvailable() {
+        return TimefoldSolverEnterpriseService.load() != null;
+    }
+
     public boolean isSupportedOn(ScoreDirectorType scoreDirectorType) {
         return supportedScoreDirectorTypes.contains(scoreDirectorType);
     }
 
+    /**
+     * @return true if {@link #create(ScoreDirectorType, int, long)} can generate datasets of any size for this example
+     */
+    public boolean isGeneratable() {
+        // Whether there is a generator does not depend on the score director type.
+        return create(supportedScoreDirectorTypes.iterator().next()).isGeneratable();
+    }
+
+    /**
+     * Same as {@link #create(ScoreDirectorType)}, but on a synthetic dataset instead of the bundled one.
+     *
+     * @param entityCount at least 1; how many planning entities the dataset has
+     * @param seed the same seed always generates the same dataset
+     * @return never null
+     */
+    public Problem create(ScoreDirectorType scoreDirectorType, int entityCount, long seed) {
+        if (!isGeneratable()) {
+            throw new IllegalArgumentException("Example (" + this + ") has no dataset generator.");
+        }
+        var problem = create(scoreDirectorType);
+        problem.useGeneratedDataset(entityCount, seed);
+        return problem;
+    }
+
     public Problem create(ScoreDirectorType scoreDirectorType) {
         if (!isSupportedOn(scoreDirectorType)) {
             throw new IllegalArgumentException("Unsupported score director (" + scoreDirectorType + ") for example ("
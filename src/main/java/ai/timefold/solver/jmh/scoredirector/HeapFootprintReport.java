@@ -0,0 +1,72 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+
+import ai.timefold.solver.jmh.scoredirector.benchmarks.HeapFootprintBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Lists the live heap which the score director of every example and score director type keeps,
+ * in total, per planning entity and per node of the Bavet node network,
+ * which is what a heap for a given dataset can be sized from.
+ */
+final class HeapFootprintReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HeapFootprintReport.class);
+
+    static final String FILE_NAME = "heapFootprintReport.csv";
+
+    static boolean isHeapFootprintResult(RunResult runResult) {
+        return runResult.getParams().getBenchmark().startsWith(HeapFootprintBenchmark.class.getName() + ".");
+    }
+
+    static void write(Collection<RunResult> runResults, Path csvPath) throws IOException {
+        var resultList = runResults.stream()
+                .filter(HeapFootprintReport::isHeapFootprintResult)
+                .sorted(Comparator.<RunResult, String> comparing(result -> result.getParams().getParam("example"))
+                        .thenComparing(result -> result.getParams().getParam("scoreDirectorType")))
+                .toList();
+        if (resultList.isEmpty()) {
+            return;
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Score director type\",\"Entities\",\"Nodes\",\"Retained heap (B)\","
+                + "\"Retained heap per entity (B)\",\"Retained heap per node (B)\"");
+        for (var runResult : resultList) {
+            var benchmarkedExample = BenchmarkedExample.of(runResult.getParams()).orElseThrow();
+            var secondaryResultMap = runResult.getSecondaryResults();
+            var retainedBytes = secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES);
+            var retainedBytesPerEntity = secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES_PER_ENTITY);
+            // The entity count never changes, so neither does the ratio of the averages.
+            var entityCount = retainedBytes == null || retainedBytesPerEntity == null ? ""
+                    : Long.toString(Math.round(retainedBytes.getScore() / retainedBytesPerEntity.getScore()));
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",%s,%s,%s,%s,%s",
+                    benchmarkedExample.example(), benchmarkedExample.scoreDirectorType(), entityCount,
+                    format(secondaryResultMap.get(RetainedHeapProfiler.NODE_COUNT), "%.0f"),
+                    format(retainedBytes, "%.3f"), format(retainedBytesPerEntity, "%.3f"),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES_PER_NODE), "%.3f")));
+        }
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Heap footprint report written to {}.", csvPath);
+    }
+
+    private static String format(Result<?> result, String format) {
+        return result == null ? "" : String.format(Locale.ROOT, format, result.getScore());
+    }
+
+    private HeapFootprintReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,43 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+/**
+ * How many moves one invocation of a benchmark method runs.
+ */
+enum InvocationMode {
+
+    /**
+     * One move per invocation, with the move selected in a fixture outside of the measurement.
+     * JMH's timestamps around every invocation are measured as well.
+     */
+    SINGLE,
+    /**
+     * A batch of moves per invocation, with no fixtures in between.
+     * Selecting the moves is measured as well.
+     */
+    BATCHED,
+    /**
+     * Both of the above, compared in invocationModeComparison.csv.
+     */
+    BOTH;
+
+    /**
+     * @param configName as used in the benchmark properties files, such as "batched"
+     */
+    static InvocationMode parse(String configName) {
+        return switch (configName.trim()) {
+            case "single" -> SINGLE;
+            case "batched" -> BATCHED;
+            case "both" -> BOTH;
+            default -> throw new IllegalArgumentException("Unknown invocation mode: " + configName);
+        };
+    }
+
+    boolean isSingle() {
+        return this != BATCHED;
+    }
+
+    boolean isBatched() {
+        return this != SINGLE;
+    }
+
+}
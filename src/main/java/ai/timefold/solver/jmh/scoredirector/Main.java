@@ -33,14 +33,41 @@ package ai.timefold.solver.jmh.scoredirector;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.AllocationBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.BatchedBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.EpsilonAllocationProfiler;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.FullCalculationBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.GcBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.HeapFootprintBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.LatencyBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.NearbyDistanceMatrixBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.NearbySelectionBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.ProblemSizeBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.ScoreExplanationBenchmark;
+import ai.timefold.solver.jmh.scoredirector.problems.MoveLatencyRecorder;
+import ai.timefold.solver.jmh.scoredirector.problems.MoveTrace;
+import ai.timefold.solver.jmh.scoredirector.problems.ProblemInitializer;
 
+import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
 import org.openjdk.jmh.results.Result;
 import org.openjdk.jmh.results.RunResult;
-import org.openjdk.jmh.runner.Runner;
 import org.openjdk.jmh.runner.RunnerException;
 import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
 import org.slf4j.Logger;
@@ -50,6 +77,8 @@ public final class Main extends AbstractMain<Configuration> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Main.class);
 
+    private static final int EPSILON_MEASUREMENT_ITERATIONS = 3;
+
     public Main() {
         super("scoredirector");
     }
@@ -66,16 +95,197 @@ public final class Main extends AbstractMain<Configuration> {
 
     public static void main(String[] args) throws RunnerException, IOException {
         var main = new Main();
-        var configuration = main.readConfiguration();
-        var options = main.getBaseJmhConfig(configuration);
-        options = processBenchmark(options, configuration, ScoreDirectorType.CONSTRAINT_STREAMS);
-        options = processBenchmark(options, configuration, ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
-        options = processBenchmark(options, configuration, ScoreDirectorType.EASY);
-        options = processBenchmark(options, configuration, ScoreDirectorType.INCREMENTAL);
-        options = main.initAsyncProfiler(options);
-
-        var runResults = new Runner(options.build()).run();
+        var fullConfiguration = main.readConfiguration();
+        main.runJvmProfileMatrix(fullConfiguration);
+        main.runShards(fullConfiguration.getShardCores(), fullConfiguration.getEnabledExamples().size(),
+                ThroughputReport::writeHtml);
+        var configuration = fullConfiguration.withEnabledExamples(
+                main.selectShard(fullConfiguration.getEnabledExamples()));
+        // Forks pick up the snapshots of CH-initialized solutions, instead of each running the CH on its own.
+        // Only the snapshots are made here; no solution stays in this harness.
+        var benchmarkedExamples = getBenchmarkedExamples(configuration);
+        ProblemInitializer.preload(benchmarkedExamples);
+        // The seed decides which moves are undone, so that all score director types undo the same moves.
+        var forkArgList = new ArrayList<String>();
+        forkArgList.add("-D" + MoveTrace.SEED_PROPERTY + "=" + configuration.getMoveTraceSeed());
+        if (configuration.isMoveTraceReplay()) {
+            LOGGER.info("Replaying move traces of {} moves.", configuration.getMoveTraceLength());
+            MoveTrace.record(benchmarkedExamples, configuration.getMoveTraceSeed(), configuration.getMoveTraceLength());
+            forkArgList.add("-D" + MoveTrace.REPLAY_PROPERTY + "=true");
+            forkArgList.add("-D" + MoveTrace.LENGTH_PROPERTY + "=" + configuration.getMoveTraceLength());
+        }
+
+        // Operations per invocation apply to the entire run, therefore the modes can not share one.
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        var invocationMode = configuration.getInvocationMode();
+        if (invocationMode.isSingle()) {
+            var options = main.getBaseJmhConfig(configuration)
+                    .jvmArgsAppend(forkArgList.toArray(String[]::new));
+            options = processBenchmark(options, configuration, ScoreDirectorType.CONSTRAINT_STREAMS);
+            options = processBenchmark(options, configuration, ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
+            options = processBenchmark(options, configuration, ScoreDirectorType.EASY);
+            options = processBenchmark(options, configuration, ScoreDirectorType.INCREMENTAL);
+            optionsList.add(main.initAsyncProfiler(options));
+        }
+        if (invocationMode.isBatched()) {
+            var batchSize = configuration.getBatchSize();
+            LOGGER.info("Running {} moves per invocation.", batchSize);
+            var batchedForkArgList = new ArrayList<>(forkArgList);
+            batchedForkArgList.add("-D" + BatchedBenchmark.BATCH_SIZE_PROPERTY + "=" + batchSize);
+            main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration), BatchedBenchmark.class,
+                    batchedForkArgList)
+                    .forEach(options -> optionsList.add(main.initAsyncProfiler(options
+                            .operationsPerInvocation(batchSize))));
+        }
+        if (configuration.isGcProfiler()) {
+            // A pass of its own, as the profiler would otherwise affect the throughput of the runs above.
+            // Without a replayed trace, which would have to cover every iteration.
+            LOGGER.info("Measuring allocation and GC activity with JMH's GC profiler.");
+            var gcForkArgList = List.of("-D" + MoveTrace.SEED_PROPERTY + "=" + configuration.getMoveTraceSeed(),
+                    "-D" + BatchedBenchmark.BATCH_SIZE_PROPERTY + "=" + configuration.getBatchSize());
+            main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration), GcBenchmark.class,
+                    gcForkArgList)
+                    .forEach(options -> optionsList.add(options.addProfiler(GCProfiler.class)
+                            .operationsPerInvocation(configuration.getBatchSize())));
+        }
+        if (configuration.isEpsilonGc()) {
+            // Nothing is ever collected, so every iteration does a fixed number of moves, no matter how fast they are,
+            // and the heap only has to fit that many moves of every iteration.
+            var epsilonHeapSize = configuration.getEpsilonHeapSize();
+            var epsilonBatchCount = configuration.getEpsilonMoveCount() / configuration.getBatchSize();
+            LOGGER.info("Counting allocations of {} moves per iteration on Epsilon GC with a heap of {}.",
+                    epsilonBatchCount * configuration.getBatchSize(), epsilonHeapSize);
+            var epsilonJvmArgList = List.of("-XX:+UnlockExperimentalVMOptions", "-XX:+UseEpsilonGC",
+                    "-Xms" + epsilonHeapSize, "-Xmx" + epsilonHeapSize);
+            var epsilonForkArgList = new ArrayList<>(forkArgList);
+            epsilonForkArgList.add("-D" + BatchedBenchmark.BATCH_SIZE_PROPERTY + "=" + configuration.getBatchSize());
+            main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration, epsilonJvmArgList),
+                    AllocationBenchmark.class, epsilonForkArgList)
+                    .forEach(options -> optionsList.add(options.addProfiler(EpsilonAllocationProfiler.class)
+                            .operationsPerInvocation(configuration.getBatchSize())
+                            .mode(Mode.SingleShotTime)
+                            .forks(1)
+                            .warmupIterations(1)
+                            .warmupBatchSize(epsilonBatchCount)
+                            .measurementIterations(EPSILON_MEASUREMENT_ITERATIONS)
+                            .measurementBatchSize(epsilonBatchCount)));
+        }
+        if (!configuration.getProblemSizes().isEmpty()) {
+            var problemSizeHeapSize = configuration.getProblemSizeHeapSize();
+            LOGGER.info("Generating datasets of {} entities, with a heap of {}.", configuration.getProblemSizes(),
+                    problemSizeHeapSize);
+            // The collector of the JVM profile, only with a heap which fits the largest of the datasets.
+            var problemSizeJvmArgList = main.getJvmProfile(configuration).getGcJvmArgs(problemSizeHeapSize);
+            var problemSizeForkArgList = new ArrayList<>(forkArgList);
+            problemSizeForkArgList.add("-D" + BatchedBenchmark.BATCH_SIZE_PROPERTY + "="
+                    + configuration.getBatchSize());
+            problemSizeForkArgList.add("-D" + ProblemSizeBenchmark.GENERATOR_SEED_PROPERTY + "="
+                    + configuration.getGeneratorSeed());
+            var problemSizes = configuration.getProblemSizes()
+                    .stream()
+                    .map(String::valueOf)
+                    .toArray(String[]::new);
+            main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration, problemSizeJvmArgList),
+                    ProblemSizeBenchmark.class, problemSizeForkArgList, Example::isGeneratable)
+                    .forEach(options -> optionsList.add(options.param("entityCount", problemSizes)
+                            .addProfiler(GCProfiler.class)
+                            .addProfiler(RetainedHeapProfiler.class)
+                            .operationsPerInvocation(configuration.getBatchSize())));
+        }
+        if (configuration.isFullCalculation()) {
+            main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration),
+                    FullCalculationBenchmark.class, forkArgList)
+                    .forEach(options -> optionsList.add(options.addProfiler(GCProfiler.class)
+                            .addProfiler(RetainedHeapProfiler.class)));
+        }
+        if (configuration.isHeapFootprint()) {
+            // The heap is counted before every iteration, and comes out the same in every fork.
+            main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration),
+                    HeapFootprintBenchmark.class, forkArgList)
+                    .forEach(options -> optionsList.add(options.addProfiler(RetainedHeapProfiler.class)
+                            .forks(1)
+                            .warmupIterations(1)
+                            .measurementIterations(configuration.getMeasurementIterations())));
+        }
+        if (!configuration.getEnabledScoreExplanationTypes().isEmpty()) {
+            var justifiedExampleNames = configuration.getEnabledExamples()
+                    .stream()
+                    .filter(example -> example.isSupportedOn(ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED))
+                    .map(Enum::name)
+                    .toArray(String[]::new);
+            if (justifiedExampleNames.length == 0) {
+                LOGGER.warn("No examples enabled for score director type {}, the only one which explains the score.",
+                        ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
+            } else {
+                optionsList.add(main.getBaseJmhConfig(configuration)
+                        .include(ScoreExplanationBenchmark.class.getSimpleName())
+                        .param("example", justifiedExampleNames)
+                        .param("scoreExplanationType", configuration.getEnabledScoreExplanationTypes()
+                                .stream()
+                                .map(Enum::name)
+                                .toArray(String[]::new))
+                        .jvmArgsAppend(forkArgList.toArray(String[]::new))
+                        .addProfiler(GCProfiler.class)
+                        .addProfiler(RetainedHeapProfiler.class));
+            }
+        }
+        if (configuration.isNearbySelection()) {
+            var nearbyExampleNames = configuration.getEnabledExamples()
+                    .stream()
+                    .filter(example -> example.getNearbyDistanceMeter().isPresent())
+                    .map(Enum::name)
+                    .toArray(String[]::new);
+            if (nearbyExampleNames.length == 0) {
+                LOGGER.warn("No examples enabled which have a nearby distance meter.");
+            } else {
+                // Zero is the bundled dataset; the distance meters are only on examples which can be generated.
+                var entityCounts = Stream.concat(Stream.of(0), configuration.getProblemSizes().stream())
+                        .map(String::valueOf)
+                        .toArray(String[]::new);
+                var nearbyJvmArgList = main.getJvmProfile(configuration)
+                        .getGcJvmArgs(configuration.getProblemSizeHeapSize());
+                optionsList.add(main.getBaseJmhConfig(configuration, nearbyJvmArgList)
+                        .include(NearbyDistanceMatrixBenchmark.class.getSimpleName())
+                        .param("example", nearbyExampleNames)
+                        .param("entityCount", entityCounts)
+                        .jvmArgsAppend("-D" + ProblemSizeBenchmark.GENERATOR_SEED_PROPERTY + "="
+                                + configuration.getGeneratorSeed())
+                        .addProfiler(GCProfiler.class)
+                        .addProfiler(RetainedHeapProfiler.class));
+            }
+            if (!Example.isNearbySelectionAvailable()) {
+                LOGGER.warn("Nearby selection requires the Enterprise Edition; only measuring the distance matrices.");
+            } else {
+                var nearbyForkArgList = new ArrayList<>(forkArgList);
+                nearbyForkArgList.add("-D" + BatchedBenchmark.BATCH_SIZE_PROPERTY + "=" + configuration.getBatchSize());
+                main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration),
+                        NearbySelectionBenchmark.class, nearbyForkArgList,
+                        example -> example.getNearbyDistanceMeter().isPresent())
+                        .forEach(options -> optionsList.add(options.addProfiler(GCProfiler.class)
+                                .operationsPerInvocation(configuration.getBatchSize())));
+            }
+        }
+        var latencyDirectory = main.getResultsDirectory().resolve("latency").toAbsolutePath();
+        if (configuration.isLatencyHistograms()) {
+            // No profiler; it would only add to the tail.
+            var latencyForkArgList = new ArrayList<>(forkArgList);
+            latencyForkArgList.add("-D" + MoveLatencyRecorder.DIRECTORY_PROPERTY + "=" + latencyDirectory);
+            optionsList.addAll(main.buildPerTypeOptions(configuration, () -> main.getBaseJmhConfig(configuration),
+                    LatencyBenchmark.class, latencyForkArgList));
+        }
+
+        var runResults = main.runAll(configuration, optionsList);
         main.convertJfrToFlameGraphs();
+        if (configuration.isLatencyHistograms()) {
+            MoveLatencyRecorder.writeReport(latencyDirectory, main.getResultsDirectory().resolve("latencyReport.csv"));
+        }
+        AllocationReport.write(runResults, main.getResultsDirectory().resolve(AllocationReport.FILE_NAME));
+        ProblemSizeReport.write(runResults, main.getResultsDirectory().resolve(ProblemSizeReport.FILE_NAME));
+        FullCalculationReport.write(runResults, main.getResultsDirectory().resolve(FullCalculationReport.FILE_NAME));
+        HeapFootprintReport.write(runResults, main.getResultsDirectory().resolve(HeapFootprintReport.FILE_NAME));
+        ScoreExplanationReport.write(runResults,
+                main.getResultsDirectory().resolve(ScoreExplanationReport.FILE_NAME));
+        NearbyReport.write(runResults, main.getResultsDirectory().resolve(NearbyReport.FILE_NAME));
 
         var relativeScoreErrorThreshold = configuration.getRelativeScoreErrorThreshold();
         var thresholdForPrint = ((int) Math.round(relativeScoreErrorThreshold * 10_000)) / 100.0D;
@@ -86,7 +296,10 @@ public final class Main extends AbstractMain<Configuration> {
             var relativeScoreError = scoreError / score;
 
             var benchParams = result.getParams();
-            var benchmarkName = benchParams.getBenchmark() + " " + benchParams.getParam("csExample");
+            var benchmarkName = benchParams.getBenchmark() + " " + benchParams.getParamsKeys()
+                    .stream()
+                    .map(benchParams::getParam)
+                    .collect(Collectors.joining(" "));
             var relativeScoreErrorForPrint = ((int) Math.round(relativeScoreError * 10_000)) / 100.0D;
             if (relativeScoreError > relativeScoreErrorThreshold) {
                 LOGGER.warn("Score error for '{}' is too high: ± {} % (threshold: ± {} %).", benchmarkName,
@@ -96,6 +309,84 @@ public final class Main extends AbstractMain<Configuration> {
                         relativeScoreErrorForPrint, thresholdForPrint);
             }
         });
+
+        if (invocationMode == InvocationMode.BOTH) {
+            main.writeInvocationModeComparison(runResults);
+        }
+        main.writeSamples(runResults);
+        // Last, so that it links all the other reports.
+        ThroughputReport.write(runResults, main.getResultsDirectory());
+        main.appendToHistory(configuration, runResults);
+        if (!main.passesRegressionGate(configuration)) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Puts the score of every example and score director type in both invocation modes next to each other.
+     * The batched score is usually the higher one, as it does not include JMH's timestamps around every move;
+     * the less a move costs, the larger the difference.
+     */
+    private void writeInvocationModeComparison(Collection<RunResult> runResults) throws IOException {
+        var singleResultMap = new LinkedHashMap<BenchmarkedExample, Result<?>>();
+        var batchedResultMap = new HashMap<BenchmarkedExample, Result<?>>();
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var benchmarkClassName = params.getBenchmark().substring(0, params.getBenchmark().lastIndexOf('.'));
+            BenchmarkedExample.of(params).ifPresent(benchmarkedExample -> {
+                if (benchmarkClassName.equals(BatchedBenchmark.class.getName())) {
+                    batchedResultMap.put(benchmarkedExample, runResult.getPrimaryResult());
+                } else if (benchmarkClassName.equals(benchmarkedExample.scoreDirectorType().getBenchmarkClass()
+                        .getName())) {
+                    singleResultMap.put(benchmarkedExample, runResult.getPrimaryResult());
+                }
+            });
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Score director type\",\"Single (ops/s)\",\"Single error (ops/s)\","
+                + "\"Batched (ops/s)\",\"Batched error (ops/s)\",\"Batched / single\"");
+        singleResultMap.forEach((key, singleResult) -> {
+            var batchedResult = batchedResultMap.get(key);
+            if (batchedResult == null) {
+                return;
+            }
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",%.3f,%.3f,%.3f,%.3f,%.4f",
+                    key.example(), key.scoreDirectorType(), singleResult.getScore(), singleResult.getScoreError(),
+                    batchedResult.getScore(), batchedResult.getScoreError(),
+                    batchedResult.getScore() / singleResult.getScore()));
+        });
+        var csvPath = getResultsDirectory().resolve("invocationModeComparison.csv");
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Invocation mode comparison written to {}.", csvPath);
+    }
+
+    /**
+     * For benchmarks which take both the example and the score director type as parameters.
+     * Not every example supports every type, so every type needs a run of its own.
+     */
+    private List<ChainedOptionsBuilder> buildPerTypeOptions(Configuration configuration,
+            Supplier<ChainedOptionsBuilder> baseOptionsSupplier, Class<?> benchmarkClass, List<String> forkArgList) {
+        return buildPerTypeOptions(configuration, baseOptionsSupplier, benchmarkClass, forkArgList, example -> true);
+    }
+
+    private List<ChainedOptionsBuilder> buildPerTypeOptions(Configuration configuration,
+            Supplier<ChainedOptionsBuilder> baseOptionsSupplier, Class<?> benchmarkClass, List<String> forkArgList,
+            Predicate<Example> exampleFilter) {
+        var optionsList = new ArrayList<ChainedOptionsBuilder>();
+        for (var scoreDirectorType : ScoreDirectorType.values()) {
+            var supportedExampleNames = Arrays.stream(getSupportedExampleNames(configuration, scoreDirectorType))
+                    .filter(exampleName -> exampleFilter.test(Example.valueOf(exampleName)))
+                    .toArray(String[]::new);
+            if (supportedExampleNames.length == 0) {
+                continue;
+            }
+            optionsList.add(baseOptionsSupplier.get()
+                    .include(benchmarkClass.getSimpleName())
+                    .param("example", supportedExampleNames)
+                    .param("scoreDirectorType", scoreDirectorType.name())
+                    .jvmArgsAppend(forkArgList.toArray(String[]::new)));
+        }
+        return optionsList;
     }
 
     private static ChainedOptionsBuilder processBenchmark(ChainedOptionsBuilder options, Configuration configuration,
@@ -108,6 +399,15 @@ public final class Main extends AbstractMain<Configuration> {
         return options;
     }
 
+    private static List<Example> getBenchmarkedExamples(Configuration configuration) {
+        return configuration.getEnabledExamples()
+                .stream()
+                .filter(example -> configuration.getEnabledScoreDirectorTypes()
+                        .stream()
+                        .anyMatch(example::isSupportedOn))
+                .toList();
+    }
+
     private static String[] getSupportedExampleNames(Configuration configuration, ScoreDirectorType scoreDirectorType) {
         if (!configuration.getEnabledScoreDirectorTypes().contains(scoreDirectorType)) {
             LOGGER.warn("No examples enabled for score director type " + scoreDirectorType);
@@ -0,0 +1,78 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+
+import ai.timefold.solver.jmh.scoredirector.benchmarks.NearbyDistanceMatrixBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts build time and memory of the nearby distance matrix of every example next to the size of its dataset.
+ * Throughput with nearby selection is with the other results,
+ * under {@link ai.timefold.solver.jmh.scoredirector.benchmarks.NearbySelectionBenchmark}.
+ */
+final class NearbyReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NearbyReport.class);
+
+    static final String FILE_NAME = "nearbyReport.csv";
+
+    private static final String GC_ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+    static boolean isNearbyDistanceMatrixResult(RunResult runResult) {
+        return runResult.getParams().getBenchmark().startsWith(NearbyDistanceMatrixBenchmark.class.getName() + ".");
+    }
+
+    static void write(Collection<RunResult> runResults, Path csvPath) throws IOException {
+        var resultList = runResults.stream()
+                .filter(NearbyReport::isNearbyDistanceMatrixResult)
+                .sorted(Comparator.<RunResult, String> comparing(result -> result.getParams().getParam("example"))
+                        .thenComparingInt(NearbyReport::getEntityCount))
+                .toList();
+        if (resultList.isEmpty()) {
+            return;
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Entities\",\"Build time (ms)\",\"Build time error (ms)\","
+                + "\"Allocated per build (B)\",\"Matrix heap (B)\",\"Matrix heap per origin (B)\"");
+        for (var runResult : resultList) {
+            var primaryResult = runResult.getPrimaryResult();
+            var secondaryResultMap = runResult.getSecondaryResults();
+            var entityCount = getEntityCount(runResult);
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",%s,%.3f,%.3f,%s,%s,%s",
+                    runResult.getParams().getParam("example"), entityCount == 0 ? "" : entityCount,
+                    primaryResult.getScore(), primaryResult.getScoreError(),
+                    format(secondaryResultMap.get(GC_ALLOCATION_PER_OPERATION)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES_PER_ENTITY))));
+        }
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Nearby report written to {}.", csvPath);
+    }
+
+    /**
+     * @return zero for the bundled dataset
+     */
+    private static int getEntityCount(RunResult runResult) {
+        return Integer.parseInt(runResult.getParams().getParam("entityCount"));
+    }
+
+    private static String format(Result<?> result) {
+        return result == null ? "" : String.format(Locale.ROOT, "%.3f", result.getScore());
+    }
+
+    private NearbyReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,80 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+
+import ai.timefold.solver.jmh.scoredirector.benchmarks.ProblemSizeBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts throughput and memory of every example and score director type next to the size of the generated dataset.
+ * Throughput is also given relative to the smallest size, which makes the degradation easy to compare across examples.
+ */
+final class ProblemSizeReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProblemSizeReport.class);
+
+    static final String FILE_NAME = "problemSizeReport.csv";
+
+    private static final String GC_ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+    static boolean isProblemSizeResult(RunResult runResult) {
+        return runResult.getParams().getBenchmark().startsWith(ProblemSizeBenchmark.class.getName() + ".");
+    }
+
+    static void write(Collection<RunResult> runResults, Path csvPath) throws IOException {
+        var resultList = runResults.stream()
+                .filter(ProblemSizeReport::isProblemSizeResult)
+                .sorted(Comparator.<RunResult, String> comparing(result -> result.getParams().getParam("example"))
+                        .thenComparing(result -> result.getParams().getParam("scoreDirectorType"))
+                        .thenComparingInt(ProblemSizeReport::getEntityCount))
+                .toList();
+        if (resultList.isEmpty()) {
+            return;
+        }
+        var smallestScoreMap = new HashMap<BenchmarkedExample, Double>();
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Score director type\",\"Entities\",\"Score (ops/s)\",\"Score error (ops/s)\","
+                + "\"Score relative to smallest\",\"Allocated (B/op)\",\"Retained heap (B)\","
+                + "\"Retained heap per entity (B)\"");
+        for (var runResult : resultList) {
+            var benchmarkedExample = BenchmarkedExample.of(runResult.getParams()).orElseThrow();
+            var primaryResult = runResult.getPrimaryResult();
+            // Sorted by size, so the first result of every example and type is the smallest.
+            var smallestScore = smallestScoreMap.computeIfAbsent(benchmarkedExample, key -> primaryResult.getScore());
+            var secondaryResultMap = runResult.getSecondaryResults();
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",%d,%.3f,%.3f,%.4f,%s,%s,%s",
+                    benchmarkedExample.example(), benchmarkedExample.scoreDirectorType(), getEntityCount(runResult),
+                    primaryResult.getScore(), primaryResult.getScoreError(), primaryResult.getScore() / smallestScore,
+                    format(secondaryResultMap.get(GC_ALLOCATION_PER_OPERATION)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES_PER_ENTITY))));
+        }
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Problem size report written to {}.", csvPath);
+    }
+
+    private static int getEntityCount(RunResult runResult) {
+        return Integer.parseInt(runResult.getParams().getParam("entityCount"));
+    }
+
+    private static String format(Result<?> result) {
+        return result == null ? "" : String.format(Locale.ROOT, "%.3f", result.getScore());
+    }
+
+    private ProblemSizeReport() {
+        // No instances.
+    }
+
+}
@@ -39,6 +39,19 @@ public enum ScoreDirectorType implements Comparable<ScoreDirectorType> {
         return benchmarkParamName;
     }
 
+    /**
+     * @param configName as used in the benchmark properties files, such as "cs_justified"
+     */
+    public static ScoreDirectorType parse(String configName) {
+        return switch (configName) {
+            case "cs" -> CONSTRAINT_STREAMS;
+            case "cs_justified" -> CONSTRAINT_STREAMS_JUSTIFIED;
+            case "easy" -> EASY;
+            case "incremental" -> INCREMENTAL;
+            default -> throw new IllegalArgumentException("Unknown score director type: " + configName);
+        };
+    }
+
     public static <Solution_> InnerScoreDirectorFactory<Solution_, ?> buildScoreDirectorFactory(
             ScoreDirectorFactoryConfig scoreDirectorFactoryConfig, SolutionDescriptor<Solution_> solutionDescriptor) {
         ScoreDirectorFactoryFactory<Solution_, ?> scoreDirectorFactoryFactory =
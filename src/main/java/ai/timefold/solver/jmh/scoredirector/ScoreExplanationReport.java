@@ -0,0 +1,69 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Locale;
+
+import ai.timefold.solver.jmh.scoredirector.benchmarks.ScoreExplanationBenchmark;
+import ai.timefold.solver.jmh.scoredirector.benchmarks.RetainedHeapProfiler;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the time, the allocation and the retained heap of explaining the score
+ * of every example in every way next to each other.
+ */
+final class ScoreExplanationReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScoreExplanationReport.class);
+
+    static final String FILE_NAME = "scoreExplanationReport.csv";
+
+    private static final String GC_ALLOCATION_PER_OPERATION = "gc.alloc.rate.norm";
+
+    static boolean isScoreExplanationResult(RunResult runResult) {
+        return runResult.getParams().getBenchmark().startsWith(ScoreExplanationBenchmark.class.getName() + ".");
+    }
+
+    static void write(Collection<RunResult> runResults, Path csvPath) throws IOException {
+        var resultList = runResults.stream()
+                .filter(ScoreExplanationReport::isScoreExplanationResult)
+                .sorted(Comparator.<RunResult, String> comparing(result -> result.getParams().getParam("example"))
+                        .thenComparing(result -> result.getParams().getParam("scoreExplanationType")))
+                .toList();
+        if (resultList.isEmpty()) {
+            return;
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Score explanation type\",\"Explanation (us)\",\"Explanation error (us)\","
+                + "\"Allocated (B/op)\",\"Retained heap (B)\",\"Retained heap per constraint match (B)\"");
+        for (var runResult : resultList) {
+            var params = runResult.getParams();
+            var primaryResult = runResult.getPrimaryResult();
+            var secondaryResultMap = runResult.getSecondaryResults();
+            csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",%.3f,%.3f,%s,%s,%s",
+                    params.getParam("example"), params.getParam("scoreExplanationType"), primaryResult.getScore(),
+                    primaryResult.getScoreError(), format(secondaryResultMap.get(GC_ALLOCATION_PER_OPERATION)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES)),
+                    format(secondaryResultMap.get(RetainedHeapProfiler.RETAINED_BYTES_PER_ENTITY))));
+        }
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Score explanation report written to {}.", csvPath);
+    }
+
+    private static String format(Result<?> result) {
+        return result == null ? "" : String.format(Locale.ROOT, "%.3f", result.getScore());
+    }
+
+    private ScoreExplanationReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,34 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+/**
+ * What a user interface may pull from the score director to explain the score to its users.
+ * All of them require {@link ScoreDirectorType#CONSTRAINT_STREAMS_JUSTIFIED}.
+ */
+public enum ScoreExplanationType {
+
+    /**
+     * The constraint match totals, with every constraint match of every constraint.
+     */
+    CONSTRAINT_MATCH_TOTALS,
+    /**
+     * Every object which takes part in a constraint match, with every constraint match it takes part in.
+     */
+    INDICTMENTS,
+    /**
+     * Both of the above, with the justifications of all the matches and the summary of the score.
+     */
+    SCORE_EXPLANATION;
+
+    /**
+     * @param configName as used in the benchmark properties files, such as "indictments"
+     */
+    static ScoreExplanationType parse(String configName) {
+        return switch (configName.trim()) {
+            case "constraint_match_totals" -> CONSTRAINT_MATCH_TOTALS;
+            case "indictments" -> INDICTMENTS;
+            case "score_explanation" -> SCORE_EXPLANATION;
+            default -> throw new IllegalArgumentException("Unknown score explanation type: " + configName);
+        };
+    }
+
+}
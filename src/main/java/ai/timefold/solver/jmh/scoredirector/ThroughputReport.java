@@ -0,0 +1,207 @@
+package ai.timefold.solver.jmh.scoredirector;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import ai.timefold.solver.jmh.scoredirector.benchmarks.BatchedBenchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Puts the throughput of every example on every score director type in a single page,
+ * as a matrix of examples and score director types,
+ * with the speedup over {@link ScoreDirectorType#EASY} and links to the flame graphs of every cell.
+ * The numbers are first written to {@link #FILE_NAME}, and the page is rendered from that,
+ * so that a sharded run renders it again once the CSV files of its shards are merged.
+ */
+final class ThroughputReport {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ThroughputReport.class);
+
+    static final String FILE_NAME = "throughputReport.csv";
+    static final String HTML_FILE_NAME = "report.html";
+
+    private static final String CPU_FLAME_GRAPH = "cpu.html";
+    private static final String ALLOC_FLAME_GRAPH = "alloc.html";
+
+    /**
+     * With both invocation modes, the single invocations are reported, as they are the ones which the speedup
+     * has always been measured by; with only batched invocations, those are reported instead.
+     */
+    static void write(Collection<RunResult> runResults, Path resultsDirectory) throws IOException {
+        var singleResultMap = new HashMap<BenchmarkedExample, RunResult>();
+        var batchedResultMap = new HashMap<BenchmarkedExample, RunResult>();
+        for (var runResult : runResults) {
+            var params = runResult.getParams();
+            var benchmarkClassName = params.getBenchmark().substring(0, params.getBenchmark().lastIndexOf('.'));
+            BenchmarkedExample.of(params).ifPresent(benchmarkedExample -> {
+                if (benchmarkClassName.equals(BatchedBenchmark.class.getName())) {
+                    batchedResultMap.put(benchmarkedExample, runResult);
+                } else if (benchmarkClassName.equals(benchmarkedExample.scoreDirectorType().getBenchmarkClass()
+                        .getName())) {
+                    singleResultMap.put(benchmarkedExample, runResult);
+                }
+            });
+        }
+        var resultMap = new TreeMap<Example, Map<ScoreDirectorType, RunResult>>();
+        var reportedResultMap = singleResultMap.isEmpty() ? batchedResultMap : singleResultMap;
+        reportedResultMap.forEach((benchmarkedExample, runResult) -> resultMap
+                .computeIfAbsent(benchmarkedExample.example(), example -> new EnumMap<>(ScoreDirectorType.class))
+                .put(benchmarkedExample.scoreDirectorType(), runResult));
+        if (resultMap.isEmpty()) {
+            return;
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Score director type\",\"Unit\",\"Score\",\"Score error\","
+                + "\"Speedup over EASY\",\"Profile directory\"");
+        resultMap.forEach((example, typeResultMap) -> {
+            var easyResult = typeResultMap.get(ScoreDirectorType.EASY);
+            typeResultMap.forEach((scoreDirectorType, runResult) -> {
+                var primaryResult = runResult.getPrimaryResult();
+                var speedup = easyResult == null ? ""
+                        : String.format(Locale.ROOT, "%.4f",
+                                primaryResult.getScore() / easyResult.getPrimaryResult().getScore());
+                // Where JMH's Async profiler writes the JFR file of this benchmark, and the flame graphs next to it.
+                var profileDirectory = runResult.getParams().id().replace("%", "_");
+                csvLineList.add(String.format(Locale.ROOT, "\"%s\",\"%s\",\"%s\",%.3f,%.3f,%s,\"%s\"",
+                        example, scoreDirectorType, primaryResult.getScoreUnit(), primaryResult.getScore(),
+                        primaryResult.getScoreError(), speedup, profileDirectory));
+            });
+        });
+        var csvPath = resultsDirectory.resolve(FILE_NAME);
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Throughput report written to {}.", csvPath);
+        writeHtml(resultsDirectory);
+    }
+
+    /**
+     * Renders {@link #HTML_FILE_NAME} from {@link #FILE_NAME}; does nothing if there is no such file.
+     * Only links the flame graphs which exist.
+     */
+    static void writeHtml(Path resultsDirectory) {
+        var csvPath = resultsDirectory.resolve(FILE_NAME);
+        if (!Files.exists(csvPath)) {
+            return;
+        }
+        var htmlPath = resultsDirectory.resolve(HTML_FILE_NAME);
+        try {
+            var cellMap = new TreeMap<Example, Map<ScoreDirectorType, List<String>>>();
+            var csvLineList = Files.readAllLines(csvPath);
+            for (var csvLine : csvLineList.subList(1, csvLineList.size())) {
+                var cell = parseCsvLine(csvLine);
+                cellMap.computeIfAbsent(Example.valueOf(cell.get(0)), example -> new EnumMap<>(ScoreDirectorType.class))
+                        .put(ScoreDirectorType.valueOf(cell.get(1)), cell);
+            }
+            var scoreDirectorTypeList = cellMap.values()
+                    .stream()
+                    .flatMap(typeCellMap -> typeCellMap.keySet().stream())
+                    .distinct()
+                    .sorted()
+                    .toList();
+            var html = new StringBuilder();
+            html.append("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n")
+                    .append("<title>Score director benchmark</title>\n<style>\n")
+                    .append("body { font-family: sans-serif; }\n")
+                    .append("table { border-collapse: collapse; }\n")
+                    .append("th, td { border: 1px solid #ccc; padding: 4px 8px; text-align: right; }\n")
+                    .append(".speedup { font-weight: bold; }\n")
+                    .append("</style>\n</head>\n<body>\n<h1>Score director benchmark</h1>\n")
+                    .append("<p>Throughput of every example on every score director type, ± its error, ")
+                    .append("and its speedup over EASY.</p>\n<table>\n<tr><th>Example</th>");
+            for (var scoreDirectorType : scoreDirectorTypeList) {
+                html.append("<th>").append(scoreDirectorType).append("</th>");
+            }
+            html.append("</tr>\n");
+            cellMap.forEach((example, typeCellMap) -> {
+                html.append("<tr><th>").append(example).append("</th>");
+                for (var scoreDirectorType : scoreDirectorTypeList) {
+                    var cell = typeCellMap.get(scoreDirectorType);
+                    html.append("<td>");
+                    if (cell != null) {
+                        appendCell(html, resultsDirectory, cell);
+                    }
+                    html.append("</td>");
+                }
+                html.append("</tr>\n");
+            });
+            html.append("</table>\n");
+            appendOtherReports(html, resultsDirectory);
+            html.append("</body>\n</html>\n");
+            Files.writeString(htmlPath, html);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed writing throughput report (" + htmlPath + ").", e);
+        }
+        LOGGER.info("HTML report written to {}.", htmlPath);
+    }
+
+    private static void appendCell(StringBuilder html, Path resultsDirectory, List<String> cell) {
+        html.append(String.format(Locale.ROOT, "%,.0f ± %,.0f %s", Double.parseDouble(cell.get(3)),
+                Double.parseDouble(cell.get(4)), cell.get(2)));
+        if (!cell.get(5).isEmpty()) {
+            html.append(String.format(Locale.ROOT, "<br><span class=\"speedup\">× %.2f</span>",
+                    Double.parseDouble(cell.get(5))));
+        }
+        var profileDirectory = cell.get(6);
+        for (var flameGraph : List.of(CPU_FLAME_GRAPH, ALLOC_FLAME_GRAPH)) {
+            if (Files.exists(resultsDirectory.resolve(profileDirectory).resolve(flameGraph))) {
+                html.append(flameGraph.equals(CPU_FLAME_GRAPH) ? "<br>" : " ")
+                        .append("<a href=\"")
+                        .append(profileDirectory)
+                        .append('/')
+                        .append(flameGraph)
+                        .append("\">")
+                        .append(flameGraph.substring(0, flameGraph.indexOf('.')))
+                        .append("</a>");
+            }
+        }
+    }
+
+    /**
+     * Every other report of the run is a CSV file next to this one.
+     */
+    private static void appendOtherReports(StringBuilder html, Path resultsDirectory) throws IOException {
+        List<Path> csvPathList;
+        try (var pathStream = Files.list(resultsDirectory)) {
+            csvPathList = pathStream.filter(path -> path.getFileName().toString().endsWith(".csv"))
+                    .filter(path -> !path.getFileName().toString().equals(FILE_NAME))
+                    .sorted()
+                    .toList();
+        }
+        if (csvPathList.isEmpty()) {
+            return;
+        }
+        html.append("<h2>Other reports</h2>\n<ul>\n");
+        for (var csvPath : csvPathList) {
+            var fileName = csvPath.getFileName().toString();
+            html.append("<li><a href=\"").append(fileName).append("\">").append(fileName).append("</a></li>\n");
+        }
+        html.append("</ul>\n");
+    }
+
+    /**
+     * Only reads what {@link #write(Collection, Path)} writes, none of which has a comma in it.
+     */
+    private static List<String> parseCsvLine(String csvLine) {
+        var valueList = new ArrayList<String>();
+        for (var value : csvLine.split(",", -1)) {
+            valueList.add(value.startsWith("\"") ? value.substring(1, value.length() - 1) : value);
+        }
+        return valueList;
+    }
+
+    private ThroughputReport() {
+        // No instances.
+    }
+
+}
@@ -0,0 +1,91 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import ai.timefold.solver.jmh.common.HeapHistogram;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Same batches of moves as {@link BatchedBenchmark}, meant to run on Epsilon GC, which never collects any garbage.
+ * The heap is counted right before the first move of every iteration and right after the last one,
+ * so that setting up the working solution does not count;
+ * {@link EpsilonAllocationProfiler} then reports the difference per move.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class AllocationBenchmark {
+
+    record IterationAllocation(long moveCount, HeapHistogram.Totals allocated) {
+
+    }
+
+    /**
+     * Read by {@link EpsilonAllocationProfiler} after every iteration, in the same fork.
+     */
+    static volatile IterationAllocation lastIterationAllocation;
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    public Problem problem;
+    private int batchSize;
+    private long batchCount;
+    private HeapHistogram.Totals histogramOverhead;
+    private HeapHistogram.Totals iterationStart;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        batchSize = Integer.getInteger(BatchedBenchmark.BATCH_SIZE_PROPERTY, BatchedBenchmark.DEFAULT_BATCH_SIZE);
+        problem = example.create(scoreDirectorType);
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+        batchCount = 0;
+        // Taking the histogram allocates as well; take it twice to know how much.
+        var first = HeapHistogram.takeAll();
+        iterationStart = HeapHistogram.takeAll();
+        histogramOverhead = iterationStart.minus(first);
+    }
+
+    /**
+     * Unlike {@link BatchedBenchmark}, never starts a replayed move trace over, as that would be counted as well;
+     * the configuration makes sure that the trace covers every iteration.
+     */
+    @Benchmark
+    public Object run(Blackhole blackhole) {
+        batchCount++;
+        return problem.runInvocations(batchSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        var allocated = HeapHistogram.takeAll()
+                .minus(iterationStart)
+                .minus(histogramOverhead);
+        lastIterationAllocation = new IterationAllocation(batchCount * batchSize, allocated);
+        problem.tearDownIteration();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,75 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Same moves as {@link AbstractBenchmark}, but without fixtures on the level of a single move.
+ * JMH timestamps every invocation which has such fixtures,
+ * and for moves which only take a fraction of a microsecond, the timestamps are a large part of what is measured.
+ * Here, every invocation runs a whole batch of moves instead, and its fixture only starts a replayed move trace over
+ * when the batch would run past its end, so that rebasing the trace is never measured.
+ * The size of the batch is read from {@link #BATCH_SIZE_PROPERTY},
+ * and it has to be given to JMH as operations per invocation, so that the score is still in moves per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class BatchedBenchmark {
+
+    public static final String BATCH_SIZE_PROPERTY = "ai.timefold.solver.jmh.batchSize";
+    public static final int DEFAULT_BATCH_SIZE = 1_000;
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    public Problem problem;
+    private int batchSize;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        batchSize = Integer.getInteger(BATCH_SIZE_PROPERTY, DEFAULT_BATCH_SIZE);
+        problem = example.create(scoreDirectorType);
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        problem.setupInvocations(batchSize);
+    }
+
+    @Benchmark
+    public Object run(Blackhole blackhole) {
+        return problem.runInvocations(batchSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        problem.tearDownIteration();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,48 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports what {@link AllocationBenchmark} counted on the heap, per move.
+ * Only exact when the fork runs on Epsilon GC; any other GC collects garbage in the meantime.
+ */
+public final class EpsilonAllocationProfiler implements InternalProfiler {
+
+    public static final String BYTES_PER_MOVE = "epsilon.alloc.norm";
+    public static final String OBJECTS_PER_MOVE = "epsilon.objects.norm";
+
+    @Override
+    public String getDescription() {
+        return "Bytes and objects allocated per move, counted on the heap of Epsilon GC.";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        AllocationBenchmark.lastIterationAllocation = null;
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+            IterationResult result) {
+        var iterationAllocation = AllocationBenchmark.lastIterationAllocation;
+        if (iterationAllocation == null || iterationAllocation.moveCount() == 0) { // Not an allocation benchmark.
+            return List.of();
+        }
+        var moveCount = (double) iterationAllocation.moveCount();
+        return List.of(
+                new ScalarResult(BYTES_PER_MOVE, iterationAllocation.allocated().bytes() / moveCount, "B/op",
+                        AggregationPolicy.AVG),
+                new ScalarResult(OBJECTS_PER_MOVE, iterationAllocation.allocated().instances() / moveCount,
+                        "objects/op", AggregationPolicy.AVG));
+    }
+
+}
@@ -0,0 +1,70 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.FullCalculationProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Every invocation builds a score director and calculates the score of the entire solution from scratch,
+ * so the score is the time the solver takes to get going, or to recover from a problem change.
+ * The sequence runs once more when the trial starts,
+ * so that {@link RetainedHeapProfiler} can report how much memory the score director keeps;
+ * for constraint streams, that is mostly the node network.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FullCalculationBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    public FullCalculationProblem<?> problem;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        RetainedHeapProfiler.reset();
+        problem = FullCalculationProblem.create(example, scoreDirectorType);
+        problem.setupTrial();
+        problem.setupInvocation(); // The working solution is not counted.
+        RetainedHeapProfiler.measure(problem::runInvocation, problem::getEntityCount, "entity");
+        problem.tearDownInvocation();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        problem.setupInvocation();
+    }
+
+    @Benchmark
+    public Object run() {
+        return problem.runInvocation();
+    }
+
+    @TearDown(Level.Invocation)
+    public void teardownInvocation() {
+        problem.tearDownInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,17 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Same batches of moves as {@link BatchedBenchmark}, meant to run with JMH's GC profiler.
+ * The profiler polls the JVM while the moves run,
+ * so it runs in a pass of its own, and the throughput of the other benchmarks stays unaffected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class GcBenchmark extends BatchedBenchmark {
+
+}
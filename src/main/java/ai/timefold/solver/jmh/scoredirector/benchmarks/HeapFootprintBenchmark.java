@@ -0,0 +1,72 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.FullCalculationProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Counts the live heap which a score director keeps once it has its working solution and calculated its score,
+ * on top of the bare clone of the solution, so that {@link RetainedHeapProfiler} can report it
+ * per planning entity and, for constraint streams, per node of the Bavet node network.
+ * Every iteration counts it anew, before it is timed;
+ * the time is that of a single full calculation, on a JVM which already ran it before.
+ * The heap which the first iteration keeps in static caches is therefore only counted by the warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HeapFootprintBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    public FullCalculationProblem<?> problem;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        RetainedHeapProfiler.reset();
+        problem = FullCalculationProblem.create(example, scoreDirectorType);
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupInvocation(); // The bare working solution is not counted.
+        RetainedHeapProfiler.measure(problem::runInvocation, problem::getEntityCount, "entity",
+                problem::getNodeCount);
+        problem.tearDownInvocation();
+        problem.setupInvocation();
+    }
+
+    @Benchmark
+    public Object run() {
+        return problem.runInvocation();
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        problem.tearDownInvocation();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,87 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.MoveLatencyRecorder;
+import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.runner.IterationType;
+
+/**
+ * Same moves as {@link AbstractBenchmark}, but instead of the average, it is after the distribution of their latency.
+ * JMH samples the latency of entire invocations;
+ * on top of that, {@link MoveLatencyRecorder} records every move and every score calculation on their own,
+ * so that it is clear which of the two the tail comes from.
+ * Only measurement iterations are recorded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LatencyBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    public Problem problem;
+    private MoveLatencyRecorder latencyRecorder;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        problem = example.create(scoreDirectorType);
+        problem.setupTrial();
+        latencyRecorder = new MoveLatencyRecorder();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        problem.setupInvocation();
+    }
+
+    @Benchmark
+    public Object run(Blackhole blackhole) {
+        return problem.runInvocation(latencyRecorder);
+    }
+
+    @TearDown(Level.Invocation)
+    public void teardownInvocation() {
+        problem.tearDownInvocation();
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration(IterationParams iterationParams) {
+        problem.tearDownIteration();
+        if (iterationParams.getType() == IterationType.WARMUP) {
+            latencyRecorder.reset();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+        MoveLatencyRecorder.getDirectory()
+                .ifPresent(latencyDirectory -> latencyRecorder.write(latencyDirectory, example, scoreDirectorType));
+    }
+
+}
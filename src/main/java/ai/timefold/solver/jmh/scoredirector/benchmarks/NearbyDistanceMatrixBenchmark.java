@@ -0,0 +1,71 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.problems.NearbyDistanceMatrix;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Every invocation builds the entire {@link NearbyDistanceMatrix} of an example, so the score is the build time.
+ * Only examples which {@link Example#getNearbyDistanceMeter() have a distance meter} can be run.
+ * The matrix is built once more when the trial starts,
+ * so that {@link RetainedHeapProfiler} can report how much memory it takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NearbyDistanceMatrixBenchmark {
+
+    @Param
+    public Example example;
+
+    /**
+     * Zero for the bundled dataset, otherwise the size of the generated one.
+     */
+    @Param({ "0" })
+    public int entityCount;
+
+    public NearbyDistanceMatrix<?> matrix;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        RetainedHeapProfiler.reset();
+        if (entityCount == 0) {
+            matrix = NearbyDistanceMatrix.create(example);
+        } else {
+            matrix = NearbyDistanceMatrix.create(example, entityCount,
+                    Long.getLong(ProblemSizeBenchmark.GENERATOR_SEED_PROPERTY,
+                            ProblemSizeBenchmark.DEFAULT_GENERATOR_SEED));
+        }
+        matrix.setupTrial();
+        RetainedHeapProfiler.measure(matrix::build, matrix::getOriginCount, "origin");
+        matrix.clear();
+    }
+
+    @Benchmark
+    public long run() {
+        return matrix.build();
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        matrix.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        matrix.teardownTrial();
+    }
+
+}
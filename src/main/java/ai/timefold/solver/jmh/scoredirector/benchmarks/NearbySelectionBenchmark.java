@@ -0,0 +1,66 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Same as {@link BatchedBenchmark},
+ * but the moves are selected by {@link Problem#useNearbySelection() nearby selection}.
+ * Moves between nearby entities are more likely to improve the score, and the score director sees different moves;
+ * comparing the two shows what selecting the moves costs, and how the score calculation changes with them.
+ * Requires {@link Example#isNearbySelectionAvailable() the Enterprise Edition}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class NearbySelectionBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    public Problem problem;
+    private int batchSize;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        batchSize = Integer.getInteger(BatchedBenchmark.BATCH_SIZE_PROPERTY, BatchedBenchmark.DEFAULT_BATCH_SIZE);
+        problem = example.create(scoreDirectorType);
+        problem.useNearbySelection();
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+    }
+
+    @Benchmark
+    public Object run(Blackhole blackhole) {
+        return problem.runInvocations(batchSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        problem.tearDownIteration();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,78 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Same batches of moves as {@link BatchedBenchmark}, but on synthetic datasets of the given number of entities,
+ * to show how throughput degrades as problems grow.
+ * Only {@link Example#isGeneratable() some examples} can be generated.
+ * The dataset is generated and a working solution set up once more when the trial starts,
+ * so that {@link RetainedHeapProfiler} can report how much memory the problem takes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+public class ProblemSizeBenchmark {
+
+    public static final String GENERATOR_SEED_PROPERTY = "ai.timefold.solver.jmh.generatorSeed";
+    public static final long DEFAULT_GENERATOR_SEED = 0L;
+
+    @Param
+    public Example example;
+
+    @Param
+    public ScoreDirectorType scoreDirectorType;
+
+    @Param({ "1000", "10000", "100000" })
+    public int entityCount;
+
+    public Problem problem;
+    private int batchSize;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        batchSize = Integer.getInteger(BatchedBenchmark.BATCH_SIZE_PROPERTY, BatchedBenchmark.DEFAULT_BATCH_SIZE);
+        RetainedHeapProfiler.reset();
+        problem = RetainedHeapProfiler.measure(() -> {
+            var measuredProblem = example.create(scoreDirectorType, entityCount,
+                    Long.getLong(GENERATOR_SEED_PROPERTY, DEFAULT_GENERATOR_SEED));
+            measuredProblem.setupTrial();
+            measuredProblem.setupIteration();
+            return measuredProblem;
+        }, () -> entityCount, "entity");
+        problem.tearDownIteration(); // Every iteration sets up a working solution of its own.
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+    }
+
+    @Benchmark
+    public Object run(Blackhole blackhole) {
+        return problem.runInvocations(batchSize);
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        problem.tearDownIteration();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
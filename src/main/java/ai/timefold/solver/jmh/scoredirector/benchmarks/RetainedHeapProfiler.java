@@ -0,0 +1,115 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.lang.ref.Reference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.jmh.common.HeapHistogram;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+
+/**
+ * Reports what the benchmark {@link #measure(Supplier, DoubleSupplier, String) measured} on the live heap,
+ * in total and per unit of what the benchmark builds.
+ * For {@link ProblemSizeBenchmark}, that is the original solution, the working solution and the score director
+ * with all its state, per planning entity;
+ * for {@link NearbyDistanceMatrixBenchmark}, the distance matrix, per origin.
+ * Where the benchmark also {@link #measure(Supplier, DoubleSupplier, String, LongSupplier) measured} the nodes
+ * of the Bavet node network, it also reports their number and the heap per node.
+ */
+public final class RetainedHeapProfiler implements InternalProfiler {
+
+    public static final String RETAINED_BYTES = "heap.retained";
+    public static final String RETAINED_BYTES_PER_ENTITY = "heap.retained.norm";
+    public static final String NODE_COUNT = "heap.nodes";
+    public static final String RETAINED_BYTES_PER_NODE = "heap.retained.node";
+
+    private record Recording(HeapHistogram.Totals totals, double count, String unit, long nodeCount) {
+    }
+
+    /**
+     * Read after every iteration, in the same fork.
+     */
+    private static volatile Recording recording;
+
+    /**
+     * Runs the builder once, between two {@link HeapHistogram#takeLive() counts of the live heap},
+     * and records the difference for {@link #afterIteration} of the iteration.
+     * What the builder returns is kept reachable until the second count,
+     * so that it is counted even if nothing else refers to it.
+     * Both counts stop the world and collect garbage;
+     * to be called from a fixture of the benchmark, never from inside of the measurement.
+     *
+     * @param builder builds what the benchmark retains
+     * @param count read after the build; at least 1, how many of the unit the builder built
+     * @param unit such as "entity"
+     * @param <T> the type of what the builder builds
+     * @return what the builder returned
+     */
+    public static <T> T measure(Supplier<T> builder, DoubleSupplier count, String unit) {
+        return measure(builder, count, unit, () -> 0L);
+    }
+
+    /**
+     * As {@link #measure(Supplier, DoubleSupplier, String)}.
+     *
+     * @param nodeCount read after the build; 0 if what the builder built has no node network
+     */
+    public static <T> T measure(Supplier<T> builder, DoubleSupplier count, String unit, LongSupplier nodeCount) {
+        var heapBefore = HeapHistogram.takeLive();
+        var built = builder.get();
+        var retained = HeapHistogram.takeLive().minus(heapBefore);
+        Reference.reachabilityFence(built);
+        recording = new Recording(retained, count.getAsDouble(), unit, nodeCount.getAsLong());
+        return built;
+    }
+
+    /**
+     * To be called when the trial starts, so that a recording does not leak from one benchmark to the next.
+     */
+    public static void reset() {
+        recording = null;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Live heap taken by what the benchmark built, in total and per unit.";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        // Counted by the benchmark itself, outside of the measurement.
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+            IterationResult result) {
+        var currentRecording = recording;
+        if (currentRecording == null) { // The benchmark does not record anything.
+            return List.of();
+        }
+        var bytes = currentRecording.totals().bytes();
+        var resultList = new ArrayList<ScalarResult>();
+        resultList.add(new ScalarResult(RETAINED_BYTES, bytes, "B", AggregationPolicy.AVG));
+        resultList.add(new ScalarResult(RETAINED_BYTES_PER_ENTITY, bytes / currentRecording.count(),
+                "B/" + currentRecording.unit(), AggregationPolicy.AVG));
+        var nodeCount = currentRecording.nodeCount();
+        if (nodeCount > 0) {
+            resultList.add(new ScalarResult(NODE_COUNT, nodeCount, "nodes", AggregationPolicy.AVG));
+            resultList.add(new ScalarResult(RETAINED_BYTES_PER_NODE, bytes / (double) nodeCount, "B/node",
+                    AggregationPolicy.AVG));
+        }
+        return resultList;
+    }
+
+}
@@ -0,0 +1,79 @@
+package ai.timefold.solver.jmh.scoredirector.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreExplanationType;
+import ai.timefold.solver.jmh.scoredirector.problems.ScoreExplanationProblem;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Every invocation explains the score of the working solution once,
+ * after {@link ScoreExplanationProblem#MOVE_COUNT} moves outside of the measurement.
+ * The first explanation of the trial is made once more,
+ * so that {@link RetainedHeapProfiler} can report how much memory it takes, per constraint match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ScoreExplanationBenchmark {
+
+    @Param
+    public Example example;
+
+    @Param({ "CONSTRAINT_MATCH_TOTALS", "INDICTMENTS", "SCORE_EXPLANATION" })
+    public ScoreExplanationType scoreExplanationType;
+
+    public ScoreExplanationProblem<?> problem;
+    private boolean retainedHeapRecorded;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        RetainedHeapProfiler.reset();
+        retainedHeapRecorded = false;
+        problem = ScoreExplanationProblem.create(example, scoreExplanationType);
+        problem.setupTrial();
+    }
+
+    @Setup(Level.Iteration)
+    public void setupIteration() {
+        problem.setupIteration();
+        if (!retainedHeapRecorded) { // Later iterations explain solutions of the same size.
+            problem.setupInvocation();
+            RetainedHeapProfiler.measure(problem::runInvocation, () -> Math.max(1, problem.getConstraintMatchCount()),
+                    "match");
+            retainedHeapRecorded = true;
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+        problem.setupInvocation();
+    }
+
+    @Benchmark
+    public Object run() {
+        return problem.runInvocation();
+    }
+
+    @TearDown(Level.Iteration)
+    public void teardownIteration() {
+        problem.tearDownIteration();
+    }
+
+    @TearDown(Level.Trial)
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -1,8 +1,14 @@
 package ai.timefold.solver.jmh.scoredirector.problems;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import ai.timefold.solver.core.api.score.buildin.simple.SimpleScore;
@@ -22,19 +28,24 @@ import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
 import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
 import ai.timefold.solver.core.impl.solver.DefaultSolver;
 import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+import ai.timefold.solver.jmh.common.BinarySolutionFileIO;
 import ai.timefold.solver.jmh.scoredirector.Example;
 import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 
 abstract class AbstractProblem<Solution_> implements Problem {
 
     private static final double PROBABILITY_OF_UNDO = 0.9;
 
     private final Example example;
-    private final SolutionDescriptor<Solution_> solutionDescriptor;
     private final ScoreDirectorType scoreDirectorType;
-    private final InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory;
-    private final Solution_ originalSolution;
+    private final Class<Solution_> solutionClass;
+    private final Class<?>[] entityClasses;
+    // Built on first use, so that cold start benchmarks can get to the configuration and the dataset without it.
+    private SolutionDescriptor<Solution_> solutionDescriptor;
 
+    private InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory;
+    private Solution_ originalSolution;
     private InnerScoreDirector<Solution_, ?> scoreDirector;
     private MoveSelector<Solution_> moveSelector;
     private Iterator<Move<Solution_>> moveIterator;
@@ -42,15 +53,73 @@ abstract class AbstractProblem<Solution_> implements Problem {
     private LocalSearchStepScope<Solution_> stepScope;
     private Move<Solution_> move;
     private boolean willUndo = true;
+    private Random undoRandom;
+    // Only used when replaying a move trace.
+    private MoveTrace moveTrace;
+    private List<Move<Solution_>> tracedMoveList;
+    private InnerScoreDirectorFactory<Solution_, ?> traceScoreDirectorFactory;
+    private List<Move<Solution_>> rebasedMoveList;
+    private int traceIndex;
+    // Zero unless a synthetic dataset is used instead of the bundled one.
+    private int generatedEntityCount;
+    private long generatorSeed;
+    private boolean nearbySelection;
 
-    protected AbstractProblem(final Example example, final ScoreDirectorType scoreDirectorType) {
+    protected AbstractProblem(final Example example, final ScoreDirectorType scoreDirectorType,
+            final Class<Solution_> solutionClass, final Class<?>... entityClasses) {
         this.example = Objects.requireNonNull(example);
         this.scoreDirectorType = Objects.requireNonNull(scoreDirectorType);
-        this.solutionDescriptor = buildSolutionDescriptor();
-        var scoreDirectorFactoryConfig = buildScoreDirectorFactoryConfig(scoreDirectorType);
-        this.scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(scoreDirectorFactoryConfig, solutionDescriptor);
-        this.originalSolution = ProblemInitializer.getSolution(example, solutionDescriptor,
-                this::buildScoreDirectorFactoryConfig, this::readOriginalSolution); // Expensive.
+        this.solutionClass = Objects.requireNonNull(solutionClass);
+        this.entityClasses = entityClasses.clone();
+    }
+
+    /**
+     * For what does not depend on the score director type, such as the solution and its descriptor.
+     *
+     * @return never null
+     */
+    static ScoreDirectorType getAnySupportedScoreDirectorType(Example example) {
+        return Arrays.stream(ScoreDirectorType.values())
+                .filter(example::isSupportedOn)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    final Example getExample() {
+        return example;
+    }
+
+    final Class<Solution_> getSolutionClass() {
+        return solutionClass;
+    }
+
+    final Class<?>[] getEntityClasses() {
+        return entityClasses.clone();
+    }
+
+    final SolutionDescriptor<Solution_> getSolutionDescriptor() {
+        if (solutionDescriptor == null) {
+            solutionDescriptor = SolutionDescriptor.buildSolutionDescriptor(solutionClass, entityClasses);
+        }
+        return solutionDescriptor;
+    }
+
+    /**
+     * @return null outside of an iteration
+     */
+    final InnerScoreDirector<Solution_, ?> getScoreDirector() {
+        return scoreDirector;
+    }
+
+    final boolean isGenerated() {
+        return generatedEntityCount > 0;
+    }
+
+    /**
+     * @return identifies the dataset among all datasets of all examples, bundled and generated
+     */
+    final String getDatasetKey() {
+        return isGenerated() ? example.name() + "-" + generatedEntityCount + "-" + generatorSeed : example.name();
     }
 
     protected final ScoreDirectorFactoryConfig buildInitialScoreDirectorFactoryConfig() {
@@ -59,9 +128,54 @@ abstract class AbstractProblem<Solution_> implements Problem {
 
     abstract protected ScoreDirectorFactoryConfig buildScoreDirectorFactoryConfig(ScoreDirectorType scoreDirectorType);
 
-    abstract protected SolutionDescriptor<Solution_> buildSolutionDescriptor();
+    abstract protected SolutionFileIO<Solution_> createSolutionFileIO();
+
+    abstract protected File getDatasetFile();
+
+    /**
+     * Generating datasets is optional; most examples only have their bundled dataset.
+     *
+     * @return empty if the example has no dataset generator
+     */
+    protected Optional<DatasetGenerator<Solution_>> getDatasetGenerator() {
+        return Optional.empty();
+    }
+
+    @Override
+    public final boolean isGeneratable() {
+        return getDatasetGenerator().isPresent();
+    }
 
-    abstract protected Solution_ readOriginalSolution();
+    protected Solution_ readSolution(File file) {
+        return createSolutionFileIO().read(file);
+    }
+
+    /**
+     * Reads the dataset in the format selected for this run.
+     * With binary datasets enabled, the dataset is read from its binary form, which is created on first use.
+     * With a generated dataset, it is generated instead.
+     *
+     * @return never null
+     */
+    final Solution_ readDataset() {
+        if (isGenerated()) {
+            return getDatasetGenerator()
+                    .orElseThrow(() -> new IllegalStateException("Impossible state: example (" + example
+                            + ") has no dataset generator."))
+                    .generate(generatedEntityCount, new Random(generatorSeed));
+        }
+        var datasetFile = getDatasetFile();
+        if (!BinarySolutionFileIO.isEnabled()) {
+            return readSolution(datasetFile);
+        }
+        var binaryDatasetStore = new BinaryDatasetStore(datasetFile);
+        return binaryDatasetStore.load(solutionClass)
+                .orElseGet(() -> {
+                    var solution = readSolution(datasetFile);
+                    binaryDatasetStore.store(solution);
+                    return solution;
+                });
+    }
 
     protected MoveSelector<Solution_> buildMoveSelector(SolutionDescriptor<Solution_> solutionDescriptor) {
         // Build the top-level local search move selector as the solver would've built it.
@@ -70,35 +184,155 @@ abstract class AbstractProblem<Solution_> implements Problem {
                 .withSolutionClass(solutionDescriptor.getSolutionClass())
                 .withEntityClasses(solutionDescriptor.getEntityClassSet().toArray(new Class[0]))
                 .withEasyScoreCalculatorClass(DummyEasyScoreCalculator.class);
+        if (nearbySelection) { // The solver then builds nearby variants of the default move selectors.
+            solverConfig.setNearbyDistanceMeterClass(example.getNearbyDistanceMeter()
+                    .orElseThrow(() -> new IllegalStateException("Impossible state: example (" + example
+                            + ") has no nearby distance meter.")));
+        }
         var solver = (DefaultSolver<Solution_>) SolverFactory.create(solverConfig)
                 .buildSolver();
         var localSearchPhase = (DefaultLocalSearchPhase<Solution_>) solver.getPhaseList().getLast();
+        return getDecider(localSearchPhase).getMoveSelector();
+    }
+
+    static <Solution_> LocalSearchDecider<Solution_> getDecider(DefaultLocalSearchPhase<Solution_> localSearchPhase) {
         try { // Decider is not accessible. Hack our way in.
             var deciderField = Stream.of(DefaultLocalSearchPhase.class.getDeclaredFields())
                     .filter(f -> f.getName().equals("decider"))
                     .findFirst()
-                    .orElseThrow(() -> new IllegalStateException("MoveSelectorFactory field not found"));
+                    .orElseThrow(() -> new IllegalStateException("Decider field not found"));
             deciderField.setAccessible(true);
-            var decider = (LocalSearchDecider<Solution_>) deciderField.get(localSearchPhase);
-            return decider.getMoveSelector();
+            return (LocalSearchDecider<Solution_>) deciderField.get(localSearchPhase);
         } catch (Exception e) {
-            throw new IllegalStateException("Failed to extract MoveSelector from LocalSearchPhase", e);
+            throw new IllegalStateException("Failed to extract LocalSearchDecider from LocalSearchPhase", e);
+        }
+    }
+
+    @Override
+    public final void useGeneratedDataset(int entityCount, long seed) {
+        if (entityCount < 1) {
+            throw new IllegalArgumentException("Entity count (" + entityCount + ") must be positive.");
+        } else if (!isGeneratable()) {
+            throw new IllegalArgumentException("Example (" + example + ") has no dataset generator.");
+        }
+        if (originalSolution != null) {
+            throw new IllegalStateException("Impossible state: dataset changed after the trial was set up.");
+        }
+        this.generatedEntityCount = entityCount;
+        this.generatorSeed = seed;
+    }
+
+    @Override
+    public final void useNearbySelection() {
+        if (example.getNearbyDistanceMeter().isEmpty()) {
+            throw new IllegalArgumentException("Example (" + example + ") has no nearby distance meter.");
         }
+        if (originalSolution != null) {
+            throw new IllegalStateException("Impossible state: move selection changed after the trial was set up.");
+        }
+        this.nearbySelection = true;
     }
 
     @Override
     public final void setupTrial() {
-        moveSelector = buildMoveSelector(solutionDescriptor);
+        var scoreDirectorFactoryConfig = buildScoreDirectorFactoryConfig(scoreDirectorType);
+        scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(scoreDirectorFactoryConfig,
+                getSolutionDescriptor());
+        originalSolution = ProblemInitializer.getSolution(this); // Expensive.
+        moveSelector = buildMoveSelector(getSolutionDescriptor());
+        // Traces are only recorded for the bundled datasets, with the default move selectors.
+        if (MoveTrace.isReplayEnabled() && !isGenerated() && !nearbySelection) {
+            var moveList = new ArrayList<Move<Solution_>>();
+            moveTrace = recordMoves(MoveTrace.getConfiguredSeed(), MoveTrace.getConfiguredLength(), moveList::add);
+            MoveTrace.verify(this, moveTrace);
+            tracedMoveList = moveList;
+        }
+    }
+
+    /**
+     * Runs the same moves as the benchmark would, with the same undo decisions,
+     * on a fresh clone of the original solution.
+     * The score director calculates no score; it only keeps shadow variables up to date.
+     *
+     * @param moveConsumer receives every move, as it was before it was done
+     * @return never null
+     */
+    final MoveTrace recordMoves(long seed, int length, Consumer<Move<Solution_>> moveConsumer) {
+        if (originalSolution == null) {
+            originalSolution = ProblemInitializer.getSolution(this);
+        }
+        if (traceScoreDirectorFactory == null) {
+            traceScoreDirectorFactory = buildTraceScoreDirectorFactory();
+        }
+        var trace = new MoveTrace(seed, length);
+        var moveFingerprinter = new MoveFingerprinter(getSolutionDescriptor());
+        var recordingMoveSelector = buildMoveSelector(getSolutionDescriptor());
+        try (var recordingScoreDirector = traceScoreDirectorFactory.buildScoreDirector(false, false)) {
+            recordingScoreDirector.setWorkingSolution(recordingScoreDirector.cloneSolution(originalSolution));
+            recordingScoreDirector.triggerVariableListeners();
+            var solverScope = new SolverScope<Solution_>();
+            solverScope.setScoreDirector(recordingScoreDirector);
+            solverScope.setWorkingRandom(new Random(0)); // Same as the benchmark.
+            var recordingPhaseScope = new LocalSearchPhaseScope<>(solverScope);
+            recordingMoveSelector.solvingStarted(solverScope);
+            recordingMoveSelector.phaseStarted(recordingPhaseScope);
+            var recordingUndoRandom = new Random(seed);
+            LocalSearchStepScope<Solution_> recordingStepScope = null;
+            Iterator<Move<Solution_>> recordingMoveIterator = null;
+            for (var i = 0; i < length; i++) {
+                if (recordingStepScope == null) {
+                    recordingStepScope = new LocalSearchStepScope<>(recordingPhaseScope);
+                    recordingMoveSelector.stepStarted(recordingStepScope);
+                    recordingMoveIterator = recordingMoveSelector.iterator();
+                }
+                var undo = recordingUndoRandom.nextDouble() <= PROBABILITY_OF_UNDO;
+                var recordedMove = recordingMoveIterator.next();
+                trace.set(i, moveFingerprinter.fingerprint(recordedMove), undo);
+                moveConsumer.accept(recordedMove);
+                if (undo) {
+                    recordedMove.doMove(recordingScoreDirector).doMoveOnly(recordingScoreDirector);
+                } else {
+                    recordedMove.doMoveOnly(recordingScoreDirector);
+                    recordingMoveSelector.stepEnded(recordingStepScope);
+                    recordingStepScope = null;
+                }
+            }
+        }
+        return trace;
+    }
+
+    private InnerScoreDirectorFactory<Solution_, ?> buildTraceScoreDirectorFactory() {
+        var scoreDirectorFactoryConfig = buildInitialScoreDirectorFactoryConfig()
+                .withEasyScoreCalculatorClass(DummyEasyScoreCalculator.class);
+        return ScoreDirectorType.buildScoreDirectorFactory(scoreDirectorFactoryConfig, getSolutionDescriptor());
+    }
+
+    @Override
+    public final Problem copy() {
+        if (originalSolution == null) {
+            throw new IllegalStateException("Impossible state: copying a problem before its trial was set up.");
+        }
+        var copy = (AbstractProblem<Solution_>) example.create(scoreDirectorType);
+        copy.generatedEntityCount = generatedEntityCount;
+        copy.generatorSeed = generatorSeed;
+        copy.nearbySelection = nearbySelection;
+        copy.scoreDirectorFactory = scoreDirectorFactory;
+        copy.originalSolution = originalSolution;
+        copy.moveSelector = copy.buildMoveSelector(copy.getSolutionDescriptor());
+        // The traced moves are only read, to be rebased onto the working solution of the copy.
+        copy.moveTrace = moveTrace;
+        copy.tracedMoveList = tracedMoveList;
+        copy.traceScoreDirectorFactory = traceScoreDirectorFactory;
+        return copy;
     }
 
     @Override
     public final void setupIteration() {
-        // We only care about incremental performance; therefore calculate the entire solution outside of invocation.
-        scoreDirector = scoreDirectorFactory.buildScoreDirector(false,
-                scoreDirectorType == ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
-        scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(originalSolution)); // Use fresh solution again.
-        scoreDirector.triggerVariableListeners();
-        scoreDirector.calculateScore();
+        startWorkingSolution();
+        undoRandom = new Random(MoveTrace.getConfiguredSeed()); // Same undo decisions for every score director type.
+        if (moveTrace != null) { // Moves come from the trace; the move selector is not used.
+            return;
+        }
         // Prepare the lifecycle.
         var solverScope = new SolverScope<Solution_>();
         solverScope.setScoreDirector(scoreDirector);
@@ -108,14 +342,57 @@ abstract class AbstractProblem<Solution_> implements Problem {
         moveSelector.phaseStarted(phaseScope);
     }
 
+    private void startWorkingSolution() {
+        // We only care about incremental performance; therefore calculate the entire solution outside of invocation.
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false,
+                scoreDirectorType == ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
+        var workingSolution = scoreDirector.cloneSolution(originalSolution); // Use fresh solution again.
+        if (moveTrace != null) {
+            // Rebase all the moves upfront, so that not even a look-up is left for the invocation.
+            try (var lookUpScoreDirector = traceScoreDirectorFactory.buildScoreDirector(true, false)) {
+                lookUpScoreDirector.setWorkingSolution(workingSolution);
+                rebasedMoveList = tracedMoveList.stream()
+                        .map(tracedMove -> tracedMove.rebase(lookUpScoreDirector))
+                        .toList();
+            }
+            traceIndex = 0;
+        }
+        scoreDirector.setWorkingSolution(workingSolution);
+        scoreDirector.triggerVariableListeners();
+        scoreDirector.calculateScore();
+    }
+
+    /**
+     * Starts over with a fresh working solution, as the moves only apply to the original solution.
+     */
+    private void restartTrace() {
+        scoreDirector.close();
+        startWorkingSolution();
+    }
+
+    @Override
+    public final void setupInvocations(int invocationCount) {
+        if (moveTrace != null && traceIndex + invocationCount > moveTrace.getLength()) {
+            restartTrace();
+        }
+    }
+
     @Override
     public final void setupInvocation() {
+        if (moveTrace != null) {
+            if (traceIndex == moveTrace.getLength()) {
+                restartTrace();
+            }
+            willUndo = moveTrace.isUndone(traceIndex);
+            move = rebasedMoveList.get(traceIndex++);
+            return;
+        }
         if (stepScope == null) {
             stepScope = new LocalSearchStepScope<>(phaseScope);
             moveSelector.stepStarted(stepScope);
             moveIterator = moveSelector.iterator();
         }
-        willUndo = Math.random() <= PROBABILITY_OF_UNDO;
+        willUndo = undoRandom.nextDouble() <= PROBABILITY_OF_UNDO;
         move = moveIterator.next();
     }
 
@@ -148,9 +425,43 @@ abstract class AbstractProblem<Solution_> implements Problem {
         return scoreDirector.calculateScore();
     }
 
+    /**
+     * Same as {@link #runInvocation()}, but records how long the move and the score calculation took.
+     */
+    @Override
+    public final Object runInvocation(MoveLatencyRecorder latencyRecorder) {
+        var start = System.nanoTime();
+        if (willUndo) {
+            move = move.doMove(scoreDirector);
+        }
+        move.doMoveOnly(scoreDirector);
+        var moveEnd = System.nanoTime();
+        var score = scoreDirector.calculateScore();
+        latencyRecorder.record(moveEnd - start, System.nanoTime() - moveEnd);
+        return score;
+    }
+
+    @Override
+    public final Object runInvocations(int invocationCount) {
+        if (moveTrace != null && traceIndex + invocationCount > moveTrace.getLength()) {
+            // Starting the trace over would close the score director and rebase every move, all of it measured.
+            throw new IllegalStateException("Impossible state: the move trace (" + moveTrace.getLength()
+                    + " moves) of example (" + example + ") ran out after " + traceIndex + " moves, "
+                    + "before a batch of " + invocationCount + " more moves; setupInvocations() was not called."
+                    + "\nMaybe increase move_trace_length, so that it covers the whole batch.");
+        }
+        Object result = null;
+        for (var i = 0; i < invocationCount; i++) {
+            setupInvocation();
+            result = runInvocation();
+            tearDownInvocation();
+        }
+        return result;
+    }
+
     @Override
     public final void tearDownInvocation() {
-        if (!willUndo) { // Move was not undone; this signifies the end of the step.
+        if (!willUndo && moveTrace == null) { // Move was not undone; this signifies the end of the step.
             endStep();
         }
     }
@@ -163,6 +474,7 @@ abstract class AbstractProblem<Solution_> implements Problem {
     @Override
     public final void tearDownIteration() {
         scoreDirector.close();
+        rebasedMoveList = null;
         if (stepScope != null) { // Clean up in case the last move was undone.
             endStep();
         }
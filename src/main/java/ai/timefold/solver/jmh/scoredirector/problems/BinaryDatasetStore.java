@@ -0,0 +1,85 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+import ai.timefold.solver.jmh.common.BinarySolutionFileIO;
+import ai.timefold.solver.jmh.common.SolverVersion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps datasets on disk in the format of {@link BinarySolutionFileIO}.
+ * The binary form is keyed by the hash of the original dataset file and by the solver version,
+ * as it depends on the exact shape of the domain classes.
+ * It is generated by {@link DatasetConverter}, or on first use if it does not exist yet.
+ */
+final class BinaryDatasetStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BinaryDatasetStore.class);
+
+    private static final Path DATASET_DIRECTORY = Path.of("target", "datasets");
+
+    private final File datasetFile;
+    private final Path binaryPath;
+
+    BinaryDatasetStore(File datasetFile) {
+        this.datasetFile = datasetFile;
+        var datasetFileName = datasetFile.getName();
+        var datasetName = datasetFileName.substring(0, datasetFileName.lastIndexOf('.'));
+        var solverVersion = SolverVersion.get().replaceAll("[^A-Za-z0-9._-]+", "_");
+        this.binaryPath = DATASET_DIRECTORY.resolve(solverVersion)
+                .resolve(datasetName + "-" + SolutionSnapshotStore.hash(datasetFile.toPath()) + "."
+                        + BinarySolutionFileIO.FILE_EXTENSION);
+    }
+
+    Path getBinaryPath() {
+        return binaryPath;
+    }
+
+    <Solution_> Optional<Solution_> load(Class<Solution_> solutionClass) {
+        if (!Files.exists(binaryPath)) {
+            LOGGER.info("No binary form of dataset {} found at {}.", datasetFile, binaryPath);
+            return Optional.empty();
+        }
+        try {
+            var solution = new BinarySolutionFileIO<>(solutionClass).read(binaryPath.toFile());
+            LOGGER.info("Dataset {} loaded from binary form {}.", datasetFile, binaryPath);
+            return Optional.of(solution);
+        } catch (RuntimeException e) { // Corrupt or outdated; the original dataset is still there.
+            LOGGER.warn("Failed reading binary form {} of dataset {}, discarding.", binaryPath, datasetFile, e);
+            try {
+                Files.deleteIfExists(binaryPath);
+            } catch (IOException ex) {
+                LOGGER.warn("Failed deleting binary form {}.", binaryPath, ex);
+            }
+            return Optional.empty();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    <Solution_> void store(Solution_ solution) {
+        try {
+            var directory = Files.createDirectories(binaryPath.getParent());
+            // Write aside and move in place, so that a concurrent reader never sees a partial file.
+            var temporaryPath = Files.createTempFile(directory, "dataset", "." + BinarySolutionFileIO.FILE_EXTENSION);
+            try {
+                new BinarySolutionFileIO<>((Class<Solution_>) solution.getClass())
+                        .write(solution, temporaryPath.toFile());
+                Files.move(temporaryPath, binaryPath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+            LOGGER.info("Dataset {} stored in binary form {}.", datasetFile, binaryPath);
+        } catch (IOException | RuntimeException e) { // Only an optimization; the original dataset still works.
+            LOGGER.warn("Failed storing binary form {} of dataset {}.", binaryPath, datasetFile, e);
+        }
+    }
+
+}
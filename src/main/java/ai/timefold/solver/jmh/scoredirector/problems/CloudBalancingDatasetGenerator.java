@@ -0,0 +1,59 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import ai.timefold.solver.examples.cloudbalancing.domain.CloudBalance;
+import ai.timefold.solver.examples.cloudbalancing.domain.CloudComputer;
+import ai.timefold.solver.examples.cloudbalancing.domain.CloudProcess;
+
+/**
+ * Generates cloud balancing datasets of any size, shaped like the bundled cloudbalancing-1600-4800:
+ * three processes per computer, computers from the same range of sizes,
+ * and processes which mostly need very little of any resource.
+ * Every process is assigned to a random computer, so that no CH is necessary.
+ */
+final class CloudBalancingDatasetGenerator {
+
+    private static final int PROCESSES_PER_COMPUTER = 3;
+    private static final int[] CPU_POWERS = { 3, 4, 6, 8, 12, 16, 24 };
+    private static final int[] MEMORIES = { 2, 4, 8, 16, 32, 64, 96 };
+    private static final int[] NETWORK_BANDWIDTHS = { 2, 4, 6, 8, 12, 16, 20 };
+    private static final int MAXIMUM_REQUIRED_CPU_POWER = 12;
+    private static final int MAXIMUM_REQUIRED_MEMORY = 32;
+    private static final int MAXIMUM_REQUIRED_NETWORK_BANDWIDTH = 12;
+
+    static CloudBalance generate(int processCount, Random random) {
+        var computerCount = Math.max(1, processCount / PROCESSES_PER_COMPUTER);
+        var computerList = new ArrayList<CloudComputer>(computerCount);
+        for (var i = 0; i < computerCount; i++) {
+            var cpuPower = CPU_POWERS[random.nextInt(CPU_POWERS.length)];
+            var memory = MEMORIES[random.nextInt(MEMORIES.length)];
+            var networkBandwidth = NETWORK_BANDWIDTHS[random.nextInt(NETWORK_BANDWIDTHS.length)];
+            // Roughly the prices of the bundled dataset.
+            var cost = 120 + 30 * cpuPower + 20 * memory + 50 * networkBandwidth;
+            computerList.add(new CloudComputer(i, cpuPower, memory, networkBandwidth, cost));
+        }
+        var processList = new ArrayList<CloudProcess>(processCount);
+        for (var i = 0; i < processCount; i++) {
+            var process = new CloudProcess(i, nextRequirement(random, MAXIMUM_REQUIRED_CPU_POWER),
+                    nextRequirement(random, MAXIMUM_REQUIRED_MEMORY),
+                    nextRequirement(random, MAXIMUM_REQUIRED_NETWORK_BANDWIDTH));
+            process.setComputer(computerList.get(random.nextInt(computerCount)));
+            processList.add(process);
+        }
+        return new CloudBalance(0, computerList, processList);
+    }
+
+    /**
+     * Most processes need 1 or 2, very few need the maximum.
+     */
+    private static int nextRequirement(Random random, int maximum) {
+        return Math.min(maximum, 1 + (int) (Math.pow(random.nextDouble(), 4) * maximum));
+    }
+
+    private CloudBalancingDatasetGenerator() {
+        // No instances.
+    }
+
+}
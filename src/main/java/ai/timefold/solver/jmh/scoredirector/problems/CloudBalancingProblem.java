@@ -1,10 +1,10 @@
 package ai.timefold.solver.jmh.scoredirector.problems;
 
 import java.io.File;
+import java.util.Optional;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.cloudbalancing.domain.CloudBalance;
 import ai.timefold.solver.examples.cloudbalancing.domain.CloudProcess;
 import ai.timefold.solver.examples.cloudbalancing.optional.score.CloudBalancingIncrementalScoreCalculator;
@@ -18,7 +18,7 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class CloudBalancingProblem extends AbstractProblem<CloudBalance> {
 
     public CloudBalancingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.CLOUD_BALANCING, scoreDirectorType);
+        super(Example.CLOUD_BALANCING, scoreDirectorType, CloudBalance.class, CloudProcess.class);
     }
 
     @Override
@@ -36,14 +36,18 @@ public final class CloudBalancingProblem extends AbstractProblem<CloudBalance> {
     }
 
     @Override
-    protected SolutionDescriptor<CloudBalance> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(CloudBalance.class, CloudProcess.class);
+    protected SolutionFileIO<CloudBalance> createSolutionFileIO() {
+        return new CloudBalanceSolutionFileIO();
     }
 
     @Override
-    protected CloudBalance readOriginalSolution() {
-        final SolutionFileIO<CloudBalance> solutionFileIO = new CloudBalanceSolutionFileIO();
-        return solutionFileIO.read(new File("data/cloudbalancing-1600-4800.json"));
+    protected Optional<DatasetGenerator<CloudBalance>> getDatasetGenerator() {
+        return Optional.of(CloudBalancingDatasetGenerator::generate);
+    }
+
+    @Override
+    protected File getDatasetFile() {
+        return new File("data/cloudbalancing-1600-4800.json");
     }
 
 }
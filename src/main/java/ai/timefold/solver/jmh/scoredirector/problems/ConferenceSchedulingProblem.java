@@ -5,18 +5,18 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.conferencescheduling.domain.ConferenceSolution;
 import ai.timefold.solver.examples.conferencescheduling.domain.Talk;
 import ai.timefold.solver.examples.conferencescheduling.persistence.ConferenceSchedulingXlsxFileIO;
 import ai.timefold.solver.examples.conferencescheduling.score.ConferenceSchedulingConstraintProvider;
 import ai.timefold.solver.jmh.scoredirector.Example;
 import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 
 public final class ConferenceSchedulingProblem extends AbstractProblem<ConferenceSolution> {
 
     public ConferenceSchedulingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.CONFERENCE_SCHEDULING, scoreDirectorType);
+        super(Example.CONFERENCE_SCHEDULING, scoreDirectorType, ConferenceSolution.class, Talk.class);
     }
 
     @Override
@@ -33,14 +33,13 @@ public final class ConferenceSchedulingProblem extends AbstractProblem<Conferenc
     }
 
     @Override
-    protected SolutionDescriptor<ConferenceSolution> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(ConferenceSolution.class, Talk.class);
+    protected SolutionFileIO<ConferenceSolution> createSolutionFileIO() {
+        return new ConferenceSchedulingXlsxFileIO();
     }
 
     @Override
-    protected ConferenceSolution readOriginalSolution() {
-        return new ConferenceSchedulingXlsxFileIO()
-                .read(new File("data/conferencescheduling-216-18-20.xlsx"));
+    protected File getDatasetFile() {
+        return new File("data/conferencescheduling-216-18-20.xlsx");
     }
 
 }
@@ -0,0 +1,160 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.impl.domain.variable.descriptor.ListVariableDescriptor;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+/**
+ * Runs the entire construction heuristic on the dataset of an example, instead of single moves.
+ * Every example starts from its initialized solution,
+ * with all the genuine variables of all movable entities unassigned,
+ * so that examples whose datasets are only partially initialized, or not at all, start out the same as the others.
+ * Every invocation starts from a fresh clone of that solution, with a fresh score director;
+ * neither is part of the measurement, and neither is the score calculation on the uninitialized solution.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class ConstructionHeuristicProblem<Solution_> {
+
+    /**
+     * @return never null
+     */
+    public static ConstructionHeuristicProblem<?> create(Example example, ScoreDirectorType scoreDirectorType,
+            ConstructionHeuristicType constructionHeuristicType) {
+        return new ConstructionHeuristicProblem<>((AbstractProblem<?>) example.create(scoreDirectorType),
+                scoreDirectorType, constructionHeuristicType);
+    }
+
+    /**
+     * Does not read the dataset, only builds the phase, and is therefore cheap enough to call before every run.
+     *
+     * @return true if the example supports the type
+     */
+    public static boolean isSupported(Example example, ConstructionHeuristicType constructionHeuristicType) {
+        // The phase does not depend on the score director type.
+        var problem = (AbstractProblem<?>) example.create(AbstractProblem.getAnySupportedScoreDirectorType(example));
+        return ConstructionHeuristicRunner.isSupported(constructionHeuristicType,
+                buildDummyScoreDirectorFactory(problem));
+    }
+
+    private static <Solution_> InnerScoreDirectorFactory<Solution_, ?>
+            buildDummyScoreDirectorFactory(AbstractProblem<Solution_> problem) {
+        var scoreDirectorFactoryConfig = problem.buildInitialScoreDirectorFactoryConfig()
+                .withEasyScoreCalculatorClass(AbstractProblem.DummyEasyScoreCalculator.class);
+        return ScoreDirectorType.buildScoreDirectorFactory(scoreDirectorFactoryConfig, problem.getSolutionDescriptor());
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final ScoreDirectorType scoreDirectorType;
+    private final ConstructionHeuristicType constructionHeuristicType;
+
+    private InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory;
+    private Solution_ uninitializedSolution;
+    private InnerScoreDirector<Solution_, ?> scoreDirector;
+    private ConstructionHeuristicRunner<Solution_> runner;
+
+    private ConstructionHeuristicProblem(AbstractProblem<Solution_> problem, ScoreDirectorType scoreDirectorType,
+            ConstructionHeuristicType constructionHeuristicType) {
+        this.problem = Objects.requireNonNull(problem);
+        this.scoreDirectorType = Objects.requireNonNull(scoreDirectorType);
+        this.constructionHeuristicType = Objects.requireNonNull(constructionHeuristicType);
+    }
+
+    public void setupTrial() {
+        var scoreDirectorFactoryConfig = problem.buildScoreDirectorFactoryConfig(scoreDirectorType);
+        scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(scoreDirectorFactoryConfig,
+                problem.getSolutionDescriptor());
+        uninitializedSolution = uninitialize(ProblemInitializer.getSolution(problem)); // Expensive.
+    }
+
+    /**
+     * Unassigns through a score director, so that the shadow variables follow.
+     * Pinned entities, and the pinned parts of lists, keep their values, as they would in the solver.
+     *
+     * @param initializedSolution not modified
+     * @return never null, a clone
+     */
+    private Solution_ uninitialize(Solution_ initializedSolution) {
+        var uninitializingScoreDirectorFactory = buildDummyScoreDirectorFactory(problem);
+        try (var uninitializingScoreDirector = uninitializingScoreDirectorFactory.buildScoreDirector(false, false)) {
+            var solution = uninitializingScoreDirector.cloneSolution(initializedSolution);
+            uninitializingScoreDirector.setWorkingSolution(solution);
+            var solutionDescriptor = problem.getSolutionDescriptor();
+            for (var entityDescriptor : solutionDescriptor.getGenuineEntityDescriptors()) {
+                var entityList = new ArrayList<>();
+                entityDescriptor.visitAllEntities(solution, entityList::add);
+                for (var entity : entityList) {
+                    if (!entityDescriptor.isMovable(uninitializingScoreDirector, entity)) {
+                        continue;
+                    }
+                    for (var variableDescriptor : entityDescriptor.getGenuineVariableDescriptorList()) {
+                        if (variableDescriptor instanceof ListVariableDescriptor<Solution_> listVariableDescriptor) {
+                            var list = listVariableDescriptor.getValue(entity);
+                            var firstUnpinnedIndex = listVariableDescriptor.getFirstUnpinnedIndex(entity);
+                            if (firstUnpinnedIndex == list.size()) {
+                                continue;
+                            }
+                            var unassignedList = new ArrayList<>(list.subList(firstUnpinnedIndex, list.size()));
+                            uninitializingScoreDirector.beforeListVariableChanged(listVariableDescriptor, entity,
+                                    firstUnpinnedIndex, list.size());
+                            list.subList(firstUnpinnedIndex, list.size()).clear();
+                            uninitializingScoreDirector.afterListVariableChanged(listVariableDescriptor, entity,
+                                    firstUnpinnedIndex, firstUnpinnedIndex);
+                            for (var element : unassignedList) {
+                                uninitializingScoreDirector.beforeListVariableElementUnassigned(listVariableDescriptor,
+                                        element);
+                                uninitializingScoreDirector.afterListVariableElementUnassigned(listVariableDescriptor,
+                                        element);
+                            }
+                        } else if (variableDescriptor.getValue(entity) != null) {
+                            uninitializingScoreDirector.beforeVariableChanged(variableDescriptor, entity);
+                            variableDescriptor.setValue(entity, null);
+                            uninitializingScoreDirector.afterVariableChanged(variableDescriptor, entity);
+                        }
+                    }
+                }
+            }
+            uninitializingScoreDirector.triggerVariableListeners();
+            return solution;
+        }
+    }
+
+    public void setupInvocation() {
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false,
+                scoreDirectorType == ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
+        scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(uninitializedSolution));
+        scoreDirector.triggerVariableListeners();
+        scoreDirector.calculateScore();
+        runner = new ConstructionHeuristicRunner<>(constructionHeuristicType, scoreDirector);
+    }
+
+    /**
+     * @return score of the constructed solution, in order to prevent results from being optimized away
+     */
+    public Score<?> runInvocation() {
+        runner.run();
+        return scoreDirector.calculateScore();
+    }
+
+    public void tearDownInvocation() {
+        if (!scoreDirector.calculateScore().isSolutionInitialized()) {
+            throw new IllegalStateException("Impossible state: uninitialized after the end of CH ("
+                    + constructionHeuristicType + ").");
+        }
+        scoreDirector.close();
+        scoreDirector = null;
+        runner = null;
+    }
+
+    public void teardownTrial() {
+        // No need to do anything.
+    }
+
+}
@@ -0,0 +1,139 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
+import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
+import ai.timefold.solver.core.config.solver.EnvironmentMode;
+import ai.timefold.solver.core.config.solver.monitoring.SolverMetric;
+import ai.timefold.solver.core.config.solver.random.RandomType;
+import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
+import ai.timefold.solver.core.impl.constructionheuristic.DefaultConstructionHeuristicPhase;
+import ai.timefold.solver.core.impl.constructionheuristic.DefaultConstructionHeuristicPhaseFactory;
+import ai.timefold.solver.core.impl.heuristic.HeuristicConfigPolicy;
+import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
+import ai.timefold.solver.core.impl.solver.ClassInstanceCache;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.event.SolverEventSupport;
+import ai.timefold.solver.core.impl.solver.random.DefaultRandomFactory;
+import ai.timefold.solver.core.impl.solver.recaller.BestSolutionRecaller;
+import ai.timefold.solver.core.impl.solver.recaller.BestSolutionRecallerFactory;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+import ai.timefold.solver.core.impl.solver.termination.AbstractTermination;
+import ai.timefold.solver.core.impl.solver.termination.BasicPlumbingTermination;
+import ai.timefold.solver.core.impl.solver.termination.TerminationFactory;
+
+/**
+ * Runs a construction heuristic phase on its own, without the solver around it.
+ * The phase is built by hand, as the solver would have built it, and the solver is more or less a mock.
+ * Everything is built upfront, so that {@link #run()} only runs the phase.
+ *
+ * @param <Solution_> the solution type
+ */
+final class ConstructionHeuristicRunner<Solution_> {
+
+    /**
+     * Not every example supports every type; the decreasing and weakest fit types need comparators,
+     * which some examples do not have, and list variables only support some types.
+     *
+     * @param scoreDirectorFactory only used to build the phase; any factory of the same solution will do
+     * @return true if the phase can be built for the solution of the factory
+     */
+    static <Solution_> boolean isSupported(ConstructionHeuristicType constructionHeuristicType,
+            InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory) {
+        try {
+            buildPhase(constructionHeuristicType, scoreDirectorFactory,
+                    BestSolutionRecallerFactory.create().buildBestSolutionRecaller(EnvironmentMode.REPRODUCIBLE));
+            return true;
+        } catch (IllegalArgumentException | IllegalStateException | UnsupportedOperationException e) {
+            return false;
+        }
+    }
+
+    private static <Solution_> DefaultConstructionHeuristicPhase<Solution_> buildPhase(
+            ConstructionHeuristicType constructionHeuristicType,
+            InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory,
+            BestSolutionRecaller<Solution_> bestSolutionRecaller) {
+        var config = new ConstructionHeuristicPhaseConfig()
+                .withConstructionHeuristicType(constructionHeuristicType);
+        var factory = new DefaultConstructionHeuristicPhaseFactory<Solution_>(config);
+        var policy = new HeuristicConfigPolicy.Builder<>(EnvironmentMode.REPRODUCIBLE,
+                null, null, null, null, new Random(0), scoreDirectorFactory.getInitializingScoreTrend(),
+                scoreDirectorFactory.getSolutionDescriptor(), ClassInstanceCache.create())
+                .build();
+        var termination = TerminationFactory.<Solution_> create(new TerminationConfig())
+                .buildTermination(policy, new BasicPlumbingTermination<>(false));
+        return (DefaultConstructionHeuristicPhase<Solution_>) factory.buildPhase(0, policy, bestSolutionRecaller,
+                termination);
+    }
+
+    private final BestSolutionRecaller<Solution_> bestSolutionRecaller;
+    private final DefaultConstructionHeuristicPhase<Solution_> constructionHeuristicPhase;
+    private final SolverScope<Solution_> solverScope;
+
+    /**
+     * @param scoreDirector its working solution is what the phase starts from; must not be closed before {@link #run()}
+     */
+    ConstructionHeuristicRunner(ConstructionHeuristicType constructionHeuristicType,
+            InnerScoreDirector<Solution_, ?> scoreDirector) {
+        bestSolutionRecaller = BestSolutionRecallerFactory.create()
+                .<Solution_> buildBestSolutionRecaller(EnvironmentMode.REPRODUCIBLE);
+        bestSolutionRecaller.setSolverEventSupport(new SolverEventSupport<>(null));
+        constructionHeuristicPhase = buildPhase(constructionHeuristicType, scoreDirector.getScoreDirectorFactory(),
+                bestSolutionRecaller);
+
+        // Create solver; more or less a mock.
+        solverScope = new SolverScope<>();
+        solverScope.setBestSolution(scoreDirector.getWorkingSolution());
+        solverScope.setScoreDirector(scoreDirector);
+        solverScope.setWorkingRandom(new Random(0)); // Fully reproducible, should the CH select anything at random.
+        solverScope.setSolverMetricSet(EnumSet.noneOf(SolverMetric.class));
+        var solver = new DefaultSolver<>(EnvironmentMode.REPRODUCIBLE, new DefaultRandomFactory(RandomType.JDK, 0L),
+                bestSolutionRecaller, null, new NoopTermination<>(), List.of(constructionHeuristicPhase), solverScope,
+                null);
+        constructionHeuristicPhase.setSolver(solver);
+    }
+
+    /**
+     * Can only be called once.
+     *
+     * @return the best solution the phase found, never null
+     */
+    Solution_ run() {
+        solverScope.startingNow();
+        bestSolutionRecaller.solvingStarted(solverScope);
+        constructionHeuristicPhase.solvingStarted(solverScope);
+        constructionHeuristicPhase.solve(solverScope);
+        constructionHeuristicPhase.solvingEnded(solverScope);
+        bestSolutionRecaller.solvingEnded(solverScope);
+        solverScope.endingNow();
+        return solverScope.getBestSolution();
+    }
+
+    private static final class NoopTermination<Solution_> extends AbstractTermination<Solution_> {
+        @Override
+        public boolean isSolverTerminated(SolverScope<Solution_> solverScope) {
+            return false;
+        }
+
+        @Override
+        public boolean isPhaseTerminated(AbstractPhaseScope<Solution_> phaseScope) {
+            return false;
+        }
+
+        @Override
+        public double calculateSolverTimeGradient(SolverScope<Solution_> solverScope) {
+            return 0;
+        }
+
+        @Override
+        public double calculatePhaseTimeGradient(AbstractPhaseScope<Solution_> phaseScope) {
+            return 0;
+        }
+    }
+
+}
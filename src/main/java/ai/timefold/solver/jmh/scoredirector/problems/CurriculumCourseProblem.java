@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.curriculumcourse.domain.CourseSchedule;
 import ai.timefold.solver.examples.curriculumcourse.domain.Lecture;
 import ai.timefold.solver.examples.curriculumcourse.persistence.CurriculumCourseSolutionFileIO;
@@ -17,7 +16,7 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class CurriculumCourseProblem extends AbstractProblem<CourseSchedule> {
 
     public CurriculumCourseProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.CURRICULUM_COURSE, scoreDirectorType);
+        super(Example.CURRICULUM_COURSE, scoreDirectorType, CourseSchedule.class, Lecture.class);
     }
 
     @Override
@@ -34,14 +33,13 @@ public final class CurriculumCourseProblem extends AbstractProblem<CourseSchedul
     }
 
     @Override
-    protected SolutionDescriptor<CourseSchedule> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(CourseSchedule.class, Lecture.class);
+    protected SolutionFileIO<CourseSchedule> createSolutionFileIO() {
+        return new CurriculumCourseSolutionFileIO();
     }
 
     @Override
-    protected CourseSchedule readOriginalSolution() {
-        final SolutionFileIO<CourseSchedule> solutionFileIO = new CurriculumCourseSolutionFileIO();
-        return solutionFileIO.read(new File("data/curriculumcourse-comp07.json"));
+    protected File getDatasetFile() {
+        return new File("data/curriculumcourse-comp07.json");
     }
 
 }
@@ -0,0 +1,153 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import ai.timefold.solver.jmh.common.AbstractMain;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Converts the datasets of all examples (or only of those given as arguments) to their binary form,
+ * and compares how long it takes and how much heap it needs to load either form.
+ * The comparison is logged and written to {@code results/datasets/<timestamp>/datasetLoading.csv}.
+ *
+ * <p>
+ * Run with the same heap settings as the benchmark forks, otherwise peak heap is not representative.
+ * Peak heap is the highest total heap in use while loading, as sampled every {@value #HEAP_SAMPLING_MICROS} µs,
+ * over the heap in use after a full GC right before the load.
+ */
+public final class DatasetConverter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatasetConverter.class);
+
+    private static final int REPETITIONS = 3;
+    private static final long HEAP_SAMPLING_MICROS = 100;
+
+    private record LoadResult(long fileBytes, long loadNanos, long peakHeapBytes) {
+
+    }
+
+    public static void main(String[] args) throws IOException {
+        var examples = args.length == 0 ? Arrays.asList(Example.values())
+                : Arrays.stream(args)
+                        .map(arg -> Example.valueOf(arg.toUpperCase(Locale.ROOT)))
+                        .toList();
+        var resultsDirectory = Files.createDirectories(Path.of("results", "datasets", AbstractMain.getTimestamp()));
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Native file (B)\",\"Native load (ms)\",\"Native peak heap (B)\","
+                + "\"Binary file (B)\",\"Binary load (ms)\",\"Binary peak heap (B)\"");
+        for (var example : examples) {
+            var scoreDirectorType = Arrays.stream(ScoreDirectorType.values())
+                    .filter(example::isSupportedOn)
+                    .findFirst()
+                    .orElseThrow();
+            // Creating a problem is cheap; the dataset is only read once the trial is set up.
+            var problem = (AbstractProblem<?>) example.create(scoreDirectorType);
+            var optionalResults = convert(problem);
+            if (optionalResults.isEmpty()) {
+                LOGGER.warn("Skipping example {}, as its dataset could not be converted.", example);
+                continue;
+            }
+            var results = optionalResults.get();
+            var nativeResult = results.get(0);
+            var binaryResult = results.get(1);
+            LOGGER.info("Example {}: native {} B in {} ms using {} B of heap, binary {} B in {} ms using {} B of heap.",
+                    example, nativeResult.fileBytes(), toMillis(nativeResult.loadNanos()),
+                    nativeResult.peakHeapBytes(), binaryResult.fileBytes(), toMillis(binaryResult.loadNanos()),
+                    binaryResult.peakHeapBytes());
+            csvLineList.add("\"" + example + "\"," + nativeResult.fileBytes() + ","
+                    + toMillis(nativeResult.loadNanos()) + "," + nativeResult.peakHeapBytes() + ","
+                    + binaryResult.fileBytes() + "," + toMillis(binaryResult.loadNanos()) + ","
+                    + binaryResult.peakHeapBytes());
+        }
+        var csvPath = resultsDirectory.resolve("datasetLoading.csv");
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Dataset loading comparison written to {}.", csvPath);
+    }
+
+    /**
+     * @return empty if the binary form could not be stored, the reason for which is logged by the store
+     */
+    private static <Solution_> Optional<List<LoadResult>> convert(AbstractProblem<Solution_> problem)
+            throws IOException {
+        var datasetFile = problem.getDatasetFile();
+        var binaryDatasetStore = new BinaryDatasetStore(datasetFile);
+        var nativeResult = measure(datasetFile.length(), () -> problem.readSolution(datasetFile));
+        binaryDatasetStore.store(problem.readSolution(datasetFile));
+        if (!Files.exists(binaryDatasetStore.getBinaryPath())) {
+            return Optional.empty();
+        }
+        var solutionClass = problem.getSolutionDescriptor().getSolutionClass();
+        var binaryResult = measure(Files.size(binaryDatasetStore.getBinaryPath()),
+                () -> binaryDatasetStore.load(solutionClass)
+                        .orElseThrow(() -> new IllegalStateException("Failed converting dataset " + datasetFile + ".")));
+        return Optional.of(List.of(nativeResult, binaryResult));
+    }
+
+    /**
+     * Takes the fastest of several loads, and the largest amount of heap any of them needed.
+     * The peaks of the individual heap pools are not used, as each of them peaks at a different time.
+     */
+    private static LoadResult measure(long fileBytes, Supplier<?> loader) {
+        var memoryMXBean = ManagementFactory.getMemoryMXBean();
+        var bestLoadNanos = Long.MAX_VALUE;
+        var worstPeakHeapBytes = 0L;
+        for (var i = 0; i < REPETITIONS; i++) {
+            System.gc();
+            var heapBytesBefore = memoryMXBean.getHeapMemoryUsage().getUsed();
+            var peakHeapBytes = new AtomicLong(heapBytesBefore);
+            var loading = new AtomicBoolean(true);
+            var sampler = Thread.ofPlatform()
+                    .daemon()
+                    .start(() -> {
+                        while (loading.get()) {
+                            peakHeapBytes.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+                            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(HEAP_SAMPLING_MICROS));
+                        }
+                    });
+            var start = System.nanoTime();
+            var solution = loader.get();
+            var loadNanos = System.nanoTime() - start;
+            loading.set(false);
+            try {
+                sampler.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while sampling heap.", e);
+            }
+            // The solution is still live, so the heap is at least where it ended.
+            peakHeapBytes.accumulateAndGet(memoryMXBean.getHeapMemoryUsage().getUsed(), Math::max);
+            if (solution == null) {
+                throw new IllegalStateException("Impossible state: dataset loaded as null.");
+            }
+            bestLoadNanos = Math.min(bestLoadNanos, loadNanos);
+            worstPeakHeapBytes = Math.max(worstPeakHeapBytes, peakHeapBytes.get() - heapBytesBefore);
+        }
+        return new LoadResult(fileBytes, bestLoadNanos, worstPeakHeapBytes);
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.round(nanos / 1_000_000.0D);
+    }
+
+    private DatasetConverter() {
+        // No instances.
+    }
+
+}
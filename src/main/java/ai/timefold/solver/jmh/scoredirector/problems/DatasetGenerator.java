@@ -0,0 +1,22 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.Random;
+
+/**
+ * Generates synthetic datasets of an example, of any size.
+ *
+ * @param <Solution_> the solution type of the example
+ */
+@FunctionalInterface
+interface DatasetGenerator<Solution_> {
+
+    /**
+     * The dataset is best already initialized, as the CH would take too long on the largest of them.
+     *
+     * @param entityCount at least 1; how many planning entities to generate
+     * @param random the only source of randomness, so that the same seed always generates the same dataset
+     * @return never null
+     */
+    Solution_ generate(int entityCount, Random random);
+
+}
@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.examination.domain.Exam;
 import ai.timefold.solver.examples.examination.domain.Examination;
 import ai.timefold.solver.examples.examination.domain.FollowingExam;
@@ -19,7 +18,8 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class ExaminationProblem extends AbstractProblem<Examination> {
 
     public ExaminationProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.EXAMINATION, scoreDirectorType);
+        super(Example.EXAMINATION, scoreDirectorType,
+                Examination.class, Exam.class, LeadingExam.class, FollowingExam.class);
     }
 
     @Override
@@ -36,15 +36,13 @@ public final class ExaminationProblem extends AbstractProblem<Examination> {
     }
 
     @Override
-    protected SolutionDescriptor<Examination> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(Examination.class, Exam.class, LeadingExam.class,
-                FollowingExam.class);
+    protected SolutionFileIO<Examination> createSolutionFileIO() {
+        return new ExaminationSolutionFileIO();
     }
 
     @Override
-    protected Examination readOriginalSolution() {
-        final SolutionFileIO<Examination> solutionFileIO = new ExaminationSolutionFileIO();
-        return solutionFileIO.read(new File("data/examination-comp_set8.json"));
+    protected File getDatasetFile() {
+        return new File("data/examination-comp_set8.json");
     }
 
 }
@@ -0,0 +1,72 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.Objects;
+
+import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+/**
+ * Gives everything a solver for an example is built from, and the dataset of the example,
+ * without building any part of the solver first, not even the solution descriptor.
+ * This is what cold start benchmarks need, as anything built before the measurement would no longer start cold.
+ * The dataset is read the same way as by the other benchmarks, but not initialized.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class ExampleLoader<Solution_> {
+
+    /**
+     * Uses {@link ScoreDirectorType#CONSTRAINT_STREAMS} where the example supports it,
+     * as that is what most users start their solver with.
+     *
+     * @return never null
+     */
+    public static ExampleLoader<?> create(Example example) {
+        var scoreDirectorType = example.isSupportedOn(ScoreDirectorType.CONSTRAINT_STREAMS)
+                ? ScoreDirectorType.CONSTRAINT_STREAMS
+                : AbstractProblem.getAnySupportedScoreDirectorType(example);
+        return new ExampleLoader<>((AbstractProblem<?>) example.create(scoreDirectorType), scoreDirectorType);
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final ScoreDirectorType scoreDirectorType;
+
+    private ExampleLoader(AbstractProblem<Solution_> problem, ScoreDirectorType scoreDirectorType) {
+        this.problem = Objects.requireNonNull(problem);
+        this.scoreDirectorType = Objects.requireNonNull(scoreDirectorType);
+    }
+
+    public Example getExample() {
+        return problem.getExample();
+    }
+
+    public Class<Solution_> getSolutionClass() {
+        return problem.getSolutionClass();
+    }
+
+    /**
+     * @return never null, a new array every time
+     */
+    public Class<?>[] getEntityClasses() {
+        return problem.getEntityClasses();
+    }
+
+    /**
+     * @return never null, a new instance every time
+     */
+    public ScoreDirectorFactoryConfig buildScoreDirectorFactoryConfig() {
+        return problem.buildScoreDirectorFactoryConfig(scoreDirectorType);
+    }
+
+    /**
+     * Reads the bundled dataset, in the format selected for this run.
+     * Never cached, as every call is expected to happen in a fresh JVM.
+     *
+     * @return never null
+     */
+    public Solution_ readDataset() {
+        return problem.readDataset();
+    }
+
+}
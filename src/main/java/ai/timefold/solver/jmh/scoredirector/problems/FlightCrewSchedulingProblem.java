@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.flightcrewscheduling.domain.Employee;
 import ai.timefold.solver.examples.flightcrewscheduling.domain.FlightAssignment;
 import ai.timefold.solver.examples.flightcrewscheduling.domain.FlightCrewSolution;
@@ -13,11 +12,13 @@ import ai.timefold.solver.examples.flightcrewscheduling.persistence.FlightCrewSc
 import ai.timefold.solver.examples.flightcrewscheduling.score.FlightCrewSchedulingConstraintProvider;
 import ai.timefold.solver.jmh.scoredirector.Example;
 import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 
 public final class FlightCrewSchedulingProblem extends AbstractProblem<FlightCrewSolution> {
 
     public FlightCrewSchedulingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.FLIGHT_CREW_SCHEDULING, scoreDirectorType);
+        super(Example.FLIGHT_CREW_SCHEDULING, scoreDirectorType,
+                FlightCrewSolution.class, FlightAssignment.class, Employee.class);
     }
 
     @Override
@@ -34,15 +35,13 @@ public final class FlightCrewSchedulingProblem extends AbstractProblem<FlightCre
     }
 
     @Override
-    protected SolutionDescriptor<FlightCrewSolution> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(FlightCrewSolution.class, FlightAssignment.class,
-                Employee.class);
+    protected SolutionFileIO<FlightCrewSolution> createSolutionFileIO() {
+        return new FlightCrewSchedulingXlsxFileIO();
     }
 
     @Override
-    protected FlightCrewSolution readOriginalSolution() {
-        return new FlightCrewSchedulingXlsxFileIO()
-                .read(new File("data/flightcrewscheduling-875-7-Europe.xlsx"));
+    protected File getDatasetFile() {
+        return new File("data/flightcrewscheduling-875-7-Europe.xlsx");
     }
 
 }
@@ -0,0 +1,110 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import ai.timefold.solver.constraint.streams.bavet.BavetConstraintSession;
+import ai.timefold.solver.constraint.streams.bavet.BavetConstraintStreamScoreDirector;
+import ai.timefold.solver.constraint.streams.bavet.common.Propagator;
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirector;
+import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+/**
+ * What {@link Problem#setupIteration()} keeps out of the measurement:
+ * building a score director, setting its working solution, triggering variable listeners
+ * and calculating the score of the entire solution.
+ * The solver does the same whenever it starts and whenever a problem change comes in.
+ * Every invocation starts from a fresh clone of the original solution; cloning is not part of the measurement.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class FullCalculationProblem<Solution_> {
+
+    /**
+     * @return never null
+     */
+    public static FullCalculationProblem<?> create(Example example, ScoreDirectorType scoreDirectorType) {
+        return new FullCalculationProblem<>((AbstractProblem<?>) example.create(scoreDirectorType), scoreDirectorType);
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final ScoreDirectorType scoreDirectorType;
+
+    private InnerScoreDirectorFactory<Solution_, ?> scoreDirectorFactory;
+    private Solution_ originalSolution;
+    private Solution_ workingSolution;
+    private InnerScoreDirector<Solution_, ?> scoreDirector;
+
+    private FullCalculationProblem(AbstractProblem<Solution_> problem, ScoreDirectorType scoreDirectorType) {
+        this.problem = Objects.requireNonNull(problem);
+        this.scoreDirectorType = Objects.requireNonNull(scoreDirectorType);
+    }
+
+    public void setupTrial() {
+        var scoreDirectorFactoryConfig = problem.buildScoreDirectorFactoryConfig(scoreDirectorType);
+        scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(scoreDirectorFactoryConfig,
+                problem.getSolutionDescriptor());
+        originalSolution = ProblemInitializer.getSolution(problem); // Expensive.
+    }
+
+    /**
+     * @return how many genuine planning entities the solution has
+     */
+    public int getEntityCount() {
+        return problem.getSolutionDescriptor().getGenuineEntityCount(originalSolution);
+    }
+
+    /**
+     * Only while the score director is open, between {@link #runInvocation()} and {@link #tearDownInvocation()}.
+     *
+     * @return how many nodes the Bavet node network has; 0 for score directors without one
+     */
+    public long getNodeCount() {
+        if (!(scoreDirector instanceof BavetConstraintStreamScoreDirector<?, ?> bavetScoreDirector)) {
+            return 0L;
+        }
+        Propagator[][] layeredNodes;
+        try { // Every node has exactly one propagator, and the session keeps nothing else of them.
+            var layeredNodesField = BavetConstraintSession.class.getDeclaredField("layeredNodes");
+            layeredNodesField.setAccessible(true);
+            layeredNodes = (Propagator[][]) layeredNodesField.get(bavetScoreDirector.getSession());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to access the nodes of BavetConstraintSession.", e);
+        }
+        return Arrays.stream(layeredNodes)
+                .mapToLong(layer -> layer.length)
+                .sum();
+    }
+
+    public void setupInvocation() {
+        workingSolution = problem.getSolutionDescriptor().getSolutionCloner().cloneSolution(originalSolution);
+    }
+
+    /**
+     * The score director stays open until {@link #tearDownInvocation()},
+     * so that everything it built can be counted on the heap in between.
+     *
+     * @return score of the entire solution, in order to prevent results from being optimized away
+     */
+    public Score<?> runInvocation() {
+        scoreDirector = scoreDirectorFactory.buildScoreDirector(false,
+                scoreDirectorType == ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
+        scoreDirector.setWorkingSolution(workingSolution);
+        scoreDirector.triggerVariableListeners();
+        return scoreDirector.calculateScore();
+    }
+
+    public void tearDownInvocation() {
+        scoreDirector.close();
+        scoreDirector = null;
+        workingSolution = null;
+    }
+
+    public void teardownTrial() {
+        // No need to do anything.
+    }
+
+}
@@ -0,0 +1,181 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.solver.SolverFactory;
+import ai.timefold.solver.core.config.localsearch.LocalSearchPhaseConfig;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.AcceptorType;
+import ai.timefold.solver.core.config.localsearch.decider.acceptor.LocalSearchAcceptorConfig;
+import ai.timefold.solver.core.config.localsearch.decider.forager.LocalSearchForagerConfig;
+import ai.timefold.solver.core.config.solver.EnvironmentMode;
+import ai.timefold.solver.core.config.solver.SolverConfig;
+import ai.timefold.solver.core.impl.localsearch.DefaultLocalSearchPhase;
+import ai.timefold.solver.core.impl.localsearch.decider.LocalSearchDecider;
+import ai.timefold.solver.core.impl.localsearch.scope.LocalSearchPhaseScope;
+import ai.timefold.solver.core.impl.localsearch.scope.LocalSearchStepScope;
+import ai.timefold.solver.core.impl.score.definition.ScoreDefinition;
+import ai.timefold.solver.core.impl.solver.DefaultSolver;
+import ai.timefold.solver.core.impl.solver.scope.SolverScope;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+/**
+ * Runs complete local search steps, as the solver would, instead of single moves on the score director:
+ * selecting the moves, calculating their scores, deciding on them in the acceptor, picking the step in the forager,
+ * and all the bookkeeping at the end of the step, including the best solution.
+ * The solver and its phase are built from a configuration, as any user would build them,
+ * but the steps are driven from here, so that every invocation runs exactly one of them.
+ * Acceptors and foragers are configured as the documentation recommends.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class LocalSearchProblem<Solution_> {
+
+    private static final int LATE_ACCEPTANCE_SIZE = 400;
+    private static final int ENTITY_TABU_SIZE = 7;
+    private static final int TABU_ACCEPTED_COUNT_LIMIT = 1000;
+    /**
+     * Simulated annealing starts at this many units of the softest score level.
+     * The time gradient is fixed at zero in {@link #runStep()}, so the temperature never drops.
+     */
+    private static final double SIMULATED_ANNEALING_STARTING_TEMPERATURE = 10.0;
+
+    /**
+     * @param acceptorType one of {@link AcceptorType#LATE_ACCEPTANCE}, {@link AcceptorType#ENTITY_TABU}
+     *        and {@link AcceptorType#SIMULATED_ANNEALING}
+     * @return never null
+     */
+    public static LocalSearchProblem<?> create(Example example, ScoreDirectorType scoreDirectorType,
+            AcceptorType acceptorType) {
+        return new LocalSearchProblem<>((AbstractProblem<?>) example.create(scoreDirectorType), scoreDirectorType,
+                acceptorType);
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final ScoreDirectorType scoreDirectorType;
+    private final AcceptorType acceptorType;
+
+    private Solution_ originalSolution;
+    private DefaultSolver<Solution_> solver;
+    private DefaultLocalSearchPhase<Solution_> localSearchPhase;
+    private LocalSearchDecider<Solution_> decider;
+    private MethodHandle doStepMethodHandle;
+    private SolverScope<Solution_> solverScope;
+    private LocalSearchPhaseScope<Solution_> phaseScope;
+
+    private LocalSearchProblem(AbstractProblem<Solution_> problem, ScoreDirectorType scoreDirectorType,
+            AcceptorType acceptorType) {
+        this.problem = Objects.requireNonNull(problem);
+        this.scoreDirectorType = Objects.requireNonNull(scoreDirectorType);
+        this.acceptorType = Objects.requireNonNull(acceptorType);
+    }
+
+    public void setupTrial() {
+        originalSolution = ProblemInitializer.getSolution(problem); // Expensive.
+        var solutionDescriptor = problem.getSolutionDescriptor();
+        var scoreDirectorFactoryConfig = problem.buildScoreDirectorFactoryConfig(scoreDirectorType);
+        var solverConfig = new SolverConfig()
+                .withEnvironmentMode(EnvironmentMode.REPRODUCIBLE)
+                .withRandomSeed(0L) // Same moves for every score director type.
+                .withSolutionClass(solutionDescriptor.getSolutionClass())
+                .withEntityClasses(solutionDescriptor.getEntityClassSet().toArray(new Class[0]))
+                .withScoreDirectorFactory(scoreDirectorFactoryConfig)
+                .withPhases(buildLocalSearchPhaseConfig(solutionDescriptor.getScoreDefinition()));
+        solver = (DefaultSolver<Solution_>) SolverFactory.create(solverConfig)
+                .buildSolver();
+        localSearchPhase = (DefaultLocalSearchPhase<Solution_>) solver.getPhaseList().getLast();
+        decider = AbstractProblem.getDecider(localSearchPhase);
+        try { // The step is done by a protected method of the phase. Hack our way in.
+            var doStepMethod = DefaultLocalSearchPhase.class.getDeclaredMethod("doStep", LocalSearchStepScope.class);
+            doStepMethod.setAccessible(true);
+            doStepMethodHandle = MethodHandles.lookup().unreflect(doStepMethod);
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to access doStep() of LocalSearchPhase", e);
+        }
+        solverScope = solver.getSolverScope();
+        if (scoreDirectorType == ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED) {
+            // The solver would only justify in asserting environment modes.
+            solverScope.setScoreDirector(solver.getScoreDirectorFactory().buildScoreDirector(true, true));
+        }
+    }
+
+    private LocalSearchPhaseConfig buildLocalSearchPhaseConfig(ScoreDefinition<?> scoreDefinition) {
+        var acceptorConfig = new LocalSearchAcceptorConfig()
+                .withAcceptorTypeList(List.of(acceptorType));
+        var foragerConfig = new LocalSearchForagerConfig();
+        switch (acceptorType) {
+            case LATE_ACCEPTANCE -> {
+                acceptorConfig.setLateAcceptanceSize(LATE_ACCEPTANCE_SIZE);
+                foragerConfig.setAcceptedCountLimit(1);
+            }
+            case ENTITY_TABU -> {
+                acceptorConfig.setEntityTabuSize(ENTITY_TABU_SIZE);
+                foragerConfig.setAcceptedCountLimit(TABU_ACCEPTED_COUNT_LIMIT);
+            }
+            case SIMULATED_ANNEALING -> {
+                var startingTemperature = scoreDefinition.getOneSoftestScore()
+                        .multiply(SIMULATED_ANNEALING_STARTING_TEMPERATURE);
+                acceptorConfig.setSimulatedAnnealingStartingTemperature(startingTemperature.toString());
+                foragerConfig.setAcceptedCountLimit(1);
+            }
+            default -> throw new IllegalArgumentException("Unsupported acceptor type (" + acceptorType + ").");
+        }
+        return new LocalSearchPhaseConfig()
+                .withAcceptorConfig(acceptorConfig)
+                .withForagerConfig(foragerConfig);
+    }
+
+    /**
+     * Starts the solver and its phase on a fresh clone of the original solution,
+     * so that every iteration starts from the same place.
+     */
+    public void setupIteration() {
+        solverScope.setBestSolution(originalSolution); // The solver works on a clone.
+        solver.outerSolvingStarted(solverScope);
+        solver.solvingStarted(solverScope);
+        phaseScope = new LocalSearchPhaseScope<>(solverScope);
+        localSearchPhase.phaseStarted(phaseScope);
+    }
+
+    /**
+     * Same as one iteration of the loop in {@link DefaultLocalSearchPhase#solve(SolverScope)},
+     * except for the time gradient, which the phase would calculate from its termination.
+     *
+     * @return how many moves the step selected, in order to prevent results from being optimized away
+     */
+    public long runStep() {
+        var stepScope = new LocalSearchStepScope<>(phaseScope);
+        // There is no termination to calculate it from, and every step should cost the same, however many ran before;
+        // at zero, simulated annealing stays at its starting temperature.
+        stepScope.setTimeGradient(0.0);
+        localSearchPhase.stepStarted(stepScope);
+        decider.decideNextStep(stepScope);
+        if (stepScope.getStep() == null) {
+            throw new IllegalStateException("Impossible state: no step picked after " + stepScope.getSelectedMoveCount()
+                    + " selected moves.");
+        }
+        try {
+            doStepMethodHandle.invoke(localSearchPhase, stepScope);
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed doing step (" + stepScope.getStep() + ").", e);
+        }
+        localSearchPhase.stepEnded(stepScope);
+        phaseScope.setLastCompletedStepScope(stepScope);
+        return stepScope.getSelectedMoveCount();
+    }
+
+    public void tearDownIteration() {
+        localSearchPhase.phaseEnded(phaseScope);
+        solver.solvingEnded(solverScope);
+        solver.outerSolvingEnded(solverScope);
+        phaseScope = null;
+    }
+
+    public void teardownTrial() {
+        // No need to do anything.
+    }
+
+}
@@ -4,7 +4,6 @@ import java.io.File;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.machinereassignment.domain.MachineReassignment;
 import ai.timefold.solver.examples.machinereassignment.domain.MrProcessAssignment;
 import ai.timefold.solver.examples.machinereassignment.optional.score.MachineReassignmentIncrementalScoreCalculator;
@@ -18,7 +17,7 @@ public final class MachineReassignmentProblem
         extends AbstractProblem<MachineReassignment> {
 
     public MachineReassignmentProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.MACHINE_REASSIGNMENT, scoreDirectorType);
+        super(Example.MACHINE_REASSIGNMENT, scoreDirectorType, MachineReassignment.class, MrProcessAssignment.class);
     }
 
     @Override
@@ -35,14 +34,13 @@ public final class MachineReassignmentProblem
     }
 
     @Override
-    protected SolutionDescriptor<MachineReassignment> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(MachineReassignment.class, MrProcessAssignment.class);
+    protected SolutionFileIO<MachineReassignment> createSolutionFileIO() {
+        return new MachineReassignmentSolutionFileIO();
     }
 
     @Override
-    protected MachineReassignment readOriginalSolution() {
-        final SolutionFileIO<MachineReassignment> solutionFileIO = new MachineReassignmentSolutionFileIO();
-        return solutionFileIO.read(new File("data/machinereassignment-a23.json"));
+    protected File getDatasetFile() {
+        return new File("data/machinereassignment-a23.json");
     }
 
 }
@@ -5,18 +5,18 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.meetingscheduling.domain.MeetingAssignment;
 import ai.timefold.solver.examples.meetingscheduling.domain.MeetingSchedule;
 import ai.timefold.solver.examples.meetingscheduling.persistence.MeetingSchedulingXlsxFileIO;
 import ai.timefold.solver.examples.meetingscheduling.score.MeetingSchedulingConstraintProvider;
 import ai.timefold.solver.jmh.scoredirector.Example;
 import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 
 public final class MeetingSchedulingProblem extends AbstractProblem<MeetingSchedule> {
 
     public MeetingSchedulingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.MEETING_SCHEDULING, scoreDirectorType);
+        super(Example.MEETING_SCHEDULING, scoreDirectorType, MeetingSchedule.class, MeetingAssignment.class);
     }
 
     @Override
@@ -33,14 +33,13 @@ public final class MeetingSchedulingProblem extends AbstractProblem<MeetingSched
     }
 
     @Override
-    protected SolutionDescriptor<MeetingSchedule> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(MeetingSchedule.class, MeetingAssignment.class);
+    protected SolutionFileIO<MeetingSchedule> createSolutionFileIO() {
+        return new MeetingSchedulingXlsxFileIO();
     }
 
     @Override
-    protected MeetingSchedule readOriginalSolution() {
-        return new MeetingSchedulingXlsxFileIO()
-                .read(new File("data/meetingscheduling-100-320-5.xlsx"));
+    protected File getDatasetFile() {
+        return new File("data/meetingscheduling-100-320-5.xlsx");
     }
 
 }
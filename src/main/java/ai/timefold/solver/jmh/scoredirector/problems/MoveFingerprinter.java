@@ -0,0 +1,68 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.time.temporal.TemporalAccessor;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import ai.timefold.solver.core.config.util.ConfigUtils;
+import ai.timefold.solver.core.impl.domain.common.accessor.MemberAccessor;
+import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import ai.timefold.solver.core.impl.heuristic.move.Move;
+
+/**
+ * Identifies a move by its type, which includes the variable it changes,
+ * and by the planning ids of its planning entities and planning values.
+ * Unlike the description of the move, which may include hash codes or the current values of the variables,
+ * those are the same in every JVM and on every working solution which the move is rebased onto.
+ */
+final class MoveFingerprinter {
+
+    private final SolutionDescriptor<?> solutionDescriptor;
+    private final Map<Class<?>, Optional<MemberAccessor>> planningIdAccessorMap = new HashMap<>();
+
+    MoveFingerprinter(SolutionDescriptor<?> solutionDescriptor) {
+        this.solutionDescriptor = solutionDescriptor;
+    }
+
+    int fingerprint(Move<?> move) {
+        return (move.getSimpleMoveTypeDescription() + " [" + joinPlanningIds(move.getPlanningEntities()) + "] -> ["
+                + joinPlanningIds(move.getPlanningValues()) + "]").hashCode();
+    }
+
+    private String joinPlanningIds(Collection<?> planningObjects) {
+        return planningObjects.stream()
+                .map(this::getPlanningId)
+                .collect(Collectors.joining(", "));
+    }
+
+    private String getPlanningId(Object planningObject) {
+        if (planningObject == null) { // Unassigned value.
+            return "null";
+        }
+        var planningObjectClass = planningObject.getClass();
+        var planningIdAccessor = planningIdAccessorMap.computeIfAbsent(planningObjectClass,
+                key -> Optional.ofNullable(ConfigUtils.findPlanningIdMemberAccessor(key,
+                        solutionDescriptor.getMemberAccessorFactory(), solutionDescriptor.getDomainAccessType())));
+        if (planningIdAccessor.isPresent()) {
+            return planningObjectClass.getSimpleName() + "#" + planningIdAccessor.get().executeGetter(planningObject);
+        }
+        if (isImmutable(planningObject)) {
+            return planningObject.toString();
+        }
+        throw new IllegalStateException("The planning object (" + planningObject + ") of class ("
+                + planningObjectClass.getName() + ") has no @PlanningId, so its moves can not be traced.");
+    }
+
+    /**
+     * Values of these types are equal in every JVM, and Timefold looks them up without a planning id too.
+     */
+    private static boolean isImmutable(Object planningObject) {
+        return planningObject instanceof Number || planningObject instanceof CharSequence
+                || planningObject instanceof Boolean || planningObject instanceof Character
+                || planningObject instanceof Enum<?> || planningObject instanceof TemporalAccessor;
+    }
+
+}
@@ -0,0 +1,162 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.zip.DataFormatException;
+
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records how long every move took, split into doing the move and calculating the score after it.
+ * Doing the move includes the variable listeners and, if the move is undone, the undo as well.
+ *
+ * <p>
+ * Every fork writes its histograms to the directory given by {@link #DIRECTORY_PROPERTY},
+ * and {@link #writeReport(Path, Path)} merges the histograms of all forks into percentiles
+ * per example and score director type.
+ */
+public final class MoveLatencyRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoveLatencyRecorder.class);
+
+    public static final String DIRECTORY_PROPERTY = "ai.timefold.solver.jmh.latencyDirectory";
+
+    private static final String FILE_EXTENSION = ".hdr";
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    public enum Phase {
+        MOVE,
+        SCORE,
+        TOTAL
+    }
+
+    public static Optional<Path> getDirectory() {
+        return Optional.ofNullable(System.getProperty(DIRECTORY_PROPERTY))
+                .map(Path::of);
+    }
+
+    /**
+     * Merges the histograms of all forks, and writes their percentiles as CSV.
+     *
+     * @param latencyDirectory where the forks wrote their histograms
+     * @param csvPath where to write the percentiles
+     */
+    public static void writeReport(Path latencyDirectory, Path csvPath) throws IOException {
+        if (!Files.isDirectory(latencyDirectory)) {
+            LOGGER.warn("No move latencies found in {}.", latencyDirectory);
+            return;
+        }
+        var histogramMap = new TreeMap<String, Map<Phase, Histogram>>();
+        try (var pathStream = Files.list(latencyDirectory)) {
+            for (var path : pathStream.filter(p -> p.toString().endsWith(FILE_EXTENSION)).sorted().toList()) {
+                var fileName = path.getFileName().toString();
+                // File name is <example>-<score director type>-<fork>.hdr; neither enum contains a dash.
+                var key = fileName.substring(0, fileName.indexOf('-', fileName.indexOf('-') + 1));
+                var forkHistogramMap = read(path);
+                histogramMap.merge(key, forkHistogramMap, (merged, fork) -> {
+                    merged.forEach((phase, histogram) -> histogram.add(fork.get(phase)));
+                    return merged;
+                });
+            }
+        }
+        var csvLineList = new ArrayList<String>();
+        csvLineList.add("\"Example\",\"Score director type\",\"Phase\",\"Moves\",\"Mean (ns)\",\"p50 (ns)\","
+                + "\"p99 (ns)\",\"p99.9 (ns)\",\"Max (ns)\"");
+        histogramMap.forEach((key, phaseHistogramMap) -> {
+            var separatorIndex = key.indexOf('-');
+            var example = key.substring(0, separatorIndex);
+            var scoreDirectorType = key.substring(separatorIndex + 1);
+            phaseHistogramMap.forEach((phase, histogram) -> csvLineList.add(String.format(Locale.ROOT,
+                    "\"%s\",\"%s\",\"%s\",%d,%.1f,%d,%d,%d,%d", example, scoreDirectorType, phase,
+                    histogram.getTotalCount(), histogram.getMean(), histogram.getValueAtPercentile(50.0),
+                    histogram.getValueAtPercentile(99.0), histogram.getValueAtPercentile(99.9),
+                    histogram.getMaxValue())));
+        });
+        Files.write(csvPath, csvLineList);
+        LOGGER.info("Move latencies written to {}.", csvPath);
+    }
+
+    private static Map<Phase, Histogram> read(Path path) throws IOException {
+        var buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        var histogramMap = new EnumMap<Phase, Histogram>(Phase.class);
+        for (var phase : Phase.values()) {
+            var length = buffer.getInt();
+            var histogramBuffer = buffer.slice(buffer.position(), length);
+            try {
+                histogramMap.put(phase, Histogram.decodeFromCompressedByteBuffer(histogramBuffer, 0L));
+            } catch (DataFormatException e) {
+                throw new IOException("Failed reading move latencies " + path + ".", e);
+            }
+            buffer.position(buffer.position() + length);
+        }
+        return histogramMap;
+    }
+
+    private final Map<Phase, Histogram> histogramMap = new EnumMap<>(Phase.class);
+    private final Histogram moveHistogram;
+    private final Histogram scoreHistogram;
+    private final Histogram totalHistogram;
+
+    public MoveLatencyRecorder() {
+        for (var phase : Phase.values()) {
+            histogramMap.put(phase, new Histogram(SIGNIFICANT_DIGITS)); // Auto-resizing.
+        }
+        this.moveHistogram = histogramMap.get(Phase.MOVE);
+        this.scoreHistogram = histogramMap.get(Phase.SCORE);
+        this.totalHistogram = histogramMap.get(Phase.TOTAL);
+    }
+
+    void record(long moveNanos, long scoreNanos) {
+        moveHistogram.recordValue(moveNanos);
+        scoreHistogram.recordValue(scoreNanos);
+        totalHistogram.recordValue(moveNanos + scoreNanos);
+    }
+
+    /**
+     * To throw away what was recorded during warmup.
+     */
+    public void reset() {
+        histogramMap.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Writes all histograms of this fork to a file of its own.
+     */
+    public void write(Path latencyDirectory, Example example, ScoreDirectorType scoreDirectorType) {
+        try {
+            Files.createDirectories(latencyDirectory);
+            var path = Files.createTempFile(latencyDirectory, example.name() + "-" + scoreDirectorType.name() + "-",
+                    FILE_EXTENSION);
+            var capacity = histogramMap.values().stream()
+                    .mapToInt(histogram -> Integer.BYTES + histogram.getNeededByteBufferCapacity())
+                    .sum() + 1024; // Compression may add a little for nearly empty histograms.
+            var buffer = ByteBuffer.allocate(capacity);
+            for (var phase : Phase.values()) {
+                var lengthPosition = buffer.position();
+                buffer.putInt(0); // Length is only known after encoding.
+                var length = histogramMap.get(phase).encodeIntoCompressedByteBuffer(buffer);
+                buffer.putInt(lengthPosition, length);
+            }
+            Files.write(path, Arrays.copyOf(buffer.array(), buffer.position()));
+            LOGGER.info("Move latencies of {} on {} written to {}.", example, scoreDirectorType, path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing move latencies to " + latencyDirectory + ".", e);
+        }
+    }
+
+}
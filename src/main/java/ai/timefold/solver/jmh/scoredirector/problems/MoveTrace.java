@@ -0,0 +1,225 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+
+import ai.timefold.solver.jmh.common.SolverVersion;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A fixed sequence of moves of an example, together with the decision whether each of them is undone.
+ * The sequence only depends on the example, the seed and the length of the trace;
+ * it is therefore the same for every score director type, and every fork of every type replays exactly the same moves.
+ *
+ * <p>
+ * Moves can not be stored as such, as they point to the objects of one particular working solution.
+ * Instead, every fork records the moves once per trial, by running the seeded move selector on a score director
+ * which calculates no score, and rebases them onto the working solution of the benchmarked score director
+ * before every iteration.
+ * The trace on disk holds a {@link MoveFingerprinter fingerprint} of every move, made of the planning ids
+ * of what it changes, against which the moves of every fork are checked;
+ * it is keyed by the example, the hash of its dataset file, the solver version, the seed and the length.
+ */
+public final class MoveTrace {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MoveTrace.class);
+
+    public static final String REPLAY_PROPERTY = "ai.timefold.solver.jmh.moveTrace.replay";
+    public static final String SEED_PROPERTY = "ai.timefold.solver.jmh.moveTrace.seed";
+    public static final String LENGTH_PROPERTY = "ai.timefold.solver.jmh.moveTrace.length";
+    public static final long DEFAULT_SEED = 0L;
+    public static final int DEFAULT_LENGTH = 100_000;
+
+    private static final int MAGIC = 0x54464D54; // "TFMT"
+    private static final int FORMAT_VERSION = 2; // Fingerprints of version 1 were hashes of the move descriptions.
+    private static final Path TRACE_DIRECTORY = Path.of("target", "traces");
+
+    static boolean isReplayEnabled() {
+        return Boolean.getBoolean(REPLAY_PROPERTY);
+    }
+
+    static long getConfiguredSeed() {
+        return Long.getLong(SEED_PROPERTY, DEFAULT_SEED);
+    }
+
+    static int getConfiguredLength() {
+        return Integer.getInteger(LENGTH_PROPERTY, DEFAULT_LENGTH);
+    }
+
+    /**
+     * Records the trace of each of the given examples, unless it is already on disk.
+     * Forks still record the moves themselves, but they no longer race to write the trace.
+     *
+     * @param examples never null
+     */
+    public static void record(Collection<Example> examples, long seed, int length) {
+        for (var example : examples) {
+            var scoreDirectorType = Arrays.stream(ScoreDirectorType.values())
+                    .filter(example::isSupportedOn)
+                    .findFirst()
+                    .orElseThrow();
+            var problem = (AbstractProblem<?>) example.create(scoreDirectorType);
+            var path = getPath(problem, seed, length);
+            if (Files.exists(path)) {
+                LOGGER.info("Move trace of example {} already recorded at {}.", example, path);
+                continue;
+            }
+            var start = System.nanoTime();
+            problem.recordMoves(seed, length, move -> {
+                // Only the trace is needed here.
+            }).store(example, path);
+            ProblemInitializer.release(problem); // The forks read it again, this harness does not.
+            LOGGER.info("Move trace of example {} recorded in {} ms.", example, (System.nanoTime() - start) / 1_000_000L);
+        }
+    }
+
+    /**
+     * Checks the freshly recorded trace against the one on disk, or stores it if there is none yet.
+     *
+     * @throws IllegalStateException if the moves differ from those of the trace on disk
+     */
+    static void verify(AbstractProblem<?> problem, MoveTrace recordedTrace) {
+        var example = problem.getExample();
+        var path = getPath(problem, recordedTrace.seed, recordedTrace.getLength());
+        var storedTrace = load(example, path);
+        if (storedTrace.isEmpty()) {
+            recordedTrace.store(example, path);
+        } else if (!storedTrace.get().equals(recordedTrace)) {
+            throw new IllegalStateException("Moves of example " + example + " differ from its move trace " + path
+                    + ". Either move selection is not reproducible, or the trace is stale and needs to be deleted.");
+        } else {
+            LOGGER.info("Moves of example {} match move trace {}.", example, path);
+        }
+    }
+
+    private static Path getPath(AbstractProblem<?> problem, long seed, int length) {
+        var solverVersion = SolverVersion.get().replaceAll("[^A-Za-z0-9._-]+", "_");
+        var datasetHash = SolutionSnapshotStore.hash(problem.getDatasetFile().toPath());
+        return TRACE_DIRECTORY.resolve(solverVersion)
+                .resolve(problem.getExample().name() + "-" + datasetHash + "-" + seed + "-" + length + ".trace");
+    }
+
+    private static Optional<MoveTrace> load(Example example, Path path) {
+        if (!Files.exists(path)) {
+            LOGGER.info("No move trace of example {} found at {}.", example, path);
+            return Optional.empty();
+        }
+        try (var inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (inputStream.readInt() != MAGIC || inputStream.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a move trace of format version " + FORMAT_VERSION + ".");
+            }
+            var seed = inputStream.readLong();
+            var fingerprints = new int[inputStream.readInt()];
+            for (var i = 0; i < fingerprints.length; i++) {
+                fingerprints[i] = inputStream.readInt();
+            }
+            var undoWords = new long[inputStream.readInt()];
+            for (var i = 0; i < undoWords.length; i++) {
+                undoWords[i] = inputStream.readLong();
+            }
+            return Optional.of(new MoveTrace(seed, fingerprints, BitSet.valueOf(undoWords)));
+        } catch (IOException | RuntimeException e) { // Corrupt trace; throw it away and record again.
+            LOGGER.warn("Failed reading move trace {} of example {}, discarding.", path, example, e);
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException ex) {
+                LOGGER.warn("Failed deleting move trace {}.", path, ex);
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final long seed;
+    private final int[] fingerprints;
+    private final BitSet undoSet;
+
+    MoveTrace(long seed, int length) {
+        this(seed, new int[length], new BitSet(length));
+    }
+
+    private MoveTrace(long seed, int[] fingerprints, BitSet undoSet) {
+        this.seed = seed;
+        this.fingerprints = fingerprints;
+        this.undoSet = undoSet;
+    }
+
+    void set(int index, int fingerprint, boolean undo) {
+        fingerprints[index] = fingerprint;
+        undoSet.set(index, undo);
+    }
+
+    int getFingerprint(int index) {
+        return fingerprints[index];
+    }
+
+    int getLength() {
+        return fingerprints.length;
+    }
+
+    boolean isUndone(int index) {
+        return undoSet.get(index);
+    }
+
+    private void store(Example example, Path path) {
+        try {
+            var directory = Files.createDirectories(path.getParent());
+            // Write aside and move in place, so that a concurrent reader never sees a partial trace.
+            var temporaryPath = Files.createTempFile(directory, example.name(), ".trace");
+            try {
+                try (var outputStream =
+                        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryPath)))) {
+                    outputStream.writeInt(MAGIC);
+                    outputStream.writeInt(FORMAT_VERSION);
+                    outputStream.writeLong(seed);
+                    outputStream.writeInt(fingerprints.length);
+                    for (var fingerprint : fingerprints) {
+                        outputStream.writeInt(fingerprint);
+                    }
+                    var undoWords = undoSet.toLongArray();
+                    outputStream.writeInt(undoWords.length);
+                    for (var undoWord : undoWords) {
+                        outputStream.writeLong(undoWord);
+                    }
+                }
+                Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+            LOGGER.info("Move trace of example {} stored to {}.", example, path);
+        } catch (IOException | RuntimeException e) { // Every fork records the moves anyway; only the check is lost.
+            LOGGER.warn("Failed storing move trace {} of example {}.", path, example, e);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof MoveTrace other)) {
+            return false;
+        }
+        return seed == other.seed && Arrays.equals(fingerprints, other.fingerprints) && undoSet.equals(other.undoSet);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(seed, Arrays.hashCode(fingerprints), undoSet);
+    }
+
+}
@@ -0,0 +1,157 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.lang.reflect.ParameterizedType;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+
+import ai.timefold.solver.core.impl.heuristic.selector.common.nearby.NearbyDistanceMeter;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+/**
+ * What nearby selection computes before it selects anything:
+ * for every origin, all the destinations, sorted by the distance from that origin.
+ * The Enterprise Edition builds the same from the same {@link NearbyDistanceMeter}, one origin at a time;
+ * here all the origins are built at once, so that the time and the memory of the entire matrix can be measured
+ * with the community edition alone.
+ * Origins and destinations are all the planning entities and problem facts
+ * of the types which the distance meter takes.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class NearbyDistanceMatrix<Solution_> {
+
+    /**
+     * @param example must {@link Example#getNearbyDistanceMeter() have a distance meter}
+     * @return never null
+     */
+    public static NearbyDistanceMatrix<?> create(Example example) {
+        // The matrix does not depend on the score director type.
+        var scoreDirectorType = AbstractProblem.getAnySupportedScoreDirectorType(example);
+        return new NearbyDistanceMatrix<>((AbstractProblem<?>) example.create(scoreDirectorType));
+    }
+
+    /**
+     * Same as {@link #create(Example)}, but on a synthetic dataset instead of the bundled one.
+     *
+     * @see Example#create(ScoreDirectorType, int, long)
+     */
+    public static NearbyDistanceMatrix<?> create(Example example, int entityCount, long seed) {
+        var scoreDirectorType = AbstractProblem.getAnySupportedScoreDirectorType(example);
+        return new NearbyDistanceMatrix<>((AbstractProblem<?>) example.create(scoreDirectorType, entityCount, seed));
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final NearbyDistanceMeter<Object, Object> distanceMeter;
+    private final Class<?> originClass;
+    private final Class<?> destinationClass;
+
+    private Object[] origins;
+    private Object[] destinations;
+    private Object[][] sortedDestinations;
+
+    @SuppressWarnings("unchecked")
+    private NearbyDistanceMatrix(AbstractProblem<Solution_> problem) {
+        this.problem = Objects.requireNonNull(problem);
+        var example = problem.getExample();
+        var distanceMeterClass = example.getNearbyDistanceMeter()
+                .orElseThrow(() -> new IllegalArgumentException("Example (" + example
+                        + ") has no nearby distance meter."));
+        try {
+            this.distanceMeter = (NearbyDistanceMeter<Object, Object>) distanceMeterClass.getConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed instantiating nearby distance meter (" + distanceMeterClass + ").",
+                    e);
+        }
+        var typeArguments = getTypeArguments(distanceMeterClass);
+        this.originClass = typeArguments[0];
+        this.destinationClass = typeArguments[1];
+    }
+
+    /**
+     * @return origin class and destination class, in that order; {@link Object} where they are not classes
+     */
+    private static Class<?>[] getTypeArguments(Class<?> distanceMeterClass) {
+        for (var genericInterface : distanceMeterClass.getGenericInterfaces()) {
+            if (genericInterface instanceof ParameterizedType parameterizedType
+                    && parameterizedType.getRawType() == NearbyDistanceMeter.class) {
+                return Arrays.stream(parameterizedType.getActualTypeArguments())
+                        .map(typeArgument -> typeArgument instanceof Class<?> clz ? clz : Object.class)
+                        .toArray(Class<?>[]::new);
+            }
+        }
+        return new Class<?>[] { Object.class, Object.class };
+    }
+
+    public void setupTrial() {
+        var solution = ProblemInitializer.getSolution(problem); // Expensive.
+        var originSet = new LinkedHashSet<>(); // Problem facts may also be reachable from entities.
+        var destinationSet = new LinkedHashSet<>();
+        problem.getSolutionDescriptor().visitAll(solution, object -> {
+            if (originClass.isInstance(object)) {
+                originSet.add(object);
+            }
+            if (destinationClass.isInstance(object)) {
+                destinationSet.add(object);
+            }
+        });
+        if (originSet.isEmpty() || destinationSet.isEmpty()) {
+            throw new IllegalStateException("Impossible state: no origins (" + originClass + ") or destinations ("
+                    + destinationClass + ") in the solution of example (" + problem.getExample() + ").");
+        }
+        origins = originSet.toArray();
+        destinations = destinationSet.toArray();
+    }
+
+    /**
+     * Sorts the destinations by distance for every origin, leaving out the origin itself.
+     * Destinations at the same distance keep their order from the solution, so that the matrix is reproducible.
+     *
+     * @return how many destinations the matrix holds, over all origins
+     */
+    public long build() {
+        sortedDestinations = new Object[origins.length][];
+        var destinationIndices = new Integer[destinations.length];
+        var distances = new double[destinations.length];
+        var entryCount = 0L;
+        for (var originIndex = 0; originIndex < origins.length; originIndex++) {
+            var origin = origins[originIndex];
+            var destinationCount = 0;
+            for (var destinationIndex = 0; destinationIndex < destinations.length; destinationIndex++) {
+                var destination = destinations[destinationIndex];
+                if (destination == origin) {
+                    continue;
+                }
+                distances[destinationIndex] = distanceMeter.getNearbyDistance(origin, destination);
+                destinationIndices[destinationCount++] = destinationIndex;
+            }
+            Arrays.sort(destinationIndices, 0, destinationCount,
+                    (left, right) -> Double.compare(distances[left], distances[right]));
+            var sorted = new Object[destinationCount];
+            for (var i = 0; i < destinationCount; i++) {
+                sorted[i] = destinations[destinationIndices[i]];
+            }
+            sortedDestinations[originIndex] = sorted;
+            entryCount += destinationCount;
+        }
+        return entryCount;
+    }
+
+    public int getOriginCount() {
+        return origins.length;
+    }
+
+    /**
+     * Makes the matrix garbage, so that the next {@link #build()} starts from nothing.
+     */
+    public void clear() {
+        sortedDestinations = null;
+    }
+
+    public void teardownTrial() {
+        // No need to do anything.
+    }
+
+}
@@ -0,0 +1,160 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import ai.timefold.solver.examples.nurserostering.domain.Employee;
+import ai.timefold.solver.examples.nurserostering.domain.NurseRoster;
+import ai.timefold.solver.examples.nurserostering.domain.Shift;
+import ai.timefold.solver.examples.nurserostering.domain.ShiftAssignment;
+import ai.timefold.solver.examples.nurserostering.domain.ShiftDate;
+import ai.timefold.solver.examples.nurserostering.domain.request.DayOffRequest;
+import ai.timefold.solver.examples.nurserostering.domain.request.DayOnRequest;
+import ai.timefold.solver.examples.nurserostering.domain.request.ShiftOffRequest;
+import ai.timefold.solver.examples.nurserostering.domain.request.ShiftOnRequest;
+import ai.timefold.solver.examples.nurserostering.domain.skill.SkillProficiency;
+
+/**
+ * Generates nurse rostering datasets of any size out of the bundled one.
+ * Contracts, patterns, skills and the planning window with its shifts are far too intricate to make up,
+ * so they stay as they are; only the staffing grows or shrinks.
+ * Every shift requires employees in the same proportion as in the bundled dataset,
+ * and there are as many employees per shift assignment as in the bundled dataset.
+ * Every generated employee takes the contract, the skills and the requests of a random bundled employee.
+ * Every shift assignment goes to a random employee, so that no CH is necessary.
+ */
+final class NurseRosteringDatasetGenerator {
+
+    static NurseRoster generate(NurseRoster template, int shiftAssignmentCount, Random random) {
+        var templateEmployeeList = template.getEmployeeList();
+        var templateShiftAssignmentCount = template.getShiftAssignmentList().size();
+        var scale = shiftAssignmentCount / (double) templateShiftAssignmentCount;
+        var shiftAssignmentList = generateShiftAssignments(template.getShiftList(), shiftAssignmentCount, scale);
+
+        var employeeCount = Math.max(1, (int) Math.round(templateEmployeeList.size() * scale));
+        var templateSkillMap = new HashMap<Employee, List<SkillProficiency>>();
+        for (var skillProficiency : template.getSkillProficiencyList()) {
+            templateSkillMap.computeIfAbsent(skillProficiency.getEmployee(), employee -> new ArrayList<>())
+                    .add(skillProficiency);
+        }
+        var employeeList = new ArrayList<Employee>(employeeCount);
+        var skillProficiencyList = new ArrayList<SkillProficiency>();
+        var dayOffRequestList = new ArrayList<DayOffRequest>();
+        var dayOnRequestList = new ArrayList<DayOnRequest>();
+        var shiftOffRequestList = new ArrayList<ShiftOffRequest>();
+        var shiftOnRequestList = new ArrayList<ShiftOnRequest>();
+        for (var i = 0; i < employeeCount; i++) {
+            var templateEmployee = templateEmployeeList.get(random.nextInt(templateEmployeeList.size()));
+            var employee = new Employee();
+            employee.setId((long) i);
+            employee.setCode(Integer.toString(i));
+            employee.setName(Integer.toString(i));
+            employee.setContract(templateEmployee.getContract());
+            for (var templateSkillProficiency : templateSkillMap.getOrDefault(templateEmployee, List.of())) {
+                var skillProficiency = new SkillProficiency();
+                skillProficiency.setId((long) skillProficiencyList.size());
+                skillProficiency.setEmployee(employee);
+                skillProficiency.setSkill(templateSkillProficiency.getSkill());
+                skillProficiencyList.add(skillProficiency);
+            }
+            var dayOffRequestMap = new HashMap<ShiftDate, DayOffRequest>();
+            for (var templateRequest : templateEmployee.getDayOffRequestMap().values()) {
+                var request = new DayOffRequest();
+                request.setId((long) dayOffRequestList.size());
+                request.setEmployee(employee);
+                request.setShiftDate(templateRequest.getShiftDate());
+                request.setWeight(templateRequest.getWeight());
+                dayOffRequestMap.put(request.getShiftDate(), request);
+                dayOffRequestList.add(request);
+            }
+            employee.setDayOffRequestMap(dayOffRequestMap);
+            var dayOnRequestMap = new HashMap<ShiftDate, DayOnRequest>();
+            for (var templateRequest : templateEmployee.getDayOnRequestMap().values()) {
+                var request = new DayOnRequest();
+                request.setId((long) dayOnRequestList.size());
+                request.setEmployee(employee);
+                request.setShiftDate(templateRequest.getShiftDate());
+                request.setWeight(templateRequest.getWeight());
+                dayOnRequestMap.put(request.getShiftDate(), request);
+                dayOnRequestList.add(request);
+            }
+            employee.setDayOnRequestMap(dayOnRequestMap);
+            var shiftOffRequestMap = new HashMap<Shift, ShiftOffRequest>();
+            for (var templateRequest : templateEmployee.getShiftOffRequestMap().values()) {
+                var request = new ShiftOffRequest();
+                request.setId((long) shiftOffRequestList.size());
+                request.setEmployee(employee);
+                request.setShift(templateRequest.getShift());
+                request.setWeight(templateRequest.getWeight());
+                shiftOffRequestMap.put(request.getShift(), request);
+                shiftOffRequestList.add(request);
+            }
+            employee.setShiftOffRequestMap(shiftOffRequestMap);
+            var shiftOnRequestMap = new HashMap<Shift, ShiftOnRequest>();
+            for (var templateRequest : templateEmployee.getShiftOnRequestMap().values()) {
+                var request = new ShiftOnRequest();
+                request.setId((long) shiftOnRequestList.size());
+                request.setEmployee(employee);
+                request.setShift(templateRequest.getShift());
+                request.setWeight(templateRequest.getWeight());
+                shiftOnRequestMap.put(request.getShift(), request);
+                shiftOnRequestList.add(request);
+            }
+            employee.setShiftOnRequestMap(shiftOnRequestMap);
+            employeeList.add(employee);
+        }
+        for (var shiftAssignment : shiftAssignmentList) {
+            shiftAssignment.setEmployee(employeeList.get(random.nextInt(employeeCount)));
+        }
+
+        // The template was read just for this, so it can become the generated dataset.
+        template.setCode(template.getCode() + "-generated-" + shiftAssignmentCount);
+        template.setEmployeeList(employeeList);
+        template.setSkillProficiencyList(skillProficiencyList);
+        template.setDayOffRequestList(dayOffRequestList);
+        template.setDayOnRequestList(dayOnRequestList);
+        template.setShiftOffRequestList(shiftOffRequestList);
+        template.setShiftOnRequestList(shiftOnRequestList);
+        template.setShiftAssignmentList(shiftAssignmentList);
+        template.setScore(null);
+        return template;
+    }
+
+    /**
+     * Scales the required employees of every shift, so that they add up to exactly the requested count.
+     */
+    private static List<ShiftAssignment> generateShiftAssignments(List<Shift> shiftList, int shiftAssignmentCount,
+            double scale) {
+        Map<Shift, Integer> requiredEmployeeSizeMap = new HashMap<>(shiftList.size());
+        var remainingCount = shiftAssignmentCount;
+        for (var shift : shiftList) {
+            var requiredEmployeeSize = (int) Math.floor(shift.getRequiredEmployeeSize() * scale);
+            requiredEmployeeSizeMap.put(shift, requiredEmployeeSize);
+            remainingCount -= requiredEmployeeSize;
+        }
+        for (var i = 0; remainingCount > 0; i = (i + 1) % shiftList.size(), remainingCount--) {
+            requiredEmployeeSizeMap.merge(shiftList.get(i), 1, Integer::sum);
+        }
+        var shiftAssignmentList = new ArrayList<ShiftAssignment>(shiftAssignmentCount);
+        for (var shift : shiftList) {
+            var requiredEmployeeSize = requiredEmployeeSizeMap.get(shift);
+            shift.setRequiredEmployeeSize(requiredEmployeeSize);
+            for (var indexInShift = 0; indexInShift < requiredEmployeeSize; indexInShift++) {
+                var shiftAssignment = new ShiftAssignment();
+                shiftAssignment.setId((long) shiftAssignmentList.size());
+                shiftAssignment.setShift(shift);
+                shiftAssignment.setIndexInShift(indexInShift);
+                shiftAssignmentList.add(shiftAssignment);
+            }
+        }
+        return shiftAssignmentList;
+    }
+
+    private NurseRosteringDatasetGenerator() {
+        // No instances.
+    }
+
+}
@@ -2,21 +2,22 @@ package ai.timefold.solver.jmh.scoredirector.problems;
 
 import java.io.File;
 import java.util.Objects;
+import java.util.Optional;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.nurserostering.domain.NurseRoster;
 import ai.timefold.solver.examples.nurserostering.domain.ShiftAssignment;
 import ai.timefold.solver.examples.nurserostering.persistence.NurseRosterSolutionFileIO;
 import ai.timefold.solver.examples.nurserostering.score.NurseRosteringConstraintProvider;
 import ai.timefold.solver.jmh.scoredirector.Example;
 import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 
 public final class NurseRosteringProblem extends AbstractProblem<NurseRoster> {
 
     public NurseRosteringProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.NURSE_ROSTERING, scoreDirectorType);
+        super(Example.NURSE_ROSTERING, scoreDirectorType, NurseRoster.class, ShiftAssignment.class);
     }
 
     @Override
@@ -33,14 +34,20 @@ public final class NurseRosteringProblem extends AbstractProblem<NurseRoster> {
     }
 
     @Override
-    protected SolutionDescriptor<NurseRoster> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(NurseRoster.class, ShiftAssignment.class);
+    protected SolutionFileIO<NurseRoster> createSolutionFileIO() {
+        return new NurseRosterSolutionFileIO();
     }
 
     @Override
-    protected NurseRoster readOriginalSolution() {
-        return new NurseRosterSolutionFileIO()
-                .read(new File("data/nurserostering-medium_late01.json"));
+    protected Optional<DatasetGenerator<NurseRoster>> getDatasetGenerator() {
+        // Generated out of the bundled dataset, so that the generated ones have the same contracts and skills.
+        return Optional.of((entityCount, random) -> NurseRosteringDatasetGenerator
+                .generate(readSolution(getDatasetFile()), entityCount, random));
+    }
+
+    @Override
+    protected File getDatasetFile() {
+        return new File("data/nurserostering-medium_late01.json");
     }
 
 }
@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.pas.domain.BedDesignation;
 import ai.timefold.solver.examples.pas.domain.PatientAdmissionSchedule;
 import ai.timefold.solver.examples.pas.persistence.PatientAdmissionScheduleSolutionFileIO;
@@ -18,7 +17,8 @@ public final class PatientAdmissionSchedulingProblem
         extends AbstractProblem<PatientAdmissionSchedule> {
 
     public PatientAdmissionSchedulingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.PATIENT_ADMISSION_SCHEDULING, scoreDirectorType);
+        super(Example.PATIENT_ADMISSION_SCHEDULING, scoreDirectorType,
+                PatientAdmissionSchedule.class, BedDesignation.class);
     }
 
     @Override
@@ -35,14 +35,13 @@ public final class PatientAdmissionSchedulingProblem
     }
 
     @Override
-    protected SolutionDescriptor<PatientAdmissionSchedule> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(PatientAdmissionSchedule.class, BedDesignation.class);
+    protected SolutionFileIO<PatientAdmissionSchedule> createSolutionFileIO() {
+        return new PatientAdmissionScheduleSolutionFileIO();
     }
 
     @Override
-    protected PatientAdmissionSchedule readOriginalSolution() {
-        final SolutionFileIO<PatientAdmissionSchedule> solutionFileIO = new PatientAdmissionScheduleSolutionFileIO();
-        return solutionFileIO.read(new File("data/pas-12.json"));
+    protected File getDatasetFile() {
+        return new File("data/pas-12.json");
     }
 
 }
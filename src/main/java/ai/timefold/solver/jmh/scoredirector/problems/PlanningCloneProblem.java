@@ -0,0 +1,97 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.domain.common.DomainAccessType;
+import ai.timefold.solver.core.api.domain.solution.cloner.SolutionCloner;
+import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
+import ai.timefold.solver.jmh.scoredirector.Example;
+
+/**
+ * Planning clones the initialized solution of an example, the same way the score director does
+ * when it sets up a working solution and the solver does on every new best solution.
+ * With {@link DomainAccessType#REFLECTION}, that is the default cloner, which accesses fields through reflection;
+ * with {@link DomainAccessType#GIZMO}, it is a cloner generated for the domain at runtime,
+ * which requires Gizmo on the classpath.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class PlanningCloneProblem<Solution_> {
+
+    /**
+     * @return never null
+     */
+    public static PlanningCloneProblem<?> create(Example example, DomainAccessType domainAccessType) {
+        // Cloning does not depend on the score director type.
+        var scoreDirectorType = AbstractProblem.getAnySupportedScoreDirectorType(example);
+        return new PlanningCloneProblem<>((AbstractProblem<?>) example.create(scoreDirectorType), domainAccessType);
+    }
+
+    /**
+     * Does not read the dataset, only generates the cloner, and is therefore cheap enough to call before every run.
+     *
+     * @return true if the cloner can be built for the domain of the example
+     */
+    public static boolean isSupported(Example example, DomainAccessType domainAccessType) {
+        try {
+            create(example, domainAccessType).buildSolutionCloner();
+            return true;
+        } catch (RuntimeException | LinkageError e) { // Gizmo is an optional dependency of the solver.
+            return false;
+        }
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final DomainAccessType domainAccessType;
+
+    private Solution_ originalSolution;
+    private SolutionCloner<Solution_> solutionCloner;
+
+    private PlanningCloneProblem(AbstractProblem<Solution_> problem, DomainAccessType domainAccessType) {
+        this.problem = Objects.requireNonNull(problem);
+        this.domainAccessType = Objects.requireNonNull(domainAccessType);
+    }
+
+    private SolutionCloner<Solution_> buildSolutionCloner() {
+        var solutionDescriptor = problem.getSolutionDescriptor();
+        if (domainAccessType == solutionDescriptor.getDomainAccessType()) { // The one the score director uses.
+            return solutionDescriptor.getSolutionCloner();
+        }
+        return SolutionDescriptor.buildSolutionDescriptor(domainAccessType, solutionDescriptor.getSolutionClass(),
+                Map.of(), Map.of(), new ArrayList<>(solutionDescriptor.getEntityClassSet()))
+                .getSolutionCloner();
+    }
+
+    public void setupTrial() {
+        originalSolution = ProblemInitializer.getSolution(problem); // Expensive.
+        solutionCloner = buildSolutionCloner();
+        var solutionDescriptor = problem.getSolutionDescriptor();
+        var clone = solutionCloner.cloneSolution(originalSolution);
+        if (clone == originalSolution
+                || solutionDescriptor.getGenuineEntityCount(clone) != getEntityCount()) {
+            throw new IllegalStateException("Impossible state: cloner (" + solutionCloner.getClass()
+                    + ") did not clone the solution of example (" + problem.getExample() + ").");
+        }
+    }
+
+    /**
+     * @return how many genuine planning entities every clone has
+     */
+    public int getEntityCount() {
+        return problem.getSolutionDescriptor().getGenuineEntityCount(originalSolution);
+    }
+
+    /**
+     * @return the clone, in order to prevent results from being optimized away
+     */
+    public Solution_ runInvocation() {
+        return solutionCloner.cloneSolution(originalSolution);
+    }
+
+    public void teardownTrial() {
+        // No need to do anything.
+    }
+
+}
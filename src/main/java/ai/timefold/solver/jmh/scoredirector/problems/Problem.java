@@ -2,14 +2,79 @@ package ai.timefold.solver.jmh.scoredirector.problems;
 
 public interface Problem {
 
+    /**
+     * Makes {@link #setupTrial()} generate a synthetic dataset of the given size, instead of reading the bundled one.
+     * The same seed always generates the same dataset.
+     * Only supported by examples which {@link #isGeneratable() have a generator};
+     * must be called before {@link #setupTrial()}.
+     *
+     * @param entityCount at least 1; how many planning entities the dataset has
+     * @param seed seed of the generator
+     */
+    void useGeneratedDataset(int entityCount, long seed);
+
+    /**
+     * @return true if {@link #useGeneratedDataset(int, long)} is supported
+     */
+    boolean isGeneratable();
+
+    /**
+     * Makes the move selector use nearby selection, with the distance meter of the example.
+     * Only supported by examples which {@link ai.timefold.solver.jmh.scoredirector.Example#getNearbyDistanceMeter()
+     * have a distance meter}, and only with
+     * {@link ai.timefold.solver.jmh.scoredirector.Example#isNearbySelectionAvailable() the Enterprise Edition}
+     * on the classpath; must be called before {@link #setupTrial()}.
+     */
+    void useNearbySelection();
+
     void setupTrial();
 
+    /**
+     * Creates a problem to run in another thread, next to this one.
+     * The copy shares this problem's score director factory and its original solution, both read-only,
+     * but it has everything else of its own, starting with the working solution.
+     * Can only be called after {@link #setupTrial()}; the copy must not be set up again on the trial level.
+     *
+     * @return never null
+     */
+    Problem copy();
+
     void setupIteration();
 
+    /**
+     * Prepares the next {@link #runInvocations(int)}, outside of the measurement.
+     * With a replayed move trace which would run out during the batch, starts it over with a fresh working solution.
+     *
+     * @param invocationCount the same as the next {@link #runInvocations(int)} gets; at most the length of the trace
+     */
+    void setupInvocations(int invocationCount);
+
     void setupInvocation();
 
     Object runInvocation();
 
+    /**
+     * Same as {@link #runInvocation()}, but records the latency of the move and of the score calculation.
+     *
+     * @param latencyRecorder never null
+     * @return in order to prevent results from being optimized away
+     */
+    Object runInvocation(MoveLatencyRecorder latencyRecorder);
+
+    /**
+     * Runs the given number of invocations back to back, each with its own setup and teardown,
+     * so that none of them pay for JMH's per-invocation fixtures.
+     * Everything this method does is measured: per move, its selection (or, with a replayed move trace,
+     * taking the next rebased move), the move and its undo, the score calculation and the bookkeeping of the step.
+     * A replayed move trace is never started over here, as that would measure rebasing the whole trace;
+     * it starts over in {@link #setupInvocations(int)}, which must be called before every batch,
+     * and this method fails fast if the trace would run out during the batch.
+     *
+     * @param invocationCount at least 1
+     * @return result of the last invocation, in order to prevent results from being optimized away
+     */
+    Object runInvocations(int invocationCount);
+
     void tearDownInvocation();
 
     void tearDownIteration();
@@ -1,36 +1,20 @@
 package ai.timefold.solver.jmh.scoredirector.problems;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.EnumMap;
-import java.util.EnumSet;
-import java.util.List;
 import java.util.Map;
-import java.util.Random;
-import java.util.function.Function;
-import java.util.function.Supplier;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.ReentrantLock;
 
-import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicPhaseConfig;
 import ai.timefold.solver.core.config.constructionheuristic.ConstructionHeuristicType;
-import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.config.solver.EnvironmentMode;
-import ai.timefold.solver.core.config.solver.monitoring.SolverMetric;
-import ai.timefold.solver.core.config.solver.random.RandomType;
-import ai.timefold.solver.core.config.solver.termination.TerminationConfig;
-import ai.timefold.solver.core.impl.constructionheuristic.DefaultConstructionHeuristicPhase;
-import ai.timefold.solver.core.impl.constructionheuristic.DefaultConstructionHeuristicPhaseFactory;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
-import ai.timefold.solver.core.impl.heuristic.HeuristicConfigPolicy;
-import ai.timefold.solver.core.impl.phase.scope.AbstractPhaseScope;
 import ai.timefold.solver.core.impl.score.director.InnerScoreDirectorFactory;
-import ai.timefold.solver.core.impl.solver.ClassInstanceCache;
-import ai.timefold.solver.core.impl.solver.DefaultSolver;
-import ai.timefold.solver.core.impl.solver.event.SolverEventSupport;
-import ai.timefold.solver.core.impl.solver.random.DefaultRandomFactory;
-import ai.timefold.solver.core.impl.solver.recaller.BestSolutionRecallerFactory;
-import ai.timefold.solver.core.impl.solver.scope.SolverScope;
-import ai.timefold.solver.core.impl.solver.termination.AbstractTermination;
-import ai.timefold.solver.core.impl.solver.termination.BasicPlumbingTermination;
-import ai.timefold.solver.core.impl.solver.termination.TerminationFactory;
 import ai.timefold.solver.jmh.scoredirector.Example;
 import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
 
@@ -40,24 +24,170 @@ import org.slf4j.LoggerFactory;
 /**
  * XLS-based examples can not read initialized solution from the file.
  * Therefore we have to initialize the solution ourselves, by running the CH on the fastest possible score director.
+ * The result is kept in {@link SolutionSnapshotStore}, so that the next fork can skip the CH entirely.
+ * Every example has its own lock, so that different examples can be loaded and initialized at the same time;
+ * see {@link #preload(Collection)}.
  */
 public final class ProblemInitializer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ProblemInitializer.class);
 
-    private static final Map<Example, Object> SOLUTIONS = new EnumMap<>(Example.class);
+    private static final Map<String, Object> SOLUTIONS = new ConcurrentHashMap<>(); // Keyed by dataset.
+    private static final Map<Example, ReentrantLock> LOCKS = createLocks();
 
-    public static synchronized <Solution_> Solution_ getSolution(Example example,
-            SolutionDescriptor<Solution_> solutionDescriptor,
-            Function<ScoreDirectorType, ScoreDirectorFactoryConfig> configFunction, Supplier<Solution_> solutionSupplier) {
+    private static Map<Example, ReentrantLock> createLocks() {
+        // Not synchronized blocks, as those would pin the carrier thread of a virtual thread during the entire CH.
+        var locks = new EnumMap<Example, ReentrantLock>(Example.class);
+        for (var example : Example.values()) {
+            locks.put(example, new ReentrantLock());
+        }
+        return locks;
+    }
+
+    static <Solution_> Solution_ getSolution(AbstractProblem<Solution_> problem) {
+        var datasetKey = problem.getDatasetKey();
+        var solution = SOLUTIONS.get(datasetKey);
+        if (solution != null) {
+            return (Solution_) solution;
+        }
+        var lock = LOCKS.get(problem.getExample());
+        lock.lock();
+        try {
+            solution = SOLUTIONS.get(datasetKey);
+            if (solution == null) { // Nobody loaded it while we were waiting.
+                solution = loadOrInitialize(problem);
+                SOLUTIONS.put(datasetKey, solution);
+            }
+            return (Solution_) solution;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Only forgets the solution; a snapshot of it stays on disk.
+     */
+    static void release(AbstractProblem<?> problem) {
+        SOLUTIONS.remove(problem.getDatasetKey());
+    }
+
+    /**
+     * Makes sure that every given example which needs the CH has a snapshot of its initialized solution,
+     * each example in a virtual thread of its own, so that the forks only ever read the snapshots.
+     * At most as many examples are processed at the same time as there are CPUs,
+     * as both reading the datasets and running the CH is CPU-bound.
+     * Examples which already have a snapshot, or are marked as not needing one, are not even read,
+     * and no solution is kept once its snapshot or marker is stored,
+     * as the benchmark harness which calls this never benchmarks anything itself.
+     *
+     * @param examples never null
+     * @return how long it took to make each of the examples available
+     */
+    public static Map<Example, Duration> preload(Collection<Example> examples) {
+        var parallelism = Math.min(Math.max(examples.size(), 1), Runtime.getRuntime().availableProcessors());
+        LOGGER.info("Preloading {} examples, {} at a time.", examples.size(), parallelism);
+        var permits = new Semaphore(parallelism);
+        var start = System.nanoTime();
+        var futureMap = new EnumMap<Example, Future<Duration>>(Example.class);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var example : examples) {
+                futureMap.put(example, executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return preload(example);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        } // Waits for all the tasks to finish.
+        var durationMap = new EnumMap<Example, Duration>(Example.class);
+        var failureList = new ArrayList<Throwable>();
+        futureMap.forEach((example, future) -> {
+            try {
+                durationMap.put(example, future.get());
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed preloading example {}.", example, e.getCause());
+                failureList.add(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while preloading example " + example + ".", e);
+            }
+        });
+        if (!failureList.isEmpty()) {
+            var exception = new IllegalStateException("Failed preloading " + failureList.size() + " examples.");
+            failureList.forEach(exception::addSuppressed);
+            throw exception;
+        }
+        LOGGER.info("Preloaded {} examples in {} ms.", examples.size(), Duration.ofNanos(System.nanoTime() - start)
+                .toMillis());
+        return durationMap;
+    }
+
+    private static Duration preload(Example example) {
+        var start = System.nanoTime();
+        var scoreDirectorType = Arrays.stream(ScoreDirectorType.values())
+                .filter(example::isSupportedOn)
+                .findFirst()
+                .orElseThrow();
+        storeSnapshot((AbstractProblem<?>) example.create(scoreDirectorType));
+        var duration = Duration.ofNanos(System.nanoTime() - start);
+        LOGGER.info("Example {} preloaded in {} ms.", example, duration.toMillis());
+        return duration;
+    }
+
+    private static <Solution_> Solution_ loadOrInitialize(AbstractProblem<Solution_> problem) {
+        var example = problem.getExample();
+        if (problem.isGenerated()) { // Generating is cheap enough, and there is no dataset file to key a snapshot by.
+            LOGGER.info("Generating dataset {}.", problem.getDatasetKey());
+            return initialize(example, problem.readDataset(), buildFastestScoreDirectorFactory(problem));
+        }
+        var snapshotStore = new SolutionSnapshotStore(example, problem.getDatasetFile());
+        if (snapshotStore.isAlreadyInitialized()) { // No need to check the score again.
+            LOGGER.info("Example {} already initialized.", example);
+            return problem.readDataset();
+        }
+        var snapshot = snapshotStore.load(problem.getSolutionClass());
+        return snapshot.orElseGet(() -> initializeAndStore(problem, snapshotStore));
+    }
+
+    private static void storeSnapshot(AbstractProblem<?> problem) {
+        var lock = LOCKS.get(problem.getExample());
+        lock.lock();
+        try {
+            var snapshotStore = new SolutionSnapshotStore(problem.getExample(), problem.getDatasetFile());
+            if (snapshotStore.exists()) {
+                LOGGER.info("Example {} already has a snapshot, or needs none.", problem.getExample());
+                return;
+            }
+            initializeAndStore(problem, snapshotStore);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static <Solution_> Solution_ initializeAndStore(AbstractProblem<Solution_> problem,
+            SolutionSnapshotStore snapshotStore) {
+        var scoreDirectorFactory = buildFastestScoreDirectorFactory(problem);
+        var originalSolution = problem.readDataset();
+        var initializedSolution = initialize(problem.getExample(), originalSolution, scoreDirectorFactory);
+        if (initializedSolution != originalSolution) { // Only store what the CH had to compute.
+            snapshotStore.store(problem.getSolutionClass(), initializedSolution);
+        } else {
+            snapshotStore.markAlreadyInitialized();
+        }
+        return initializedSolution;
+    }
+
+    private static <Solution_> InnerScoreDirectorFactory<Solution_, ?>
+            buildFastestScoreDirectorFactory(AbstractProblem<Solution_> problem) {
+        var example = problem.getExample();
         var fastestPossibleScoreDirectorType = Arrays.stream(ScoreDirectorType.values())
                 .filter(example::isSupportedOn)
                 .max(ScoreDirectorType::compareTo)
                 .orElseThrow();
-        var config = configFunction.apply(fastestPossibleScoreDirectorType);
-        var scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(config, solutionDescriptor);
-        return (Solution_) SOLUTIONS.computeIfAbsent(example,
-                e -> initialize(example, solutionSupplier.get(), scoreDirectorFactory));
+        var config = problem.buildScoreDirectorFactoryConfig(fastestPossibleScoreDirectorType);
+        return ScoreDirectorType.buildScoreDirectorFactory(config, problem.getSolutionDescriptor());
     }
 
     private static <Solution_> Solution_ initialize(Example example, Solution_ uninitializedSolution,
@@ -71,67 +201,13 @@ public final class ProblemInitializer {
                 return uninitializedSolution;
             }
             LOGGER.info("Initializing example {}.", example);
-            // Configure the construction heuristic.
-            var config = new ConstructionHeuristicPhaseConfig()
-                    .withConstructionHeuristicType(ConstructionHeuristicType.FIRST_FIT);
-            var factory = new DefaultConstructionHeuristicPhaseFactory<Solution_>(config);
-            var policy = new HeuristicConfigPolicy.Builder<>(EnvironmentMode.REPRODUCIBLE,
-                    null, null, null, null, new Random(0), scoreDirectorFactory.getInitializingScoreTrend(),
-                    scoreDirectorFactory.getSolutionDescriptor(), ClassInstanceCache.create())
-                    .build();
-            var bestSolutionRecaller =
-                    BestSolutionRecallerFactory.create().<Solution_> buildBestSolutionRecaller(EnvironmentMode.REPRODUCIBLE);
-            bestSolutionRecaller.setSolverEventSupport(new SolverEventSupport<>(null));
-            var termination = TerminationFactory.<Solution_> create(new TerminationConfig())
-                    .buildTermination(policy, new BasicPlumbingTermination<>(false));
-            var constructionHeuristicPhase = (DefaultConstructionHeuristicPhase<Solution_>) factory.buildPhase(0, policy,
-                    bestSolutionRecaller, termination);
-
-            // Create solver; more or less a mock.
-            var solverScope = new SolverScope<Solution_>();
-            solverScope.setBestSolution(uninitializedSolution);
-            solverScope.setScoreDirector(scoreDirector);
-            solverScope.setSolverMetricSet(EnumSet.noneOf(SolverMetric.class));
-            solverScope.startingNow();
-            var solver = new DefaultSolver<>(EnvironmentMode.REPRODUCIBLE, new DefaultRandomFactory(RandomType.JDK, 0L),
-                    bestSolutionRecaller, null, new NoopTermination<>(), List.of(constructionHeuristicPhase), solverScope,
-                    null);
-            constructionHeuristicPhase.setSolver(solver);
-
-            // Start the construction heuristic.
-            bestSolutionRecaller.solvingStarted(solverScope);
-            constructionHeuristicPhase.solvingStarted(solverScope);
-            constructionHeuristicPhase.solve(solverScope);
-            constructionHeuristicPhase.solvingEnded(solverScope);
-            bestSolutionRecaller.solvingEnded(solverScope);
-            solverScope.endingNow();
+            var initializedSolution =
+                    new ConstructionHeuristicRunner<>(ConstructionHeuristicType.FIRST_FIT, scoreDirector).run();
             if (!scoreDirector.calculateScore().isSolutionInitialized()) {
                 throw new IllegalStateException("Impossible state: uninitialized after the end of CH.");
             }
             LOGGER.info("Example {} initialized.", example);
-            return solverScope.getBestSolution();
-        }
-    }
-
-    private static final class NoopTermination<Solution_> extends AbstractTermination<Solution_> {
-        @Override
-        public boolean isSolverTerminated(SolverScope<Solution_> solverScope) {
-            return false;
-        }
-
-        @Override
-        public boolean isPhaseTerminated(AbstractPhaseScope<Solution_> phaseScope) {
-            return false;
-        }
-
-        @Override
-        public double calculateSolverTimeGradient(SolverScope<Solution_> solverScope) {
-            return 0;
-        }
-
-        @Override
-        public double calculatePhaseTimeGradient(AbstractPhaseScope<Solution_> phaseScope) {
-            return 0;
+            return initializedSolution;
         }
     }
 }
@@ -4,7 +4,6 @@ import java.io.File;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.projectjobscheduling.domain.Allocation;
 import ai.timefold.solver.examples.projectjobscheduling.domain.Schedule;
 import ai.timefold.solver.examples.projectjobscheduling.optional.score.ProjectJobSchedulingIncrementalScoreCalculator;
@@ -17,7 +16,7 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class ProjectJobSchedulingProblem extends AbstractProblem<Schedule> {
 
     public ProjectJobSchedulingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.PROJECT_JOB_SCHEDULING, scoreDirectorType);
+        super(Example.PROJECT_JOB_SCHEDULING, scoreDirectorType, Schedule.class, Allocation.class);
     }
 
     @Override
@@ -34,14 +33,13 @@ public final class ProjectJobSchedulingProblem extends AbstractProblem<Schedule>
     }
 
     @Override
-    protected SolutionDescriptor<Schedule> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(Schedule.class, Allocation.class);
+    protected SolutionFileIO<Schedule> createSolutionFileIO() {
+        return new ProjectJobSchedulingSolutionFileIO();
     }
 
     @Override
-    protected Schedule readOriginalSolution() {
-        final SolutionFileIO<Schedule> solutionFileIO = new ProjectJobSchedulingSolutionFileIO();
-        return solutionFileIO.read(new File("data/projectjobscheduling-B-7.json"));
+    protected File getDatasetFile() {
+        return new File("data/projectjobscheduling-B-7.json");
     }
 
 }
@@ -0,0 +1,95 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.Objects;
+
+import ai.timefold.solver.core.api.score.constraint.ConstraintMatchTotal;
+import ai.timefold.solver.core.impl.score.DefaultScoreExplanation;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+import ai.timefold.solver.jmh.scoredirector.ScoreExplanationType;
+
+/**
+ * Explains the score of the working solution, as a user interface would after every new best solution.
+ * Before every explanation, a sequence of moves is run on the working solution, the same as in the other benchmarks,
+ * so that the score director is in the state it would be in during solving, and not right after the full calculation.
+ * Neither the moves nor their score calculation are part of the measurement.
+ *
+ * @param <Solution_> the solution type
+ */
+public final class ScoreExplanationProblem<Solution_> {
+
+    /**
+     * How many moves to run before every explanation.
+     */
+    public static final int MOVE_COUNT = 100;
+
+    /**
+     * @param example must support {@link ScoreDirectorType#CONSTRAINT_STREAMS_JUSTIFIED}
+     * @return never null
+     */
+    public static ScoreExplanationProblem<?> create(Example example, ScoreExplanationType scoreExplanationType) {
+        var problem = (AbstractProblem<?>) example.create(ScoreDirectorType.CONSTRAINT_STREAMS_JUSTIFIED);
+        return new ScoreExplanationProblem<>(problem, scoreExplanationType);
+    }
+
+    private final AbstractProblem<Solution_> problem;
+    private final ScoreExplanationType scoreExplanationType;
+
+    private ScoreExplanationProblem(AbstractProblem<Solution_> problem, ScoreExplanationType scoreExplanationType) {
+        this.problem = Objects.requireNonNull(problem);
+        this.scoreExplanationType = Objects.requireNonNull(scoreExplanationType);
+    }
+
+    public void setupTrial() {
+        problem.setupTrial();
+    }
+
+    public void setupIteration() {
+        problem.setupIteration();
+        if (!problem.getScoreDirector().isConstraintMatchEnabled()) {
+            throw new IllegalStateException("Impossible state: score director of example (" + problem.getExample()
+                    + ") does not track constraint matches.");
+        }
+    }
+
+    public void setupInvocation() {
+        problem.setupInvocations(MOVE_COUNT); // Starts a replayed move trace over, if it would run out.
+        problem.runInvocations(MOVE_COUNT);
+    }
+
+    /**
+     * @return how many constraint matches the working solution has right now
+     */
+    public long getConstraintMatchCount() {
+        return problem.getScoreDirector().getConstraintMatchTotalMap()
+                .values()
+                .stream()
+                .mapToLong(ConstraintMatchTotal::getConstraintMatchCount)
+                .sum();
+    }
+
+    /**
+     * @return the explanation, in order to prevent results from being optimized away
+     */
+    public Object runInvocation() {
+        var scoreDirector = problem.getScoreDirector();
+        return switch (scoreExplanationType) {
+            case CONSTRAINT_MATCH_TOTALS -> scoreDirector.getConstraintMatchTotalMap();
+            case INDICTMENTS -> scoreDirector.getIndictmentMap();
+            case SCORE_EXPLANATION -> {
+                var scoreExplanation = new DefaultScoreExplanation<>(scoreDirector);
+                scoreExplanation.getSummary(); // Only computed on demand, but usually the first thing shown.
+                yield scoreExplanation;
+            }
+        };
+    }
+
+    public void tearDownIteration() {
+        problem.tearDownIteration();
+    }
+
+    public void teardownTrial() {
+        problem.teardownTrial();
+    }
+
+}
@@ -0,0 +1,136 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+import ai.timefold.solver.jmh.common.BinarySolutionFileIO;
+import ai.timefold.solver.jmh.common.SolverVersion;
+import ai.timefold.solver.jmh.scoredirector.Example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps CH-initialized solutions on disk, so that every fork does not need to run the CH again.
+ * A snapshot is keyed by the example, the hash of its dataset file and the solver version;
+ * when any of these changes, the old snapshot is simply never looked up again.
+ * Snapshots are written by {@link BinarySolutionFileIO}, whatever the format of the dataset,
+ * as the XLSX-based examples can not read planning variables back from their own format.
+ * A dataset which is already initialized gets no snapshot, only an empty marker next to where the snapshot would be,
+ * so that it is known to need no CH without reading it.
+ */
+final class SolutionSnapshotStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SolutionSnapshotStore.class);
+
+    /**
+     * Bump whenever the way snapshots are written changes, to invalidate all existing snapshots.
+     */
+    private static final String FORMAT_VERSION = "v2";
+    private static final Path SNAPSHOT_DIRECTORY = Path.of("target", "snapshots", FORMAT_VERSION);
+    private static final String INITIALIZED_MARKER_SUFFIX = ".initialized";
+
+    private final Example example;
+    private final Path snapshotPath;
+    private final Path initializedMarkerPath;
+
+    SolutionSnapshotStore(Example example, File datasetFile) {
+        this.example = example;
+        var solverVersion = SolverVersion.get().replaceAll("[^A-Za-z0-9._-]+", "_");
+        this.snapshotPath = SNAPSHOT_DIRECTORY.resolve(solverVersion)
+                .resolve(example.name() + "-" + hash(datasetFile.toPath()) + "." + BinarySolutionFileIO.FILE_EXTENSION);
+        this.initializedMarkerPath =
+                snapshotPath.resolveSibling(snapshotPath.getFileName() + INITIALIZED_MARKER_SUFFIX);
+    }
+
+    static String hash(Path path) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            try (var inputStream = new DigestInputStream(Files.newInputStream(path), digest)) {
+                inputStream.transferTo(OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed hashing dataset: " + path, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Impossible state: SHA-256 not available.", e);
+        }
+    }
+
+    /**
+     * @return true if there is either a snapshot, or a marker that the dataset needs none
+     */
+    boolean exists() {
+        return Files.exists(snapshotPath) || isAlreadyInitialized();
+    }
+
+    /**
+     * @return true if the dataset itself was found to be initialized, see {@link #markAlreadyInitialized()}
+     */
+    boolean isAlreadyInitialized() {
+        return Files.exists(initializedMarkerPath);
+    }
+
+    /**
+     * Instead of a snapshot, which would only be a copy of the dataset.
+     */
+    void markAlreadyInitialized() {
+        try {
+            Files.createDirectories(initializedMarkerPath.getParent());
+            Files.write(initializedMarkerPath, new byte[0]);
+            LOGGER.info("Example {} marked as already initialized at {}.", example, initializedMarkerPath);
+        } catch (IOException e) { // The marker is only an optimization; carry on without it.
+            LOGGER.warn("Failed marking example {} as already initialized at {}.", example, initializedMarkerPath, e);
+        }
+    }
+
+    <Solution_> Optional<Solution_> load(Class<Solution_> solutionClass) {
+        if (!Files.exists(snapshotPath)) {
+            LOGGER.info("No snapshot of example {} found at {}.", example, snapshotPath);
+            return Optional.empty();
+        }
+        try {
+            var solution = new BinarySolutionFileIO<>(solutionClass).read(snapshotPath.toFile());
+            LOGGER.info("Example {} loaded from snapshot {}.", example, snapshotPath);
+            return Optional.of(solution);
+        } catch (RuntimeException e) { // Corrupt snapshot; throw it away and initialize again.
+            LOGGER.warn("Failed reading snapshot {} of example {}, discarding.", snapshotPath, example, e);
+            try {
+                Files.deleteIfExists(snapshotPath);
+            } catch (IOException ex) {
+                LOGGER.warn("Failed deleting snapshot {}.", snapshotPath, ex);
+            }
+            return Optional.empty();
+        }
+    }
+
+    <Solution_> void store(Class<Solution_> solutionClass, Solution_ solution) {
+        try {
+            var directory = Files.createDirectories(snapshotPath.getParent());
+            // Write aside and move in place, so that a concurrent reader never sees a partial snapshot.
+            var temporaryPath =
+                    Files.createTempFile(directory, example.name(), "." + BinarySolutionFileIO.FILE_EXTENSION);
+            try {
+                new BinarySolutionFileIO<>(solutionClass).write(solution, temporaryPath.toFile());
+                Files.move(temporaryPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temporaryPath);
+            }
+            LOGGER.info("Example {} stored to snapshot {}.", example, snapshotPath);
+        } catch (IOException | RuntimeException e) { // The snapshot is only an optimization; carry on without it.
+            LOGGER.warn("Failed storing snapshot {} of example {}.", snapshotPath, example, e);
+        }
+    }
+
+}
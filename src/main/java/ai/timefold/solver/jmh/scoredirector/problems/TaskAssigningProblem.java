@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.taskassigning.domain.Employee;
 import ai.timefold.solver.examples.taskassigning.domain.Task;
 import ai.timefold.solver.examples.taskassigning.domain.TaskAssigningSolution;
@@ -18,7 +17,7 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class TaskAssigningProblem extends AbstractProblem<TaskAssigningSolution> {
 
     public TaskAssigningProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.TASK_ASSIGNING, scoreDirectorType);
+        super(Example.TASK_ASSIGNING, scoreDirectorType, TaskAssigningSolution.class, Employee.class, Task.class);
     }
 
     @Override
@@ -35,14 +34,13 @@ public final class TaskAssigningProblem extends AbstractProblem<TaskAssigningSol
     }
 
     @Override
-    protected SolutionDescriptor<TaskAssigningSolution> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(TaskAssigningSolution.class, Employee.class, Task.class);
+    protected SolutionFileIO<TaskAssigningSolution> createSolutionFileIO() {
+        return new TaskAssigningSolutionFileIO();
     }
 
     @Override
-    protected TaskAssigningSolution readOriginalSolution() {
-        final SolutionFileIO<TaskAssigningSolution> solutionFileIO = new TaskAssigningSolutionFileIO();
-        return solutionFileIO.read(new File("data/taskassigning-500-20.json"));
+    protected File getDatasetFile() {
+        return new File("data/taskassigning-500-20.json");
     }
 
 }
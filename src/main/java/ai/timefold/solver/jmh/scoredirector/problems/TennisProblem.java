@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.tennis.domain.TeamAssignment;
 import ai.timefold.solver.examples.tennis.domain.TennisSolution;
 import ai.timefold.solver.examples.tennis.persistence.TennisSolutionFileIO;
@@ -17,7 +16,7 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class TennisProblem extends AbstractProblem<TennisSolution> {
 
     public TennisProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.TENNIS, scoreDirectorType);
+        super(Example.TENNIS, scoreDirectorType, TennisSolution.class, TeamAssignment.class);
     }
 
     @Override
@@ -34,14 +33,13 @@ public final class TennisProblem extends AbstractProblem<TennisSolution> {
     }
 
     @Override
-    protected SolutionDescriptor<TennisSolution> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(TennisSolution.class, TeamAssignment.class);
+    protected SolutionFileIO<TennisSolution> createSolutionFileIO() {
+        return new TennisSolutionFileIO();
     }
 
     @Override
-    protected TennisSolution readOriginalSolution() {
-        final SolutionFileIO<TennisSolution> solutionFileIO = new TennisSolutionFileIO();
-        return solutionFileIO.read(new File("data/tennis-munich-7teams.json"));
+    protected File getDatasetFile() {
+        return new File("data/tennis-munich-7teams.json");
     }
 
 }
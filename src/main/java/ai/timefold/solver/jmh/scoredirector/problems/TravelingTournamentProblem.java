@@ -5,7 +5,6 @@ import java.util.Objects;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.travelingtournament.domain.Match;
 import ai.timefold.solver.examples.travelingtournament.domain.TravelingTournament;
 import ai.timefold.solver.examples.travelingtournament.persistence.TravelingTournamentSolutionFileIO;
@@ -17,7 +16,7 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class TravelingTournamentProblem extends AbstractProblem<TravelingTournament> {
 
     public TravelingTournamentProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.TRAVELING_TOURNAMENT, scoreDirectorType);
+        super(Example.TRAVELING_TOURNAMENT, scoreDirectorType, TravelingTournament.class, Match.class);
     }
 
     @Override
@@ -34,14 +33,13 @@ public final class TravelingTournamentProblem extends AbstractProblem<TravelingT
     }
 
     @Override
-    protected SolutionDescriptor<TravelingTournament> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(TravelingTournament.class, Match.class);
+    protected SolutionFileIO<TravelingTournament> createSolutionFileIO() {
+        return new TravelingTournamentSolutionFileIO();
     }
 
     @Override
-    protected TravelingTournament readOriginalSolution() {
-        final SolutionFileIO<TravelingTournament> solutionFileIO = new TravelingTournamentSolutionFileIO();
-        return solutionFileIO.read(new File("data/travelingtournament-4-super14.json"));
+    protected File getDatasetFile() {
+        return new File("data/travelingtournament-4-super14.json");
     }
 
 }
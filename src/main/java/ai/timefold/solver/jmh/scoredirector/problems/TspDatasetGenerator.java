@@ -0,0 +1,57 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import ai.timefold.solver.examples.tsp.domain.Domicile;
+import ai.timefold.solver.examples.tsp.domain.Standstill;
+import ai.timefold.solver.examples.tsp.domain.TspSolution;
+import ai.timefold.solver.examples.tsp.domain.Visit;
+import ai.timefold.solver.examples.tsp.domain.location.AirLocation;
+import ai.timefold.solver.examples.tsp.domain.location.DistanceType;
+import ai.timefold.solver.examples.tsp.domain.location.Location;
+
+/**
+ * Generates TSP datasets of any size, with locations spread uniformly over a square.
+ * The square grows with the number of visits, so that locations are as dense as those of the bundled lu980.
+ * The tour visits everything in random order, so that no CH is necessary.
+ */
+final class TspDatasetGenerator {
+
+    private static final double SQUARE_SIDE_PER_SQUARE_ROOT_OF_VISIT = 25.0;
+
+    static TspSolution generate(int visitCount, Random random) {
+        var squareSide = Math.sqrt(visitCount) * SQUARE_SIDE_PER_SQUARE_ROOT_OF_VISIT;
+        var locationList = new ArrayList<Location>(visitCount + 1);
+        for (var i = 0; i <= visitCount; i++) {
+            locationList.add(new AirLocation(i, random.nextDouble() * squareSide, random.nextDouble() * squareSide));
+        }
+        var domicile = new Domicile(0, locationList.get(0));
+        var visitList = new ArrayList<Visit>(visitCount);
+        for (var i = 1; i <= visitCount; i++) {
+            visitList.add(new Visit(i, locationList.get(i)));
+        }
+        List<Visit> tour = new ArrayList<>(visitList);
+        Collections.shuffle(tour, random);
+        Standstill previousStandstill = domicile;
+        for (var visit : tour) {
+            visit.setPreviousStandstill(previousStandstill);
+            previousStandstill = visit;
+        }
+        var solution = new TspSolution();
+        solution.setName("generated-" + visitCount);
+        solution.setDistanceType(DistanceType.AIR_DISTANCE);
+        solution.setDistanceUnitOfMeasurement("distance");
+        solution.setLocationList(locationList);
+        solution.setDomicile(domicile);
+        solution.setVisitList(visitList);
+        return solution;
+    }
+
+    private TspDatasetGenerator() {
+        // No instances.
+    }
+
+}
@@ -1,10 +1,10 @@
 package ai.timefold.solver.jmh.scoredirector.problems;
 
 import java.io.File;
+import java.util.Optional;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.tsp.domain.TspSolution;
 import ai.timefold.solver.examples.tsp.domain.Visit;
 import ai.timefold.solver.examples.tsp.optional.score.TspEasyScoreCalculator;
@@ -23,7 +23,7 @@ public final class TspProblem extends AbstractProblem<TspSolution> {
     private static final Logger LOGGER = LoggerFactory.getLogger(TspProblem.class);
 
     public TspProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.TSP, scoreDirectorType);
+        super(Example.TSP, scoreDirectorType, TspSolution.class, Visit.class);
     }
 
     @Override
@@ -41,16 +41,25 @@ public final class TspProblem extends AbstractProblem<TspSolution> {
     }
 
     @Override
-    protected SolutionDescriptor<TspSolution> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(TspSolution.class, Visit.class);
+    protected SolutionFileIO<TspSolution> createSolutionFileIO() {
+        return new TspSolutionFileIO();
     }
 
     @Override
-    protected TspSolution readOriginalSolution() {
+    protected Optional<DatasetGenerator<TspSolution>> getDatasetGenerator() {
+        return Optional.of(TspDatasetGenerator::generate);
+    }
+
+    @Override
+    protected File getDatasetFile() {
+        return new File("data/tsp-lu980.json");
+    }
+
+    @Override
+    protected TspSolution readSolution(File file) {
         while (true) {
             try {
-                final SolutionFileIO<TspSolution> solutionFileIO = new TspSolutionFileIO();
-                return solutionFileIO.read(new File("data/tsp-lu980.json"));
+                return super.readSolution(file);
             } catch (StackOverflowError error) { // For some reason, deserialization overflows here *once in a while*.
                 LOGGER.warn("Jackson's thrown stack overflow, retrying.");
             }
@@ -0,0 +1,74 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ai.timefold.solver.examples.vehiclerouting.domain.Customer;
+import ai.timefold.solver.examples.vehiclerouting.domain.Depot;
+import ai.timefold.solver.examples.vehiclerouting.domain.Vehicle;
+import ai.timefold.solver.examples.vehiclerouting.domain.VehicleRoutingSolution;
+import ai.timefold.solver.examples.vehiclerouting.domain.location.AirLocation;
+import ai.timefold.solver.examples.vehiclerouting.domain.location.DistanceType;
+import ai.timefold.solver.examples.vehiclerouting.domain.location.Location;
+
+/**
+ * Generates capacitated vehicle routing datasets of any size, without time windows,
+ * with a single depot in the middle of customers spread uniformly over a square.
+ * There are as many customers per vehicle as in the bundled belgium-n2750-k55,
+ * and the vehicles can carry a little more than all the customers demand.
+ * Customers are given to random vehicles, in random order, so that no CH is necessary.
+ */
+final class VehicleRoutingDatasetGenerator {
+
+    private static final int CUSTOMERS_PER_VEHICLE = 50;
+    private static final int MAXIMUM_DEMAND = 10;
+    private static final double CAPACITY_SLACK = 1.1;
+    private static final double SQUARE_SIDE_PER_SQUARE_ROOT_OF_CUSTOMER = 25.0;
+
+    static VehicleRoutingSolution generate(int customerCount, Random random) {
+        var squareSide = Math.sqrt(customerCount) * SQUARE_SIDE_PER_SQUARE_ROOT_OF_CUSTOMER;
+        var locationList = new ArrayList<Location>(customerCount + 1);
+        locationList.add(new AirLocation(0, squareSide / 2, squareSide / 2));
+        for (var i = 1; i <= customerCount; i++) {
+            locationList.add(new AirLocation(i, random.nextDouble() * squareSide, random.nextDouble() * squareSide));
+        }
+        var depot = new Depot(0, locationList.get(0));
+        var customerList = new ArrayList<Customer>(customerCount);
+        var totalDemand = 0L;
+        for (var i = 1; i <= customerCount; i++) {
+            var demand = 1 + random.nextInt(MAXIMUM_DEMAND);
+            customerList.add(new Customer(i, locationList.get(i), demand));
+            totalDemand += demand;
+        }
+        var vehicleCount = Math.max(1, customerCount / CUSTOMERS_PER_VEHICLE);
+        var capacity = (int) Math.ceil(totalDemand * CAPACITY_SLACK / vehicleCount);
+        var vehicleList = new ArrayList<Vehicle>(vehicleCount);
+        var routeList = new ArrayList<List<Customer>>(vehicleCount);
+        for (var i = 0; i < vehicleCount; i++) {
+            vehicleList.add(new Vehicle(i, capacity, depot));
+            routeList.add(new ArrayList<>());
+        }
+        for (var customer : customerList) {
+            var route = routeList.get(random.nextInt(vehicleCount));
+            route.add(random.nextInt(route.size() + 1), customer);
+        }
+        for (var i = 0; i < vehicleCount; i++) {
+            vehicleList.get(i).setCustomers(routeList.get(i));
+        }
+        var solution = new VehicleRoutingSolution();
+        solution.setName("generated-" + customerCount);
+        solution.setDistanceType(DistanceType.AIR_DISTANCE);
+        solution.setDistanceUnitOfMeasurement("distance");
+        solution.setLocationList(locationList);
+        solution.setDepotList(new ArrayList<>(List.of(depot)));
+        solution.setVehicleList(vehicleList);
+        solution.setCustomerList(customerList);
+        return solution;
+    }
+
+    private VehicleRoutingDatasetGenerator() {
+        // No instances.
+    }
+
+}
@@ -1,10 +1,10 @@
 package ai.timefold.solver.jmh.scoredirector.problems;
 
 import java.io.File;
+import java.util.Optional;
 
 import ai.timefold.solver.core.api.score.stream.ConstraintStreamImplType;
 import ai.timefold.solver.core.config.score.director.ScoreDirectorFactoryConfig;
-import ai.timefold.solver.core.impl.domain.solution.descriptor.SolutionDescriptor;
 import ai.timefold.solver.examples.vehiclerouting.domain.Customer;
 import ai.timefold.solver.examples.vehiclerouting.domain.Vehicle;
 import ai.timefold.solver.examples.vehiclerouting.domain.VehicleRoutingSolution;
@@ -20,7 +20,8 @@ import ai.timefold.solver.persistence.common.api.domain.solution.SolutionFileIO;
 public final class VehicleRoutingProblem extends AbstractProblem<VehicleRoutingSolution> {
 
     public VehicleRoutingProblem(ScoreDirectorType scoreDirectorType) {
-        super(Example.VEHICLE_ROUTING, scoreDirectorType);
+        super(Example.VEHICLE_ROUTING, scoreDirectorType,
+                VehicleRoutingSolution.class, Vehicle.class, Customer.class, TimeWindowedCustomer.class);
     }
 
     @Override
@@ -38,15 +39,18 @@ public final class VehicleRoutingProblem extends AbstractProblem<VehicleRoutingS
     }
 
     @Override
-    protected SolutionDescriptor<VehicleRoutingSolution> buildSolutionDescriptor() {
-        return SolutionDescriptor.buildSolutionDescriptor(VehicleRoutingSolution.class, Vehicle.class, Customer.class,
-                TimeWindowedCustomer.class);
+    protected SolutionFileIO<VehicleRoutingSolution> createSolutionFileIO() {
+        return new VehicleRoutingSolutionFileIO();
     }
 
     @Override
-    protected VehicleRoutingSolution readOriginalSolution() {
-        final SolutionFileIO<VehicleRoutingSolution> solutionFileIO = new VehicleRoutingSolutionFileIO();
-        return solutionFileIO.read(new File("data/vehiclerouting-belgium-tw-n2750-k55.json"));
+    protected Optional<DatasetGenerator<VehicleRoutingSolution>> getDatasetGenerator() {
+        return Optional.of(VehicleRoutingDatasetGenerator::generate);
+    }
+
+    @Override
+    protected File getDatasetFile() {
+        return new File("data/vehiclerouting-belgium-tw-n2750-k55.json");
     }
 
 }
@@ -0,0 +1,57 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class BenchmarkHistoryTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    void readCompactAndEditedLines() throws IOException {
+        var historyPath = temporaryDirectory.resolve("history.jsonl");
+        Files.write(historyPath, List.of(
+                "{\"benchmark\":\"a.B.run\",\"param.example\":\"TSP\",\"score\":1234.5,\"scoreError\":null}",
+                "",
+                "{ \"benchmark\" : \"a.B.run\" , \"score\" : 1.5E-4, \"cpu\": \"x, \\\"y\\\" \\u00e9\", "
+                        + "\"extra\": {\"nested\": [1, 2]}, \"flag\": true }"));
+        var recordList = BenchmarkHistory.read(historyPath);
+        Assertions.assertEquals(2, recordList.size());
+        var first = recordList.get(0);
+        Assertions.assertEquals(List.of(BenchmarkHistory.BENCHMARK, BenchmarkHistory.PARAM_PREFIX + "example",
+                BenchmarkHistory.SCORE, BenchmarkHistory.SCORE_ERROR), List.copyOf(first.keySet()));
+        Assertions.assertEquals("TSP", first.get(BenchmarkHistory.PARAM_PREFIX + "example"));
+        Assertions.assertEquals(1234.5, Double.parseDouble(first.get(BenchmarkHistory.SCORE)), 0.0);
+        Assertions.assertTrue(first.containsKey(BenchmarkHistory.SCORE_ERROR));
+        Assertions.assertEquals(null, first.get(BenchmarkHistory.SCORE_ERROR));
+        var second = recordList.get(1);
+        Assertions.assertEquals(1.5E-4, Double.parseDouble(second.get(BenchmarkHistory.SCORE)), 0.0);
+        Assertions.assertEquals("x, \"y\" \u00e9", second.get(BenchmarkHistory.CPU));
+        Assertions.assertEquals("{\"nested\":[1,2]}", second.get("extra"));
+        Assertions.assertEquals("true", second.get("flag"));
+    }
+
+    @Test
+    void failOnLineWhichIsNoObject() throws IOException {
+        var historyPath = temporaryDirectory.resolve("history.jsonl");
+        Files.write(historyPath, List.of("{\"score\":1.0}", "[1, 2]"));
+        var exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BenchmarkHistory.read(historyPath));
+        Assertions.assertTrue(exception.getMessage().contains("(2)"), exception.getMessage());
+    }
+
+    @Test
+    void failOnMalformedLine() throws IOException {
+        var historyPath = temporaryDirectory.resolve("history.jsonl");
+        Files.write(historyPath, List.of("{\"score\":1.0"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> BenchmarkHistory.read(historyPath));
+    }
+
+}
@@ -0,0 +1,107 @@
+package ai.timefold.solver.jmh.common;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class RegressionGateTest {
+
+    private static final String BENCHMARK = "a.B.run";
+    private static final double TOLERANCE = 0.05;
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @Test
+    void regressionWhenSamplesDifferBeyondTolerance() throws IOException {
+        var baselineDirectory = writeRun("baseline", "thrpt", "ops/s", 0.0, 100.0, 101.0, 99.0, 100.5, 99.5);
+        var runDirectory = writeRun("run", "thrpt", "ops/s", 0.0, 80.0, 81.0, 79.0, 80.5, 79.5);
+        Assertions.assertFalse(new RegressionGate(TOLERANCE).compare(runDirectory, baselineDirectory));
+        Assertions.assertEquals("REGRESSION", readStatus(runDirectory));
+    }
+
+    @Test
+    void passWhenSamplesDifferWithinTolerance() throws IOException {
+        var baselineDirectory = writeRun("baseline", "thrpt", "ops/s", 0.0, 100.0, 100.1, 99.9, 100.2, 99.8);
+        var runDirectory = writeRun("run", "thrpt", "ops/s", 0.0, 97.0, 97.1, 96.9, 97.2, 96.8);
+        Assertions.assertTrue(new RegressionGate(TOLERANCE).compare(runDirectory, baselineDirectory));
+        Assertions.assertEquals("PASS", readStatus(runDirectory));
+    }
+
+    @Test
+    void passWhenSamplesOverlap() throws IOException {
+        var baselineDirectory = writeRun("baseline", "thrpt", "ops/s", 0.0, 100.0, 60.0, 140.0, 80.0, 120.0);
+        var runDirectory = writeRun("run", "thrpt", "ops/s", 0.0, 90.0, 50.0, 130.0, 70.0, 110.0);
+        Assertions.assertTrue(new RegressionGate(TOLERANCE).compare(runDirectory, baselineDirectory));
+        Assertions.assertEquals("PASS", readStatus(runDirectory));
+    }
+
+    @Test
+    void lowerTimeIsImprovement() throws IOException {
+        var baselineDirectory = writeRun("baseline", "avgt", "ms/op", 0.0, 10.0, 10.1, 9.9, 10.2, 9.8);
+        var runDirectory = writeRun("run", "avgt", "ms/op", 0.0, 8.0, 8.1, 7.9, 8.2, 7.8);
+        Assertions.assertTrue(new RegressionGate(TOLERANCE).compare(runDirectory, baselineDirectory));
+        Assertions.assertEquals("IMPROVEMENT", readStatus(runDirectory));
+    }
+
+    @Test
+    void fallBackToScoreErrorWithTooFewSamples() throws IOException {
+        var samples = new double[RegressionGate.MIN_SAMPLE_COUNT - 1];
+        Arrays.fill(samples, 100.0);
+        var baselineDirectory = writeRun("baseline", "thrpt", "ops/s", 1.0, samples);
+        Arrays.fill(samples, 80.0);
+        var runDirectory = writeRun("run", "thrpt", "ops/s", 1.0, samples);
+        Assertions.assertFalse(new RegressionGate(TOLERANCE).compare(runDirectory, baselineDirectory));
+        Assertions.assertEquals("REGRESSION", readStatus(runDirectory));
+    }
+
+    @Test
+    void passWhenScoreErrorsOverlapWithTooFewSamples() throws IOException {
+        var baselineDirectory = writeRun("baseline", "thrpt", "ops/s", 15.0, 100.0);
+        var runDirectory = writeRun("run", "thrpt", "ops/s", 15.0, 80.0);
+        Assertions.assertTrue(new RegressionGate(TOLERANCE).compare(runDirectory, baselineDirectory));
+        Assertions.assertEquals("PASS", readStatus(runDirectory));
+    }
+
+    @Test
+    void rejectNegativeTolerance() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new RegressionGate(-0.01));
+    }
+
+    /**
+     * Writes the results of a single benchmark, with one sample per fork and their mean as the score.
+     */
+    private Path writeRun(String name, String mode, String unit, double scoreError, double... samples)
+            throws IOException {
+        var directory = Files.createDirectory(temporaryDirectory.resolve(name));
+        var score = Arrays.stream(samples).average().orElseThrow();
+        Files.write(directory.resolve(RegressionGate.RESULTS_FILE_NAME), List.of(
+                "\"Benchmark\",\"Mode\",\"Threads\",\"Samples\",\"Score\",\"Score Error (99.9%)\",\"Unit\","
+                        + "\"Param: example\"",
+                "\"" + BENCHMARK + "\",\"" + mode + "\",1," + samples.length + "," + score + "," + scoreError
+                        + ",\"" + unit + "\",\"TSP\""));
+        var sampleLineList = new ArrayList<String>();
+        sampleLineList.add("\"Benchmark\",\"Params\",\"Mode\",\"Unit\",\"Fork\",\"Score\"");
+        for (var i = 0; i < samples.length; i++) {
+            sampleLineList.add("\"" + BENCHMARK + "\",\"example=TSP\",\"" + mode + "\",\"" + unit + "\"," + (i + 1)
+                    + "," + samples[i]);
+        }
+        Files.write(directory.resolve(RegressionGate.SAMPLES_FILE_NAME), sampleLineList);
+        return directory;
+    }
+
+    private static String readStatus(Path runDirectory) throws IOException {
+        var lineList = Files.readAllLines(runDirectory.resolve(RegressionGate.REPORT_FILE_NAME));
+        Assertions.assertEquals(2, lineList.size());
+        var line = lineList.get(1);
+        return line.substring(line.lastIndexOf(",\"") + 2, line.length() - 1);
+    }
+
+}
@@ -0,0 +1,68 @@
+package ai.timefold.solver.jmh.common;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.results.BenchmarkResult;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.IterationType;
+import org.openjdk.jmh.runner.WorkloadParams;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+final class SequentialStoppingTest {
+
+    private static final String BENCHMARK = "a.B.run";
+
+    @Test
+    void mergeOnlyRoundOfSameMode() {
+        var runResult = runResult(Mode.Throughput, "TSP", 2);
+        var roundResults = List.of(runResult(Mode.Throughput, "TSP", 3), runResult(Mode.AverageTime, "TSP", 3),
+                runResult(Mode.Throughput, "VEHICLE_ROUTING", 3));
+        var mergedResult = SequentialStopping.merge(runResult, roundResults);
+        Assertions.assertEquals(Mode.Throughput, mergedResult.getParams().getMode());
+        Assertions.assertEquals("TSP", mergedResult.getParams().getParam("example"));
+        Assertions.assertEquals(5, mergedResult.getBenchmarkResults().size());
+    }
+
+    @Test
+    void failWithoutRoundOfSameMode() {
+        var runResult = runResult(Mode.Throughput, "TSP", 2);
+        var roundResults = List.of(runResult(Mode.AverageTime, "TSP", 2));
+        Assertions.assertThrows(IllegalStateException.class, () -> SequentialStopping.merge(runResult, roundResults));
+    }
+
+    @Test
+    void limitRoundToModeOfResult() {
+        var baseOptions = new OptionsBuilder()
+                .mode(Mode.Throughput)
+                .mode(Mode.AverageTime)
+                .forks(10)
+                .build();
+        var roundOptions = SequentialStopping.buildRoundOptions(baseOptions, runResult(Mode.AverageTime, "TSP", 2), 3);
+        Assertions.assertEquals(List.of(Mode.AverageTime), List.copyOf(roundOptions.getBenchModes()));
+        Assertions.assertEquals(3, (int) roundOptions.getForkCount().get());
+        Assertions.assertEquals(List.of("TSP"), List.copyOf(roundOptions.getParameter("example").get()));
+    }
+
+    private static RunResult runResult(Mode mode, String example, int forkCount) {
+        var workloadParams = new WorkloadParams();
+        workloadParams.put("example", example, 0);
+        var iterationParams = new IterationParams(IterationType.MEASUREMENT, 1, TimeValue.seconds(1), 1);
+        var params = new BenchmarkParams(BENCHMARK, BENCHMARK + "_Test", false, 1, new int[] { 1 }, List.of(),
+                forkCount, 0, iterationParams, iterationParams, mode, workloadParams, TimeUnit.SECONDS, 1, "java",
+                List.of(), "21", "VM", "21", "1.37", TimeValue.minutes(10));
+        var benchmarkResultList = new ArrayList<BenchmarkResult>();
+        for (var i = 0; i < forkCount; i++) {
+            benchmarkResultList.add(new BenchmarkResult(params, List.of()));
+        }
+        return new RunResult(params, benchmarkResultList);
+    }
+
+}
@@ -1,11 +1,14 @@
 package ai.timefold.solver.jmh.scoredirector;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import ai.timefold.solver.jmh.scoredirector.problems.Problem;
+import ai.timefold.solver.jmh.scoredirector.problems.ProblemInitializer;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -16,6 +19,12 @@ final class ScoreDirectorBenchmarkTest {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ScoreDirectorBenchmarkTest.class);
 
+    @BeforeAll
+    static void preload() {
+        var durationMap = ProblemInitializer.preload(Arrays.asList(Example.values()));
+        Assertions.assertEquals(Example.values().length, durationMap.size());
+    }
+
     @ParameterizedTest
     @MethodSource("scoreDirectorTypeAndExampleProvider")
     void runTest(ScoreDirectorType scoreDirectorType, Example example) {
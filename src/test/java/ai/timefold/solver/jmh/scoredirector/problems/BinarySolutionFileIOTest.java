@@ -0,0 +1,51 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.nio.file.Path;
+
+import ai.timefold.solver.core.api.score.Score;
+import ai.timefold.solver.jmh.common.BinarySolutionFileIO;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+final class BinarySolutionFileIOTest {
+
+    @TempDir
+    Path temporaryDirectory;
+
+    @ParameterizedTest
+    @EnumSource(Example.class)
+    void roundTrip(Example example) {
+        var problem = (AbstractProblem<?>) example.create(AbstractProblem.getAnySupportedScoreDirectorType(example));
+        Assumptions.assumeTrue(problem.getDatasetFile().exists(),
+                "Dataset " + problem.getDatasetFile() + " of example " + example + " not found.");
+        assertRoundTrip(problem);
+    }
+
+    private <Solution_> void assertRoundTrip(AbstractProblem<Solution_> problem) {
+        var solution = problem.readSolution(problem.getDatasetFile());
+        var binaryFile = temporaryDirectory.resolve(problem.getExample() + "." + BinarySolutionFileIO.FILE_EXTENSION)
+                .toFile();
+        var solutionFileIO = new BinarySolutionFileIO<>(problem.getSolutionClass());
+        solutionFileIO.write(solution, binaryFile);
+        var readSolution = solutionFileIO.read(binaryFile);
+        Assertions.assertNotSame(solution, readSolution);
+        Assertions.assertEquals(calculateScore(problem, solution), calculateScore(problem, readSolution));
+    }
+
+    private static <Solution_> Score<?> calculateScore(AbstractProblem<Solution_> problem, Solution_ solution) {
+        var scoreDirectorType = AbstractProblem.getAnySupportedScoreDirectorType(problem.getExample());
+        var scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(
+                problem.buildScoreDirectorFactoryConfig(scoreDirectorType), problem.getSolutionDescriptor());
+        try (var scoreDirector = scoreDirectorFactory.buildScoreDirector(false, false)) {
+            scoreDirector.setWorkingSolution(solution);
+            return scoreDirector.calculateScore();
+        }
+    }
+
+}
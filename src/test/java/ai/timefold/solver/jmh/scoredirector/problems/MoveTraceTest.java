@@ -0,0 +1,54 @@
+package ai.timefold.solver.jmh.scoredirector.problems;
+
+import java.util.ArrayList;
+
+import ai.timefold.solver.core.impl.heuristic.move.Move;
+import ai.timefold.solver.jmh.scoredirector.Example;
+import ai.timefold.solver.jmh.scoredirector.ScoreDirectorType;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+final class MoveTraceTest {
+
+    private static final Example EXAMPLE = Example.CLOUD_BALANCING;
+    private static final int LENGTH = 1_000;
+
+    @Test
+    void sameMovesOnEveryScoreDirectorType() {
+        var easyTrace = replay(ScoreDirectorType.EASY);
+        var constraintStreamsTrace = replay(ScoreDirectorType.CONSTRAINT_STREAMS);
+        Assertions.assertEquals(easyTrace, constraintStreamsTrace);
+    }
+
+    /**
+     * Records the moves and rebases them onto a working solution of the given score director type,
+     * as every iteration of a benchmark which replays the trace does.
+     *
+     * @return the fingerprints of the rebased moves, with the undo decisions of the recorded trace
+     */
+    @SuppressWarnings("unchecked")
+    private static <Solution_> MoveTrace replay(ScoreDirectorType scoreDirectorType) {
+        var problem = (AbstractProblem<Solution_>) EXAMPLE.create(scoreDirectorType);
+        Assumptions.assumeTrue(problem.getDatasetFile().exists(),
+                "Dataset " + problem.getDatasetFile() + " of example " + EXAMPLE + " not found.");
+        var moveList = new ArrayList<Move<Solution_>>();
+        var recordedTrace = problem.recordMoves(MoveTrace.DEFAULT_SEED, LENGTH, moveList::add);
+        Assertions.assertEquals(LENGTH, moveList.size());
+        var scoreDirectorFactory = ScoreDirectorType.buildScoreDirectorFactory(
+                problem.buildScoreDirectorFactoryConfig(scoreDirectorType), problem.getSolutionDescriptor());
+        var moveFingerprinter = new MoveFingerprinter(problem.getSolutionDescriptor());
+        var replayedTrace = new MoveTrace(MoveTrace.DEFAULT_SEED, LENGTH);
+        try (var scoreDirector = scoreDirectorFactory.buildScoreDirector(true, false)) {
+            scoreDirector.setWorkingSolution(scoreDirector.cloneSolution(ProblemInitializer.getSolution(problem)));
+            for (var i = 0; i < LENGTH; i++) {
+                var rebasedMove = moveList.get(i).rebase(scoreDirector);
+                replayedTrace.set(i, moveFingerprinter.fingerprint(rebasedMove), recordedTrace.isUndone(i));
+            }
+        }
+        Assertions.assertEquals(recordedTrace, replayedTrace);
+        return replayedTrace;
+    }
+
+}